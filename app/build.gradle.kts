@@ -30,9 +30,11 @@ android {
 }
 
 dependencies {
+    implementation(project(":core"))
     // implementation(files("C:\\Users\\ROSTIDIR\\AppData\\Local\\Android\\Sdk\\platforms\\android-34\\android.jar"))
     implementation("androidx.appcompat:appcompat:1.6.1")
     implementation("com.google.android.material:material:1.11.0")
+    implementation("androidx.recyclerview:recyclerview:1.3.2")
     implementation("com.google.firebase:firebase-firestore:24.10.0")
     testImplementation("junit:junit:4.13.2")
     androidTestImplementation("androidx.test.ext:junit:1.1.5")
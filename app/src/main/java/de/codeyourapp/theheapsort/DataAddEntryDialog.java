@@ -1,4 +1,4 @@
-// Import-Anweisungen für benötigte Android- und Firebase-Klassen
+// Import-Anweisungen für benötigte Android-Klassen
 package de.codeyourapp.theheapsort;
 
 import android.app.AlertDialog;
@@ -9,23 +9,26 @@ import android.widget.EditText;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import com.google.firebase.firestore.FirebaseFirestore;
-
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
 import java.util.HashMap;
-import java.util.Locale;
 import java.util.Map;
-import java.util.Random;
+import java.util.concurrent.Executor;
 
 /**
  * Die Klasse `DataAddEntryDialog` repräsentiert einen Dialog zur Hinzufügung von Einträgen.
  * Sie wird wahrscheinlich verwendet, um Benutzereingaben für neue Datensätze zu erfassen.
  */
 public class DataAddEntryDialog {
-    // Instanzvariablen, die die MainActivity und die Zugriffsmöglichkeit auf die Firestore-Datenbank speichern
+    // Instanzvariablen, die die MainActivity, die Datenquelle und den Executor des Haupt-Threads speichern
     private final MainActivity mainActivity;
-    private final FirebaseFirestore dbroot;
+    private final MemberDataSource dataSource;
+    private final Executor mainExecutor;
+
+    // Vergibt eindeutige IDs für neue Einträge und kennt die IDs der vorhandenen Mitglieder
+    private final MemberIdAllocator idAllocator;
+    // Version des Datenstands, dessen IDs dem idAllocator zuletzt übergeben wurden
+    private volatile int knownIdsVersion = -1;
+    // Die für den geöffneten Dialog vergebene ID
+    private String allocatedId;
 
     // Die folgenden Variablen speichern Referenzen zu User-Interface-Elementen im Dialog, z.B., Textfelder und Fehlermeldungen
     private EditText etName;
@@ -38,16 +41,18 @@ public class DataAddEntryDialog {
     private TextView tvErrorID;
 
     /**
-     * Konstruktor der Klasse. Hier werden die Referenzen auf die MainActivity und die Firestore-Datenbank
-     * initialisiert.
+     * Konstruktor der Klasse. Hier werden die Referenzen auf die MainActivity und die Datenquelle initialisiert.
      *
      * @param mainActivity Die MainActivity, von der aus der Dialog aufgerufen wird.
-     * @param dbroot Die Firestore-Datenbankreferenz, mit der auf die Datenbank zugegriffen wird.
+     * @param dataSource   Die Datenquelle, in die neue Einträge geschrieben werden.
+     * @param mainExecutor Ein Executor, der auf dem Haupt-Thread ausführt.
      */
-    public DataAddEntryDialog(MainActivity mainActivity, FirebaseFirestore dbroot) {
+    public DataAddEntryDialog(MainActivity mainActivity, MemberDataSource dataSource, Executor mainExecutor) {
         // Zuweisen der übergebenen Werte an die entsprechenden Instanzvariablen
         this.mainActivity = mainActivity;
-        this.dbroot = dbroot;
+        this.dataSource = dataSource;
+        this.mainExecutor = mainExecutor;
+        this.idAllocator = new MemberIdAllocator(dataSource);
     }
 
     /**
@@ -70,9 +75,9 @@ public class DataAddEntryDialog {
         tvErrorEmail = dialogView.findViewById(R.id.tvErrorEmail);
         tvErrorID = dialogView.findViewById(R.id.tvErrorID);
 
-        // Zufällige ID generieren und setzen
-        final EditText etID = dialogView.findViewById(R.id.etID);
-        etID.setText(String.valueOf(generateRandomID()));
+        // Eindeutige ID vergeben und setzen, sobald die IDs der vorhandenen Mitglieder bekannt sind
+        allocatedId = null;
+        allocateID(etID);
 
         // AlertDialog.Builder erstellen und Dialog konfigurieren
         AlertDialog.Builder builder = new AlertDialog.Builder(mainActivity);
@@ -94,79 +99,84 @@ public class DataAddEntryDialog {
             String email = etEmail.getText().toString().trim();
             String idText = etID.getText().toString().trim();
 
-            // Setzen von Fehlermeldungen standardmäßig auf unsichtbar
-            tvErrorName.setVisibility(View.GONE);
-            tvErrorVorname.setVisibility(View.GONE);
-            tvErrorEmail.setVisibility(View.GONE);
-            tvErrorID.setVisibility(View.GONE);
-
-            // Überprüfen der Validität der Benutzereingaben
-            if (isValidData(name, vorname, email, idText)) {
+            // Überprüfen der Validität der Benutzereingaben in einem Durchlauf; das Ergebnis enthält alle ungültigen Felder
+            int errors = MemberValidator.validate(name, vorname, email, idText);
+            // Eine von Hand geänderte ID darf keinem vorhandenen Mitglied gehören
+            if (!idText.equals(allocatedId) && idAllocator.isKnown(idText)) {
+                errors |= MemberValidator.ID;
+            }
+            if (errors == MemberValidator.VALID) {
                 alertDialog.dismiss();
+                idAllocator.addKnownId(idText);
                 insertData(name, vorname, email, idText);
             } else {
-                // Fehlermeldungen anzeigen und das Dialogfeld offenhalten
-                if (name.isEmpty()) { // Überprüfe, ob der Name leer ist
-                    tvErrorName.setVisibility(View.VISIBLE); // Wenn ja, setze die Sichtbarkeit der Fehlermeldung für den Namen auf "sichtbar"
-                }
-                if (vorname.isEmpty()) { // Überprüfe, ob der Vorname leer ist
-                    tvErrorVorname.setVisibility(View.VISIBLE); // Wenn ja, setze die Sichtbarkeit der Fehlermeldung für den Vorname auf "sichtbar"
-                }
-                if (email.isEmpty() || !isValidEmail(email)) { // Überprüfe, ob die E-Mail leer ist oder keine gültige E-Mail-Adresse ist
-                    tvErrorEmail.setVisibility(View.VISIBLE); // Wenn ja, setze die Sichtbarkeit der Fehlermeldung für die E-Mail auf "sichtbar"
-                }
-                if (idText.isEmpty()) { // Überprüfe, ob die ID leer ist
-                    tvErrorID.setVisibility(View.VISIBLE); // Wenn ja, setze die Sichtbarkeit der Fehlermeldung für die ID auf "sichtbar"
-                }
+                // Fehlermeldungen der ungültigen Felder anzeigen, die übrigen ausblenden und das Dialogfeld offenhalten
+                showError(tvErrorName, MemberValidator.hasError(errors, MemberValidator.NAME));
+                showError(tvErrorVorname, MemberValidator.hasError(errors, MemberValidator.VORNAME));
+                showError(tvErrorEmail, MemberValidator.hasError(errors, MemberValidator.EMAIL));
+                showError(tvErrorID, MemberValidator.hasError(errors, MemberValidator.ID));
             }
         });
     }
 
     /**
-     * Generiert eine zufällige fünfstellige ID.
+     * Blendet eine Fehlermeldung ein oder aus.
      *
-     * @return Eine zufällige fünfstellige ID.
+     * @param tvError Die Fehlermeldung.
+     * @param visible `true`, wenn das zugehörige Feld ungültig ist.
      */
-    private int generateRandomID() {
-        // Erstellen einer Instanz der Random-Klasse
-        Random random = new Random();
-        // Generieren einer zufällige Zahl im Bereich von 10000 bis (10000 + 99999)
-        // Das Ergebnis ist eine fünfstellige Zahl
-        return 10000 + random.nextInt(99999); // Generieren einer fünfstelligen Zahl
+    private static void showError(TextView tvError, boolean visible) {
+        tvError.setVisibility(visible ? View.VISIBLE : View.GONE);
     }
 
     /**
-     * Überprüft die Gültigkeit der eingegebenen Daten.
+     * Vergibt eine eindeutige ID und trägt sie in das Textfeld ein. Zuvor werden die IDs des aktuellen Datenstands
+     * übernommen, falls sie sich seit dem letzten Aufruf geändert haben, damit keine vorhandene ID vergeben wird.
      *
-     * @param name    Der eingegebene Name.
-     * @param vorname Der eingegebene Vorname.
-     * @param email   Die eingegebene E-Mail-Adresse.
-     * @param id      Die eingegebene ID.
-     * @return True, wenn alle Daten gültig sind, andernfalls False.
+     * @param etID Das Textfeld für die ID.
      */
-    private boolean isValidData(String name, String vorname, String email, String id) {
-        // Überprüfen, ob alle Felder ausgefüllt sind
-        if (name.isEmpty() || vorname.isEmpty() || email.isEmpty() || id.isEmpty()) {
-            return false;
-        }
-        // Überprüfen, ob die E-Mail einem bestimmten Muster entspricht
-        return isValidEmail(email);
-    }
+    private void allocateID(EditText etID) {
+        MemberRepository memberRepository = mainActivity.getMemberRepository();
+        memberRepository.getMembers(new MemberRepository.OnMembersLoadedListener() {
+            @Override
+            public void onMembersLoaded(MemberIndex snapshot, boolean fromCache, long decodeNanos) {
+                // Läuft auf dem Hintergrund-Thread des Repositorys
+                int version = memberRepository.getVersion();
+                if (version != knownIdsVersion) {
+                    idAllocator.addKnownIds(snapshot.getMembers());
+                    knownIdsVersion = version;
+                }
+                allocate();
+            }
 
-    /**
-     * Überprüft die Gültigkeit einer E-Mail-Adresse anhand eines verbesserten regulären Ausdrucks.
-     *
-     * @param email Die zu überprüfende E-Mail-Adresse.
-     * @return True, wenn die E-Mail-Adresse gültig ist, andernfalls False.
-     */
-    private boolean isValidEmail(String email) {
-        // Verbesserter regulärer Ausdruck für die E-Mail-Validierung
-        String emailPattern = "[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}";
-        return email.matches(emailPattern);
+            @Override
+            public void onError(Exception e) {
+                // Ohne Datenstand werden nur die bereits bekannten IDs übersprungen
+                allocate();
+            }
+
+            private void allocate() {
+                idAllocator.allocate(mainExecutor, new MemberDataSource.Callback<String>() {
+                    @Override
+                    public void onSuccess(String id) {
+                        // Nur eintragen, wenn der Benutzer noch keine eigene ID eingegeben hat
+                        if (etID.getText().toString().trim().isEmpty()) {
+                            allocatedId = id;
+                            etID.setText(id);
+                        }
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        Toast.makeText(mainActivity, "ID konnte nicht vergeben werden, bitte von Hand eingeben", Toast.LENGTH_LONG).show();
+                    }
+                });
+            }
+        });
     }
 
     /**
-     * Fügt Daten zur Firestore-Datenbank hinzu.
+     * Fügt Daten zur Datenquelle hinzu.
      *
      * @param name    Der Name für den neuen Eintrag.
      * @param vorname Der Vorname für den neuen Eintrag.
@@ -182,22 +192,30 @@ public class DataAddEntryDialog {
         items.put("id", id);
 
         // Erzeugen eines Timestamps im Format "yyyy-MM-dd HH:mm:ss" und Hinzufügen zur Map
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
-        String currentTimeStamp = dateFormat.format(Calendar.getInstance().getTime());
+        String currentTimeStamp = TimeStampFormat.currentTimestamp();
         items.put("timestamp", currentTimeStamp);
 
-        // Hinzufügen der Map zur Firestore-Datenbank
-        dbroot.collection("students").add(items)
-                .addOnCompleteListener(task -> {
-                    if (task.isSuccessful()) {
-                        // Zeigen einer Erfolgsmeldung und Neuladen der Daten
-                        Toast.makeText(this.mainActivity, "Eintrag erfolgreich hinzugefügt", Toast.LENGTH_LONG).show();
-                        mainActivity.resetData(); // Nach dem Hinzufügen die Daten neu laden
-                    } else {
-                        // Zeigen einer Fehlermeldung, falls das Hinzufügen fehlschlägt
-                        Toast.makeText(this.mainActivity, "Fehler beim Hinzufügen des Eintrags", Toast.LENGTH_LONG).show();
-                    }
-                });
+        // Hinzufügen der Map zur Datenquelle
+        dataSource.addMember(items, mainExecutor, new MemberDataSource.Callback<String>() {
+            @Override
+            public void onSuccess(String documentId) {
+                // Zeigen einer Erfolgsmeldung und Neuladen der Daten
+                Toast.makeText(mainActivity, "Eintrag erfolgreich hinzugefügt", Toast.LENGTH_LONG).show();
+                // Bei aktivem Echtzeit-Listener wird der neue Eintrag automatisch in die sortierte Liste eingefügt.
+                // Andernfalls wird der zwischengespeicherte Datenstand verworfen und neu geladen.
+                MemberRepository memberRepository = mainActivity.getMemberRepository();
+                if (!memberRepository.isListening()) {
+                    memberRepository.invalidate();
+                    mainActivity.resetData();
+                }
+            }
+
+            @Override
+            public void onError(Exception e) {
+                // Zeigen einer Fehlermeldung, falls das Hinzufügen fehlschlägt
+                Toast.makeText(mainActivity, "Fehler beim Hinzufügen des Eintrags", Toast.LENGTH_LONG).show();
+            }
+        });
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,214 @@
+// Import-Anweisungen für benötigte Firebase-Klassen
+package de.codeyourapp.theheapsort;
+
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Diese Klasse ist die Datenquelle der App: die Collection "students" in der Firestore-Datenbank.
+ *
+ * Der Firestore-Client wird erst bei der ersten Anfrage angefordert, und zwar auf dem Thread dieser Anfrage.
+ * Die Dokumente eines Ergebnisses werden erst beim Zugriff dekodiert, sodass der Aufrufer die Dauer des Dekodierens
+ * getrennt von der Abfrage messen kann. Jedes Ergebnis sollte daher nur einmal durchlaufen werden.
+ */
+public class FirestoreMemberDataSource implements MemberDataSource {
+
+    // Name der Collection in der Firestore-Datenbank
+    static final String COLLECTION = "students";
+
+    // Dokument mit dem Zähler für die Vergabe der Mitglieds-IDs und dessen Feld
+    static final String ID_COUNTER_DOCUMENT = "counters/memberIds";
+    static final String ID_COUNTER_FIELD = "next";
+
+    // Liefert den Firestore-Client, der erst bei der ersten Anfrage erzeugt wird
+    private final Supplier<FirebaseFirestore> dbroot;
+
+    /**
+     * Konstruktor für die FirestoreMemberDataSource.
+     *
+     * @param dbroot Liefert die Firebase Firestore-Datenbankreferenz. Wird erst bei der ersten Anfrage aufgerufen.
+     */
+    public FirestoreMemberDataSource(Supplier<FirebaseFirestore> dbroot) {
+        this.dbroot = dbroot;
+    }
+
+    private CollectionReference collection() {
+        return dbroot.get().collection(COLLECTION);
+    }
+
+    @Override
+    public void loadMembers(Executor executor, Callback<Iterable<Member>> callback) {
+        collection().get().addOnCompleteListener(executor, task -> {
+            if (!task.isSuccessful()) {
+                callback.onError(task.getException());
+                return;
+            }
+            // Über die Dokumente wird direkt iteriert, statt mit getDocuments() eine weitere Liste anzulegen.
+            Iterable<QueryDocumentSnapshot> documents = task.getResult();
+            callback.onSuccess(() -> {
+                Iterator<QueryDocumentSnapshot> iterator = documents.iterator();
+                return new Iterator<Member>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Member next() {
+                        return toMember(iterator.next());
+                    }
+                };
+            });
+        });
+    }
+
+    @Override
+    public void loadPage(String field, boolean descending, Member after, int limit, Executor executor, Callback<List<Member>> callback) {
+        Query.Direction direction = descending ? Query.Direction.DESCENDING : Query.Direction.ASCENDING;
+        Query query;
+        if (DOCUMENT_ID.equals(field)) {
+            query = collection().orderBy(FieldPath.documentId(), direction);
+            if (after != null) {
+                query = query.startAfter(after.getDocumentId());
+            }
+        } else {
+            // Bei gleichem Wert entscheidet die Dokument-ID, sodass die Seiten lückenlos aneinander anschließen.
+            query = collection().orderBy(field, direction).orderBy(FieldPath.documentId(), direction);
+            if (after != null) {
+                query = query.startAfter(MemberDataSource.fieldValue(after, field), after.getDocumentId());
+            }
+        }
+        query.limit(limit).get().addOnCompleteListener(executor, task -> {
+            if (!task.isSuccessful()) {
+                callback.onError(task.getException());
+                return;
+            }
+            List<DocumentSnapshot> documents = task.getResult().getDocuments();
+            callback.onSuccess(new AbstractList<Member>() {
+                @Override
+                public Member get(int index) {
+                    return toMember(documents.get(index));
+                }
+
+                @Override
+                public int size() {
+                    return documents.size();
+                }
+            });
+        });
+    }
+
+    @Override
+    public Registration addChangeListener(Executor executor, OnChangesListener listener) {
+        ListenerRegistration registration = collection().addSnapshotListener(executor, (value, error) -> {
+            if (error != null) {
+                listener.onError(error);
+                return;
+            }
+            if (value != null) {
+                listener.onChanges(new ChangeList(value.getDocumentChanges()));
+            }
+        });
+        return registration::remove;
+    }
+
+    @Override
+    public void addMember(Map<String, Object> document, Executor executor, Callback<String> callback) {
+        collection().add(document).addOnCompleteListener(executor, task -> {
+            if (task.isSuccessful()) {
+                callback.onSuccess(task.getResult().getId());
+            } else {
+                callback.onError(task.getException());
+            }
+        });
+    }
+
+    @Override
+    public void reserveIds(int count, long minimumStart, Executor executor, Callback<Long> callback) {
+        FirebaseFirestore firestore = dbroot.get();
+        DocumentReference counter = firestore.document(ID_COUNTER_DOCUMENT);
+        // Die Transaktion liest und erhöht den Zähler atomar; bei gleichzeitigen Reservierungen wiederholt Firestore
+        // sie mit dem neuen Zählerstand.
+        firestore.runTransaction(transaction -> {
+            Long next = transaction.get(counter).getLong(ID_COUNTER_FIELD);
+            long start = next == null ? minimumStart : Math.max(next, minimumStart);
+            transaction.set(counter, Collections.singletonMap(ID_COUNTER_FIELD, start + count), SetOptions.merge());
+            return start;
+        }).addOnCompleteListener(executor, task -> {
+            if (task.isSuccessful()) {
+                callback.onSuccess(task.getResult());
+            } else {
+                callback.onError(task.getException());
+            }
+        });
+    }
+
+    @Override
+    public void commit(List<Map<String, Object>> documents, MemberBulkImporter.OnCommitListener listener) {
+        FirebaseFirestore firestore = dbroot.get();
+        CollectionReference collection = firestore.collection(COLLECTION);
+        WriteBatch batch = firestore.batch();
+        for (Map<String, Object> document : documents) {
+            batch.set(collection.document(), document);
+        }
+        // Der Abschluss wird auf dem Haupt-Thread gemeldet; der Import-Thread wartet währenddessen auf freie Batches.
+        batch.commit().addOnCompleteListener(task -> {
+            if (task.isSuccessful()) {
+                listener.onCommitted();
+            } else {
+                listener.onFailed(task.getException());
+            }
+        });
+    }
+
+    private static Member toMember(DocumentSnapshot document) {
+        return Member.fromMap(document.getId(), document.getData());
+    }
+
+    /**
+     * Sicht auf die Dokumentänderungen eines Listener-Ergebnisses, die jedes Dokument erst beim Zugriff dekodiert.
+     */
+    private static final class ChangeList extends AbstractList<Change> {
+        private final List<DocumentChange> changes;
+
+        ChangeList(List<DocumentChange> changes) {
+            this.changes = changes;
+        }
+
+        @Override
+        public Change get(int index) {
+            DocumentChange change = changes.get(index);
+            Member member = toMember(change.getDocument());
+            switch (change.getType()) {
+                case ADDED:
+                    return new Change(Change.Type.ADDED, member, -1, change.getNewIndex());
+                case MODIFIED:
+                    return new Change(Change.Type.MODIFIED, member, change.getOldIndex(), change.getNewIndex());
+                default:
+                    return new Change(Change.Type.REMOVED, member, change.getOldIndex(), -1);
+            }
+        }
+
+        @Override
+        public int size() {
+            return changes.size();
+        }
+    }
+}
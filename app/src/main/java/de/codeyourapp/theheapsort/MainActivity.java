@@ -2,69 +2,162 @@
 package de.codeyourapp.theheapsort;
 
 import android.annotation.SuppressLint;
+import android.net.Uri;
 import android.app.AlertDialog;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Trace;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.view.GestureDetector;
 import android.view.MotionEvent;
 import android.widget.Button;
-import android.widget.TableLayout;
-import android.widget.TableRow;
+import android.widget.EditText;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.DividerItemDecoration;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
-import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Diese Klasse repräsentiert die Hauptaktivität der Anwendung und erweitert die AppCompatActivity.
  */
 public class MainActivity extends AppCompatActivity {
-    // Zeitpunkt für den Start der App setzen (in Millisekunden)
-    long appStartTime = System.currentTimeMillis();
+    // Maximale Anzahl der angezeigten Treffer einer Suche
+    static final int SEARCH_LIMIT = 200;
+    // Datei, in der der zuletzt bekannte Datenstand für den nächsten Start gespeichert wird
+    static final String SNAPSHOT_FILE_NAME = "mitglieder.snapshot";
+    // Name der exportierten Messwerte im Export-Verzeichnis (ohne Endung .csv bzw. .json)
+    static final String TELEMETRY_FILE_NAME = "telemetrie";
+    // Extras beim Start der App für Lasttests: Anzahl und Startwert der synthetischen Mitglieder
+    static final String EXTRA_SYNTHETIC_MEMBERS = "synthetische_mitglieder";
+    static final String EXTRA_SYNTHETIC_SEED = "synthetische_mitglieder_startwert";
+    // Messung der Startphasen mit monotoner Uhr
+    private final StartupTracer startupTracer = StartupTracer.getInstance();
+    // Dateiauswahl für den Import; muss vor onStart registriert werden. Bei Abbruch ist das Ergebnis null.
+    private final ActivityResultLauncher<String[]> importFilePicker = registerForActivityResult(
+            new ActivityResultContracts.OpenDocument(), uri -> {
+                if (uri != null) {
+                    importMembers(uri);
+                }
+            });
     // Gesture-Detector und User-Interface-Elemente initialisieren
     private GestureDetector gestureDetector; //GestureDetector wird verwendet, um Wischgesten zu erkennen.
-    private TableLayout tableLayout; //Table-Layout-Instanz, die die Tabelle aus dem Layout repräsentiert
+    private RecyclerView recyclerView; //RecyclerView-Instanz, die die Tabelle aus dem Layout repräsentiert
+    private MemberAdapter memberAdapter; //Adapter, der die sichtbaren Tabellenzeilen befüllt und wiederverwendet
+    // Aktuell angezeigte Liste und die Sortierreihenfolge, nach der sie sortiert ist (null, wenn keine feste Reihenfolge gilt)
+    private List<Member> displayedMembers;
+    private Comparator<Member> displayedComparator;
+    // `true`, solange seitenweise geladen wird und noch nicht alle Seiten angezeigt werden
+    private boolean displayedPartial = false;
+    // Cursor, der beim Scrollen die nächsten Seiten einer Sortierung auf dem Gerät liefert, und ob gerade geladen wird
+    private TopKCursor displayedCursor;
+    private boolean cursorLoading = false;
+    // Sortierung des angezeigten Cursors, solange noch nicht alle Seiten angezeigt werden. Bei einer Änderung der
+    // Daten wird der Cursor damit auf dem neuen Datenstand neu geöffnet.
+    private SortStrategy displayedStrategy;
+    // Eingabe der Suche, deren Treffer angezeigt werden (null, wenn keine Suche angezeigt wird)
+    private String displayedQuery;
+    // Hintergrund-Thread für Abruf, Dekodierung und Sortierung sowie Executor für den Haupt-Thread
+    private final ExecutorService backgroundExecutor = Executors.newSingleThreadExecutor();
+    private final Executor mainExecutor = new Handler(Looper.getMainLooper())::post;
+    // Messwerte der letzten Abfragen, Sortierungen und Anzeigen (lange auf die Statuszeile tippen)
+    private final PerformanceTelemetry telemetry = new PerformanceTelemetry();
+    // Datenquelle der Mitglieder, abhängig vom Start der App (siehe createDataSource())
+    private MemberDataSource dataSource;
+    // Repository mit dem zwischengespeicherten Datenstand, auf dem alle Sortierungen arbeiten
+    private MemberRepository memberRepository;
+    // Verarbeitung, die Abruf, Sortierung und Formatierung im Hintergrund ausführt
+    private MemberPipeline memberPipeline;
+    // Seitenweises Laden von Daten, die die Datenquelle bereits sortiert liefert
+    private MemberPager memberPager;
+    // Eigener Thread für den Export, der auf die Datenbankabfragen wartet
+    private final ExecutorService exportExecutor = Executors.newSingleThreadExecutor();
+    // Eigener Thread für den Import, der auf die laufenden Batches wartet
+    private final ExecutorService importExecutor = Executors.newSingleThreadExecutor();
+    // Export, Import, Dialog und Sortierer werden erst bei der ersten Verwendung erzeugt (siehe die gleichnamigen Methoden)
+    private MemberArchiveExporter memberArchiveExporter;
+    private MemberImporter memberImporter;
     private DataAddEntryDialog dataAddEntryDialog;
-    // Sortierer für zufällige, zeitliche und namensbasierte Sortierung initialisieren
-    DataSorterRandom dataSorterRandom = new DataSorterRandom(this, FirebaseFirestore.getInstance());
-    DataSorterTimestamp dataSorterTimestamp = new DataSorterTimestamp(this, FirebaseFirestore.getInstance());
-    DataSorterName dataSorterName = new DataSorterName(this, FirebaseFirestore.getInstance());
+    private DataSorterRandom dataSorterRandom;
+    private DataSorterTimestamp dataSorterTimestamp;
+    private DataSorterName dataSorterName;
 
-    // Firestore-Datenbankinstanz initialisieren
-    private FirebaseFirestore dbroot;
-
-    // Zeitmessung für die App-Initialisierung
-    private long appInitializationTime;
+    // Firestore-Datenbankinstanz, wird erst bei der ersten Datenbankabfrage erzeugt (siehe firestore())
+    private volatile FirebaseFirestore dbroot;
 
     // Methode, die beim Erstellen der Aktivität aufgerufen wird.
     @SuppressLint({"ClickableViewAccessibility", "WrongViewCast"}) // Unterdrückt eine Warnung für den Touch-Listener, die durch den GestureDetector verursacht wird.
     @Override
     protected void onCreate(Bundle savedInstanceState) {
+        startupTracer.mark(StartupTracer.Phase.ACTIVITY_CREATE);
+        Trace.beginSection("MainActivity.onCreate");
+        dataSource = createDataSource();
+        memberRepository = new MemberRepository(dataSource, backgroundExecutor, mainExecutor);
+        memberPipeline = new MemberPipeline(memberRepository, mainExecutor, telemetry);
+        memberPager = new MemberPager(dataSource, memberPipeline, backgroundExecutor, mainExecutor, telemetry);
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
-
-        // TableLayout aus der Layout-Ressource holen
-        tableLayout = findViewById(R.id.tableLayout);
+        startupTracer.mark(StartupTracer.Phase.CONTENT_VIEW);
+
+        // RecyclerView aus der Layout-Ressource holen und mit Layout-Manager, Trennlinien und Adapter verknüpfen
+        recyclerView = findViewById(R.id.recyclerView);
+        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        recyclerView.addItemDecoration(new DividerItemDecoration(this, DividerItemDecoration.VERTICAL));
+        memberAdapter = new MemberAdapter();
+        // Nicht veränderbare Sicht auf die Liste des Adapters; geändert wird sie nur über den Adapter
+        displayedMembers = memberAdapter.getMembers();
+        recyclerView.setAdapter(memberAdapter);
+        // Beim seitenweisen Laden wird die nächste Seite angefordert, bevor das Ende der Liste erreicht ist.
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView view, int dx, int dy) {
+                LinearLayoutManager layoutManager = (LinearLayoutManager) view.getLayoutManager();
+                int lastVisiblePosition = layoutManager.findLastVisibleItemPosition();
+                if (memberPager.isActive()) {
+                    memberPager.onScrolled(lastVisiblePosition, memberAdapter.getItemCount());
+                } else if (displayedCursor != null && lastVisiblePosition >= memberAdapter.getItemCount() - MemberPager.PREFETCH_DISTANCE) {
+                    loadNextCursorPage();
+                }
+            }
+        });
         // Erstellen eines neuen SwipeGestureListener und Zuweisen an den GestureDetector
         gestureDetector = new GestureDetector(this, new SwipeGestureListener(this));
 
-        // Hinzufügen eines OnTouchListener zum TableLayout
-        tableLayout.setOnTouchListener((v, event) -> {
+        // Hinzufügen eines OnTouchListener zur RecyclerView
+        recyclerView.setOnTouchListener((v, event) -> {
             // Übergeben des Events an den GestureDetector
             gestureDetector.onTouchEvent(event);
-            return true;
+            // Das Event wird nicht verbraucht, damit die RecyclerView weiterhin scrollen kann.
+            return false;
         });
 
-        // Dialog für das Hinzufügen von Einträgen initialisieren und mit der Datenbankinstanz verknüpfen.
-        dbroot = FirebaseFirestore.getInstance();
-        dataAddEntryDialog = new DataAddEntryDialog(this, dbroot);
-        dataSorterName = new DataSorterName(this, dbroot);
+        // Der zuletzt bekannte Datenstand wird beim Start sofort angezeigt und danach mit der Datenbank abgeglichen.
+        // Synthetische Daten werden nicht gespeichert, damit sie den Stand der Datenbank nicht überschreiben.
+        if (dataSource instanceof FirestoreMemberDataSource) {
+            memberRepository.setSnapshotStore(new MemberSnapshotStore(new File(getFilesDir(), SNAPSHOT_FILE_NAME)));
+        }
+        // Einzelne Änderungen der Datenbank direkt in die angezeigte Liste übernehmen
+        memberRepository.addOnMembersChangedListener(memberChangeListener);
 
         // User-Interface-Elemente mit ihren zugehörigen Buttons verknüpfen und Click-Listener hinzufügen.
         Button btnCloseApp = findViewById(R.id.btnCloseApp); // Button für das Schließen der App
@@ -74,25 +167,188 @@ public class MainActivity extends AppCompatActivity {
         btnHeapsort.setOnClickListener(v -> sortDataHeapsort());
 
         Button btnSortName = findViewById(R.id.btnSortName); // Button für die Sortierung der Daten nach Namen
-        btnSortName.setOnClickListener(v -> dataSorterName.showSortDialog());
+        btnSortName.setOnClickListener(v -> dataSorterName().showSortDialog());
 
         Button btnSortRandom = findViewById(R.id.btnSortRandom); // Button für die zufällige Sortierung der Daten
-        btnSortRandom.setOnClickListener(v -> dataSorterRandom.sortDataRandom());
+        btnSortRandom.setOnClickListener(v -> dataSorterRandom().sortDataRandom());
 
         Button btnSortByTimestamp = findViewById(R.id.btnSortByTimestamp); // Button für die Sortierung der Daten nach dem Timestamp
-        btnSortByTimestamp.setOnClickListener(v -> dataSorterTimestamp.sortDataTimestamp());
+        btnSortByTimestamp.setOnClickListener(v -> dataSorterTimestamp().sortDataTimestamp());
 
         Button btnResetSort = findViewById(R.id.btnResetSort); // Button zum Zurücksetzen der Sortierung und Anzeigen aller Daten in der ursprünglichen Reihenfolge
         btnResetSort.setOnClickListener(v -> resetData());
 
         Button btnAddEntry = findViewById(R.id.btnAddEntry); // Button zum Anzeigen des Dialogfelds zum Hinzufügen neuer Einträge
-        btnAddEntry.setOnClickListener(v -> dataAddEntryDialog.showAddEntryDialog());
+        btnAddEntry.setOnClickListener(v -> dataAddEntryDialog().showAddEntryDialog());
+
+        Button btnExport = findViewById(R.id.btnExport); // Button für den Export aller Mitglieder in eine CSV-Datei
+        btnExport.setOnClickListener(v -> exportArchive(btnExport));
+
+        Button btnImport = findViewById(R.id.btnImport); // Button für den Import von Mitgliedern aus einer CSV- oder JSON-Datei
+        btnImport.setOnClickListener(v -> chooseImportFile());
+
+        // Langes Tippen auf die Statuszeile zeigt die Messwerte der letzten Durchläufe an
+        TextView tvRowCount = findViewById(R.id.tvRowCount);
+        tvRowCount.setOnLongClickListener(v -> {
+            showTelemetry();
+            return true;
+        });
+
+        // Suche bei jeder Eingabe ausführen; ein leeres Suchfeld zeigt wieder alle Daten an
+        EditText etSearch = findViewById(R.id.etSearch);
+        etSearch.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                String query = s.toString().trim();
+                if (query.isEmpty()) {
+                    resetData();
+                } else {
+                    searchMembers(query);
+                }
+            }
+        });
 
         // Laden der vorhandenen Daten beim Start der Aktivität
         loadData();
 
-        long appEndTime = System.currentTimeMillis(); // Endzeit für App-Initialisierung setzen
-        appInitializationTime = appEndTime - appStartTime; // Zeit für App-Initialisierung berechnen
+        // Ende von onCreate und erster Frame; die erste Datenzeile wird in showMembers erfasst
+        startupTracer.markOnNextDraw(recyclerView, StartupTracer.Phase.FIRST_FRAME);
+        startupTracer.mark(StartupTracer.Phase.ACTIVITY_CREATED);
+        Trace.endSection();
+    }
+
+    /**
+     * Erzeugt die Datenquelle der Mitglieder. Normalerweise ist das die Firestore-Datenbank. Für Lasttests ohne
+     * Netzwerk kann die App stattdessen mit synthetischen Mitgliedern gestartet werden, z.B. mit einer Million:
+     * {@code adb shell am start -n de.codeyourapp.theheapsort/.MainActivity --ei synthetische_mitglieder 1000000}
+     *
+     * @return Die Datenquelle.
+     */
+    private MemberDataSource createDataSource() {
+        int syntheticCount = getIntent() == null ? 0 : getIntent().getIntExtra(EXTRA_SYNTHETIC_MEMBERS, 0);
+        if (syntheticCount > 0) {
+            return new SyntheticMemberDataSource(syntheticCount, getIntent().getLongExtra(EXTRA_SYNTHETIC_SEED, 1));
+        }
+        return new FirestoreMemberDataSource(this::firestore);
+    }
+
+    /**
+     * Liefert die Firestore-Datenbankinstanz und erzeugt sie beim ersten Aufruf. Der Aufruf erfolgt bei der ersten
+     * Datenbankabfrage, beim Start also auf dem Hintergrund-Thread des Repositorys, und blockiert den Haupt-Thread
+     * damit nicht.
+     *
+     * @return Die Firestore-Datenbankinstanz.
+     */
+    private FirebaseFirestore firestore() {
+        FirebaseFirestore result = dbroot;
+        if (result == null) {
+            synchronized (this) {
+                result = dbroot;
+                if (result == null) {
+                    Trace.beginSection("MainActivity.firestore");
+                    try {
+                        result = FirebaseFirestore.getInstance();
+                    } finally {
+                        Trace.endSection();
+                    }
+                    dbroot = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Der Sortierer für die zufällige Sortierung, der beim ersten Aufruf erzeugt wird.
+     */
+    private DataSorterRandom dataSorterRandom() {
+        if (dataSorterRandom == null) {
+            dataSorterRandom = new DataSorterRandom(this);
+        }
+        return dataSorterRandom;
+    }
+
+    /**
+     * @return Der Sortierer für die Sortierung nach dem Zeitstempel, der beim ersten Aufruf erzeugt wird.
+     */
+    private DataSorterTimestamp dataSorterTimestamp() {
+        if (dataSorterTimestamp == null) {
+            dataSorterTimestamp = new DataSorterTimestamp(this);
+        }
+        return dataSorterTimestamp;
+    }
+
+    /**
+     * @return Der Sortierer für die Sortierung nach dem Namen, der beim ersten Aufruf erzeugt wird.
+     */
+    private DataSorterName dataSorterName() {
+        if (dataSorterName == null) {
+            dataSorterName = new DataSorterName(this);
+        }
+        return dataSorterName;
+    }
+
+    /**
+     * @return Der Dialog für das Hinzufügen von Einträgen, der beim ersten Aufruf erzeugt wird.
+     */
+    private DataAddEntryDialog dataAddEntryDialog() {
+        if (dataAddEntryDialog == null) {
+            dataAddEntryDialog = new DataAddEntryDialog(this, dataSource, mainExecutor);
+        }
+        return dataAddEntryDialog;
+    }
+
+    /**
+     * @return Der Export aller Mitglieder, der beim ersten Aufruf erzeugt wird.
+     */
+    private MemberArchiveExporter memberArchiveExporter() {
+        if (memberArchiveExporter == null) {
+            memberArchiveExporter = new MemberArchiveExporter(dataSource, getFilesDir(), exportExecutor, mainExecutor);
+        }
+        return memberArchiveExporter;
+    }
+
+    /**
+     * @return Der Import von Mitgliedern aus einer Datei, der beim ersten Aufruf erzeugt wird.
+     */
+    private MemberImporter memberImporter() {
+        if (memberImporter == null) {
+            memberImporter = new MemberImporter(dataSource, getContentResolver(), importExecutor, mainExecutor);
+        }
+        return memberImporter;
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        // Echtzeit-Listener starten, damit der zwischengespeicherte Datenstand aktuell bleibt
+        memberRepository.startListening();
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // Im Hintergrund werden keine Änderungen mehr empfangen.
+        memberRepository.stopListening();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        // Laufende Anfragen verwerfen und den Hintergrund-Thread beenden
+        memberPipeline.cancel();
+        memberRepository.removeOnMembersChangedListener(memberChangeListener);
+        backgroundExecutor.shutdown();
+        exportExecutor.shutdownNow();
+        importExecutor.shutdownNow();
     }
 
     @Override
@@ -120,6 +376,42 @@ public class MainActivity extends AppCompatActivity {
         builder.show();
     }
 
+    /**
+     * Diese Methode zeigt die Perzentile der Messwerte je Sortierung und Phase in einem AlertDialog an.
+     * Die Messwerte können von dort als CSV oder JSON exportiert werden.
+     */
+    private void showTelemetry() {
+        new AlertDialog.Builder(this)
+                .setTitle("Messwerte (ms)")
+                .setMessage(telemetry.formatSummary())
+                .setPositiveButton("OK", (dialog, which) -> dialog.dismiss())
+                .setNeutralButton("CSV exportieren", (dialog, which) -> exportTelemetry(TELEMETRY_FILE_NAME + ".csv", telemetry.toCsv()))
+                .setNegativeButton("JSON exportieren", (dialog, which) -> exportTelemetry(TELEMETRY_FILE_NAME + ".json", telemetry.toJson()))
+                .show();
+    }
+
+    /**
+     * Schreibt die exportierten Messwerte auf dem Export-Thread in das Export-Verzeichnis der App.
+     *
+     * @param fileName Der Name der Datei.
+     * @param content  Der Inhalt der Datei.
+     */
+    private void exportTelemetry(String fileName, String content) {
+        File file = new File(new File(getFilesDir(), "export"), fileName);
+        exportExecutor.execute(() -> {
+            String message;
+            try {
+                file.getParentFile().mkdirs();
+                Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+                message = "Messwerte exportiert: " + file.getAbsolutePath();
+            } catch (IOException e) {
+                message = "Export der Messwerte fehlgeschlagen";
+            }
+            String toastText = message;
+            mainExecutor.execute(() -> Toast.makeText(getApplicationContext(), toastText, Toast.LENGTH_LONG).show());
+        });
+    }
+
     /**
      * Diese Methode zeigt einen Bestätigungsdialog für das Beenden der App an.
       */
@@ -142,170 +434,554 @@ public class MainActivity extends AppCompatActivity {
      * Diese Methode führt eine Heapsort-Sortierung der Datenbankdaten durch und zeigt die Ergebnisse in einer Tabelle an.
      */
     private void sortDataHeapsort() {
-        // Zeitpunkt für den Start der Datenbankabfrage setzen
-        long queryStartTime = System.currentTimeMillis();
-        // User-Interface-Elemente für den Titel und die Zeilenanzahl initialisieren
-        TextView tvTitle = findViewById(R.id.tvTitle);
-        tvTitle.setText("Mitglieder (Sortierung der ID nach Heapsort)");
+        applySortStrategy(SortStrategies.HEAPSORT);
+    }
+
+    /**
+     * Sucht im zwischengespeicherten Datenstand nach Mitgliedern, bei denen Name, Vorname, E-Mail oder ID mit der
+     * Eingabe beginnt. Die Suche nutzt den Suchindex des Repositorys und fragt die Datenbank nicht ab.
+     *
+     * @param query Die Eingabe der Suche.
+     */
+    private void searchMembers(String query) {
+        memberPipeline.submit("suche", (snapshot, request) -> memberRepository.searchMembers(query, SEARCH_LIMIT), new MemberPipeline.OnResultListener() {
+            @Override
+            public void onResult(MemberPipeline.Result result) {
+                List<Member> members = result.getMembers();
+                showMembers(members, null);
+                displayedQuery = query;
+
+                TextView tvRowCount = findViewById(R.id.tvRowCount);
+                tvRowCount.setText("Suche nach \"" + query + "\" dauerte " + result.getElapsedTime() + " Millisekunden. \nEs wurden "
+                        + members.size() + " Treffer gefunden" + (members.size() == SEARCH_LIMIT ? ", weitere Treffer werden nicht angezeigt." : "."));
+            }
+
+            @Override
+            public void onError(Exception e) {
+                Toast.makeText(getApplicationContext(), "Error getting data", Toast.LENGTH_LONG).show();
+            }
+        });
+    }
+
+    /**
+     * Exportiert alle Mitglieder nach der ID sortiert in eine CSV-Datei. Der Fortschritt wird in der Statuszeile angezeigt.
+     *
+     * @param btnExport Der Button, der während des Exports deaktiviert wird.
+     */
+    private void exportArchive(Button btnExport) {
+        btnExport.setEnabled(false);
         TextView tvRowCount = findViewById(R.id.tvRowCount);
+        memberArchiveExporter().export(new MemberArchiveExporter.OnExportListener() {
+            @Override
+            public void onProgress(long readCount) {
+                tvRowCount.setText("Export: " + readCount + " Datensätze gelesen ...");
+            }
+
+            @Override
+            public void onExported(File file, long count, long elapsedTime) {
+                btnExport.setEnabled(true);
+                tvRowCount.setText("Export von " + count + " Datensätzen dauerte " + elapsedTime + " Millisekunden. \nDatei: " + file.getAbsolutePath());
+            }
+
+            @Override
+            public void onError(Exception e) {
+                btnExport.setEnabled(true);
+                Toast.makeText(getApplicationContext(), "Export fehlgeschlagen", Toast.LENGTH_LONG).show();
+            }
+        });
+    }
 
-        // Auf die Firestore-Datenbank zugreifen und alle Dokumente abrufen.
-        dbroot.collection("students")
-                .get()
-                .addOnCompleteListener(task -> {
-                    // Die Variable 'rowCount' wird erstellt und mit der Anzahl der Dokumente in der Firestore-Datenbankabfrage initialisiert.
-                    int rowCount = task.getResult().size();
-                    // Endzeit für Datenbankabfrage setzen
-                    long queryEndTime = System.currentTimeMillis();
-                    // Zeit für Datenbankabfrage berechnen
-                    long queryElapsedTime = queryEndTime - queryStartTime;
-                    // Anzeigen der Zeit für den Verbindungsaufbau und die Umsortierung sowie der Anzahl der Datensätze
-                    String CountText = "Verbindungsaufbau und Umsortierung der Daten dauerte " + queryElapsedTime + " Millisekunden. \nEs befinden sich " + rowCount + " Datensätze in der Datenbank.";
-                    tvRowCount.setText(CountText);
-                    // Überprüfen, ob die Datenbankabfrage erfolgreich war
-                    if (task.isSuccessful()) {
-                        TableLayout tableLayout = findViewById(R.id.tableLayout);
-
-                        // Vorhandenen Inhalt löschen, wenn es nicht um einen Reset geht.
-                        tableLayout.removeAllViews();
-
-                        // Dokumente aus dem Abfrageergebnis extrahieren
-                        List<DocumentSnapshot> documents = task.getResult().getDocuments();
-                        List<Map<String, Object>> dataToSort = new ArrayList<>();
-                        // Daten aus den Dokumenten extrahieren und in die Liste dataToSort einfügen
-                        for (DocumentSnapshot document : documents) {
-                            dataToSort.add(document.getData());
-                        }
-
-                        // Zurücksetzen des Schrittzählers für die Heapsort-Implementierung
-                        DataSorterHeapsort.resetStepCount();
-                        // Aufrufen der Heapsort-Sortierung
-                        DataSorterHeapsort.sort(dataToSort);
-                        // Anzahl der Schritte für die Heapsort-Sortierung abrufen
-                        int heapsortSteps = DataSorterHeapsort.getStepCount();
-
-                        // Anzeigen einer Nachricht mit der Anzahl der Schritte für die Sortierung.
-                        Toast.makeText(this, "Sortierung abgeschlossen in " + heapsortSteps + " Schritten.", Toast.LENGTH_SHORT).show();
-
-                        // Für jedes Datenobjekt in der Liste 'dataToSort' wird eine neue TableRow erstellt und mit Daten gefüllt.
-                        for (Map<String, Object> data : dataToSort) {
-
-                            // Eine neue Tabellenzeile wird durch den Inflater nach der Layout-Ressorce "R.layout:table_row_layout" erstellt.
-                            TableRow dataRow = (TableRow) getLayoutInflater().inflate(R.layout.table_row_layout, null);
-
-                            // Die Daten werden in die entsprechenden TextViews der TableRow gesetzt.
-                            TextView idTextView = dataRow.findViewById(R.id.idTextView); // TextView für die ID
-                            idTextView.setText((String) data.get("id"));
-
-                            TextView nameTextView = dataRow.findViewById(R.id.nameTextView); // TextView für die Namen
-                            nameTextView.setText((String) data.get("name"));
-
-                            TextView vornameTextView = dataRow.findViewById(R.id.vornameTextView); // TextView für die Vornamen
-                            vornameTextView.setText((String) data.get("vorname"));
-
-                            TextView emailTextView = dataRow.findViewById(R.id.emailTextView); // TextView für die E-Mail
-                            emailTextView.setText((String) data.get("email"));
-
-                            TextView timestampTextView = dataRow.findViewById(R.id.timestampTextView); // TextView für den Timestamp
-                            String timestamp = (String) data.get("timestamp");
-                            String formattedTimestamp = TimeStampFormat.convertTimestamp(timestamp); // Der Timestamp wird in das gewünschte Format konvertiert.
-                            timestampTextView.setText((String) formattedTimestamp);
-
-                            // Die erstellte TableRow wird zum TableLayout hinzugefügt.
-                            tableLayout.addView(dataRow);
-                        }
-                    } else {
-                        // Anzeigen einer Fehlermeldung, falls die Datenbankabfrage nicht erfolgreich war
-                        Toast.makeText(getApplicationContext(), "Error getting data", Toast.LENGTH_LONG).show();
-                    }
-                });
+    /**
+     * Lässt eine CSV- oder JSON-Datei für den Import auswählen. Der Import startet mit dem Ergebnis von
+     * {@link #importFilePicker}.
+     */
+    private void chooseImportFile() {
+        importFilePicker.launch(new String[]{"*/*"});
     }
 
     /**
-     * Methode zum Laden von Daten aus der Datenbank oder zum Zurücksetzen von Daten mit optionaler Umsortierung.
-      */
-    private void loadDataOrResetData(boolean isReset) {
-        // Startzeit für die Datenbankabfrage setzen
-        long queryStartTime = System.currentTimeMillis();
-        // Referenzen zu den Textviews in der Benutzeroberfläche initialisieren
-        TextView tvTitle = findViewById(R.id.tvTitle);
-        tvTitle.setText("Mitglieder"); // Titeltext kann hier entsprechend angepasst werden
+     * Importiert die Mitglieder der ausgewählten Datei. Der Fortschritt wird in der Statuszeile angezeigt; die Liste
+     * wird erst nach dem Import einmalig neu aufgebaut.
+     *
+     * @param uri Die ausgewählte Datei.
+     */
+    private void importMembers(Uri uri) {
+        Button btnImport = findViewById(R.id.btnImport);
+        btnImport.setEnabled(false);
         TextView tvRowCount = findViewById(R.id.tvRowCount);
+        // Die Änderungen des Echtzeit-Listeners werden während des Imports nicht einzeln angezeigt.
+        memberRepository.beginBulkUpdate();
+        memberImporter().importMembers(uri, new MemberImporter.OnImportListener() {
+            @Override
+            public void onProgress(int readCount, int importedCount, int rejectedCount) {
+                tvRowCount.setText("Import: " + readCount + " Zeilen gelesen, " + importedCount + " gespeichert, " + rejectedCount + " ungültig ...");
+            }
+
+            @Override
+            public void onImported(MemberBulkImporter.Result result) {
+                finishImport(btnImport);
+                String text = "Import von " + result.getImportedCount() + " Mitgliedern dauerte " + result.getElapsedTime() + " Millisekunden.";
+                if (result.getRejectedCount() > 0) {
+                    text += " \n" + result.getRejectedCount() + " ungültige Zeilen wurden übersprungen, z.B. Zeile " + result.getRejectedRows().get(0) + ".";
+                }
+                if (result.getFailedCount() > 0) {
+                    text += " \n" + result.getFailedCount() + " Mitglieder konnten nicht gespeichert werden.";
+                }
+                tvRowCount.setText(text);
+            }
+
+            @Override
+            public void onError(Exception e) {
+                finishImport(btnImport);
+                Toast.makeText(getApplicationContext(), "Import fehlgeschlagen", Toast.LENGTH_LONG).show();
+            }
+        });
+    }
 
-        // Datenbankabfrage durchführen
-        dbroot.collection("students")
-                .get()
-                .addOnCompleteListener(task -> {
-                    if (task.isSuccessful()) {
-                        // Referenz zum TableLayout in der Benutzeroberfläche holen
-                        TableLayout tableLayout = findViewById(R.id.tableLayout);
-                        // Vorhandenen Inhalt löschen, wenn es nicht um einen Reset geht.
-                        tableLayout.removeAllViews();
-
-                        // Datenzeilen hinzufügen
-                        for (DocumentSnapshot document : task.getResult()) {
-                            Map<String, Object> data = document.getData();
-
-                            // Eine neue Tabellenzeile wird durch den Inflater erstellt.
-                            TableRow dataRow = (TableRow) getLayoutInflater().inflate(R.layout.table_row_layout, null);
-
-                            // Setzen der Daten in die TextViews
-                            TextView idTextView = dataRow.findViewById(R.id.idTextView); // TextView für die ID
-                            idTextView.setText((String) data.get("id"));
-
-                            TextView nameTextView = dataRow.findViewById(R.id.nameTextView); // TextView für die Namen
-                            nameTextView.setText((String) data.get("name"));
-
-                            TextView vornameTextView = dataRow.findViewById(R.id.vornameTextView); // TextView für die Vornamen
-                            vornameTextView.setText((String) data.get("vorname"));
-
-                            TextView emailTextView = dataRow.findViewById(R.id.emailTextView); // TextView für die E-Mail
-                            emailTextView.setText((String) data.get("email"));
-
-                            TextView timestampTextView = dataRow.findViewById(R.id.timestampTextView); // TextView für den Timestamp
-                            String timestamp = (String) data.get("timestamp");
-                            // Timestamp in das gewünschte Format konvertieren.
-                            String formattedTimestamp = TimeStampFormat.convertTimestamp(timestamp);
-                            timestampTextView.setText((String) formattedTimestamp);
-
-                            // Die erstellte TableRow wird zum TableLayout hinzugefügt.
-                            tableLayout.addView(dataRow);
-                        }
-
-                        // Anzahl der abgerufenen Datensätze
-                        int rowCount = task.getResult().size();
-                        // Endzeit für Datenbankabfrage setzen
-                        long queryEndTime = System.currentTimeMillis();
-                        // Zeit für Datenbankabfrage berechnen
-                        long queryElapsedTime = queryEndTime - queryStartTime;
-                        // Text für die Anzahl der Datensätze und die Zeit zur Benutzeroberfläche setzen
-                        String countText = isReset ?
-                                "Verbindungsaufbau und Umsortierung der Daten dauerte " + queryElapsedTime + " Millisekunden. \nEs befinden sich " + rowCount + " Datensätze in der Datenbank." :
-                                "Initialisierung und Verbindungsaufbau zur Datenbank dauerte: " + queryElapsedTime + " Millisekunden. Davon hat die App zum Starten " + appInitializationTime + " Millisekunden benötigt. \nEs befinden sich " + rowCount + " Datensätze in der Datenbank.";
-                        // Text in das TextView setzen
-                        tvRowCount.setText(countText);
-
-                    } else {
-                        // Fehlermeldung anzeigen, wenn das Abrufen der Daten aus der Datenbank nicht erfolgreich ist.
-                        Toast.makeText(getApplicationContext(), "Error getting data", Toast.LENGTH_LONG).show();
-                    }
-                });
+    /**
+     * Beendet einen Import und baut die Liste einmalig neu auf. Ohne Echtzeit-Listener wird dafür der
+     * zwischengespeicherte Datenstand verworfen und neu geladen.
+     *
+     * @param btnImport Der Button, der wieder aktiviert wird.
+     */
+    private void finishImport(Button btnImport) {
+        btnImport.setEnabled(true);
+        memberRepository.endBulkUpdate();
+        if (!memberRepository.isListening()) {
+            memberRepository.invalidate();
+            resetData();
+        }
+    }
+
+    /**
+     * Wendet eine Sortierung auf den zwischengespeicherten Datenstand an und zeigt das Ergebnis an. Alle Sortierungen
+     * auf dem Gerät laufen über diese Methode: Abruf, Sortierung und Formatierung im Hintergrund über die
+     * {@link MemberPipeline}, die Anzeige auf dem Haupt-Thread. Unterstützt die Sortierung einen Cursor, wird nur die
+     * erste Seite ausgewählt; weitere Seiten folgen beim Scrollen.
+     *
+     * @param strategy Die anzuwendende Sortierung.
+     */
+    public void applySortStrategy(SortStrategy strategy) {
+        applySortStrategy(strategy, strategy.getLabel(), false);
+    }
+
+    /**
+     * Wendet eine Sortierung an, siehe {@link #applySortStrategy(SortStrategy)}.
+     *
+     * @param strategy Die anzuwendende Sortierung.
+     * @param label    Die Bezeichnung in der Telemetrie.
+     * @param isReset  `true`, wenn die angezeigte Liste über DiffUtil abgeglichen statt ersetzt werden soll.
+     */
+    private void applySortStrategy(SortStrategy strategy, String label, boolean isReset) {
+        TextView tvTitle = findViewById(R.id.tvTitle);
+        tvTitle.setText(strategy.getTitle());
+        // Cursor, den die Sortierstufe im Hintergrund anlegt (null bei vollständiger Sortierung)
+        final TopKCursor[] cursor = new TopKCursor[1];
+        // Beim Zurücksetzen wird der Abgleich mit der angezeigten Liste im Hintergrund berechnet
+        MemberAdapter.Update update = isReset ? memberAdapter.beginUpdate() : null;
+
+        memberPipeline.submit(label, (snapshot, request) -> {
+            cursor[0] = isReset ? null : strategy.openCursor(snapshot, MemberPager.PAGE_SIZE);
+            if (cursor[0] != null) {
+                return cursor[0].nextPage();
+            }
+            return isReset ? update.calculate(strategy.sort(snapshot)) : strategy.sort(snapshot);
+        }, new MemberPipeline.OnResultListener() {
+            @Override
+            public void onResult(MemberPipeline.Result result) {
+                if (cursor[0] != null) {
+                    // Die erste Seite wird zusammen mit dem Cursor für die weiteren Seiten angezeigt
+                    showPartialMembers(result.getMembers(), strategy, cursor[0], result.getElapsedTime());
+                    return;
+                }
+                List<Member> members = result.getMembers();
+                if (isReset) {
+                    // Beim Zurücksetzen wird die Liste über DiffUtil abgeglichen, sodass z.B. nach dem
+                    // Hinzufügen eines Eintrags nur die geänderten Zeilen neu gebunden werden.
+                    displayedComparator = strategy.getComparator();
+                    displayedPartial = false;
+                    displayedCursor = null;
+                    cursorLoading = false;
+                    displayedStrategy = null;
+                    displayedQuery = null;
+                    memberAdapter.applyUpdate(update);
+                } else {
+                    showMembers(members, strategy.getComparator());
+                }
+
+                SortStatistics statistics = result.getStatistics();
+                if (statistics != null) {
+                    // Anzeigen einer Nachricht mit der Anzahl der Schritte für die Sortierung.
+                    Toast.makeText(MainActivity.this, "Sortierung abgeschlossen in " + statistics.getStepCount() + " Schritten ("
+                            + statistics.getComparisons() + " Vergleiche, " + statistics.getSwaps() + " Vertauschungen).", Toast.LENGTH_SHORT).show();
+                }
+                if (strategy == SortStrategies.SERVER_ORDER && !isReset) {
+                    showLoadStatus(result.getElapsedTime(), members.size(), result.isFromCache());
+                } else {
+                    showStatus(result.getElapsedTime(), members.size(), result.isFromCache());
+                }
+            }
+
+            @Override
+            public void onError(Exception e) {
+                // Fehlermeldung anzeigen, wenn das Abrufen der Daten aus der Datenbank nicht erfolgreich ist.
+                Toast.makeText(getApplicationContext(), "Error getting data", Toast.LENGTH_LONG).show();
+            }
+        });
     }
 
     /**
-     * Diese Methode ruft die Methode `loadDataOrResetData` auf, um Daten aus der Datenbank zu laden,
-     * ohne die vorhandenen Daten zu resetten.
+     * Zeigt nach dem ersten Laden die Dauer bis zu den ersten Daten und die Startzeit der App in der Statuszeile an.
+     *
+     * @param elapsedTime Die benötigte Zeit in Millisekunden.
+     * @param rowCount    Die Anzahl der angezeigten Datensätze.
+     * @param fromCache   `true`, wenn die Daten aus dem auf dem Gerät gespeicherten Stand stammen.
+     */
+    private void showLoadStatus(long elapsedTime, int rowCount, boolean fromCache) {
+        TextView tvRowCount = findViewById(R.id.tvRowCount);
+        String countText = fromCache ?
+                "Laden des gespeicherten Datenstands dauerte: " + elapsedTime + " Millisekunden. Die App war " + startupTracer.getElapsed(StartupTracer.Phase.ACTIVITY_CREATED) + " Millisekunden nach dem Prozessstart bereit. \nEs befinden sich " + rowCount + " Datensätze im gespeicherten Stand, der Abgleich mit der Datenbank läuft im Hintergrund." :
+                "Initialisierung und Verbindungsaufbau zur Datenbank dauerte: " + elapsedTime + " Millisekunden. Die App war " + startupTracer.getElapsed(StartupTracer.Phase.ACTIVITY_CREATED) + " Millisekunden nach dem Prozessstart bereit. \nEs befinden sich " + rowCount + " Datensätze in der Datenbank.";
+        tvRowCount.setText(countText);
+    }
+
+    /**
+     * Diese Methode lädt die Daten aus der Datenbank und zeigt sie in ihrer ursprünglichen Reihenfolge an.
      */
     public void loadData() {
-        loadDataOrResetData(false);
+        applySortStrategy(SortStrategies.SERVER_ORDER, "laden", false);
     }
 
     /**
-     * Diese Methode ruft die Methode `loadDataOrResetData` auf, um Daten aus der Datenbank zu laden
-     * und dabei die vorhandenen Daten zurückzusetzen.
+     * Diese Methode zeigt die Daten wieder in ihrer ursprünglichen Reihenfolge an und gleicht die angezeigte
+     * Liste dabei ab, statt sie zu ersetzen.
      */
     public void resetData() {
-        loadDataOrResetData(true);
+        applySortStrategy(SortStrategies.SERVER_ORDER, "zuruecksetzen", true);
+    }
+
+    /**
+     * Zeigt die übergebenen Daten in der RecyclerView an und ersetzt dabei die bisherige Liste vollständig.
+     * Diese Methode wird von allen Sortierungen verwendet, da sich die Reihenfolge dabei grundlegend ändert.
+     *
+     * @param members    Die anzuzeigenden Datensätze in der gewünschten Reihenfolge.
+     * @param comparator Die Sortierreihenfolge der Liste, in die neue Einträge einsortiert werden,
+     *                   oder null, wenn neue Einträge am Ende angehängt werden sollen.
+     */
+    public void showMembers(List<Member> members, Comparator<Member> comparator) {
+        displayedComparator = comparator;
+        displayedPartial = false;
+        displayedCursor = null;
+        cursorLoading = false;
+        displayedStrategy = null;
+        displayedQuery = null;
+        memberAdapter.replaceMembers(members);
+        // Nach einer neuen Sortierung wird wieder der Anfang der Liste angezeigt.
+        recyclerView.scrollToPosition(0);
+        if (!members.isEmpty()) {
+            startupTracer.markFirstDataRow(this, recyclerView);
+        }
+    }
+
+    /**
+     * Zeigt die erste Seite einer Sortierung auf dem Gerät an. Die weiteren Seiten liefert der Cursor beim Scrollen.
+     *
+     * @param firstPage   Die bereits ausgewählte erste Seite.
+     * @param strategy    Die Sortierung, die den Cursor geöffnet hat.
+     * @param cursor      Der Cursor, der die erste Seite geliefert hat.
+     * @param elapsedTime Die Dauer bis zur ersten Seite in Millisekunden.
+     */
+    public void showPartialMembers(List<Member> firstPage, SortStrategy strategy, TopKCursor cursor, long elapsedTime) {
+        showMembers(firstPage, strategy.getComparator());
+        if (cursor.hasMore()) {
+            displayedCursor = cursor;
+            displayedStrategy = strategy;
+            displayedPartial = true;
+        }
+        showPartialStatus("ersten", elapsedTime, cursor);
+    }
+
+    /**
+     * Wählt im Hintergrund die nächste Seite des angezeigten Cursors aus und hängt sie an die Liste an.
+     * Jede neue Sortierung bricht das Laden ab.
+     */
+    private void loadNextCursorPage() {
+        if (cursorLoading) {
+            return;
+        }
+        cursorLoading = true;
+        TopKCursor cursor = displayedCursor;
+        memberPipeline.submit("cursor-seite", (snapshot, request) -> cursor.nextPage(), new MemberPipeline.OnResultListener() {
+            @Override
+            public void onResult(MemberPipeline.Result result) {
+                if (displayedCursor != cursor) {
+                    return;
+                }
+                cursorLoading = false;
+                memberAdapter.appendMembers(result.getMembers());
+                if (!cursor.hasMore()) {
+                    displayedCursor = null;
+                    displayedStrategy = null;
+                    displayedPartial = false;
+                }
+                showPartialStatus("nächsten", result.getElapsedTime(), cursor);
+            }
+
+            @Override
+            public void onError(Exception e) {
+                cursorLoading = false;
+                Toast.makeText(getApplicationContext(), "Error getting data", Toast.LENGTH_LONG).show();
+            }
+        });
+    }
+
+    /**
+     * Öffnet den angezeigten Cursor nach einer Änderung der Daten auf dem neuen Datenstand neu. Der bisherige
+     * Cursor gehört zum alten Datenstand; seine weiteren Seiten würden geänderte Einträge doppelt oder veraltet
+     * liefern. Es werden so viele Seiten gelesen, wie bisher angezeigt wurden, und die Liste über DiffUtil
+     * abgeglichen, sodass die Scrollposition erhalten bleibt.
+     */
+    private void reopenDisplayedCursor() {
+        SortStrategy strategy = displayedStrategy;
+        int displayedCount = displayedMembers.size();
+        // Bis zum Ergebnis werden keine Seiten des alten Cursors mehr geladen
+        displayedCursor = null;
+        cursorLoading = false;
+        final TopKCursor[] cursor = new TopKCursor[1];
+        MemberAdapter.Update update = memberAdapter.beginUpdate();
+
+        memberPipeline.submit("cursor-abgleich", (snapshot, request) -> {
+            cursor[0] = strategy.openCursor(snapshot, MemberPager.PAGE_SIZE);
+            List<Member> members = new ArrayList<>();
+            do {
+                members.addAll(cursor[0].nextPage());
+            } while (members.size() < displayedCount && cursor[0].hasMore());
+            return update.calculate(members);
+        }, new MemberPipeline.OnResultListener() {
+            @Override
+            public void onResult(MemberPipeline.Result result) {
+                if (displayedStrategy != strategy) {
+                    return;
+                }
+                memberAdapter.applyUpdate(update);
+                if (cursor[0].hasMore()) {
+                    displayedCursor = cursor[0];
+                } else {
+                    displayedStrategy = null;
+                    displayedPartial = false;
+                }
+                showListUpdatedStatus();
+            }
+
+            @Override
+            public void onError(Exception e) {
+                Toast.makeText(getApplicationContext(), "Error getting data", Toast.LENGTH_LONG).show();
+            }
+        });
+    }
+
+    private void showPartialStatus(String page, long elapsedTime, TopKCursor cursor) {
+        TextView tvRowCount = findViewById(R.id.tvRowCount);
+        tvRowCount.setText("Auswahl der " + page + " Seite dauerte " + elapsedTime + " Millisekunden. \nEs wurden " + cursor.getDeliveredCount() + " von " + cursor.size() + " Datensätzen sortiert" + (cursor.hasMore() ? ", weitere folgen beim Scrollen." : "."));
+    }
+
+    /**
+     * Lädt die Daten seitenweise und bereits von der Datenbank sortiert. Schlägt bereits die erste Seite fehl,
+     * wird stattdessen die übergebene Sortierung auf dem Gerät ausgeführt.
+     *
+     * @param field              Das Feld, nach dem die Datenbank sortiert.
+     * @param descending         `true` für absteigende Sortierung.
+     * @param comparator         Ein Vergleich, der der Sortierung der Datenbank entspricht. Er wird verwendet, um
+     *                           neue Einträge direkt an der richtigen Stelle der Liste einzufügen.
+     * @param clientSideFallback Die Sortierung auf dem Gerät, falls die Datenbank keine Seite liefern kann.
+     */
+    public void showPagedMembers(String field, boolean descending, Comparator<Member> comparator, Runnable clientSideFallback) {
+        memberPager.start(field, descending, new MemberPager.OnPageLoadedListener() {
+            @Override
+            public void onPageLoaded(List<Member> page, boolean firstPage, boolean complete, long elapsedTime) {
+                if (firstPage) {
+                    showMembers(page, comparator);
+                } else {
+                    memberAdapter.appendMembers(page);
+                }
+                displayedPartial = !complete;
+
+                TextView tvRowCount = findViewById(R.id.tvRowCount);
+                tvRowCount.setText("Laden der " + (firstPage ? "ersten" : "nächsten") + " Seite dauerte " + elapsedTime + " Millisekunden. \nEs wurden " + displayedMembers.size() + " Datensätze geladen" + (complete ? "." : ", weitere folgen beim Scrollen."));
+            }
+
+            @Override
+            public void onError(Exception e, boolean firstPage) {
+                if (firstPage) {
+                    // Die Datenbank kann die Sortierung nicht liefern, z.B. ohne Verbindung: Sortierung auf dem Gerät
+                    clientSideFallback.run();
+                } else {
+                    Toast.makeText(getApplicationContext(), "Error getting data", Toast.LENGTH_LONG).show();
+                }
+            }
+        });
+    }
+
+    /**
+     * Beobachter für einzelne Änderungen der Datenbank. Neue und geänderte Einträge werden per binärer Suche
+     * in die bereits sortierte Liste eingefügt, sodass weder neu geladen noch neu sortiert werden muss. Der Adapter
+     * bindet dabei nur die betroffene Zeile neu, ohne die Liste zu kopieren oder per DiffUtil zu vergleichen.
+     * Werden Suchtreffer angezeigt, wird die Suche über den bereits aktualisierten Suchindex wiederholt. Werden die
+     * Seiten eines Cursors angezeigt, wird der Cursor auf dem neuen Datenstand neu geöffnet.
+     */
+    private final MemberRepository.OnMembersChangedListener memberChangeListener = new MemberRepository.OnMembersChangedListener() {
+        @Override
+        public void onMemberAdded(Member data) {
+            if (displayedQuery != null) {
+                searchMembers(displayedQuery);
+                return;
+            }
+            if (displayedStrategy != null) {
+                reopenDisplayedCursor();
+                return;
+            }
+            int position = insertionPosition(data);
+            if (position >= 0) {
+                memberAdapter.insertMember(position, data);
+            }
+            showListUpdatedStatus();
+        }
+
+        @Override
+        public void onMemberModified(Member oldData, Member newData) {
+            if (displayedQuery != null) {
+                searchMembers(displayedQuery);
+                return;
+            }
+            if (displayedStrategy != null) {
+                reopenDisplayedCursor();
+                return;
+            }
+            int from = findDisplayedMember(oldData);
+            if (from < 0) {
+                onMemberAdded(newData);
+                return;
+            }
+            // Ohne feste Sortierreihenfolge bleibt der Eintrag an seiner Stelle. Die Einfügeposition wird in der
+            // Liste mit dem bisherigen Eintrag bestimmt und auf die Liste ohne ihn umgerechnet.
+            int to = displayedComparator == null ? from : insertionPosition(newData);
+            if (to > from) {
+                to--;
+            }
+            if (to < 0) {
+                memberAdapter.removeMember(from);
+            } else {
+                memberAdapter.moveMember(from, to, newData);
+            }
+            showListUpdatedStatus();
+        }
+
+        @Override
+        public void onMemberRemoved(Member data) {
+            if (displayedQuery != null) {
+                searchMembers(displayedQuery);
+                return;
+            }
+            if (displayedStrategy != null) {
+                reopenDisplayedCursor();
+                return;
+            }
+            int index = findDisplayedMember(data);
+            if (index >= 0) {
+                memberAdapter.removeMember(index);
+            }
+            showListUpdatedStatus();
+        }
+
+        @Override
+        public void onMembersReloaded() {
+            // Der gespeicherte Stand wich stark von der Datenbank ab: Suche wiederholen bzw. alle Daten neu anzeigen
+            if (displayedQuery != null) {
+                searchMembers(displayedQuery);
+            } else {
+                resetData();
+            }
+        }
+    };
+
+    /**
+     * Bestimmt die Stelle, an der ein Datensatz gemäß der aktuellen Sortierreihenfolge in die angezeigte Liste
+     * eingefügt wird.
+     *
+     * @param data Der einzufügende Datensatz.
+     * @return Die Position, oder -1, wenn der Datensatz erst mit einer späteren Seite geladen wird.
+     */
+    private int insertionPosition(Member data) {
+        if (displayedComparator == null) {
+            return displayedMembers.size();
+        }
+        // Bei einem Treffer wird direkt dort eingefügt, sonst an der von binarySearch gelieferten Einfügeposition.
+        int index = Collections.binarySearch(displayedMembers, data, displayedComparator);
+        int position = index >= 0 ? index : -(index + 1);
+        if (displayedPartial && position == displayedMembers.size()) {
+            // Nur bei Seiten der Datenbank (MemberPager), da Cursor-Listen neu geöffnet werden: Der Eintrag liegt
+            // hinter den bisher geladenen Seiten und wird mit einer späteren Seite der Datenbank geladen.
+            return -1;
+        }
+        return position;
+    }
+
+    /**
+     * Sucht einen Datensatz in der angezeigten Liste.
+     *
+     * @param data Der gesuchte Datensatz.
+     * @return Seine Position, oder -1, wenn er nicht angezeigt wird.
+     */
+    private int findDisplayedMember(Member data) {
+        if (displayedComparator != null) {
+            // Position über die binäre Suche bestimmen und unter gleichrangigen Einträgen den passenden suchen
+            int found = Collections.binarySearch(displayedMembers, data, displayedComparator);
+            if (found >= 0) {
+                int first = found;
+                while (first > 0 && displayedComparator.compare(displayedMembers.get(first - 1), data) == 0) {
+                    first--;
+                }
+                for (int i = first; i < displayedMembers.size() && displayedComparator.compare(displayedMembers.get(i), data) == 0; i++) {
+                    if (displayedMembers.get(i) == data) {
+                        return i;
+                    }
+                }
+            }
+        }
+        // Ohne feste Sortierreihenfolge wird linear gesucht.
+        return displayedMembers.indexOf(data);
+    }
+
+    /**
+     * Zeigt nach einer einzelnen Änderung die Anzahl der angezeigten Datensätze in der Statuszeile an.
+     */
+    private void showListUpdatedStatus() {
+        TextView tvRowCount = findViewById(R.id.tvRowCount);
+        tvRowCount.setText("Die Liste wurde aktualisiert. \nEs befinden sich " + displayedMembers.size() + " Datensätze in der Datenbank.");
+    }
+
+    /**
+     * Zeigt die Dauer von Abruf und Sortierung sowie die Anzahl der Datensätze in der Statuszeile an.
+     *
+     * @param elapsedTime Die benötigte Zeit in Millisekunden.
+     * @param rowCount    Die Anzahl der angezeigten Datensätze.
+     * @param fromCache   `true`, wenn die Daten ohne Datenbankabfrage aus dem Zwischenspeicher stammen.
+     */
+    public void showStatus(long elapsedTime, int rowCount, boolean fromCache) {
+        TextView tvRowCount = findViewById(R.id.tvRowCount);
+        String countText = fromCache ?
+                "Umsortierung der zwischengespeicherten Daten dauerte " + elapsedTime + " Millisekunden. \nEs befinden sich " + rowCount + " Datensätze in der Datenbank." :
+                "Verbindungsaufbau und Umsortierung der Daten dauerte " + elapsedTime + " Millisekunden. \nEs befinden sich " + rowCount + " Datensätze in der Datenbank.";
+        tvRowCount.setText(countText);
+    }
+
+    /**
+     * Gibt das Repository zurück, das den zwischengespeicherten Datenstand verwaltet.
+     *
+     * @return Das MemberRepository der Aktivität.
+     */
+    public MemberRepository getMemberRepository() {
+        return memberRepository;
     }
 
 }
\ No newline at end of file
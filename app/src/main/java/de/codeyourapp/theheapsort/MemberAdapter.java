@@ -0,0 +1,243 @@
+// Import-Anweisungen für benötigte Android- und RecyclerView-Klassen
+package de.codeyourapp.theheapsort;
+
+import android.annotation.SuppressLint;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Diese Klasse stellt die Mitgliederdaten in einer RecyclerView dar.
+ * Es werden nur so viele Zeilen erzeugt, wie auf dem Bildschirm sichtbar sind. Beim Scrollen werden
+ * die vorhandenen Zeilen über ihren ViewHolder wiederverwendet und lediglich neu befüllt.
+ *
+ * Der Adapter besitzt die angezeigte Liste und ändert sie nur auf dem Haupt-Thread. Einzelne Änderungen, z.B. vom
+ * Echtzeit-Listener, werden direkt an ihrer Position übernommen und mit notifyItemInserted, notifyItemRemoved bzw.
+ * notifyItemChanged gemeldet, sodass nur die betroffene Zeile neu gebunden wird. Nur beim Abgleich einer ganzen
+ * Liste, z.B. nach dem Zurücksetzen, werden die Unterschiede über DiffUtil ermittelt, und zwar im Hintergrund
+ * (siehe {@link Update}).
+ */
+public class MemberAdapter extends RecyclerView.Adapter<MemberAdapter.MemberViewHolder> {
+
+    // Die angezeigte Liste, eine nicht veränderbare Sicht darauf und die Anzahl der bisherigen Änderungen
+    private final List<Member> members = new ArrayList<>();
+    private final List<Member> readOnlyMembers = Collections.unmodifiableList(members);
+    private int generation = 0;
+
+    /**
+     * Ein Abgleich der angezeigten Liste mit einer neuen Liste. Er wird auf dem Haupt-Thread mit
+     * {@link #beginUpdate()} begonnen, im Hintergrund mit {@link #calculate(List)} berechnet und auf dem Haupt-Thread
+     * mit {@link #applyUpdate(Update)} übernommen. Wurde die Liste inzwischen geändert, wird die neue Liste ohne
+     * Differenz übernommen.
+     */
+    public static final class Update {
+        private final List<Member> oldMembers;
+        private final int generation;
+        private List<Member> newMembers;
+        private DiffUtil.DiffResult diff;
+
+        private Update(List<Member> oldMembers, int generation) {
+            this.oldMembers = oldMembers;
+            this.generation = generation;
+        }
+
+        /**
+         * Ermittelt die Unterschiede zur neuen Liste. Läuft im Hintergrund.
+         *
+         * @param members Die neue Liste.
+         * @return Die neue Liste.
+         */
+        public List<Member> calculate(List<Member> members) {
+            newMembers = members;
+            diff = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+                @Override
+                public int getOldListSize() {
+                    return oldMembers.size();
+                }
+
+                @Override
+                public int getNewListSize() {
+                    return members.size();
+                }
+
+                // Ein Datensatz gilt als derselbe Eintrag, wenn er zum selben Dokument gehört
+                @Override
+                public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                    return oldMembers.get(oldPosition).getDocumentId().equals(members.get(newPosition).getDocumentId());
+                }
+
+                // und als unverändert, wenn alle Felder gleich sind.
+                @Override
+                public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                    return oldMembers.get(oldPosition).equals(members.get(newPosition));
+                }
+            });
+            return members;
+        }
+    }
+
+    /**
+     * @return Die angezeigte Liste als nicht veränderbare Sicht, die alle späteren Änderungen enthält.
+     */
+    public List<Member> getMembers() {
+        return readOnlyMembers;
+    }
+
+    /**
+     * Ersetzt die angezeigte Liste vollständig, z.B. nach einer neuen Sortierung.
+     * Da sich dabei die Reihenfolge fast aller Einträge ändert, wird auf die Differenzberechnung verzichtet.
+     *
+     * @param newMembers Die neu anzuzeigenden Datensätze.
+     */
+    @SuppressLint("NotifyDataSetChanged") // Es ändern sich fast alle Zeilen
+    public void replaceMembers(List<Member> newMembers) {
+        generation++;
+        members.clear();
+        members.addAll(newMembers);
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Hängt eine Seite an die angezeigte Liste an.
+     *
+     * @param page Die anzuhängenden Datensätze.
+     */
+    public void appendMembers(List<Member> page) {
+        generation++;
+        int start = members.size();
+        members.addAll(page);
+        notifyItemRangeInserted(start, page.size());
+    }
+
+    /**
+     * Fügt einen Datensatz an einer Position ein.
+     *
+     * @param position Die Position.
+     * @param member   Der Datensatz.
+     */
+    public void insertMember(int position, Member member) {
+        generation++;
+        members.add(position, member);
+        notifyItemInserted(position);
+    }
+
+    /**
+     * Entfernt den Datensatz an einer Position.
+     *
+     * @param position Die Position.
+     */
+    public void removeMember(int position) {
+        generation++;
+        members.remove(position);
+        notifyItemRemoved(position);
+    }
+
+    /**
+     * Ersetzt einen geänderten Datensatz und verschiebt ihn bei Bedarf an seine neue Position.
+     *
+     * @param from   Die bisherige Position.
+     * @param to     Die neue Position, bezogen auf die Liste nach dem Entfernen der bisherigen.
+     * @param member Der geänderte Datensatz.
+     */
+    public void moveMember(int from, int to, Member member) {
+        generation++;
+        if (from == to) {
+            members.set(to, member);
+        } else {
+            members.remove(from);
+            members.add(to, member);
+            notifyItemMoved(from, to);
+        }
+        notifyItemChanged(to);
+    }
+
+    /**
+     * Beginnt einen Abgleich mit einer neuen Liste. Die bisherige Liste wird dafür kopiert, da sie sich bis zur
+     * Übernahme noch ändern kann.
+     *
+     * @return Der Abgleich, der im Hintergrund berechnet wird.
+     */
+    public Update beginUpdate() {
+        return new Update(new ArrayList<>(members), generation);
+    }
+
+    /**
+     * Übernimmt einen berechneten Abgleich. Bei unveränderter Liste werden nur die Unterschiede gemeldet.
+     *
+     * @param update Der mit {@link Update#calculate(List)} berechnete Abgleich.
+     */
+    @SuppressLint("NotifyDataSetChanged") // Nur, wenn sich die Liste seit Beginn des Abgleichs geändert hat
+    public void applyUpdate(Update update) {
+        boolean unchanged = update.generation == generation;
+        generation++;
+        members.clear();
+        members.addAll(update.newMembers);
+        if (unchanged) {
+            update.diff.dispatchUpdatesTo(this);
+        } else {
+            notifyDataSetChanged();
+        }
+    }
+
+    @Override
+    public int getItemCount() {
+        return members.size();
+    }
+
+    @NonNull
+    @Override
+    public MemberViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        // Eine neue Zeile wird nur erzeugt, wenn kein wiederverwendbarer ViewHolder vorhanden ist.
+        View itemView = LayoutInflater.from(parent.getContext()).inflate(R.layout.table_row_layout, parent, false);
+        return new MemberViewHolder(itemView);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull MemberViewHolder holder, int position) {
+        holder.bind(members.get(position));
+    }
+
+    /**
+     * ViewHolder für eine Tabellenzeile. Die TextViews werden einmalig beim Erzeugen der Zeile gesucht
+     * und anschließend bei jeder Wiederverwendung direkt befüllt.
+     */
+    static class MemberViewHolder extends RecyclerView.ViewHolder {
+        private final TextView idTextView;
+        private final TextView nameTextView;
+        private final TextView vornameTextView;
+        private final TextView emailTextView;
+        private final TextView timestampTextView;
+
+        MemberViewHolder(@NonNull View itemView) {
+            super(itemView);
+            idTextView = itemView.findViewById(R.id.idTextView); // TextView für die ID
+            nameTextView = itemView.findViewById(R.id.nameTextView); // TextView für die Namen
+            vornameTextView = itemView.findViewById(R.id.vornameTextView); // TextView für die Vornamen
+            emailTextView = itemView.findViewById(R.id.emailTextView); // TextView für die E-Mail
+            timestampTextView = itemView.findViewById(R.id.timestampTextView); // TextView für den Timestamp
+        }
+
+        /**
+         * Setzt die Daten eines Datensatzes in die TextViews der Zeile.
+         *
+         * @param member Das anzuzeigende Mitglied.
+         */
+        void bind(Member member) {
+            idTextView.setText(member.getId());
+            nameTextView.setText(member.getName());
+            vornameTextView.setText(member.getVorname());
+            emailTextView.setText(member.getEmail());
+            // Der formatierte Timestamp wurde bereits im Hintergrund berechnet.
+            timestampTextView.setText(member.getFormattedTimestamp());
+        }
+    }
+}
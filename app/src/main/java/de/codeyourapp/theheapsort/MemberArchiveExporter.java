@@ -0,0 +1,192 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Diese Klasse exportiert alle Mitglieder nach der "id" sortiert in eine CSV-Datei im App-Speicher.
+ *
+ * Die Dokumente werden blockweise aus der {@link MemberDataSource} gelesen und an einen {@link ExternalMemberSorter} übergeben,
+ * der volle Blöcke sortiert in Zwischendateien auslagert. Die Datei wird anschließend direkt aus dem Iterator der
+ * zusammengeführten Läufe geschrieben. Der Speicherbedarf hängt damit nur von der Blockgröße ab und nicht von der
+ * Anzahl der Mitglieder.
+ *
+ * Der Export läuft auf einem eigenen Executor, da er auf die Datenbankabfragen wartet; der Hintergrund-Thread
+ * des Repositorys bleibt dadurch für die Sortierungen frei. Die Ergebnisse werden auf dem Haupt-Thread gemeldet.
+ */
+public class MemberArchiveExporter {
+
+    /**
+     * Callback, über den Fortschritt und Ergebnis des Exports auf dem Haupt-Thread gemeldet werden.
+     */
+    public interface OnExportListener {
+        /**
+         * Wird nach jedem gelesenen Block der Datenbank aufgerufen.
+         *
+         * @param readCount Die Anzahl der bisher gelesenen Mitglieder.
+         */
+        void onProgress(long readCount);
+
+        /**
+         * Wird aufgerufen, wenn die Datei vollständig geschrieben wurde.
+         *
+         * @param file        Die exportierte Datei.
+         * @param count       Die Anzahl der exportierten Mitglieder.
+         * @param elapsedTime Die Dauer des Exports in Millisekunden.
+         */
+        void onExported(File file, long count, long elapsedTime);
+
+        /**
+         * Wird aufgerufen, wenn der Export fehlgeschlagen ist.
+         *
+         * @param e Die aufgetretene Ausnahme.
+         */
+        void onError(Exception e);
+    }
+
+    // Anzahl der Dokumente pro Datenbankabfrage
+    static final int READ_PAGE_SIZE = 500;
+    // Anzahl der Mitglieder, die gemeinsam im Speicher sortiert werden
+    static final int CHUNK_SIZE = 5000;
+    // Name der exportierten Datei
+    static final String EXPORT_FILE_NAME = "mitglieder.csv";
+
+    // Sortierung des Archivs: nach der "id", bei gleicher "id" nach dem Dokument
+    private static final Comparator<Member> ARCHIVE_ORDER = MemberComparators.ID.thenComparing(Member::getDocumentId);
+
+    private final MemberDataSource dataSource;
+    private final File filesDir;
+    private final Executor exportExecutor;
+    private final Executor mainExecutor;
+
+    /**
+     * Konstruktor für den MemberArchiveExporter.
+     *
+     * @param dataSource     Die Datenquelle, aus der die Mitglieder gelesen werden.
+     * @param filesDir       Das private Verzeichnis der App für Zwischendateien und Export.
+     * @param exportExecutor Ein Executor, auf dem der Export ausgeführt wird.
+     * @param mainExecutor   Ein Executor, der auf dem Haupt-Thread ausführt.
+     */
+    public MemberArchiveExporter(MemberDataSource dataSource, File filesDir, Executor exportExecutor, Executor mainExecutor) {
+        this.dataSource = dataSource;
+        this.filesDir = filesDir;
+        this.exportExecutor = exportExecutor;
+        this.mainExecutor = mainExecutor;
+    }
+
+    /**
+     * Startet den Export.
+     *
+     * @param listener Der Callback, der Fortschritt und Ergebnis auf dem Haupt-Thread erhält.
+     */
+    public void export(OnExportListener listener) {
+        exportExecutor.execute(() -> {
+            long startTime = System.currentTimeMillis();
+            try (ExternalMemberSorter sorter = new ExternalMemberSorter(new File(filesDir, "sort-runs"), CHUNK_SIZE, ARCHIVE_ORDER)) {
+                readAll(sorter, listener);
+                File file = writeCsv(sorter);
+                long count = sorter.getCount();
+                long elapsedTime = System.currentTimeMillis() - startTime;
+                mainExecutor.execute(() -> listener.onExported(file, count, elapsedTime));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                mainExecutor.execute(() -> listener.onError(e));
+            } catch (Exception e) {
+                mainExecutor.execute(() -> listener.onError(e));
+            }
+        });
+    }
+
+    /**
+     * Liest alle Dokumente blockweise in der Reihenfolge der Dokument-IDs und übergibt sie an den Sortierer.
+     */
+    private void readAll(ExternalMemberSorter sorter, OnExportListener listener) throws Exception {
+        Member lastMember = null;
+        while (true) {
+            List<Member> page = loadPage(lastMember);
+            for (Member member : page) {
+                sorter.add(member);
+                lastMember = member;
+            }
+            long readCount = sorter.getCount();
+            mainExecutor.execute(() -> listener.onProgress(readCount));
+            if (page.size() < READ_PAGE_SIZE) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Lädt den nächsten Block und wartet auf das Ergebnis.
+     *
+     * @param after Das letzte Mitglied des vorherigen Blocks, oder null für den ersten Block.
+     * @return Die Mitglieder des Blocks.
+     */
+    private List<Member> loadPage(Member after) throws Exception {
+        CompletableFuture<List<Member>> result = new CompletableFuture<>();
+        dataSource.loadPage(MemberDataSource.DOCUMENT_ID, false, after, READ_PAGE_SIZE, Runnable::run, new MemberDataSource.Callback<List<Member>>() {
+            @Override
+            public void onSuccess(List<Member> page) {
+                result.complete(page);
+            }
+
+            @Override
+            public void onError(Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Schreibt die sortierten Mitglieder in die Exportdatei. Die Datei wird zunächst unter einem temporären Namen
+     * geschrieben und erst danach umbenannt, sodass ein abgebrochener Export keine unvollständige Datei hinterlässt.
+     */
+    private File writeCsv(ExternalMemberSorter sorter) throws IOException {
+        File exportDir = new File(filesDir, "export");
+        if (!exportDir.isDirectory() && !exportDir.mkdirs()) {
+            throw new IOException("Verzeichnis kann nicht angelegt werden: " + exportDir);
+        }
+        File file = new File(exportDir, EXPORT_FILE_NAME);
+        File tempFile = new File(exportDir, EXPORT_FILE_NAME + ".tmp");
+        try (ExternalMemberSorter.MergeIterator members = sorter.sortedIterator();
+             Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tempFile), StandardCharsets.UTF_8))) {
+            writer.write("id;name;vorname;email;timestamp\n");
+            while (members.hasNext()) {
+                Member member = members.next();
+                writer.write(csvField(member.getId()) + ";" + csvField(member.getName()) + ";" + csvField(member.getVorname()) + ";"
+                        + csvField(member.getEmail()) + ";" + csvField(member.getTimestamp()) + "\n");
+            }
+        }
+        if (!tempFile.renameTo(file)) {
+            tempFile.delete();
+            throw new IOException("Exportdatei kann nicht geschrieben werden: " + file);
+        }
+        return file;
+    }
+
+    /**
+     * Setzt ein Feld in Anführungszeichen, wenn es Trennzeichen, Anführungszeichen oder Zeilenumbrüche enthält.
+     */
+    static String csvField(String value) {
+        if (value.indexOf(';') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
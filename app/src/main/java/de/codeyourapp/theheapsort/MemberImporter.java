@@ -0,0 +1,104 @@
+// Import-Anweisungen für benötigte Android-Klassen
+package de.codeyourapp.theheapsort;
+
+import android.content.ContentResolver;
+import android.net.Uri;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+
+/**
+ * Diese Klasse importiert Mitglieder aus einer CSV- oder JSON-Datei, z.B. eine ganze Klasse auf einmal.
+ *
+ * Die Datei wird zeilenweise gelesen und über den {@link MemberBulkImporter} geprüft; gültige Zeilen werden in
+ * Batches der {@link MemberDataSource}, bei Firestore als WriteBatches, von bis zu {@link MemberBulkImporter#MAX_BATCH_SIZE} Dokumenten geschrieben, von denen
+ * höchstens {@link MemberBulkImporter#DEFAULT_MAX_IN_FLIGHT} gleichzeitig laufen.
+ *
+ * Der Import läuft wie der Export auf einem eigenen Executor, da er auf die Batches wartet. Fortschritt und
+ * Ergebnis werden auf dem Haupt-Thread gemeldet.
+ */
+public class MemberImporter {
+
+    /**
+     * Callback, über den Fortschritt und Ergebnis des Imports auf dem Haupt-Thread gemeldet werden.
+     */
+    public interface OnImportListener {
+        /**
+         * Wird nach jedem abgeschickten Batch aufgerufen.
+         *
+         * @param readCount     Die Anzahl der bisher gelesenen Zeilen.
+         * @param importedCount Die Anzahl der bisher geschriebenen Mitglieder.
+         * @param rejectedCount Die Anzahl der bisher abgelehnten, ungültigen Zeilen.
+         */
+        void onProgress(int readCount, int importedCount, int rejectedCount);
+
+        /**
+         * Wird aufgerufen, wenn alle Zeilen gelesen und alle Batches abgeschlossen sind.
+         *
+         * @param result Das Ergebnis des Imports.
+         */
+        void onImported(MemberBulkImporter.Result result);
+
+        /**
+         * Wird aufgerufen, wenn die Datei nicht gelesen werden konnte. Bereits geschriebene Batches bleiben erhalten.
+         *
+         * @param e Die aufgetretene Ausnahme.
+         */
+        void onError(Exception e);
+    }
+
+    private final MemberDataSource dataSource;
+    private final ContentResolver contentResolver;
+    private final Executor importExecutor;
+    private final Executor mainExecutor;
+
+    /**
+     * Konstruktor für den MemberImporter.
+     *
+     * @param dataSource      Die Datenquelle, in die die Batches geschrieben werden.
+     * @param contentResolver Öffnet die ausgewählte Datei.
+     * @param importExecutor  Ein Executor, auf dem der Import ausgeführt wird.
+     * @param mainExecutor    Ein Executor, der auf dem Haupt-Thread ausführt.
+     */
+    public MemberImporter(MemberDataSource dataSource, ContentResolver contentResolver, Executor importExecutor, Executor mainExecutor) {
+        this.dataSource = dataSource;
+        this.contentResolver = contentResolver;
+        this.importExecutor = importExecutor;
+        this.mainExecutor = mainExecutor;
+    }
+
+    /**
+     * Startet den Import einer Datei. Das Format wird am Inhalt erkannt.
+     *
+     * @param uri      Die ausgewählte Datei.
+     * @param listener Der Callback, der Fortschritt und Ergebnis auf dem Haupt-Thread erhält.
+     */
+    public void importMembers(Uri uri, OnImportListener listener) {
+        importExecutor.execute(() -> {
+            MemberBulkImporter importer = new MemberBulkImporter(dataSource);
+            try (InputStream in = openInputStream(uri);
+                 MemberImportReader reader = MemberImportReader.detect(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                MemberBulkImporter.Result result = importer.importMembers(reader, (readCount, importedCount, rejectedCount) ->
+                        mainExecutor.execute(() -> listener.onProgress(readCount, importedCount, rejectedCount)));
+                mainExecutor.execute(() -> listener.onImported(result));
+            } catch (IOException e) {
+                mainExecutor.execute(() -> listener.onError(e));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                mainExecutor.execute(() -> listener.onError(e));
+            }
+        });
+    }
+
+    private InputStream openInputStream(Uri uri) throws IOException {
+        InputStream in = contentResolver.openInputStream(uri);
+        if (in == null) {
+            throw new FileNotFoundException("Datei kann nicht geöffnet werden: " + uri);
+        }
+        return in;
+    }
+}
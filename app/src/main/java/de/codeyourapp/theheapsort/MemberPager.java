@@ -0,0 +1,203 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Diese Klasse lädt die Mitgliederdaten seitenweise und bereits sortiert aus der {@link MemberDataSource}.
+ * Die Sortierung übernimmt die Datenquelle, bei Firestore über {@code orderBy}; jede Seite umfasst
+ * {@link #PAGE_SIZE} Dokumente und setzt hinter dem letzten Mitglied der vorherigen Seite fort. Die Zeit bis zur ersten
+ * Zeile und die übertragene Datenmenge hängen damit nicht mehr von der Größe der Collection ab.
+ *
+ * Die nächste Seite wird bereits geladen, sobald beim Scrollen weniger als {@link #PREFETCH_DISTANCE} geladene
+ * Zeilen unterhalb der sichtbaren verbleiben. Sortierungen, die Firestore nicht liefern kann (z.B. zufällig, nach
+ * dem Namen gemäß den deutschen Sortierregeln oder die Heapsort-Demonstration), laufen weiterhin über die
+ * {@link MemberPipeline}.
+ *
+ * Ein Ladevorgang ist eine Anfrage der MemberPipeline und wird durch jede neuere Anfrage abgebrochen.
+ * Der Zustand des Ladevorgangs wird nur auf dem Haupt-Thread verändert; die Dokumente werden auf dem
+ * Hintergrund-Thread dekodiert.
+ *
+ * Jede geladene Seite wird als {@link PerformanceSample} mit der Bezeichnung "seite:" und dem Sortierfeld in der
+ * {@link PerformanceTelemetry} erfasst. Das Formatieren erfolgt hier zusammen mit dem Dekodieren.
+ */
+public class MemberPager {
+
+    /**
+     * Callback, über den die geladenen Seiten auf dem Haupt-Thread zurückgegeben werden.
+     */
+    public interface OnPageLoadedListener {
+        /**
+         * Wird nach jeder geladenen Seite aufgerufen. Die Datensätze der Seite werden an die bereits angezeigten
+         * Datensätze angehängt bzw. ersetzen diese bei der ersten Seite.
+         *
+         * @param page        Die Datensätze der Seite in der Sortierung der Datenbank.
+         * @param firstPage   `true`, wenn es sich um die erste Seite handelt.
+         * @param complete    `true`, wenn keine weiteren Seiten vorhanden sind.
+         * @param elapsedTime Die Dauer vom Absenden der Abfrage bis zum Ergebnis in Millisekunden.
+         */
+        void onPageLoaded(List<Member> page, boolean firstPage, boolean complete, long elapsedTime);
+
+        /**
+         * Wird aufgerufen, wenn eine Seite nicht geladen werden konnte.
+         *
+         * @param e         Die aufgetretene Ausnahme.
+         * @param firstPage `true`, wenn bereits die erste Seite nicht geladen werden konnte.
+         */
+        void onError(Exception e, boolean firstPage);
+    }
+
+    // Anzahl der Dokumente pro Seite
+    static final int PAGE_SIZE = 50;
+    // Verbleibende geladene Zeilen unterhalb der sichtbaren, ab der die nächste Seite geladen wird
+    static final int PREFETCH_DISTANCE = 25;
+
+    private final MemberDataSource dataSource;
+    private final MemberPipeline memberPipeline;
+    private final Executor backgroundExecutor;
+    private final Executor mainExecutor;
+    private final PerformanceTelemetry telemetry;
+
+    // Zustand des aktuellen Ladevorgangs (nur auf dem Haupt-Thread)
+    private MemberPipeline.Request request;
+    private String field;
+    private boolean descending;
+    private OnPageLoadedListener listener;
+    private String label;
+    private Member lastMember;
+    private boolean loading = false;
+    private boolean complete = false;
+
+    /**
+     * Konstruktor für den MemberPager.
+     *
+     * @param dataSource         Die Datenquelle, die die Seiten sortiert liefert.
+     * @param memberPipeline     Die Verarbeitung, über die neuere Anfragen den Ladevorgang abbrechen.
+     * @param backgroundExecutor Ein Executor für das Dekodieren der Dokumente.
+     * @param mainExecutor       Ein Executor, der auf dem Haupt-Thread ausführt.
+     * @param telemetry          Die Telemetrie, in der die Dauer jeder Seite erfasst wird.
+     */
+    public MemberPager(MemberDataSource dataSource, MemberPipeline memberPipeline, Executor backgroundExecutor, Executor mainExecutor,
+                       PerformanceTelemetry telemetry) {
+        this.dataSource = dataSource;
+        this.memberPipeline = memberPipeline;
+        this.backgroundExecutor = backgroundExecutor;
+        this.mainExecutor = mainExecutor;
+        this.telemetry = telemetry;
+    }
+
+    /**
+     * Startet einen neuen Ladevorgang und lädt die erste Seite. Ein vorheriger Ladevorgang und eine laufende
+     * Anfrage der MemberPipeline werden dadurch abgebrochen.
+     *
+     * @param field      Das Feld, nach dem die Datenquelle sortiert.
+     * @param descending `true` für absteigende Sortierung.
+     * @param listener   Der Callback, der die Seiten auf dem Haupt-Thread erhält.
+     */
+    public void start(String field, boolean descending, OnPageLoadedListener listener) {
+        this.request = memberPipeline.newRequest();
+        this.field = field;
+        this.descending = descending;
+        this.listener = listener;
+        this.label = "seite:" + field;
+        this.lastMember = null;
+        this.loading = false;
+        this.complete = false;
+        loadNextPage();
+    }
+
+    /**
+     * Wird beim Scrollen aufgerufen und lädt die nächste Seite, sobald das Ende der geladenen Daten naht.
+     *
+     * @param lastVisiblePosition Die Position der letzten sichtbaren Zeile.
+     * @param itemCount           Die Anzahl der angezeigten Zeilen.
+     */
+    public void onScrolled(int lastVisiblePosition, int itemCount) {
+        if (lastVisiblePosition >= itemCount - PREFETCH_DISTANCE) {
+            loadNextPage();
+        }
+    }
+
+    /**
+     * Gibt an, ob ein Ladevorgang aktiv ist, der noch nicht durch eine neuere Anfrage abgebrochen wurde.
+     *
+     * @return `true`, wenn die angezeigten Daten von diesem Pager stammen.
+     */
+    public boolean isActive() {
+        return request != null && !request.isCancelled();
+    }
+
+    /**
+     * Lädt die nächste Seite, sofern der Ladevorgang aktiv ist, gerade keine Seite geladen wird
+     * und noch weitere Seiten vorhanden sind.
+     */
+    private void loadNextPage() {
+        if (!isActive() || loading || complete) {
+            return;
+        }
+        loading = true;
+        MemberPipeline.Request pageRequest = request;
+        OnPageLoadedListener pageListener = listener;
+        String pageLabel = label;
+        boolean firstPage = lastMember == null;
+        long timestampMillis = System.currentTimeMillis();
+        long startTime = System.nanoTime();
+
+        dataSource.loadPage(field, descending, lastMember, PAGE_SIZE, backgroundExecutor, new MemberDataSource.Callback<List<Member>>() {
+            @Override
+            public void onSuccess(List<Member> result) {
+                if (pageRequest.isCancelled()) {
+                    return;
+                }
+                // Dekodieren und Formatieren auf dem Hintergrund-Thread
+                long[] phaseNanos = new long[PerformanceSample.Phase.values().length];
+                long decodeStart = System.nanoTime();
+                phaseNanos[PerformanceSample.Phase.QUERY.ordinal()] = decodeStart - startTime;
+                List<Member> page = new ArrayList<>(result.size());
+                for (Member member : result) {
+                    member.getFormattedTimestamp();
+                    page.add(member);
+                }
+                Member pageLastMember = page.isEmpty() ? null : page.get(page.size() - 1);
+                boolean pageComplete = page.size() < PAGE_SIZE;
+                long decodeEnd = System.nanoTime();
+                phaseNanos[PerformanceSample.Phase.DECODE.ordinal()] = decodeEnd - decodeStart;
+                long elapsedTime = (decodeEnd - startTime) / 1_000_000;
+
+                mainExecutor.execute(() -> {
+                    if (pageRequest.isCancelled()) {
+                        return;
+                    }
+                    loading = false;
+                    complete = pageComplete;
+                    if (pageLastMember != null) {
+                        lastMember = pageLastMember;
+                    }
+                    long bindStart = System.nanoTime();
+                    pageListener.onPageLoaded(Collections.unmodifiableList(page), firstPage, pageComplete, elapsedTime);
+                    phaseNanos[PerformanceSample.Phase.BIND.ordinal()] = System.nanoTime() - bindStart;
+                    telemetry.record(new PerformanceSample(pageLabel, timestampMillis, phaseNanos, page.size(), null, false));
+                });
+            }
+
+            @Override
+            public void onError(Exception e) {
+                if (pageRequest.isCancelled()) {
+                    return;
+                }
+                mainExecutor.execute(() -> {
+                    if (pageRequest.isCancelled()) {
+                        return;
+                    }
+                    loading = false;
+                    // Der Ladevorgang wird beendet; ein erneuter Start ist über eine neue Sortierung möglich.
+                    complete = true;
+                    pageListener.onError(e, firstPage);
+                });
+            }
+        });
+    }
+}
@@ -0,0 +1,228 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Diese Klasse führt das Abrufen, Dekodieren, Sortieren und Formatieren der Mitgliederdaten im Hintergrund aus.
+ * Die Stufen laufen nacheinander auf dem Hintergrund-Thread des Repositorys; erst das fertige, unveränderliche
+ * Ergebnis wird an den Haupt-Thread übergeben, der nur noch die Anzeige aktualisiert.
+ *
+ * Jede neue Anfrage macht die vorherige ungültig. Eine veraltete Anfrage wird an der nächsten Stufengrenze
+ * abgebrochen und ihr Ergebnis wird nicht mehr angezeigt, z.B. wenn kurz nacheinander zwei Sortierungen
+ * ausgewählt werden.
+ *
+ * Die Dauer jeder Stufe wird mit {@link System#nanoTime()} gemessen und nach der Anzeige als
+ * {@link PerformanceSample} in der {@link PerformanceTelemetry} erfasst. Abgebrochene Anfragen werden nicht erfasst.
+ */
+public class MemberPipeline {
+
+    /**
+     * Sortierstufe der Verarbeitung. Sie läuft auf dem Hintergrund-Thread.
+     */
+    public interface SortStage {
+        /**
+         * Liefert die Datensätze des übergebenen Stands in der gewünschten Reihenfolge.
+         *
+         * @param snapshot Der aktuelle Datenstand mit seinen zwischengespeicherten Sortierungen.
+         * @param request  Die zugehörige Anfrage, über die ein Abbruch erkannt werden kann.
+         * @return Die sortierte Liste, z.B. eine zwischengespeicherte Reihenfolge des Stands.
+         */
+        List<Member> sort(MemberIndex snapshot, Request request);
+    }
+
+    /**
+     * Callback, über den das Ergebnis einer Anfrage auf dem Haupt-Thread zurückgegeben wird.
+     */
+    public interface OnResultListener {
+        /**
+         * Wird mit dem fertigen Ergebnis aufgerufen, sofern die Anfrage nicht inzwischen veraltet ist.
+         *
+         * @param result Das Ergebnis der Anfrage.
+         */
+        void onResult(Result result);
+
+        /**
+         * Wird aufgerufen, wenn die Daten nicht abgerufen werden konnten.
+         *
+         * @param e Die aufgetretene Ausnahme.
+         */
+        void onError(Exception e);
+    }
+
+    /**
+     * Eine einzelne Anfrage an die Verarbeitung.
+     */
+    public final class Request {
+        private final int generation;
+
+        private Request(int generation) {
+            this.generation = generation;
+        }
+
+        /**
+         * Gibt an, ob die Anfrage durch eine neuere Anfrage abgelöst wurde.
+         *
+         * @return `true`, wenn das Ergebnis dieser Anfrage nicht mehr benötigt wird.
+         */
+        public boolean isCancelled() {
+            return generation != currentGeneration.get();
+        }
+    }
+
+    /**
+     * Unveränderliches Ergebnis einer Anfrage.
+     */
+    public static final class Result {
+        private final List<Member> members;
+        private final boolean fromCache;
+        private final long elapsedTime;
+        private final SortStatistics statistics;
+
+        Result(List<Member> members, boolean fromCache, long elapsedTime, SortStatistics statistics) {
+            this.members = members;
+            this.fromCache = fromCache;
+            this.elapsedTime = elapsedTime;
+            this.statistics = statistics;
+        }
+
+        /**
+         * @return Die sortierte, nicht veränderbare Liste der Mitglieder.
+         */
+        public List<Member> getMembers() {
+            return members;
+        }
+
+        /**
+         * @return `true`, wenn die Daten ohne Datenbankabfrage aus dem Zwischenspeicher stammen.
+         */
+        public boolean isFromCache() {
+            return fromCache;
+        }
+
+        /**
+         * @return Die Dauer vom Absenden der Anfrage bis zum fertigen Ergebnis in Millisekunden.
+         *         Die Übergabe an die Anzeige ist nicht enthalten.
+         */
+        public long getElapsedTime() {
+            return elapsedTime;
+        }
+
+        /**
+         * @return Die Zählungen des Sortiervorgangs, oder null, wenn die Sortierstufe keine
+         *         {@link MemberIndex.Ordering} geliefert hat.
+         */
+        public SortStatistics getStatistics() {
+            return statistics;
+        }
+    }
+
+    private final MemberRepository memberRepository;
+    private final Executor mainExecutor;
+    private final PerformanceTelemetry telemetry;
+
+    // Zähler der Anfragen. Nur die Anfrage mit der aktuellen Nummer ist gültig.
+    private final AtomicInteger currentGeneration = new AtomicInteger();
+
+    /**
+     * Konstruktor für die MemberPipeline.
+     *
+     * @param memberRepository Das Repository, das den zwischengespeicherten Datenstand verwaltet.
+     * @param mainExecutor     Ein Executor, der auf dem Haupt-Thread ausführt.
+     * @param telemetry        Die Telemetrie, in der die Dauer jeder Anfrage erfasst wird.
+     */
+    public MemberPipeline(MemberRepository memberRepository, Executor mainExecutor, PerformanceTelemetry telemetry) {
+        this.memberRepository = memberRepository;
+        this.mainExecutor = mainExecutor;
+        this.telemetry = telemetry;
+    }
+
+    /**
+     * Startet eine neue Anfrage. Eine noch laufende ältere Anfrage wird dadurch abgebrochen.
+     *
+     * @param label     Die Bezeichnung der Anfrage in der Telemetrie, z.B. "name" oder "heapsort".
+     * @param sortStage Die Sortierstufe, die auf den Datenstand angewendet wird.
+     * @param listener  Der Callback, der das Ergebnis auf dem Haupt-Thread erhält.
+     */
+    public void submit(String label, SortStage sortStage, OnResultListener listener) {
+        long timestampMillis = System.currentTimeMillis();
+        long startTime = System.nanoTime();
+        Request request = newRequest();
+
+        // Stufe 1 und 2: Abrufen und Dekodieren übernimmt das Repository auf seinem Hintergrund-Thread.
+        memberRepository.getMembers(new MemberRepository.OnMembersLoadedListener() {
+            @Override
+            public void onMembersLoaded(MemberIndex snapshot, boolean fromCache, long decodeNanos) {
+                if (request.isCancelled()) {
+                    return;
+                }
+                long[] phaseNanos = new long[PerformanceSample.Phase.values().length];
+                long sortStart = System.nanoTime();
+                phaseNanos[PerformanceSample.Phase.DECODE.ordinal()] = decodeNanos;
+                phaseNanos[PerformanceSample.Phase.QUERY.ordinal()] = Math.max(0, sortStart - startTime - decodeNanos);
+
+                // Stufe 3: Sortieren, bzw. eine bereits berechnete Reihenfolge des Stands übernehmen
+                List<Member> sorted = sortStage.sort(snapshot, request);
+                if (request.isCancelled()) {
+                    return;
+                }
+                long formatStart = System.nanoTime();
+                phaseNanos[PerformanceSample.Phase.SORT.ordinal()] = formatStart - sortStart;
+                // Zählungen des Sortiervorgangs, sofern die Sortierstufe eine Reihenfolge des Stands liefert
+                SortStatistics statistics = sorted instanceof MemberIndex.Ordering ? ((MemberIndex.Ordering) sorted).getStatistics() : null;
+
+                // Stufe 4: Formatieren der Zeitstempel, damit beim Anzeigen nichts mehr berechnet werden muss
+                for (Member member : sorted) {
+                    member.getFormattedTimestamp();
+                }
+                if (request.isCancelled()) {
+                    return;
+                }
+                long formatEnd = System.nanoTime();
+                phaseNanos[PerformanceSample.Phase.FORMAT.ordinal()] = formatEnd - formatStart;
+                Result result = new Result(Collections.unmodifiableList(sorted), fromCache, (formatEnd - startTime) / 1_000_000, statistics);
+
+                // Stufe 5: Übergabe des fertigen Ergebnisses an den Haupt-Thread
+                mainExecutor.execute(() -> {
+                    if (request.isCancelled()) {
+                        return;
+                    }
+                    long bindStart = System.nanoTime();
+                    listener.onResult(result);
+                    phaseNanos[PerformanceSample.Phase.BIND.ordinal()] = System.nanoTime() - bindStart;
+                    telemetry.record(new PerformanceSample(label, timestampMillis, phaseNanos, sorted.size(), statistics, fromCache));
+                });
+            }
+
+            @Override
+            public void onError(Exception e) {
+                mainExecutor.execute(() -> {
+                    if (!request.isCancelled()) {
+                        listener.onError(e);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Beginnt eine neue Anfrage, ohne sie über den zwischengespeicherten Stand auszuführen, z.B. für das
+     * seitenweise Laden sortierter Daten über den {@link MemberPager}. Eine noch laufende ältere Anfrage wird
+     * dadurch abgebrochen, und jede spätere Anfrage bricht diese ab.
+     *
+     * @return Die neue Anfrage.
+     */
+    public Request newRequest() {
+        return new Request(currentGeneration.incrementAndGet());
+    }
+
+    /**
+     * Bricht die laufende Anfrage ab, z.B. wenn die Aktivität beendet wird.
+     */
+    public void cancel() {
+        currentGeneration.incrementAndGet();
+    }
+}
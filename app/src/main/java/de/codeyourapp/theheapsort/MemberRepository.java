@@ -0,0 +1,648 @@
+// Import-Anweisungen für benötigte Android-Klassen
+package de.codeyourapp.theheapsort;
+
+import android.os.Trace;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * Diese Klasse verwaltet einen zwischengespeicherten Stand (Snapshot) der Collection "students".
+ * Die Sortierungen arbeiten auf diesem Stand, sodass ein Wechsel der Sortierung keine erneute
+ * Datenbankabfrage auslöst. Der Stand wird entweder über einen Echtzeit-Listener aktuell gehalten
+ * oder über {@link #invalidate()} verworfen und bei der nächsten Anfrage neu geladen.
+ * Bei aktivem Echtzeit-Listener werden nach dem ersten vollständigen Stand nur noch die einzelnen
+ * Änderungen (hinzugefügt, geändert, entfernt) übernommen und an die registrierten Beobachter gemeldet.
+ *
+ * Zum Stand gehört ein {@link MemberIndex}, der die bereits berechneten Sortierungen zwischenspeichert. Er wird
+ * bei jeder Änderung des Stands verworfen und bei der nächsten Anfrage neu aufgebaut. Der {@link MemberSearchIndex}
+ * für die Suche wird ebenfalls erst bei der ersten Suche aufgebaut, danach aber bei einzelnen Änderungen nur um die
+ * betroffenen Einträge ergänzt, sodass z.B. ein neu hinzugefügter Eintrag sofort gefunden wird.
+ *
+ * Mit einem {@link MemberSnapshotStore} wird der Stand zusätzlich auf dem Gerät gespeichert. Beim Start wird der
+ * gespeicherte Stand sofort als vorläufiger Stand geliefert, ohne auf die Datenbank zu warten. Sobald das Ergebnis
+ * der Datenbank vorliegt, wird es mit dem vorläufigen Stand abgeglichen und die Unterschiede werden als einzelne
+ * Änderungen an die Beobachter gemeldet.
+ *
+ * Die Daten stammen aus einer {@link MemberDataSource}, in der App aus Firestore. Der Firestore-Client wird erst bei
+ * der ersten Datenbankabfrage angefordert, und zwar auf dem Hintergrund-Thread. Ein Start mit gespeichertem Stand
+ * wartet daher nicht auf die Initialisierung der Datenbank.
+ *
+ * Die Ergebnisse der Datenquelle werden auf einem Hintergrund-Thread dekodiert. Der zwischengespeicherte
+ * Stand wird ausschließlich auf diesem Thread gelesen und verändert; Beobachter werden auf dem
+ * Haupt-Thread benachrichtigt.
+ */
+public class MemberRepository {
+
+    /**
+     * Callback, über den die angefragten Mitgliederdaten zurückgegeben werden.
+     */
+    public interface OnMembersLoadedListener {
+        /**
+         * Wird aufgerufen, sobald die Daten zur Verfügung stehen. Der Aufruf erfolgt auf dem Hintergrund-Thread
+         * des Repositorys, sodass die Daten dort direkt weiterverarbeitet werden können.
+         *
+         * @param snapshot  Der aktuelle Stand der Daten mit seinen zwischengespeicherten Sortierungen. Er darf nur auf
+         *                  dem Hintergrund-Thread sortiert werden.
+         * @param fromCache   `true`, wenn die Daten ohne Datenbankabfrage aus dem Zwischenspeicher stammen.
+         * @param decodeNanos Die Dauer für das Umwandeln der Dokumente bzw. das Lesen des gespeicherten Stands in
+         *                    Nanosekunden, oder 0, wenn der Stand bereits vorlag.
+         */
+        void onMembersLoaded(MemberIndex snapshot, boolean fromCache, long decodeNanos);
+
+        /**
+         * Wird aufgerufen, wenn die Daten nicht abgerufen werden konnten.
+         *
+         * @param e Die aufgetretene Ausnahme.
+         */
+        void onError(Exception e);
+    }
+
+    /**
+     * Beobachter, der über einzelne Änderungen am zwischengespeicherten Stand informiert wird.
+     * Die Benachrichtigung erfolgt auf dem Haupt-Thread.
+     */
+    public interface OnMembersChangedListener {
+        /**
+         * Wird aufgerufen, wenn ein Datensatz hinzugefügt wurde.
+         *
+         * @param data Der neue Datensatz.
+         */
+        void onMemberAdded(Member data);
+
+        /**
+         * Wird aufgerufen, wenn ein Datensatz geändert wurde.
+         *
+         * @param oldData Der bisherige Datensatz.
+         * @param newData Der geänderte Datensatz.
+         */
+        void onMemberModified(Member oldData, Member newData);
+
+        /**
+         * Wird aufgerufen, wenn ein Datensatz entfernt wurde.
+         *
+         * @param data Der entfernte Datensatz.
+         */
+        void onMemberRemoved(Member data);
+
+        /**
+         * Wird aufgerufen, wenn sich der Stand beim Abgleich mit der Datenbank oder durch viele Änderungen auf
+         * einmal, z.B. einen Import, so stark geändert hat, dass die Anzeige neu aufgebaut werden sollte, statt die
+         * Änderungen einzeln zu übernehmen.
+         */
+        void onMembersReloaded();
+    }
+
+    // Sehr große Stände werden nach Zeitstempel und Name parallel sortiert. Die Sortierung nach der ID bleibt
+    // sequenziell, da sie die Schritte des Heapsort-Algorithmus anzeigt.
+    static final SortPolicy SORT_POLICY = SortPolicy.parallel(SortPolicy.DEFAULT_PARALLEL_THRESHOLD, SortKey.TIMESTAMP, SortKey.NAME);
+
+    // Ab dieser Anzahl von Unterschieden beim Abgleich des gespeicherten Stands bzw. von Änderungen in einem
+    // Ergebnis des Echtzeit-Listeners wird die Anzeige neu aufgebaut, statt die Änderungen einzeln zu melden
+    static final int RECONCILE_CHANGE_LIMIT = 100;
+
+    // Die Datenquelle, z.B. die Firestore-Datenbank
+    private final MemberDataSource dataSource;
+
+    // Hintergrund-Thread für Dekodierung und Zustand sowie Haupt-Thread für die Benachrichtigung der Beobachter
+    private final Executor backgroundExecutor;
+    private final Executor mainExecutor;
+
+    // Zwischengespeicherter Stand der Daten (in Reihenfolge der Abfrage), eine nicht veränderbare Sicht darauf
+    // und die Versionsnummer des Stands
+    private final List<Member> members = new ArrayList<>();
+    private List<Member> snapshot;
+    private volatile int version = 0;
+
+    // Index über den aktuellen Stand mit den zwischengespeicherten Sortierungen, wird bei Bedarf aufgebaut
+    private MemberIndex snapshotIndex;
+    // Suchindex über den aktuellen Stand, wird bei der ersten Suche aufgebaut und danach schrittweise aktualisiert
+    private MemberSearchIndex searchIndex;
+
+    // Auf dem Gerät gespeicherter Stand (null, wenn nicht gespeichert wird), ob er beim Start bereits gelesen wurde,
+    // ob der aktuelle Stand vorläufig ist (aus der Datei oder vom beendeten Echtzeit-Listener) und welche Version
+    // zuletzt gespeichert wurde
+    private MemberSnapshotStore snapshotStore;
+    private boolean storeChecked = false;
+    private boolean provisional = false;
+    private int savedVersion = 0;
+
+    // Beobachter, die über einzelne Änderungen informiert werden
+    private final List<OnMembersChangedListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    // Anfragen, die auf das Ergebnis einer laufenden Abfrage warten
+    private final List<OnMembersLoadedListener> pendingListeners = new ArrayList<>();
+    private boolean loading = false;
+
+    // Ob der Echtzeit-Listener aktiv sein soll, seine Registrierung (nur auf dem Hintergrund-Thread) und ob dessen
+    // erster Stand bereits übernommen wurde
+    private volatile boolean listening = false;
+    private MemberDataSource.Registration registration;
+    private boolean listenerSynced = false;
+
+    // Anzahl der laufenden Massenänderungen, z.B. Importe, und ob währenddessen Änderungen übernommen wurden
+    // (nur auf dem Hintergrund-Thread)
+    private int bulkUpdates = 0;
+    private boolean bulkChanged = false;
+
+    /**
+     * Konstruktor für das MemberRepository.
+     *
+     * @param dataSource         Die Datenquelle. Sie wird erst bei der ersten Abfrage auf dem Hintergrund-Thread
+     *                           angesprochen.
+     * @param backgroundExecutor Ein Executor mit genau einem Hintergrund-Thread für Dekodierung und Zustand.
+     * @param mainExecutor       Ein Executor, der auf dem Haupt-Thread ausführt.
+     */
+    public MemberRepository(MemberDataSource dataSource, Executor backgroundExecutor, Executor mainExecutor) {
+        this.dataSource = dataSource;
+        this.backgroundExecutor = backgroundExecutor;
+        this.mainExecutor = mainExecutor;
+    }
+
+    /**
+     * Liefert den aktuellen Stand der Mitgliederdaten. Ist bereits ein Stand zwischengespeichert,
+     * wird dieser sofort zurückgegeben. Andernfalls wird die Collection einmalig abgefragt; parallele
+     * Anfragen warten auf dieselbe Abfrage.
+     *
+     * @param listener Der Callback, der die Daten auf dem Hintergrund-Thread erhält.
+     */
+    public void getMembers(OnMembersLoadedListener listener) {
+        backgroundExecutor.execute(() -> loadMembers(listener));
+    }
+
+    /**
+     * Liefert den aktuellen Stand oder startet die Abfrage. Wird nur auf dem Hintergrund-Thread ausgeführt.
+     *
+     * @param listener Der Callback, der die Daten erhält.
+     */
+    private void loadMembers(OnMembersLoadedListener listener) {
+        long decodeNanos = 0;
+        if (snapshot == null && !storeChecked) {
+            storeChecked = true;
+            long decodeStart = System.nanoTime();
+            loadStoredSnapshot();
+            decodeNanos = System.nanoTime() - decodeStart;
+        }
+        if (snapshot != null) {
+            listener.onMembersLoaded(snapshotIndex(), true, decodeNanos);
+            return;
+        }
+        pendingListeners.add(listener);
+        queryMembers();
+    }
+
+    /**
+     * Fragt die Collection einmalig ab, sofern nicht bereits eine Abfrage läuft. Bei aktivem Echtzeit-Listener wird
+     * stattdessen dessen erstes Ergebnis abgewartet. Wird nur auf dem Hintergrund-Thread ausgeführt.
+     */
+    private void queryMembers() {
+        if (loading || listening) {
+            return;
+        }
+        loading = true;
+        dataSource.loadMembers(backgroundExecutor, new MemberDataSource.Callback<Iterable<Member>>() {
+            @Override
+            public void onSuccess(Iterable<Member> result) {
+                loading = false;
+                updateSnapshot(result);
+            }
+
+            @Override
+            public void onError(Exception e) {
+                loading = false;
+                notifyError(e);
+            }
+        });
+    }
+
+    /**
+     * Verwirft den zwischengespeicherten Stand, sodass die nächste Anfrage die Daten neu lädt.
+     * Ist der Echtzeit-Listener aktiv, ist kein Verwerfen nötig, da Änderungen ohnehin übertragen werden.
+     */
+    public void invalidate() {
+        backgroundExecutor.execute(() -> {
+            if (!listening) {
+                snapshot = null;
+                provisional = false;
+            }
+        });
+    }
+
+    /**
+     * Legt fest, wo der Stand auf dem Gerät gespeichert wird. Der gespeicherte Stand wird bei der ersten Anfrage
+     * gelesen, daher sollte der Aufruf vor dem ersten Laden der Daten erfolgen.
+     *
+     * @param snapshotStore Der Speicher für den Stand.
+     */
+    public void setSnapshotStore(MemberSnapshotStore snapshotStore) {
+        backgroundExecutor.execute(() -> this.snapshotStore = snapshotStore);
+    }
+
+    /**
+     * Startet den Echtzeit-Listener, der den zwischengespeicherten Stand bei jeder Änderung der
+     * Collection aktualisiert. Die Registrierung erfolgt auf dem Hintergrund-Thread.
+     */
+    public void startListening() {
+        if (listening) {
+            return;
+        }
+        listening = true;
+        backgroundExecutor.execute(() -> {
+            // Der Listener kann vor dieser Aufgabe bereits wieder beendet worden sein.
+            if (!listening || registration != null) {
+                return;
+            }
+            listenerSynced = false;
+            registration = dataSource.addChangeListener(backgroundExecutor, new MemberDataSource.OnChangesListener() {
+                @Override
+                public void onChanges(List<MemberDataSource.Change> changes) {
+                    if (!listenerSynced || snapshot == null) {
+                        // Erster vollständiger Stand nach dem Start des Listeners (enthält alle Dokumente als hinzugefügt)
+                        listenerSynced = true;
+                        updateSnapshot(addedMembers(changes));
+                    } else {
+                        // Danach werden nur noch die einzelnen Änderungen übernommen.
+                        applyChanges(changes);
+                    }
+                }
+
+                @Override
+                public void onError(Exception e) {
+                    // Der Listener liefert keine Änderungen mehr. Er wird entfernt, damit er neu gestartet werden kann
+                    // und weitere Anfragen wieder eine einmalige Abfrage auslösen.
+                    if (registration != null) {
+                        registration.remove();
+                        registration = null;
+                    }
+                    listening = false;
+                    listenerSynced = false;
+                    // Der Stand kann nicht mehr als aktuell gelten; wartende Anfragen erhalten den Fehler.
+                    snapshot = null;
+                    provisional = false;
+                    notifyError(e);
+                }
+            });
+            // Ist der Listener bereits bei der Registrierung fehlgeschlagen, wird die Registrierung wieder entfernt.
+            if (!listening) {
+                registration.remove();
+                registration = null;
+            }
+        });
+    }
+
+    /**
+     * Beendet den Echtzeit-Listener, z.B. in onStop, das auch beim Öffnen der Dateiauswahl aufgerufen wird. Der
+     * letzte Stand wird auf dem Gerät gespeichert und bleibt als vorläufiger Stand erhalten, da Änderungen ab jetzt
+     * nicht mehr übertragen werden. Nach einem Neustart des Listeners wird er wie der Stand aus der Datei mit dessen
+     * erstem Ergebnis abgeglichen, sodass die Beobachter die zwischenzeitlichen Änderungen erhalten.
+     */
+    public void stopListening() {
+        if (!listening) {
+            return;
+        }
+        listening = false;
+        backgroundExecutor.execute(() -> {
+            if (registration == null) {
+                return;
+            }
+            registration.remove();
+            registration = null;
+            saveSnapshot();
+            provisional = snapshot != null;
+        });
+    }
+
+    /**
+     * Gibt an, ob der Echtzeit-Listener aktiv ist und Änderungen somit automatisch übernommen werden.
+     *
+     * @return `true`, wenn der Echtzeit-Listener aktiv ist.
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    /**
+     * Beginnt eine Massenänderung, z.B. einen Import. Bis zum zugehörigen {@link #endBulkUpdate()} werden
+     * Änderungen des Echtzeit-Listeners ohne einzelne Meldungen übernommen; die Beobachter erhalten zum Abschluss
+     * einmalig {@link OnMembersChangedListener#onMembersReloaded()}.
+     */
+    public void beginBulkUpdate() {
+        backgroundExecutor.execute(() -> bulkUpdates++);
+    }
+
+    /**
+     * Beendet eine mit {@link #beginBulkUpdate()} begonnene Massenänderung.
+     */
+    public void endBulkUpdate() {
+        backgroundExecutor.execute(() -> {
+            if (bulkUpdates > 0 && --bulkUpdates == 0 && bulkChanged) {
+                bulkChanged = false;
+                notifyReloaded();
+            }
+        });
+    }
+
+    /**
+     * Registriert einen Beobachter für einzelne Änderungen am zwischengespeicherten Stand.
+     *
+     * @param listener Der zu registrierende Beobachter.
+     */
+    public void addOnMembersChangedListener(OnMembersChangedListener listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Entfernt einen zuvor registrierten Beobachter.
+     *
+     * @param listener Der zu entfernende Beobachter.
+     */
+    public void removeOnMembersChangedListener(OnMembersChangedListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Gibt die Versionsnummer des zwischengespeicherten Stands zurück. Sie wird bei jeder Aktualisierung erhöht.
+     *
+     * @return Die aktuelle Versionsnummer.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Liefert die Mitglieder des ersten Ergebnisses des Echtzeit-Listeners, das alle Dokumente als hinzugefügt
+     * enthält. Die Mitglieder werden erst beim Durchlaufen dekodiert.
+     *
+     * @param changes Die Änderungen des ersten Ergebnisses.
+     * @return Die hinzugefügten Mitglieder.
+     */
+    private static Iterable<Member> addedMembers(List<MemberDataSource.Change> changes) {
+        return () -> changes.stream()
+                .filter(change -> change.getType() == MemberDataSource.Change.Type.ADDED)
+                .map(MemberDataSource.Change::getMember)
+                .iterator();
+    }
+
+    /**
+     * Übernimmt das Ergebnis einer Abfrage als neuen Stand und benachrichtigt wartende Anfragen.
+     *
+     * @param result Die Mitglieder aus der Datenquelle, die beim Durchlaufen dekodiert werden.
+     */
+    private void updateSnapshot(Iterable<Member> result) {
+        // Der vorläufige Stand aus der Datei wird noch für den Abgleich benötigt.
+        List<Member> provisionalMembers = provisional ? new ArrayList<>(members) : null;
+        provisional = false;
+        members.clear();
+        long decodeStart = System.nanoTime();
+        // Jedes Dokument wird genau einmal dekodiert.
+        for (Member member : result) {
+            members.add(member);
+        }
+        long decodeNanos = System.nanoTime() - decodeStart;
+        snapshot = Collections.unmodifiableList(members);
+        snapshotIndex = null;
+        searchIndex = null;
+        version++;
+
+        List<OnMembersLoadedListener> listeners = new ArrayList<>(pendingListeners);
+        pendingListeners.clear();
+        for (OnMembersLoadedListener listener : listeners) {
+            listener.onMembersLoaded(snapshotIndex(), false, decodeNanos);
+        }
+        if (provisionalMembers != null) {
+            reconcile(provisionalMembers);
+        }
+        saveSnapshot();
+    }
+
+    /**
+     * Liest den auf dem Gerät gespeicherten Stand und übernimmt ihn als vorläufigen Stand. Kann die Datei nicht
+     * gelesen werden, wird sie gelöscht und die Daten werden wie ohne gespeicherten Stand aus der Datenbank geladen.
+     * Wird nur auf dem Hintergrund-Thread ausgeführt.
+     */
+    private void loadStoredSnapshot() {
+        if (snapshotStore == null) {
+            return;
+        }
+        List<Member> stored;
+        Trace.beginSection("MemberRepository.loadStoredSnapshot");
+        try {
+            stored = snapshotStore.load();
+        } catch (IOException e) {
+            snapshotStore.clear();
+            return;
+        } finally {
+            Trace.endSection();
+        }
+        if (stored == null) {
+            return;
+        }
+        members.clear();
+        members.addAll(stored);
+        snapshot = Collections.unmodifiableList(members);
+        snapshotIndex = null;
+        searchIndex = null;
+        provisional = true;
+        version++;
+        savedVersion = version;
+        // Der gespeicherte Stand wird sofort geliefert; der aktuelle Stand der Datenbank wird im Hintergrund
+        // abgefragt bzw. vom Echtzeit-Listener geliefert und anschließend abgeglichen.
+        queryMembers();
+    }
+
+    /**
+     * Gleicht den vorläufigen Stand aus der Datei bzw. vom beendeten Echtzeit-Listener mit dem soeben geladenen Stand
+     * der Datenbank ab. Die Unterschiede werden über die Dokument-ID bestimmt und als einzelne Änderungen gemeldet;
+     * bei sehr vielen Unterschieden wird stattdessen ein Neuaufbau der Anzeige gemeldet.
+     *
+     * @param provisionalMembers Der bisher gelieferte, vorläufige Stand.
+     */
+    private void reconcile(List<Member> provisionalMembers) {
+        Map<String, Member> previous = new HashMap<>();
+        for (Member member : provisionalMembers) {
+            previous.put(member.getDocumentId(), member);
+        }
+        List<Member> added = new ArrayList<>();
+        List<Member[]> modified = new ArrayList<>();
+        for (Member member : members) {
+            Member oldData = previous.remove(member.getDocumentId());
+            if (oldData == null) {
+                added.add(member);
+            } else if (!oldData.equals(member)) {
+                modified.add(new Member[]{oldData, member});
+            }
+        }
+        List<Member> removed = new ArrayList<>(previous.values());
+        int changeCount = added.size() + modified.size() + removed.size();
+        if (changeCount == 0) {
+            return;
+        }
+        mainExecutor.execute(() -> {
+            for (OnMembersChangedListener listener : changeListeners) {
+                if (changeCount > RECONCILE_CHANGE_LIMIT) {
+                    listener.onMembersReloaded();
+                    continue;
+                }
+                for (Member member : removed) {
+                    listener.onMemberRemoved(member);
+                }
+                for (Member[] change : modified) {
+                    listener.onMemberModified(change[0], change[1]);
+                }
+                for (Member member : added) {
+                    listener.onMemberAdded(member);
+                }
+            }
+        });
+    }
+
+    /**
+     * Speichert den aktuellen Stand auf dem Gerät, sofern er sich seit dem letzten Speichern geändert hat.
+     * Ein Fehler beim Speichern wird nicht gemeldet; der Stand wird dann beim nächsten Mal erneut gespeichert.
+     * Wird nur auf dem Hintergrund-Thread ausgeführt.
+     */
+    private void saveSnapshot() {
+        if (snapshotStore == null || snapshot == null || provisional || savedVersion == version) {
+            return;
+        }
+        try {
+            snapshotStore.save(members);
+            savedVersion = version;
+        } catch (IOException e) {
+            // Der bisher gespeicherte Stand bleibt erhalten.
+        }
+    }
+
+    /**
+     * Liefert den Index über den aktuellen Stand und baut ihn nach einer Änderung einmalig neu auf.
+     * Wird nur auf dem Hintergrund-Thread ausgeführt.
+     *
+     * @return Der Index über den aktuellen Stand.
+     */
+    private MemberIndex snapshotIndex() {
+        if (snapshotIndex == null) {
+            snapshotIndex = MemberIndex.of(members, SORT_POLICY);
+        }
+        return snapshotIndex;
+    }
+
+    /**
+     * Sucht im aktuellen Stand die Mitglieder, bei denen Name, Vorname, E-Mail oder ID mit der Eingabe beginnt.
+     * Wird nur auf dem Hintergrund-Thread ausgeführt, z.B. in einer Sortierstufe der {@link MemberPipeline}, die
+     * den Stand zuvor geladen hat.
+     *
+     * @param query Die Eingabe der Suche.
+     * @param limit Die maximale Anzahl der Treffer.
+     * @return Die Treffer, sortiert nach dem passenden Suchbegriff.
+     */
+    public List<Member> searchMembers(String query, int limit) {
+        if (searchIndex == null) {
+            searchIndex = MemberSearchIndex.of(members);
+        }
+        return searchIndex.search(query, limit);
+    }
+
+    /**
+     * Übernimmt die einzelnen Änderungen eines Listener-Ergebnisses in den zwischengespeicherten Stand.
+     * Die Indizes der Änderungen beziehen sich jeweils auf den Stand nach den vorherigen Änderungen
+     * und können daher der Reihe nach angewendet werden.
+     *
+     * @param changes Die Liste der Dokumentänderungen.
+     */
+    private void applyChanges(List<MemberDataSource.Change> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        // Viele Änderungen auf einmal, z.B. durch einen Import, werden nicht einzeln gemeldet. Der Suchindex wird
+        // dann verworfen und bei der nächsten Suche neu aufgebaut, statt ihn Eintrag für Eintrag anzupassen.
+        boolean notifyEach = bulkUpdates == 0 && changes.size() <= RECONCILE_CHANGE_LIMIT;
+        if (!notifyEach) {
+            searchIndex = null;
+        }
+        for (MemberDataSource.Change change : changes) {
+            Member newData = change.getMember();
+            switch (change.getType()) {
+                case ADDED:
+                    members.add(change.getNewIndex(), newData);
+                    if (searchIndex != null) {
+                        searchIndex.add(newData);
+                    }
+                    if (notifyEach) {
+                        mainExecutor.execute(() -> {
+                            for (OnMembersChangedListener listener : changeListeners) {
+                                listener.onMemberAdded(newData);
+                            }
+                        });
+                    }
+                    break;
+                case MODIFIED:
+                    Member oldData = members.remove(change.getOldIndex());
+                    members.add(change.getNewIndex(), newData);
+                    if (searchIndex != null) {
+                        searchIndex.remove(oldData);
+                        searchIndex.add(newData);
+                    }
+                    if (notifyEach) {
+                        mainExecutor.execute(() -> {
+                            for (OnMembersChangedListener listener : changeListeners) {
+                                listener.onMemberModified(oldData, newData);
+                            }
+                        });
+                    }
+                    break;
+                case REMOVED:
+                    Member removedData = members.remove(change.getOldIndex());
+                    if (searchIndex != null) {
+                        searchIndex.remove(removedData);
+                    }
+                    if (notifyEach) {
+                        mainExecutor.execute(() -> {
+                            for (OnMembersChangedListener listener : changeListeners) {
+                                listener.onMemberRemoved(removedData);
+                            }
+                        });
+                    }
+                    break;
+            }
+        }
+        // Die zwischengespeicherten Sortierungen passen nicht mehr zum geänderten Stand; der Suchindex wurde bereits
+        // oben angepasst.
+        snapshotIndex = null;
+        version++;
+        if (bulkUpdates > 0) {
+            bulkChanged = true;
+        } else if (!notifyEach) {
+            notifyReloaded();
+        }
+    }
+
+    /**
+     * Meldet den Beobachtern, dass die Anzeige neu aufgebaut werden sollte.
+     */
+    private void notifyReloaded() {
+        mainExecutor.execute(() -> {
+            for (OnMembersChangedListener listener : changeListeners) {
+                listener.onMembersReloaded();
+            }
+        });
+    }
+
+    /**
+     * Benachrichtigt alle wartenden Anfragen über einen Fehler.
+     *
+     * @param e Die aufgetretene Ausnahme.
+     */
+    private void notifyError(Exception e) {
+        List<OnMembersLoadedListener> listeners = new ArrayList<>(pendingListeners);
+        pendingListeners.clear();
+        for (OnMembersLoadedListener listener : listeners) {
+            listener.onError(e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+// Import-Anweisungen für benötigte Android-Klassen
+package de.codeyourapp.theheapsort;
+
+import android.app.Activity;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+/**
+ * Diese Klasse misst die Dauer des Kaltstarts der App in einzelnen Phasen. Alle Zeitpunkte werden mit der
+ * monotonen Uhr {@link SystemClock#elapsedRealtime()} erfasst und relativ zum Start des Prozesses angegeben,
+ * sodass sie nicht von Änderungen der Systemzeit abhängen.
+ *
+ * Jede Phase wird nur beim ersten Erreichen erfasst und als Zeile mit dem Tag {@link #TAG} ins Log geschrieben,
+ * z.B. "phase=FIRST_FRAME sinceProcessStartMs=412". Die Zeilen lassen sich zwischen zwei Builds vergleichen.
+ * Sobald die erste Datenzeile gezeichnet wurde, wird zusätzlich {@link Activity#reportFullyDrawn()} aufgerufen;
+ * Startmessungen wie Macrobenchmark werten diesen Zeitpunkt als vollständig angezeigten Start aus. Die Abschnitte
+ * des Starts sind außerdem über {@link android.os.Trace} im System-Trace sichtbar.
+ *
+ * Da ein Kaltstart den ganzen Prozess betrifft, gibt es nur eine Instanz. Wird die Aktivität neu erzeugt,
+ * z.B. nach einer Drehung des Geräts, bleiben die Zeitpunkte des ersten Starts erhalten.
+ * Alle Methoden werden auf dem Haupt-Thread aufgerufen.
+ */
+public final class StartupTracer {
+
+    /**
+     * Die erfassten Phasen des Starts in ihrer zeitlichen Reihenfolge.
+     */
+    public enum Phase {
+        /** Beginn von onCreate der Aktivität. */
+        ACTIVITY_CREATE,
+        /** Das Layout der Aktivität ist erzeugt. */
+        CONTENT_VIEW,
+        /** Ende von onCreate der Aktivität. */
+        ACTIVITY_CREATED,
+        /** Der erste Frame wird gezeichnet. */
+        FIRST_FRAME,
+        /** Die erste Datenzeile wird gezeichnet. */
+        FIRST_DATA_ROW
+    }
+
+    // Tag der Log-Zeilen
+    static final String TAG = "StartupTracer";
+
+    private static final StartupTracer INSTANCE = new StartupTracer();
+
+    // Start des Prozesses und die Zeitpunkte der Phasen (jeweils elapsedRealtime, -1 solange nicht erreicht)
+    private final long processStart;
+    private final long[] timestamps = new long[Phase.values().length];
+    // Phasen, für die bereits auf den nächsten Frame gewartet wird
+    private final boolean[] pending = new boolean[Phase.values().length];
+
+    private StartupTracer() {
+        processStart = Process.getStartElapsedRealtime();
+        for (int i = 0; i < timestamps.length; i++) {
+            timestamps[i] = -1;
+        }
+    }
+
+    /**
+     * @return Die gemeinsame Instanz des Prozesses.
+     */
+    public static StartupTracer getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Erfasst den aktuellen Zeitpunkt für eine Phase, sofern sie noch nicht erreicht wurde.
+     *
+     * @param phase Die erreichte Phase.
+     */
+    public void mark(Phase phase) {
+        if (timestamps[phase.ordinal()] >= 0) {
+            return;
+        }
+        timestamps[phase.ordinal()] = SystemClock.elapsedRealtime();
+        Log.i(TAG, "phase=" + phase + " sinceProcessStartMs=" + getElapsed(phase));
+    }
+
+    /**
+     * Erfasst eine Phase, sobald der nächste Frame der übergebenen View gezeichnet wird.
+     *
+     * @param view  Die View, deren nächster Frame abgewartet wird.
+     * @param phase Die Phase, die dann erreicht ist.
+     */
+    public void markOnNextDraw(View view, Phase phase) {
+        markOnNextDraw(view, phase, null);
+    }
+
+    /**
+     * Erfasst die erste gezeichnete Datenzeile und meldet den Start danach als vollständig angezeigt.
+     *
+     * @param activity Die Aktivität, deren Start gemessen wird.
+     * @param view     Die View, die die Datenzeilen anzeigt.
+     */
+    public void markFirstDataRow(Activity activity, View view) {
+        markOnNextDraw(view, Phase.FIRST_DATA_ROW, () -> {
+            activity.reportFullyDrawn();
+            Log.i(TAG, "summary " + getSummary());
+        });
+    }
+
+    private void markOnNextDraw(View view, Phase phase, Runnable afterMark) {
+        if (timestamps[phase.ordinal()] >= 0 || pending[phase.ordinal()]) {
+            return;
+        }
+        pending[phase.ordinal()] = true;
+        ViewTreeObserver observer = view.getViewTreeObserver();
+        observer.addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                view.getViewTreeObserver().removeOnPreDrawListener(this);
+                pending[phase.ordinal()] = false;
+                mark(phase);
+                if (afterMark != null) {
+                    afterMark.run();
+                }
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Gibt die Zeit vom Start des Prozesses bis zu einer Phase zurück.
+     *
+     * @param phase Die Phase.
+     * @return Die Dauer in Millisekunden, oder -1, wenn die Phase noch nicht erreicht wurde.
+     */
+    public long getElapsed(Phase phase) {
+        long timestamp = timestamps[phase.ordinal()];
+        return timestamp < 0 ? -1 : timestamp - processStart;
+    }
+
+    /**
+     * Fasst die bisher erreichten Phasen für die Anzeige zusammen, z.B. "ACTIVITY_CREATE=120 ms, ...".
+     *
+     * @return Die Zusammenfassung in der Reihenfolge der Phasen.
+     */
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            long elapsed = getElapsed(phase);
+            if (elapsed >= 0) {
+                if (summary.length() > 0) {
+                    summary.append(", ");
+                }
+                summary.append(phase).append('=').append(elapsed).append(" ms");
+            }
+        }
+        return summary.toString();
+    }
+}
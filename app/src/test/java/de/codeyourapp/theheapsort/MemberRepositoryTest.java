@@ -0,0 +1,138 @@
+package de.codeyourapp.theheapsort;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests für {@link MemberRepository} mit einer Datenquelle im Arbeitsspeicher. Hintergrund- und Haupt-Thread
+ * werden durch direkte Ausführung ersetzt.
+ */
+public class MemberRepositoryTest {
+
+    // Führt die Aufgaben direkt auf dem aufrufenden Thread aus
+    private static final Executor DIRECT = Runnable::run;
+
+    /**
+     * Datenquelle, deren Echtzeit-Listener erst auf Anforderung Ergebnisse oder Fehler liefert.
+     */
+    private static final class ControlledDataSource extends InMemoryMemberDataSource {
+        final List<OnChangesListener> listeners = new ArrayList<>();
+        int removedRegistrations = 0;
+
+        ControlledDataSource(List<Member> members) {
+            super(members);
+        }
+
+        @Override
+        public Registration addChangeListener(Executor executor, OnChangesListener listener) {
+            listeners.add(listener);
+            return () -> removedRegistrations++;
+        }
+    }
+
+    /**
+     * Merkt sich das Ergebnis einer Anfrage.
+     */
+    private static final class LoadResult implements MemberRepository.OnMembersLoadedListener {
+        MemberIndex snapshot;
+        Exception error;
+
+        @Override
+        public void onMembersLoaded(MemberIndex snapshot, boolean fromCache, long decodeNanos) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public void onError(Exception e) {
+            error = e;
+        }
+    }
+
+    @Test
+    public void getMembers_loadsAgainAfterListenerError() {
+        ControlledDataSource dataSource = new ControlledDataSource(Collections.singletonList(
+                new Member("a", "1", "Muster", "Max", "max@example.de", "2024-01-01 00:00:00")));
+        MemberRepository repository = new MemberRepository(dataSource, DIRECT, DIRECT);
+        repository.startListening();
+        assertEquals(1, dataSource.listeners.size());
+
+        // Die Anfrage wartet auf das erste Ergebnis des Listeners, der stattdessen fehlschlägt.
+        LoadResult waiting = new LoadResult();
+        repository.getMembers(waiting);
+        assertNull(waiting.snapshot);
+        IOException error = new IOException("offline");
+        dataSource.listeners.get(0).onError(error);
+        assertSame(error, waiting.error);
+        assertFalse(repository.isListening());
+        assertEquals(1, dataSource.removedRegistrations);
+
+        // Danach wird die Collection wieder einmalig abgefragt.
+        LoadResult next = new LoadResult();
+        repository.getMembers(next);
+        assertNull(next.error);
+        assertEquals(1, next.snapshot.size());
+
+        // Der Listener kann neu gestartet werden.
+        repository.startListening();
+        assertTrue(repository.isListening());
+        assertEquals(2, dataSource.listeners.size());
+    }
+
+    @Test
+    public void startListening_reportsChangesMadeWhileStopped() {
+        Member max = new Member("a", "1", "Muster", "Max", "max@example.de", "2024-01-01 00:00:00");
+        Member erika = new Member("b", "2", "Muster", "Erika", "erika@example.de", "2024-01-02 00:00:00");
+        ControlledDataSource dataSource = new ControlledDataSource(Collections.singletonList(max));
+        MemberRepository repository = new MemberRepository(dataSource, DIRECT, DIRECT);
+        List<Member> added = new ArrayList<>();
+        repository.addOnMembersChangedListener(new MemberRepository.OnMembersChangedListener() {
+            @Override
+            public void onMemberAdded(Member data) {
+                added.add(data);
+            }
+
+            @Override
+            public void onMemberModified(Member oldData, Member newData) {
+                fail();
+            }
+
+            @Override
+            public void onMemberRemoved(Member data) {
+                fail();
+            }
+
+            @Override
+            public void onMembersReloaded() {
+                fail();
+            }
+        });
+        repository.startListening();
+        dataSource.listeners.get(0).onChanges(Collections.singletonList(
+                new MemberDataSource.Change(MemberDataSource.Change.Type.ADDED, max, -1, 0)));
+
+        // Nach dem Beenden, z.B. beim Öffnen der Dateiauswahl, bleibt der letzte Stand erhalten.
+        repository.stopListening();
+        LoadResult stopped = new LoadResult();
+        repository.getMembers(stopped);
+        assertEquals(1, stopped.snapshot.size());
+
+        // Das erste Ergebnis nach dem Neustart enthält einen zwischenzeitlich hinzugefügten Eintrag.
+        repository.startListening();
+        List<MemberDataSource.Change> changes = new ArrayList<>();
+        changes.add(new MemberDataSource.Change(MemberDataSource.Change.Type.ADDED, max, -1, 0));
+        changes.add(new MemberDataSource.Change(MemberDataSource.Change.Type.ADDED, erika, -1, 1));
+        dataSource.listeners.get(1).onChanges(changes);
+        assertEquals(Collections.singletonList(erika), added);
+
+        LoadResult restarted = new LoadResult();
+        repository.getMembers(restarted);
+        assertEquals(2, restarted.snapshot.size());
+    }
+}
@@ -0,0 +1,33 @@
+plugins {
+    id("java")
+    id("me.champeau.jmh")
+}
+
+// Reines JVM-Modul mit JMH-Benchmarks für die Sortieralgorithmen aus dem Modul :core.
+// Ausführen mit: ./gradlew :benchmark:jmh
+// Einzelne Benchmarks lassen sich über -Pjmh.includes=<Regex> auswählen, z.B. -Pjmh.includes=SortBenchmark.heapsort
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+tasks.withType<JavaCompile>().configureEach {
+    options.encoding = "UTF-8"
+}
+
+dependencies {
+    jmh(project(":core"))
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    // Feste Anzahl an Durchläufen und ein eigener JVM-Prozess, damit die Ergebnisse reproduzierbar sind
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    // Der GC-Profiler liefert die Allokationsrate (gc.alloc.rate und gc.alloc.rate.norm)
+    profilers.set(listOf("gc"))
+    jvmArgs.set(listOf("-Xms4g", "-Xmx4g"))
+    resultFormat.set("JSON")
+    (project.findProperty("jmh.includes") as String?)?.let { includes.set(listOf(it)) }
+}
@@ -0,0 +1,99 @@
+// Import-Anweisungen für benötigte Java- und JMH-Klassen
+package de.codeyourapp.theheapsort.benchmark;
+
+import de.codeyourapp.theheapsort.Member;
+import de.codeyourapp.theheapsort.MemberDataSource;
+import de.codeyourapp.theheapsort.MemberIndex;
+import de.codeyourapp.theheapsort.SortKey;
+import de.codeyourapp.theheapsort.SortPolicy;
+import de.codeyourapp.theheapsort.SortStrategies;
+import de.codeyourapp.theheapsort.SortStrategy;
+import de.codeyourapp.theheapsort.SyntheticMemberDataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lasttest des Ladewegs der App ohne Netzwerk: Die Mitglieder kommen aus einer {@link SyntheticMemberDataSource},
+ * werden wie im Repository in einen {@link MemberIndex} übernommen und mit einer Sortierung der App sortiert.
+ * Gemessen wird die Zeit eines vollständigen Durchlaufs bis zur sortierten Liste, also das, worauf der Benutzer
+ * beim ersten Antippen einer Sortierung wartet.
+ *
+ * Die Mitglieder werden einmal pro Durchlauf erzeugt (nicht gemessen); jede Messung beginnt mit neu erzeugten
+ * Mitgliedern ohne bereits berechnete Sortierschlüssel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DataSourceLoadBenchmark {
+
+    /**
+     * Sortierungen der App.
+     */
+    public enum Strategy {
+        HEAPSORT(SortStrategies.HEAPSORT),
+        NAME(SortStrategies.byName(true)),
+        NEWEST_FIRST(SortStrategies.NEWEST_FIRST);
+
+        final SortStrategy strategy;
+
+        Strategy(SortStrategy strategy) {
+            this.strategy = strategy;
+        }
+    }
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"HEAPSORT", "NAME", "NEWEST_FIRST"})
+    public Strategy strategy;
+
+    // Entspricht der Sortierrichtlinie des Repositorys
+    private static final SortPolicy SORT_POLICY = SortPolicy.parallel(SortPolicy.DEFAULT_PARALLEL_THRESHOLD, SortKey.TIMESTAMP, SortKey.NAME);
+
+    private MemberDataSource dataSource;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        dataSource = new SyntheticMemberDataSource(size, 42);
+        // Die Mitglieder werden beim ersten Zugriff erzeugt; das soll nicht in die Messung eingehen.
+        load();
+    }
+
+    private List<Member> load() {
+        AtomicReference<List<Member>> result = new AtomicReference<>();
+        dataSource.loadMembers(Runnable::run, new MemberDataSource.Callback<Iterable<Member>>() {
+            @Override
+            public void onSuccess(Iterable<Member> members) {
+                List<Member> list = new ArrayList<>(size);
+                for (Member member : members) {
+                    list.add(member);
+                }
+                result.set(list);
+            }
+
+            @Override
+            public void onError(Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        return result.get();
+    }
+
+    @Benchmark
+    public List<Member> loadAndSort() {
+        return strategy.strategy.sort(MemberIndex.of(load(), SORT_POLICY));
+    }
+}
@@ -0,0 +1,110 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort.benchmark;
+
+import de.codeyourapp.theheapsort.Member;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Diese Klasse erzeugt synthetische Datensätze von Mitgliedern für die Benchmarks.
+ * Jeder Datensatz erhält einen Rang, aus dem ID, Name und Zeitstempel so abgeleitet werden, dass alle drei
+ * Sortierschlüssel dieselbe Reihenfolge ergeben. Die Verteilung bestimmt, wie die Ränge angeordnet sind.
+ * Alle Zufallswerte stammen aus einem festen Startwert, sodass dieselben Parameter immer dieselben Daten ergeben.
+ */
+public final class MemberDatasets {
+
+    /**
+     * Anordnung der Datensätze vor dem Sortieren.
+     */
+    public enum Distribution {
+        // Bereits aufsteigend sortiert
+        SORTED,
+        // Absteigend sortiert
+        REVERSE_SORTED,
+        // Zufällige Reihenfolge ohne doppelte Schlüssel
+        RANDOM,
+        // Zufällige Reihenfolge mit nur 16 verschiedenen Schlüsseln
+        MANY_DUPLICATES
+    }
+
+    // Anzahl verschiedener Schlüssel bei MANY_DUPLICATES
+    private static final int DUPLICATE_KEYS = 16;
+
+    private static final DateTimeFormatter STORAGE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2020, 1, 1, 0, 0, 0);
+
+    private MemberDatasets() {
+    }
+
+    /**
+     * Erzeugt einen Datensatz.
+     *
+     * @param size         Die Anzahl der Mitglieder.
+     * @param distribution Die Anordnung der Mitglieder.
+     * @param seed         Der Startwert für die Zufallswerte.
+     * @return Die erzeugten Mitglieder.
+     */
+    public static List<Member> generate(int size, Distribution distribution, long seed) {
+        Random random = new Random(seed);
+        int[] ranks = new int[size];
+        for (int i = 0; i < size; i++) {
+            switch (distribution) {
+                case SORTED:
+                    ranks[i] = i;
+                    break;
+                case REVERSE_SORTED:
+                    ranks[i] = size - 1 - i;
+                    break;
+                case RANDOM:
+                    ranks[i] = i;
+                    break;
+                case MANY_DUPLICATES:
+                    ranks[i] = random.nextInt(DUPLICATE_KEYS);
+                    break;
+            }
+        }
+        if (distribution == Distribution.RANDOM) {
+            // Fisher-Yates-Mischung mit festem Startwert
+            for (int i = size - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int temp = ranks[i];
+                ranks[i] = ranks[j];
+                ranks[j] = temp;
+            }
+        }
+
+        List<Member> members = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int rank = ranks[i];
+            members.add(new Member(
+                    "doc" + i,
+                    String.valueOf(10000 + rank),
+                    nameForRank(rank),
+                    "Vorname" + i,
+                    "mitglied" + i + "@example.com",
+                    // Neuere Zeitstempel für kleinere Ränge, damit "neueste zuerst" dieselbe Reihenfolge ergibt
+                    BASE_TIME.minusSeconds(rank).format(STORAGE_FORMAT)));
+        }
+        return members;
+    }
+
+    /**
+     * Bildet einen Rang auf einen Namen aus fünf Buchstaben ab, dessen alphabetische Reihenfolge der des Rangs entspricht.
+     *
+     * @param rank Der Rang.
+     * @return Der Name, z.B. "Aaaab" für den Rang 1.
+     */
+    private static String nameForRank(int rank) {
+        char[] name = new char[5];
+        for (int i = name.length - 1; i >= 0; i--) {
+            name[i] = (char) ('a' + rank % 26);
+            rank /= 26;
+        }
+        name[0] = Character.toUpperCase(name[0]);
+        return new String(name);
+    }
+}
@@ -0,0 +1,50 @@
+// Import-Anweisungen für benötigte Java- und JMH-Klassen
+package de.codeyourapp.theheapsort.benchmark;
+
+import de.codeyourapp.theheapsort.MemberSearchIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst die Suche im {@link MemberSearchIndex} mit kurzen Präfixen, so wie bei der Eingabe der ersten Buchstaben.
+ * Der Index wird einmal aufgebaut (nicht gemessen); gemessen wird die Zeit für alle Suchbegriffe eines Satzes
+ * mit der Trefferzahl der App.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MemberSearchIndexBenchmark {
+
+    // Maximale Trefferzahl wie bei der Suche in der App
+    private static final int SEARCH_LIMIT = 200;
+
+    // Präfixe von Name, Vorname, E-Mail und ID der erzeugten Mitglieder
+    private static final String[] QUERIES = {"a", "aa", "aab", "vor", "vorname4", "mitglied", "mitglied42", "1", "100", "10042"};
+
+    @Param({"100000"})
+    public int size;
+
+    private MemberSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = MemberSearchIndex.of(MemberDatasets.generate(size, MemberDatasets.Distribution.RANDOM, 42));
+    }
+
+    @Benchmark
+    public void search(Blackhole blackhole) {
+        for (String query : QUERIES) {
+            blackhole.consume(index.search(query, SEARCH_LIMIT));
+        }
+    }
+}
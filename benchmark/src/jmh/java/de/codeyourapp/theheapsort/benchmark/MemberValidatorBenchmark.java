@@ -0,0 +1,56 @@
+// Import-Anweisungen für benötigte Java- und JMH-Klassen
+package de.codeyourapp.theheapsort.benchmark;
+
+import de.codeyourapp.theheapsort.MemberValidator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vergleicht die Prüfung von E-Mail-Adressen, so wie beim Import für jede Zeile:
+ * - {@link #stringMatches}: bisherige Umsetzung mit dem regulären Ausdruck über String.matches.
+ * - {@link #memberValidator}: {@link MemberValidator#isValidEmail} ohne regulären Ausdruck.
+ *
+ * Gemessen wird die Zeit für die Prüfung aller Adressen eines Satzes von 1000 Werten, von denen jede zehnte
+ * ungültig ist.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MemberValidatorBenchmark {
+
+    // Der reguläre Ausdruck, nach dem E-Mail-Adressen bisher geprüft wurden
+    private static final String EMAIL_REGEX = "[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}";
+
+    private String[] emails;
+
+    @Setup
+    public void setUp() {
+        emails = new String[1000];
+        for (int i = 0; i < emails.length; i++) {
+            emails[i] = i % 10 == 0 ? "keine-mail" + i : "vorname.nachname" + i + "@beispiel-verein.de";
+        }
+    }
+
+    @Benchmark
+    public void stringMatches(Blackhole blackhole) {
+        for (String email : emails) {
+            blackhole.consume(email.matches(EMAIL_REGEX));
+        }
+    }
+
+    @Benchmark
+    public void memberValidator(Blackhole blackhole) {
+        for (String email : emails) {
+            blackhole.consume(MemberValidator.isValidEmail(email));
+        }
+    }
+}
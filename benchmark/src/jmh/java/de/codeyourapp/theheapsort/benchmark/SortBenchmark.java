@@ -0,0 +1,184 @@
+// Import-Anweisungen für benötigte Java- und JMH-Klassen
+package de.codeyourapp.theheapsort.benchmark;
+
+import de.codeyourapp.theheapsort.DataSorterHeapsort;
+import de.codeyourapp.theheapsort.Member;
+import de.codeyourapp.theheapsort.MemberComparators;
+import de.codeyourapp.theheapsort.MemberIndex;
+import de.codeyourapp.theheapsort.SortKey;
+import de.codeyourapp.theheapsort.SortPolicy;
+import de.codeyourapp.theheapsort.SortStatistics;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks für die Sortierungen der App auf synthetischen Datensätzen.
+ *
+ * Verglichen werden:
+ * - {@link #heapsort}: DataSorterHeapsort auf einer Liste von Mitgliedern (primitiver Schlüssel für die ID,
+ *   sonst Comparator).
+ * - {@link #indexHeapsort}: Heapsort einer Permutation der Zeilennummern über {@link MemberIndex}, so wie ihn
+ *   die Sortierer der App verwenden.
+ * - {@link #parallelIndexSort}: dieselbe Permutation mit der ParallelMergeSort auf allen Kernen.
+ * - {@link #collectionsSort}: Collections.sort mit demselben Vergleich (bisherige Umsetzung der Sortierer).
+ * - {@link #shuffle}: Collections.shuffle (zufällige Sortierung der App).
+ *
+ * Neben dem Durchsatz werden über {@link Counters} die Anzahl der Vergleiche und Vertauschungen pro Sortierung
+ * ausgegeben; die Allokationsrate liefert der GC-Profiler (siehe build.gradle.kts). Jede Messung enthält das
+ * Kopieren der Ausgangsdaten, da jede Sortierung auf unsortierten Daten beginnen muss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SortBenchmark {
+
+    /**
+     * Sortierschlüssel der App.
+     */
+    public enum Key {
+        ID, NAME, TIMESTAMP
+    }
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    @Param({"SORTED", "REVERSE_SORTED", "RANDOM", "MANY_DUPLICATES"})
+    public MemberDatasets.Distribution distribution;
+
+    @Param({"ID", "NAME", "TIMESTAMP"})
+    public Key key;
+
+    // Sortiert alle Schlüssel unabhängig von der Größe parallel
+    private static final SortPolicy PARALLEL = SortPolicy.parallel(0, SortKey.ID, SortKey.TIMESTAMP, SortKey.NAME);
+
+    private List<Member> members;
+    private Comparator<Member> comparator;
+
+    /**
+     * Zähler, die JMH zusätzlich zum Durchsatz ausgibt (Summe pro Iteration).
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long comparisons;
+        public long swaps;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            comparisons = 0;
+            swaps = 0;
+        }
+
+        void add(SortStatistics statistics) {
+            comparisons += statistics.getComparisons();
+            swaps += statistics.getSwaps();
+        }
+    }
+
+    /**
+     * Vergleich, der die Anzahl seiner Aufrufe zählt.
+     */
+    private static final class CountingComparator implements Comparator<Member> {
+        private final Comparator<Member> delegate;
+        long comparisons;
+
+        CountingComparator(Comparator<Member> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int compare(Member member1, Member member2) {
+            comparisons++;
+            return delegate.compare(member1, member2);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        members = MemberDatasets.generate(size, distribution, 42L);
+        switch (key) {
+            case ID:
+                comparator = MemberComparators.ID;
+                break;
+            case NAME:
+                comparator = MemberComparators.NAME_ASCENDING;
+                break;
+            case TIMESTAMP:
+                comparator = MemberComparators.TIMESTAMP_DESCENDING;
+                break;
+        }
+    }
+
+    @Benchmark
+    public List<Member> heapsort(Counters counters) {
+        List<Member> dataToSort = new ArrayList<>(members);
+        SortStatistics statistics;
+        if (key == Key.ID) {
+            statistics = DataSorterHeapsort.sort(dataToSort);
+        } else {
+            statistics = DataSorterHeapsort.sort(dataToSort, comparator);
+        }
+        counters.add(statistics);
+        return dataToSort;
+    }
+
+    @Benchmark
+    public List<Member> indexHeapsort(Counters counters) {
+        // Ein neuer Index pro Aufruf, damit keine zwischengespeicherte Reihenfolge gemessen wird
+        return sortIndex(MemberIndex.of(members), counters);
+    }
+
+    @Benchmark
+    public List<Member> parallelIndexSort(Counters counters) {
+        return sortIndex(MemberIndex.of(members, PARALLEL), counters);
+    }
+
+    private List<Member> sortIndex(MemberIndex index, Counters counters) {
+        MemberIndex.Ordering ordering;
+        switch (key) {
+            case NAME:
+                ordering = index.byName(true);
+                break;
+            case TIMESTAMP:
+                ordering = index.byTimestampDescending();
+                break;
+            default:
+                ordering = index.byId();
+                break;
+        }
+        counters.add(ordering.getStatistics());
+        return ordering;
+    }
+
+    @Benchmark
+    public List<Member> collectionsSort(Counters counters) {
+        List<Member> dataToSort = new ArrayList<>(members);
+        CountingComparator countingComparator = new CountingComparator(comparator);
+        Collections.sort(dataToSort, countingComparator);
+        counters.comparisons += countingComparator.comparisons;
+        return dataToSort;
+    }
+
+    @Benchmark
+    public List<Member> shuffle() {
+        List<Member> dataToSort = new ArrayList<>(members);
+        Collections.shuffle(dataToSort, new Random(42L));
+        return dataToSort;
+    }
+}
@@ -0,0 +1,61 @@
+// Import-Anweisungen für benötigte Java- und JMH-Klassen
+package de.codeyourapp.theheapsort.benchmark;
+
+import de.codeyourapp.theheapsort.TimeStampFormat;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vergleicht das Formatieren der Timestamps für die Anzeige, so wie beim Scrollen durch die Tabelle:
+ * - {@link #simpleDateFormat}: bisherige Umsetzung mit zwei neuen SimpleDateFormat-Instanzen pro Aufruf.
+ * - {@link #timeStampFormat}: {@link TimeStampFormat#convertTimestamp} mit Zwischenspeicher.
+ *
+ * Gemessen wird die Zeit für das Formatieren aller Timestamps eines Satzes von 500 Werten.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TimeStampFormatBenchmark {
+
+    private String[] timestamps;
+
+    @Setup
+    public void setUp() {
+        timestamps = new String[500];
+        for (int i = 0; i < timestamps.length; i++) {
+            timestamps[i] = String.format("20%02d-%02d-%02d %02d:%02d:%02d",
+                    10 + i % 15, 1 + i % 12, 1 + i % 28, i % 24, (i * 7) % 60, (i * 13) % 60);
+        }
+    }
+
+    @Benchmark
+    public void simpleDateFormat(Blackhole blackhole) {
+        for (String timestamp : timestamps) {
+            try {
+                Date date = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse(timestamp);
+                blackhole.consume(new SimpleDateFormat("dd.MM.yyyy 'um' HH:mm 'Uhr'").format(date));
+            } catch (ParseException e) {
+                blackhole.consume(timestamp);
+            }
+        }
+    }
+
+    @Benchmark
+    public void timeStampFormat(Blackhole blackhole) {
+        for (String timestamp : timestamps) {
+            blackhole.consume(TimeStampFormat.convertTimestamp(timestamp));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+plugins {
+    id("java-library")
+}
+
+// Reines Java-Modul mit dem Datenmodell und den Sortieralgorithmen. Es enthält keine Android-Klassen,
+// sodass es von der App, den JVM-Tests und dem Benchmark-Modul gleichermaßen verwendet werden kann.
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+tasks.withType<JavaCompile>().configureEach {
+    options.encoding = "UTF-8"
+}
+
+dependencies {
+    testImplementation("junit:junit:4.13.2")
+}
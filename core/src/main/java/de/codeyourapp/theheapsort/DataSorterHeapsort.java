@@ -0,0 +1,109 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Diese Klasse wendet den Heapsort-Algorithmus auf eine Liste von Mitgliedern an und modifiziert sie direkt.
+ * Die eigentliche Sortierung übernimmt {@link HeapSort} auf einem Array; die Liste wird dafür einmalig
+ * in ein Array kopiert und anschließend in sortierter Reihenfolge zurückgeschrieben.
+ *
+ * Standardmäßig wird nach dem vorberechneten numerischen Schlüssel der "id" sortiert, also mit Vergleichen von
+ * long-Werten statt von Texten. Nicht numerische IDs älterer Einträge stehen danach am Ende und werden nur
+ * untereinander nach der ID als Text geordnet (siehe {@link MemberComparators#ID}). Über die weiteren
+ * Methoden kann ein beliebiger primitiver Schlüssel oder ein Comparator verwendet werden.
+ */
+public class DataSorterHeapsort {
+
+    /**
+     * Vergleich nach dem "id"-Attribut, der dieselbe Reihenfolge wie die Heapsort-Sortierung ergibt.
+     * Er wird verwendet, um neue Einträge direkt an der richtigen Stelle der sortierten Liste einzufügen.
+     */
+    public static final Comparator<Member> ID_COMPARATOR = MemberComparators.ID;
+
+    /**
+     * Sortiert die gegebene Liste nach der numerischen "id".
+     *
+     * @param dataToSort Die zu sortierende Liste von Daten (Mitglieder).
+     * @return Die Zählungen dieses Sortiervorgangs.
+     */
+    public static SortStatistics sort(List<Member> dataToSort) {
+        Member[] members = dataToSort.toArray(new Member[0]);
+        SortStatistics statistics = HeapSort.sortByKey(members, Member::getIdKey);
+        statistics.add(sortNonNumericIds(members));
+        writeBack(dataToSort, members);
+        return statistics;
+    }
+
+    /**
+     * Sortiert die Datensätze eines Index nach der numerischen "id", ohne die Datensätze selbst zu bewegen.
+     * Sortiert wird eine Permutation der Zeilennummern zusammen mit den vorab extrahierten Schlüsseln.
+     *
+     * @param index Der Index über die zu sortierenden Daten.
+     * @return Die Reihenfolge nach der "id" mit den Zählungen des Sortiervorgangs.
+     */
+    public static MemberIndex.Ordering sort(MemberIndex index) {
+        return index.byId();
+    }
+
+    /**
+     * Sortiert die gegebene Liste aufsteigend nach einem primitiven Schlüssel.
+     *
+     * @param dataToSort Die zu sortierende Liste von Daten (Mitglieder).
+     * @param keyMapper  Liefert den Sortierschlüssel eines Mitglieds.
+     * @return Die Zählungen dieses Sortiervorgangs.
+     */
+    public static SortStatistics sort(List<Member> dataToSort, ToLongFunction<Member> keyMapper) {
+        Member[] members = dataToSort.toArray(new Member[0]);
+        SortStatistics statistics = HeapSort.sortByKey(members, keyMapper);
+        writeBack(dataToSort, members);
+        return statistics;
+    }
+
+    /**
+     * Sortiert die gegebene Liste aufsteigend nach dem übergebenen Comparator.
+     *
+     * @param dataToSort Die zu sortierende Liste von Daten (Mitglieder).
+     * @param comparator Der Vergleich, der die Reihenfolge festlegt.
+     * @return Die Zählungen dieses Sortiervorgangs.
+     */
+    public static SortStatistics sort(List<Member> dataToSort, Comparator<Member> comparator) {
+        Member[] members = dataToSort.toArray(new Member[0]);
+        SortStatistics statistics = HeapSort.sort(members, comparator);
+        writeBack(dataToSort, members);
+        return statistics;
+    }
+
+    /**
+     * Ordnet die nicht numerischen IDs am Ende eines nach dem ID-Schlüssel sortierten Arrays per Heapsort nach der
+     * ID als Text.
+     *
+     * @param members Die nach {@link Member#getIdKey()} sortierten Elemente.
+     * @return Die Zählungen dieser Sortierung, die zu denen der Sortierung nach dem Schlüssel addiert werden.
+     */
+    private static SortStatistics sortNonNumericIds(Member[] members) {
+        int start = members.length;
+        while (start > 0 && members[start - 1].getIdKey() == Member.NON_NUMERIC_ID_KEY) {
+            start--;
+        }
+        Member[] tail = Arrays.copyOfRange(members, start, members.length);
+        SortStatistics statistics = HeapSort.sort(tail, ID_COMPARATOR);
+        System.arraycopy(tail, 0, members, start, tail.length);
+        return statistics;
+    }
+
+    /**
+     * Schreibt die sortierten Elemente in die ursprüngliche Liste zurück.
+     *
+     * @param dataToSort Die ursprüngliche Liste.
+     * @param members    Die sortierten Elemente.
+     */
+    private static void writeBack(List<Member> dataToSort, Member[] members) {
+        for (int i = 0; i < members.length; i++) {
+            dataToSort.set(i, members[i]);
+        }
+    }
+}
@@ -0,0 +1,375 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Diese Klasse sortiert beliebig viele Mitglieder mit begrenztem Speicherbedarf (externe Sortierung).
+ *
+ * Die Datensätze werden über {@link #add(Member)} in Blöcken zu {@code chunkSize} Einträgen gesammelt. Jeder volle
+ * Block wird mit {@link DataSorterHeapsort} sortiert und als sortierter Lauf im Format des
+ * {@link MemberBinaryCodec} in eine Datei des übergebenen Verzeichnisses geschrieben. {@link #sortedIterator()}
+ * führt die Läufe anschließend über einen Min-Heap der jeweils ersten Einträge zusammen (k-Wege-Mischen) und
+ * liefert die Datensätze nacheinander, ohne sie gemeinsam im Speicher zu halten.
+ *
+ * Gibt es mehr als {@link #MAX_FAN_IN} Läufe, werden vorab jeweils so viele zu einem längeren Lauf
+ * zusammengeführt. Im Speicher liegen damit höchstens ein Block und ein Lesepuffer pro gleichzeitig gemischtem
+ * Lauf, unabhängig von der Anzahl der Datensätze. Passen alle Datensätze in einen Block, wird ohne Dateien sortiert.
+ *
+ * Gleiche Datensätze behalten zwischen den Läufen die Reihenfolge der Läufe; innerhalb eines Blocks ist
+ * Heapsort nicht stabil. Ein ExternalMemberSorter wird nur von einem Thread verwendet und nach dem Lesen
+ * mit {@link #close()} geschlossen, wodurch alle Zwischendateien gelöscht werden.
+ */
+public class ExternalMemberSorter implements Closeable {
+
+    // Höchstzahl der Läufe, die gleichzeitig gemischt werden
+    static final int MAX_FAN_IN = 64;
+    // Kennung am Anfang jeder Lauf-Datei ("MBR" und Formatversion 1)
+    private static final int RUN_MAGIC = 0x4d425201;
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final File runDirectory;
+    private final int chunkSize;
+    private final Comparator<Member> comparator;
+    private final int maxFanIn;
+
+    private final List<Member> chunk = new ArrayList<>();
+    private final List<File> runs = new ArrayList<>();
+    private final List<MergeIterator> openIterators = new ArrayList<>();
+    private long count = 0;
+    private int runCount = 0;
+
+    /**
+     * Konstruktor für den ExternalMemberSorter.
+     *
+     * @param runDirectory Das Verzeichnis für die Zwischendateien, z.B. ein Unterverzeichnis des App-Speichers.
+     * @param chunkSize    Die Anzahl der Datensätze, die gemeinsam im Speicher sortiert werden.
+     * @param comparator   Der Vergleich, der die Reihenfolge festlegt.
+     */
+    public ExternalMemberSorter(File runDirectory, int chunkSize, Comparator<Member> comparator) {
+        this(runDirectory, chunkSize, comparator, MAX_FAN_IN);
+    }
+
+    ExternalMemberSorter(File runDirectory, int chunkSize, Comparator<Member> comparator, int maxFanIn) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize muss größer als 0 sein");
+        }
+        if (maxFanIn < 2) {
+            throw new IllegalArgumentException("maxFanIn muss mindestens 2 sein");
+        }
+        this.runDirectory = runDirectory;
+        this.chunkSize = chunkSize;
+        this.comparator = comparator;
+        this.maxFanIn = maxFanIn;
+    }
+
+    /**
+     * Fügt einen Datensatz hinzu. Ist der aktuelle Block voll, wird er sortiert und als Lauf geschrieben.
+     *
+     * @param member Der Datensatz.
+     * @throws IOException Wenn der Lauf nicht geschrieben werden kann.
+     */
+    public void add(Member member) throws IOException {
+        chunk.add(member);
+        count++;
+        if (chunk.size() >= chunkSize) {
+            spillChunk();
+        }
+    }
+
+    /**
+     * @return Die Anzahl der bisher hinzugefügten Datensätze.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return Die Anzahl der aus Blöcken geschriebenen Läufe, ohne die beim Vorab-Mischen entstandenen.
+     */
+    public int getRunCount() {
+        return runCount;
+    }
+
+    /**
+     * Liefert alle hinzugefügten Datensätze in sortierter Reihenfolge. Danach dürfen keine weiteren Datensätze
+     * hinzugefügt werden. Der Iterator muss nach dem Lesen geschlossen werden.
+     *
+     * @return Der Iterator über die sortierten Datensätze.
+     * @throws IOException Wenn die Läufe nicht geschrieben oder geöffnet werden können.
+     */
+    public MergeIterator sortedIterator() throws IOException {
+        if (runs.isEmpty()) {
+            // Alle Datensätze passen in einen Block: ohne Dateien im Speicher sortieren
+            DataSorterHeapsort.sort(chunk, comparator);
+            MergeIterator iterator = new MergeIterator(new ArrayList<>(chunk).iterator());
+            chunk.clear();
+            openIterators.add(iterator);
+            return iterator;
+        }
+        if (!chunk.isEmpty()) {
+            spillChunk();
+        }
+        // Vorab in Durchgängen mischen, bis höchstens maxFanIn Läufe übrig sind. Jeweils aufeinanderfolgende Läufe
+        // werden zusammengeführt, sodass die Reihenfolge der Läufe erhalten bleibt.
+        while (runs.size() > maxFanIn) {
+            List<File> pass = new ArrayList<>(runs);
+            runs.clear();
+            for (int start = 0; start < pass.size(); start += maxFanIn) {
+                List<File> group = pass.subList(start, Math.min(start + maxFanIn, pass.size()));
+                if (group.size() == 1) {
+                    runs.add(group.get(0));
+                    continue;
+                }
+                File merged;
+                try {
+                    merged = newRunFile();
+                    try (MergeIterator iterator = new MergeIterator(new ArrayList<>(group))) {
+                        writeRun(merged, iterator);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // Noch nicht gemischte Läufe werden beim Schließen gelöscht
+                    runs.addAll(pass.subList(start, pass.size()));
+                    throw e;
+                }
+                runs.add(merged);
+            }
+        }
+        MergeIterator iterator = new MergeIterator(new ArrayList<>(runs));
+        runs.clear();
+        openIterators.add(iterator);
+        return iterator;
+    }
+
+    /**
+     * Schließt alle geöffneten Iteratoren und löscht die Zwischendateien.
+     */
+    @Override
+    public void close() {
+        for (MergeIterator iterator : openIterators) {
+            iterator.close();
+        }
+        openIterators.clear();
+        for (File run : runs) {
+            run.delete();
+        }
+        runs.clear();
+        chunk.clear();
+    }
+
+    private void spillChunk() throws IOException {
+        DataSorterHeapsort.sort(chunk, comparator);
+        File run = newRunFile();
+        writeRun(run, chunk.iterator());
+        runs.add(run);
+        runCount++;
+        chunk.clear();
+    }
+
+    private File newRunFile() throws IOException {
+        if (!runDirectory.isDirectory() && !runDirectory.mkdirs()) {
+            throw new IOException("Verzeichnis kann nicht angelegt werden: " + runDirectory);
+        }
+        return File.createTempFile("run", ".bin", runDirectory);
+    }
+
+    private static void writeRun(File run, Iterator<Member> members) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(run), BUFFER_SIZE))) {
+            out.writeInt(RUN_MAGIC);
+            while (members.hasNext()) {
+                out.writeBoolean(true);
+                MemberBinaryCodec.write(out, members.next());
+            }
+            // Ende des Laufs
+            out.writeBoolean(false);
+        } catch (IOException | RuntimeException e) {
+            run.delete();
+            throw e;
+        }
+    }
+
+    /**
+     * Iterator über die zusammengeführten Läufe. Ein Lesefehler wird als {@link UncheckedIOException} gemeldet.
+     * Beim Schließen werden die gelesenen Lauf-Dateien gelöscht.
+     */
+    public final class MergeIterator implements Iterator<Member>, Closeable {
+        // Min-Heap der Läufe, geordnet nach ihrem aktuellen ersten Eintrag
+        private final RunReader[] heap;
+        private int size;
+        // Datensätze, wenn ohne Dateien sortiert wurde
+        private final Iterator<Member> inMemory;
+
+        private MergeIterator(List<File> runFiles) throws IOException {
+            this.heap = new RunReader[runFiles.size()];
+            this.inMemory = null;
+            try {
+                for (int i = 0; i < runFiles.size(); i++) {
+                    RunReader reader = new RunReader(runFiles.get(i), i);
+                    boolean hasMember;
+                    try {
+                        hasMember = reader.advance();
+                    } catch (IOException e) {
+                        reader.close();
+                        throw e;
+                    }
+                    if (hasMember) {
+                        heap[size] = reader;
+                        siftUp(size++);
+                    } else {
+                        reader.close();
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                for (File runFile : runFiles) {
+                    runFile.delete();
+                }
+                throw e;
+            }
+        }
+
+        private MergeIterator(Iterator<Member> sortedMembers) {
+            this.heap = new RunReader[0];
+            this.inMemory = sortedMembers;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return inMemory != null ? inMemory.hasNext() : size > 0;
+        }
+
+        @Override
+        public Member next() {
+            if (inMemory != null) {
+                return inMemory.next();
+            }
+            if (size == 0) {
+                throw new NoSuchElementException();
+            }
+            RunReader top = heap[0];
+            Member result = top.current;
+            try {
+                if (top.advance()) {
+                    siftDown(0);
+                } else {
+                    // Lauf erschöpft: durch den letzten Eintrag des Heaps ersetzen
+                    top.close();
+                    heap[0] = heap[--size];
+                    heap[size] = null;
+                    if (size > 0) {
+                        siftDown(0);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return result;
+        }
+
+        @Override
+        public void close() {
+            for (int i = 0; i < size; i++) {
+                heap[i].close();
+                heap[i] = null;
+            }
+            size = 0;
+        }
+
+        private int compare(RunReader reader1, RunReader reader2) {
+            int result = comparator.compare(reader1.current, reader2.current);
+            // Bei Gleichstand entscheidet die Reihenfolge der Läufe
+            return result != 0 ? result : Integer.compare(reader1.order, reader2.order);
+        }
+
+        private void siftUp(int position) {
+            int child = position;
+            while (child > 0) {
+                int parent = (child - 1) / 2;
+                if (compare(heap[child], heap[parent]) >= 0) {
+                    return;
+                }
+                swap(parent, child);
+                child = parent;
+            }
+        }
+
+        private void siftDown(int root) {
+            int parent = root;
+            int child;
+            while ((child = 2 * parent + 1) < size) {
+                int right = child + 1;
+                if (right < size && compare(heap[right], heap[child]) < 0) {
+                    child = right;
+                }
+                if (compare(heap[child], heap[parent]) >= 0) {
+                    return;
+                }
+                swap(parent, child);
+                parent = child;
+            }
+        }
+
+        private void swap(int i, int j) {
+            RunReader temp = heap[i];
+            heap[i] = heap[j];
+            heap[j] = temp;
+        }
+    }
+
+    /**
+     * Liest einen Lauf Datensatz für Datensatz. Beim Schließen wird die Datei gelöscht.
+     */
+    private static final class RunReader {
+        private final File file;
+        private final int order;
+        private final DataInputStream in;
+        private Member current;
+
+        RunReader(File file, int order) throws IOException {
+            this.file = file;
+            this.order = order;
+            this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+            if (in.readInt() != RUN_MAGIC) {
+                in.close();
+                throw new IOException("Unbekanntes Format: " + file);
+            }
+        }
+
+        /**
+         * Liest den nächsten Datensatz.
+         *
+         * @return `false`, wenn der Lauf erschöpft ist.
+         */
+        boolean advance() throws IOException {
+            if (!in.readBoolean()) {
+                current = null;
+                return false;
+            }
+            current = MemberBinaryCodec.read(in);
+            return true;
+        }
+
+        void close() {
+            try {
+                in.close();
+            } catch (IOException ignored) {
+                // Die Datei wird ohnehin gelöscht.
+            }
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,323 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.util.Comparator;
+import java.util.function.ToLongFunction;
+
+/**
+ * Diese Klasse implementiert den Heapsort-Algorithmus unabhängig vom Elementtyp und vom Sortierschlüssel.
+ * Sortiert wird direkt in Arrays; das Absenken eines Elementes im Heap (Sift-Down) erfolgt iterativ.
+ *
+ * Es gibt drei Varianten:
+ * - Sortierung mit einem Comparator für beliebige Schlüssel.
+ * - Sortierung nach einem primitiven long-Schlüssel, der einmalig pro Element berechnet und danach
+ *   ohne Methodenaufrufe und Boxing verglichen wird.
+ * - Sortierung einer Permutation von Zeilennummern (int[]) zusammen mit einem Schlüssel-Array, ohne die
+ *   Datensätze selbst zu bewegen (siehe {@link MemberIndex}).
+ *
+ * Jeder Aufruf liefert eine eigene {@link SortStatistics} mit den Zählungen dieses Sortiervorgangs zurück.
+ * Heapsort ist nicht stabil: gleiche Schlüssel können ihre ursprüngliche Reihenfolge verlieren. Bei den
+ * Permutationen entscheidet bei gleichen Schlüsseln die Zeilennummer, sodass das Ergebnis eindeutig ist und
+ * mit dem der {@link ParallelMergeSort} übereinstimmt.
+ */
+public final class HeapSort {
+
+    private HeapSort() {
+    }
+
+    /**
+     * Sortiert das Array aufsteigend nach dem übergebenen Comparator.
+     *
+     * @param items      Das zu sortierende Array. Es wird direkt verändert.
+     * @param comparator Der Vergleich, der die Reihenfolge festlegt.
+     * @param <T>        Der Elementtyp.
+     * @return Die Zählungen dieses Sortiervorgangs.
+     */
+    public static <T> SortStatistics sort(T[] items, Comparator<? super T> comparator) {
+        SortStatistics statistics = new SortStatistics();
+        int n = items.length;
+
+        // Erzeugen eines Max-Heaps aus dem Array
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(items, i, n, comparator, statistics);
+        }
+
+        // Das größte Element ans Ende tauschen und den verkleinerten Heap wiederherstellen
+        for (int end = n - 1; end > 0; end--) {
+            swap(items, 0, end, statistics);
+            siftDown(items, 0, end, comparator, statistics);
+        }
+        return statistics;
+    }
+
+    /**
+     * Sortiert das Array aufsteigend nach einem primitiven Schlüssel. Die Schlüssel werden vorab einmalig
+     * berechnet und beim Sortieren zusammen mit den Elementen vertauscht.
+     *
+     * @param items     Das zu sortierende Array. Es wird direkt verändert.
+     * @param keyMapper Liefert den Sortierschlüssel eines Elementes.
+     * @param <T>       Der Elementtyp.
+     * @return Die Zählungen dieses Sortiervorgangs.
+     */
+    public static <T> SortStatistics sortByKey(T[] items, ToLongFunction<? super T> keyMapper) {
+        long[] keys = new long[items.length];
+        for (int i = 0; i < items.length; i++) {
+            keys[i] = keyMapper.applyAsLong(items[i]);
+        }
+        return sortByKey(items, keys);
+    }
+
+    /**
+     * Sortiert das Array aufsteigend nach den übergebenen Schlüsseln. {@code keys[i]} ist der Schlüssel von
+     * {@code items[i]}; beide Arrays werden gemeinsam umgeordnet.
+     *
+     * @param items Das zu sortierende Array.
+     * @param keys  Die Schlüssel der Elemente, gleich lang wie {@code items}.
+     * @param <T>   Der Elementtyp.
+     * @return Die Zählungen dieses Sortiervorgangs.
+     */
+    public static <T> SortStatistics sortByKey(T[] items, long[] keys) {
+        if (items.length != keys.length) {
+            throw new IllegalArgumentException("items und keys müssen gleich lang sein");
+        }
+        SortStatistics statistics = new SortStatistics();
+        int n = items.length;
+
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(items, keys, i, n, statistics);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(items, keys, 0, end, statistics);
+            siftDown(items, keys, 0, end, statistics);
+        }
+        return statistics;
+    }
+
+    /**
+     * Sortiert eine Permutation von Zeilennummern aufsteigend nach den übergebenen long-Schlüsseln.
+     * {@code keys[i]} ist der Schlüssel von {@code indices[i]}; beide Arrays werden gemeinsam umgeordnet,
+     * sodass bei jedem Vergleich direkt nebeneinanderliegende Werte gelesen werden.
+     *
+     * @param indices Die zu sortierenden Zeilennummern.
+     * @param keys    Die Schlüssel der Zeilen, gleich lang wie {@code indices}.
+     * @return Die Zählungen dieses Sortiervorgangs.
+     */
+    public static SortStatistics sortByKey(int[] indices, long[] keys) {
+        if (indices.length != keys.length) {
+            throw new IllegalArgumentException("indices und keys müssen gleich lang sein");
+        }
+        SortStatistics statistics = new SortStatistics();
+        int n = indices.length;
+
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(indices, keys, i, n, statistics);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(indices, keys, 0, end, statistics);
+            siftDown(indices, keys, 0, end, statistics);
+        }
+        return statistics;
+    }
+
+    /**
+     * Sortiert eine Permutation von Zeilennummern aufsteigend nach Byte-Schlüsseln (z.B. Kollationsschlüsseln).
+     * Die Schlüssel werden vorzeichenlos und lexikographisch verglichen.
+     *
+     * @param indices Die zu sortierenden Zeilennummern.
+     * @param keys    Die Schlüssel der Zeilen, gleich lang wie {@code indices}.
+     * @return Die Zählungen dieses Sortiervorgangs.
+     */
+    public static SortStatistics sortByKey(int[] indices, byte[][] keys) {
+        if (indices.length != keys.length) {
+            throw new IllegalArgumentException("indices und keys müssen gleich lang sein");
+        }
+        SortStatistics statistics = new SortStatistics();
+        int n = indices.length;
+
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(indices, keys, i, n, statistics);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(indices, keys, 0, end, statistics);
+            siftDown(indices, keys, 0, end, statistics);
+        }
+        return statistics;
+    }
+
+    /**
+     * Vergleicht zwei Byte-Schlüssel vorzeichenlos und lexikographisch. Ein kürzerer Schlüssel, der Anfang
+     * des längeren ist, gilt als kleiner.
+     *
+     * @param a Der erste Schlüssel.
+     * @param b Der zweite Schlüssel.
+     * @return Ein negativer Wert, 0 oder ein positiver Wert, wenn {@code a} kleiner, gleich oder größer ist.
+     */
+    public static int compareUnsigned(byte[] a, byte[] b) {
+        int length = Math.min(a.length, b.length);
+        for (int i = 0; i < length; i++) {
+            int difference = (a[i] & 0xff) - (b[i] & 0xff);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return a.length - b.length;
+    }
+
+    /**
+     * Vergleicht die Einträge an den Positionen {@code i} und {@code j} einer Permutation nach ihren Schlüsseln
+     * und bei gleichen Schlüsseln nach der Zeilennummer.
+     */
+    private static int compare(int[] indices, long[] keys, int i, int j) {
+        int result = Long.compare(keys[i], keys[j]);
+        return result != 0 ? result : Integer.compare(indices[i], indices[j]);
+    }
+
+    /**
+     * Vergleicht die Einträge an den Positionen {@code i} und {@code j} einer Permutation nach ihren
+     * Byte-Schlüsseln und bei gleichen Schlüsseln nach der Zeilennummer.
+     */
+    private static int compare(int[] indices, byte[][] keys, int i, int j) {
+        int result = compareUnsigned(keys[i], keys[j]);
+        return result != 0 ? result : Integer.compare(indices[i], indices[j]);
+    }
+
+    /**
+     * Senkt das Element an Position {@code root} so weit ab, bis beide Kinder nicht größer sind.
+     *
+     * @param items      Das Array, das den Heap enthält.
+     * @param root       Die Position des abzusenkenden Elementes.
+     * @param size       Die Größe des Heaps.
+     * @param comparator Der Vergleich der Elemente.
+     * @param statistics Die Zählungen des laufenden Sortiervorgangs.
+     */
+    private static <T> void siftDown(T[] items, int root, int size, Comparator<? super T> comparator, SortStatistics statistics) {
+        statistics.addSiftDown();
+        int parent = root;
+        int child;
+        while ((child = 2 * parent + 1) < size) {
+            // Das größere der beiden Kinder bestimmen
+            int right = child + 1;
+            if (right < size) {
+                statistics.addComparison();
+                if (comparator.compare(items[right], items[child]) > 0) {
+                    child = right;
+                }
+            }
+            statistics.addComparison();
+            if (comparator.compare(items[child], items[parent]) <= 0) {
+                return; // Heap-Bedingung erfüllt
+            }
+            swap(items, parent, child, statistics);
+            parent = child;
+        }
+    }
+
+    /**
+     * Senkt das Element an Position {@code root} anhand der primitiven Schlüssel ab.
+     */
+    private static <T> void siftDown(T[] items, long[] keys, int root, int size, SortStatistics statistics) {
+        statistics.addSiftDown();
+        int parent = root;
+        int child;
+        while ((child = 2 * parent + 1) < size) {
+            int right = child + 1;
+            if (right < size) {
+                statistics.addComparison();
+                if (keys[right] > keys[child]) {
+                    child = right;
+                }
+            }
+            statistics.addComparison();
+            if (keys[child] <= keys[parent]) {
+                return;
+            }
+            swap(items, keys, parent, child, statistics);
+            parent = child;
+        }
+    }
+
+    /**
+     * Senkt die Zeilennummer an Position {@code root} anhand der long-Schlüssel ab.
+     */
+    private static void siftDown(int[] indices, long[] keys, int root, int size, SortStatistics statistics) {
+        statistics.addSiftDown();
+        int parent = root;
+        int child;
+        while ((child = 2 * parent + 1) < size) {
+            int right = child + 1;
+            if (right < size) {
+                statistics.addComparison();
+                if (compare(indices, keys, right, child) > 0) {
+                    child = right;
+                }
+            }
+            statistics.addComparison();
+            if (compare(indices, keys, child, parent) <= 0) {
+                return;
+            }
+            swap(indices, keys, parent, child, statistics);
+            parent = child;
+        }
+    }
+
+    /**
+     * Senkt die Zeilennummer an Position {@code root} anhand der Byte-Schlüssel ab.
+     */
+    private static void siftDown(int[] indices, byte[][] keys, int root, int size, SortStatistics statistics) {
+        statistics.addSiftDown();
+        int parent = root;
+        int child;
+        while ((child = 2 * parent + 1) < size) {
+            int right = child + 1;
+            if (right < size) {
+                statistics.addComparison();
+                if (compare(indices, keys, right, child) > 0) {
+                    child = right;
+                }
+            }
+            statistics.addComparison();
+            if (compare(indices, keys, child, parent) <= 0) {
+                return;
+            }
+            swap(indices, keys, parent, child, statistics);
+            parent = child;
+        }
+    }
+
+    private static <T> void swap(T[] items, int i, int j, SortStatistics statistics) {
+        statistics.addSwap();
+        T temp = items[i];
+        items[i] = items[j];
+        items[j] = temp;
+    }
+
+    private static <T> void swap(T[] items, long[] keys, int i, int j, SortStatistics statistics) {
+        statistics.addSwap();
+        T temp = items[i];
+        items[i] = items[j];
+        items[j] = temp;
+        long tempKey = keys[i];
+        keys[i] = keys[j];
+        keys[j] = tempKey;
+    }
+
+    private static void swap(int[] indices, long[] keys, int i, int j, SortStatistics statistics) {
+        statistics.addSwap();
+        int temp = indices[i];
+        indices[i] = indices[j];
+        indices[j] = temp;
+        long tempKey = keys[i];
+        keys[i] = keys[j];
+        keys[j] = tempKey;
+    }
+
+    private static void swap(int[] indices, byte[][] keys, int i, int j, SortStatistics statistics) {
+        statistics.addSwap();
+        int temp = indices[i];
+        indices[i] = indices[j];
+        indices[j] = temp;
+        byte[] tempKey = keys[i];
+        keys[i] = keys[j];
+        keys[j] = tempKey;
+    }
+}
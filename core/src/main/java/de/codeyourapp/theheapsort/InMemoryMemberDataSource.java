@@ -0,0 +1,240 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * Diese Klasse hält die Mitglieder im Arbeitsspeicher, anstatt sie aus der Datenbank zu lesen. Sie verhält sich wie
+ * die Firestore-Collection, jedoch ohne Netzwerk und ohne Wartezeit, und eignet sich damit für Durchsatz- und
+ * Lasttests von Sortierung und Anzeige.
+ *
+ * Neue Mitglieder werden hinten angehängt und erhalten wie bei Firestore eine zufällige Dokument-ID aus
+ * {@value #DOCUMENT_ID_LENGTH} Zeichen. Die Reihenfolge von {@link #loadMembers} ist die Reihenfolge des
+ * Hinzufügens. Ein Batch wird wie ein Firestore-WriteBatch als eine einzige Änderung gemeldet.
+ *
+ * Alle Zugriffe sind synchronisiert. Die Arbeit einer Anfrage läuft auf dem übergebenen Executor, die Beobachter
+ * erhalten die Änderungen in der Reihenfolge, in der sie vorgenommen wurden.
+ */
+public class InMemoryMemberDataSource implements MemberDataSource {
+
+    // Länge und Zeichen der automatisch vergebenen Dokument-IDs
+    static final int DOCUMENT_ID_LENGTH = 20;
+    private static final String DOCUMENT_ID_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+
+    /**
+     * Registrierter Beobachter mit seinem Executor.
+     */
+    private static final class ListenerRegistration implements Registration {
+        final Executor executor;
+        final OnChangesListener listener;
+        volatile boolean removed = false;
+
+        ListenerRegistration(Executor executor, OnChangesListener listener) {
+            this.executor = executor;
+            this.listener = listener;
+        }
+
+        void dispatch(List<Change> changes) {
+            executor.execute(() -> {
+                if (!removed) {
+                    listener.onChanges(changes);
+                }
+            });
+        }
+
+        @Override
+        public void remove() {
+            removed = true;
+        }
+    }
+
+    private final List<ListenerRegistration> registrations = new CopyOnWriteArrayList<>();
+    private final Random random = new Random();
+    private final List<Member> initialMembers;
+
+    // Die nächste ID, die reserviert wird (Zugriff nur synchronisiert)
+    private long nextReservedId = MemberIdAllocator.FIRST_ID;
+
+    // Die Mitglieder in der Reihenfolge des Hinzufügens, werden beim ersten Zugriff angelegt (Zugriff nur synchronisiert)
+    private List<Member> members;
+
+    /**
+     * Konstruktor für einen leeren Speicher.
+     */
+    public InMemoryMemberDataSource() {
+        this(Collections.emptyList());
+    }
+
+    /**
+     * Konstruktor für einen Speicher mit vorhandenen Mitgliedern.
+     *
+     * @param members Die Mitglieder, mit denen der Speicher gefüllt wird.
+     */
+    public InMemoryMemberDataSource(Collection<Member> members) {
+        this.initialMembers = new ArrayList<>(members);
+    }
+
+    /**
+     * Liefert die Mitglieder, mit denen der Speicher beim ersten Zugriff gefüllt wird.
+     *
+     * @return Die anfänglichen Mitglieder.
+     */
+    protected List<Member> createInitialMembers() {
+        return initialMembers;
+    }
+
+    /**
+     * Liefert die Mitglieder und legt sie beim ersten Zugriff an. Wird nur synchronisiert aufgerufen.
+     */
+    private List<Member> members() {
+        if (members == null) {
+            members = new ArrayList<>(createInitialMembers());
+        }
+        return members;
+    }
+
+    /**
+     * @return Die aktuelle Anzahl der Mitglieder.
+     */
+    public synchronized int size() {
+        return members().size();
+    }
+
+    @Override
+    public void loadMembers(Executor executor, Callback<Iterable<Member>> callback) {
+        executor.execute(() -> {
+            List<Member> result;
+            synchronized (this) {
+                result = Collections.unmodifiableList(new ArrayList<>(members()));
+            }
+            callback.onSuccess(result);
+        });
+    }
+
+    @Override
+    public void loadPage(String field, boolean descending, Member after, int limit, Executor executor, Callback<List<Member>> callback) {
+        Comparator<Member> ascending = Comparator.<Member, String>comparing(member -> MemberDataSource.fieldValue(member, field))
+                .thenComparing(Member::getDocumentId);
+        Comparator<Member> order = descending ? ascending.reversed() : ascending;
+        executor.execute(() -> {
+            // Die Seite wird mit einem auf die Seitengröße begrenzten Heap ausgewählt, statt alle Mitglieder zu sortieren.
+            PriorityQueue<Member> page = new PriorityQueue<>(Math.max(1, limit), order.reversed());
+            try {
+                synchronized (this) {
+                    for (Member member : members()) {
+                        if (after != null && order.compare(member, after) <= 0) {
+                            continue;
+                        }
+                        page.add(member);
+                        if (page.size() > limit) {
+                            page.poll();
+                        }
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                callback.onError(e);
+                return;
+            }
+            List<Member> result = new ArrayList<>(page);
+            result.sort(order);
+            callback.onSuccess(Collections.unmodifiableList(result));
+        });
+    }
+
+    @Override
+    public Registration addChangeListener(Executor executor, OnChangesListener listener) {
+        ListenerRegistration registration = new ListenerRegistration(executor, listener);
+        synchronized (this) {
+            // Das erste Ergebnis enthält alle Mitglieder als hinzugefügt.
+            List<Member> current = members();
+            List<Change> changes = new ArrayList<>(current.size());
+            for (int i = 0; i < current.size(); i++) {
+                changes.add(new Change(Change.Type.ADDED, current.get(i), -1, i));
+            }
+            registrations.add(registration);
+            registration.dispatch(Collections.unmodifiableList(changes));
+        }
+        return () -> {
+            registration.remove();
+            registrations.remove(registration);
+        };
+    }
+
+    @Override
+    public void addMember(Map<String, Object> document, Executor executor, Callback<String> callback) {
+        String documentId;
+        synchronized (this) {
+            documentId = append(Collections.singletonList(document)).get(0).getMember().getDocumentId();
+        }
+        executor.execute(() -> callback.onSuccess(documentId));
+    }
+
+    @Override
+    public void reserveIds(int count, long minimumStart, Executor executor, Callback<Long> callback) {
+        long start;
+        synchronized (this) {
+            start = Math.max(nextReservedId, minimumStart);
+            nextReservedId = start + count;
+        }
+        executor.execute(() -> callback.onSuccess(start));
+    }
+
+    @Override
+    public void commit(List<Map<String, Object>> documents, MemberBulkImporter.OnCommitListener listener) {
+        synchronized (this) {
+            append(documents);
+        }
+        listener.onCommitted();
+    }
+
+    /**
+     * Hängt neue Dokumente an und meldet sie den Beobachtern als eine Änderung. Wird nur synchronisiert aufgerufen.
+     *
+     * @param documents Die Felder der neuen Dokumente.
+     * @return Die gemeldeten Änderungen.
+     */
+    private List<Change> append(List<Map<String, Object>> documents) {
+        List<Member> current = members();
+        List<Change> changes = new ArrayList<>(documents.size());
+        for (Map<String, Object> document : documents) {
+            Member member = Member.fromMap(newDocumentId(), document);
+            changes.add(new Change(Change.Type.ADDED, member, -1, current.size()));
+            current.add(member);
+        }
+        List<Change> result = Collections.unmodifiableList(changes);
+        for (ListenerRegistration registration : registrations) {
+            registration.dispatch(result);
+        }
+        return result;
+    }
+
+    /**
+     * Erzeugt eine zufällige Dokument-ID wie Firestore.
+     */
+    private String newDocumentId() {
+        return randomDocumentId(random);
+    }
+
+    /**
+     * Erzeugt eine zufällige Dokument-ID aus {@value #DOCUMENT_ID_LENGTH} Buchstaben und Ziffern.
+     *
+     * @param random Die Quelle der Zufallswerte.
+     * @return Die Dokument-ID.
+     */
+    static String randomDocumentId(Random random) {
+        char[] id = new char[DOCUMENT_ID_LENGTH];
+        for (int i = 0; i < id.length; i++) {
+            id[i] = DOCUMENT_ID_CHARS.charAt(random.nextInt(DOCUMENT_ID_CHARS.length()));
+        }
+        return new String(id);
+    }
+}
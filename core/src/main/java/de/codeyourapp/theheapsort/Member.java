@@ -0,0 +1,284 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Diese Klasse repräsentiert ein Mitglied aus der Collection "students".
+ * Ein Member wird einmalig pro Dokument aus den Rohdaten erzeugt und ist danach unveränderlich.
+ * Die Sortierschlüssel (numerische ID, Zeitstempel in Millisekunden und Kollationsschlüssel des Namens)
+ * werden dabei bereits vorberechnet, sodass beim Sortieren keine Map-Zugriffe und Typumwandlungen mehr nötig sind.
+ *
+ * Für die Sortierung nach dem Namen gibt es zusätzlich einen zusammengesetzten Byte-Schlüssel aus Nachname,
+ * Vorname und ID (siehe {@link #getNameSortKey()}). Er wird beim ersten Bedarf einmalig berechnet und bleibt
+ * für alle weiteren Sortierungen desselben Mitglieds erhalten, auf- wie absteigend.
+ */
+public final class Member {
+
+    // Collator für den Vergleich von Namen nach deutschen Sortierregeln. Collator ist nicht threadsicher.
+    private static final Collator COLLATOR = Collator.getInstance(Locale.GERMAN);
+
+    // ID des Dokumentes in der Firestore-Datenbank
+    private final String documentId;
+
+    // Felder des Datensatzes, so wie sie in der Datenbank gespeichert sind
+    private final String id;
+    private final String name;
+    private final String vorname;
+    private final String email;
+    private final String timestamp;
+
+    // Sortierschlüssel nicht numerischer IDs; sie folgen damit auf alle numerischen IDs
+    static final long NON_NUMERIC_ID_KEY = Long.MAX_VALUE;
+    // Höchste Anzahl von Ziffern einer numerischen ID, damit ihr Wert in einen long passt
+    private static final int MAX_ID_DIGITS = 18;
+
+    // Vorberechnete Sortierschlüssel
+    private final long idKey;
+    private final long timestampMillis;
+    private final CollationKey nameKey;
+
+    // Zusammengesetzter Byte-Schlüssel für die Sortierung nach dem Namen, wird bei Bedarf einmalig berechnet
+    private volatile byte[] nameSortKey;
+
+    // Formatierter Zeitstempel für die Anzeige. Er wird bei Bedarf einmalig berechnet und hängt nur vom Zeitstempel ab.
+    private volatile String formattedTimestamp;
+
+    /**
+     * Konstruktor für ein Mitglied. Die Sortierschlüssel werden aus den übergebenen Feldern berechnet.
+     *
+     * @param documentId Die ID des Dokumentes in der Datenbank.
+     * @param id         Die Mitglieds-ID.
+     * @param name       Der Nachname.
+     * @param vorname    Der Vorname.
+     * @param email      Die E-Mail-Adresse.
+     * @param timestamp  Der Zeitstempel im Format "yyyy-MM-dd HH:mm:ss".
+     */
+    public Member(String documentId, String id, String name, String vorname, String email, String timestamp) {
+        this.documentId = documentId;
+        this.id = id;
+        this.name = name;
+        this.vorname = vorname;
+        this.email = email;
+        this.timestamp = timestamp;
+        this.idKey = parseIdKey(id);
+        this.timestampMillis = TimeStampFormat.toEpochMillis(timestamp);
+        this.nameKey = collationKey(name);
+    }
+
+    /**
+     * Erzeugt ein Mitglied aus den Rohdaten eines Dokumentes.
+     *
+     * @param documentId Die ID des Dokumentes in der Datenbank.
+     * @param data       Die Felder des Dokumentes.
+     * @return Das erzeugte Mitglied.
+     */
+    public static Member fromMap(String documentId, Map<String, Object> data) {
+        return new Member(documentId,
+                stringValue(data, "id"),
+                stringValue(data, "name"),
+                stringValue(data, "vorname"),
+                stringValue(data, "email"),
+                stringValue(data, "timestamp"));
+    }
+
+    /**
+     * Liest ein Feld als String aus den Rohdaten. Fehlende Felder werden als leerer String übernommen.
+     *
+     * @param data Die Felder des Dokumentes.
+     * @param key  Der Name des Feldes.
+     * @return Der Wert des Feldes als String.
+     */
+    private static String stringValue(Map<String, Object> data, String key) {
+        Object value = data == null ? null : data.get(key);
+        return value == null ? "" : value.toString();
+    }
+
+    /**
+     * Wandelt die ID einmalig in einen numerischen Sortierschlüssel um. Numerisch ist eine ID aus 1 bis
+     * {@value #MAX_ID_DIGITS} Ziffern mit optionalem Vorzeichen, umgebende Leerzeichen werden ignoriert. Alle übrigen IDs,
+     * z.B. ältere Einträge mit Buchstaben, erhalten {@link #NON_NUMERIC_ID_KEY} und werden damit hinter alle
+     * numerischen IDs sortiert; untereinander ordnet sie {@link MemberComparators#ID} nach der ID als Text.
+     *
+     * @param id Die Mitglieds-ID.
+     * @return Der numerische Sortierschlüssel.
+     */
+    static long parseIdKey(String id) {
+        int start = 0;
+        int end = id.length();
+        while (start < end && id.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && id.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        boolean negative = false;
+        if (start < end && (id.charAt(start) == '-' || id.charAt(start) == '+')) {
+            negative = id.charAt(start) == '-';
+            start++;
+        }
+        if (start == end || end - start > MAX_ID_DIGITS) {
+            return NON_NUMERIC_ID_KEY;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return NON_NUMERIC_ID_KEY;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Berechnet den Kollationsschlüssel für einen Namen. Der Zugriff auf den gemeinsamen Collator wird
+     * synchronisiert, da dieser nicht threadsicher ist.
+     *
+     * @param name Der Name.
+     * @return Der Kollationsschlüssel.
+     */
+    private static CollationKey collationKey(String name) {
+        synchronized (COLLATOR) {
+            return COLLATOR.getCollationKey(name);
+        }
+    }
+
+    public String getDocumentId() {
+        return documentId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getVorname() {
+        return vorname;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gibt den für die Anzeige formatierten Zeitstempel zurück (z.B. "dd.MM.yyyy 'um' HH:mm 'Uhr'").
+     * Das Ergebnis wird nach dem ersten Aufruf zwischengespeichert.
+     *
+     * @return Der formatierte Zeitstempel.
+     */
+    public String getFormattedTimestamp() {
+        String result = formattedTimestamp;
+        if (result == null) {
+            result = TimeStampFormat.convertTimestamp(timestamp);
+            formattedTimestamp = result;
+        }
+        return result;
+    }
+
+    public long getIdKey() {
+        return idKey;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public CollationKey getNameKey() {
+        return nameKey;
+    }
+
+    /**
+     * Gibt den Schlüssel für die Sortierung nach dem Namen zurück. Er setzt sich aus den Kollationsschlüsseln von
+     * Nachname und Vorname nach deutschen Sortierregeln und der numerischen ID zusammen. Ein vorzeichenloser,
+     * lexikographischer Vergleich (siehe {@link HeapSort#compareUnsigned(byte[], byte[])}) ordnet nach dem
+     * Nachnamen, bei gleichem Nachnamen nach dem Vorname und danach nach der ID.
+     *
+     * Der Schlüssel wird nach dem ersten Aufruf zwischengespeichert und darf nicht verändert werden.
+     *
+     * @return Der Sortierschlüssel.
+     */
+    public byte[] getNameSortKey() {
+        byte[] result = nameSortKey;
+        if (result == null) {
+            result = buildNameSortKey();
+            nameSortKey = result;
+        }
+        return result;
+    }
+
+    /**
+     * Setzt den Namensschlüssel zusammen. Damit ein Teil nicht in den nächsten hineinreicht, wird in den
+     * Kollationsschlüsseln jedes 0-Byte als 0x00 0xFF geschrieben und jeder Teil mit 0x00 0x00 abgeschlossen.
+     * Ein kürzerer Teil ist damit immer kleiner als ein längerer mit gleichem Anfang, wie beim Vergleich der
+     * Teile einzeln. Die ID folgt als acht Bytes mit umgekehrtem Vorzeichenbit. Da alle nicht numerischen IDs
+     * älterer Einträge denselben Schlüssel {@link #NON_NUMERIC_ID_KEY} haben, folgt bei ihnen zusätzlich die ID
+     * selbst in UTF-8, sodass gleichnamige Mitglieder wie beim Vergleich nach der ID nach dem Text geordnet sind.
+     */
+    private byte[] buildNameSortKey() {
+        byte[] nameBytes = nameKey.toByteArray();
+        byte[] vornameBytes = collationKey(vorname).toByteArray();
+        ByteArrayOutputStream key = new ByteArrayOutputStream(nameBytes.length + vornameBytes.length + 16);
+        appendEscaped(key, nameBytes);
+        appendEscaped(key, vornameBytes);
+        long sortableId = idKey ^ Long.MIN_VALUE;
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            key.write((int) (sortableId >>> shift));
+        }
+        if (idKey == NON_NUMERIC_ID_KEY) {
+            appendEscaped(key, id.getBytes(StandardCharsets.UTF_8));
+        }
+        return key.toByteArray();
+    }
+
+    private static void appendEscaped(ByteArrayOutputStream key, byte[] bytes) {
+        for (byte b : bytes) {
+            key.write(b);
+            if (b == 0) {
+                key.write(0xff);
+            }
+        }
+        key.write(0);
+        key.write(0);
+    }
+
+    /**
+     * Zwei Mitglieder sind gleich, wenn sie zum selben Dokument gehören und alle Felder übereinstimmen.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Member)) {
+            return false;
+        }
+        Member other = (Member) o;
+        return documentId.equals(other.documentId)
+                && id.equals(other.id)
+                && name.equals(other.name)
+                && vorname.equals(other.vorname)
+                && email.equals(other.email)
+                && timestamp.equals(other.timestamp);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = documentId.hashCode();
+        result = 31 * result + id.hashCode();
+        result = 31 * result + timestamp.hashCode();
+        return result;
+    }
+}
@@ -0,0 +1,86 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Diese Klasse schreibt und liest Mitglieder in einem kompakten Binärformat, z.B. für die Zwischendateien der
+ * {@link ExternalMemberSorter}. Ein Datensatz besteht aus den sechs Textfeldern in fester Reihenfolge
+ * (Dokument-ID, id, name, vorname, email, timestamp). Jedes Feld wird als UTF-8 mit vorangestellter Länge
+ * geschrieben; die Länge ist als variabel lange Zahl kodiert und belegt für kurze Felder nur ein Byte.
+ *
+ * Die vorberechneten Sortierschlüssel werden nicht gespeichert, sondern beim Lesen aus den Feldern neu berechnet.
+ */
+public final class MemberBinaryCodec {
+
+    private MemberBinaryCodec() {
+    }
+
+    /**
+     * Schreibt einen Datensatz.
+     *
+     * @param out    Das Ziel.
+     * @param member Das zu schreibende Mitglied.
+     * @throws IOException Wenn das Schreiben fehlschlägt.
+     */
+    public static void write(DataOutput out, Member member) throws IOException {
+        writeString(out, member.getDocumentId());
+        writeString(out, member.getId());
+        writeString(out, member.getName());
+        writeString(out, member.getVorname());
+        writeString(out, member.getEmail());
+        writeString(out, member.getTimestamp());
+    }
+
+    /**
+     * Liest einen Datensatz, der mit {@link #write(DataOutput, Member)} geschrieben wurde.
+     *
+     * @param in Die Quelle.
+     * @return Das gelesene Mitglied.
+     * @throws IOException Wenn das Lesen fehlschlägt oder die Quelle vorzeitig endet.
+     */
+    public static Member read(DataInput in) throws IOException {
+        String documentId = readString(in);
+        String id = readString(in);
+        String name = readString(in);
+        String vorname = readString(in);
+        String email = readString(in);
+        String timestamp = readString(in);
+        return new Member(documentId, id, name, vorname, email, timestamp);
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        // Länge in Gruppen zu 7 Bit, das höchste Bit kennzeichnet eine weitere Gruppe
+        int length = bytes.length;
+        while ((length & ~0x7f) != 0) {
+            out.writeByte((length & 0x7f) | 0x80);
+            length >>>= 7;
+        }
+        out.writeByte(length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift > 28) {
+                throw new IOException("Ungültige Feldlänge");
+            }
+            b = in.readUnsignedByte();
+            length |= (b & 0x7f) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        if (length < 0) {
+            throw new IOException("Ungültige Feldlänge " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,307 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Diese Klasse importiert die Zeilen einer Importdatei als neue Mitglieder. Jede Zeile wird nach denselben Regeln
+ * wie im Dialog zum Hinzufügen geprüft ({@link MemberValidator}); gültige Zeilen werden in Batches von bis zu
+ * {@link #MAX_BATCH_SIZE} Dokumenten geschrieben, ungültige gezählt und übersprungen.
+ *
+ * Das Schreiben übernimmt ein {@link BatchWriter}, z.B. ein Firestore-WriteBatch oder im Test ein Speicher im
+ * Arbeitsspeicher. Es dürfen höchstens {@code maxInFlight} Batches gleichzeitig geschrieben werden; ist diese
+ * Grenze erreicht, wartet das Lesen der Datei, bis ein Batch abgeschlossen ist. Damit bleibt der Speicherbedarf
+ * auch bei sehr großen Dateien begrenzt.
+ *
+ * {@link #importMembers} blockiert bis zum Abschluss aller Batches und wird daher auf einem eigenen
+ * Hintergrund-Thread aufgerufen.
+ */
+public final class MemberBulkImporter {
+
+    // Höchstzahl der Schreibvorgänge in einem Firestore-WriteBatch
+    public static final int MAX_BATCH_SIZE = 500;
+    // Standardanzahl der gleichzeitig geschriebenen Batches
+    public static final int DEFAULT_MAX_IN_FLIGHT = 2;
+    // Anzahl der Zeilennummern abgelehnter Zeilen, die im Ergebnis gemeldet werden
+    static final int MAX_REPORTED_ROWS = 100;
+    // Felder, für die die Anzahl der ungültigen Zeilen gezählt wird, als Fehler-Flags des MemberValidator
+    private static final int[] FIELDS = {MemberValidator.NAME, MemberValidator.VORNAME, MemberValidator.EMAIL, MemberValidator.ID};
+
+    /**
+     * Schreibt einen Batch neuer Dokumente.
+     */
+    public interface BatchWriter {
+        /**
+         * Schreibt die Dokumente eines Batches, entweder alle oder keines. Der Aufruf darf sofort zurückkehren;
+         * der Abschluss wird über den Listener gemeldet, der von einem beliebigen Thread aufgerufen werden darf.
+         *
+         * @param documents Die Felder der neuen Dokumente.
+         * @param listener  Der Callback für den Abschluss.
+         */
+        void commit(List<Map<String, Object>> documents, OnCommitListener listener);
+    }
+
+    /**
+     * Callback für den Abschluss eines Batches.
+     */
+    public interface OnCommitListener {
+        /**
+         * Wird aufgerufen, wenn alle Dokumente des Batches geschrieben wurden.
+         */
+        void onCommitted();
+
+        /**
+         * Wird aufgerufen, wenn der Batch nicht geschrieben werden konnte.
+         *
+         * @param e Die aufgetretene Ausnahme.
+         */
+        void onFailed(Exception e);
+    }
+
+    /**
+     * Callback für den Fortschritt des Imports. Er wird auf dem Thread des Imports nach jedem abgeschickten Batch
+     * und zum Abschluss aufgerufen.
+     */
+    public interface OnProgressListener {
+        /**
+         * @param readCount     Die Anzahl der bisher gelesenen Zeilen.
+         * @param importedCount Die Anzahl der bisher geschriebenen Mitglieder.
+         * @param rejectedCount Die Anzahl der bisher abgelehnten, ungültigen Zeilen.
+         */
+        void onProgress(int readCount, int importedCount, int rejectedCount);
+    }
+
+    /**
+     * Unveränderliches Ergebnis eines Imports.
+     */
+    public static final class Result {
+        private final int readCount;
+        private final int importedCount;
+        private final int rejectedCount;
+        private final int[] fieldErrorCounts;
+        private final int failedCount;
+        private final List<Integer> rejectedRows;
+        private final Exception firstError;
+        private final long elapsedTime;
+
+        Result(int readCount, int importedCount, int rejectedCount, int[] fieldErrorCounts, int failedCount, List<Integer> rejectedRows,
+               Exception firstError, long elapsedTime) {
+            this.readCount = readCount;
+            this.importedCount = importedCount;
+            this.rejectedCount = rejectedCount;
+            this.fieldErrorCounts = fieldErrorCounts;
+            this.failedCount = failedCount;
+            this.rejectedRows = Collections.unmodifiableList(rejectedRows);
+            this.firstError = firstError;
+            this.elapsedTime = elapsedTime;
+        }
+
+        public int getReadCount() {
+            return readCount;
+        }
+
+        public int getImportedCount() {
+            return importedCount;
+        }
+
+        public int getRejectedCount() {
+            return rejectedCount;
+        }
+
+        /**
+         * @param field Das Fehler-Flag eines Feldes, z.B. {@link MemberValidator#EMAIL}.
+         * @return Die Anzahl der abgelehnten Zeilen, in denen dieses Feld ungültig war.
+         */
+        public int getRejectedCount(int field) {
+            for (int i = 0; i < FIELDS.length; i++) {
+                if (FIELDS[i] == field) {
+                    return fieldErrorCounts[i];
+                }
+            }
+            throw new IllegalArgumentException("Unbekanntes Feld " + field);
+        }
+
+        /**
+         * @return Die Anzahl der gültigen Zeilen, deren Batch nicht geschrieben werden konnte.
+         */
+        public int getFailedCount() {
+            return failedCount;
+        }
+
+        /**
+         * @return Die Nummern der ersten {@value MemberBulkImporter#MAX_REPORTED_ROWS} abgelehnten Zeilen.
+         */
+        public List<Integer> getRejectedRows() {
+            return rejectedRows;
+        }
+
+        /**
+         * @return Der Fehler des ersten fehlgeschlagenen Batches, oder null.
+         */
+        public Exception getFirstError() {
+            return firstError;
+        }
+
+        /**
+         * @return Die Dauer des Imports in Millisekunden.
+         */
+        public long getElapsedTime() {
+            return elapsedTime;
+        }
+    }
+
+    private final BatchWriter writer;
+    private final int batchSize;
+    private final int maxInFlight;
+
+    /**
+     * Konstruktor für einen MemberBulkImporter mit {@link #MAX_BATCH_SIZE} Dokumenten pro Batch und
+     * {@link #DEFAULT_MAX_IN_FLIGHT} gleichzeitigen Batches.
+     *
+     * @param writer Schreibt die Batches.
+     */
+    public MemberBulkImporter(BatchWriter writer) {
+        this(writer, MAX_BATCH_SIZE, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * Konstruktor für einen MemberBulkImporter.
+     *
+     * @param writer      Schreibt die Batches.
+     * @param batchSize   Die Anzahl der Dokumente pro Batch, höchstens {@link #MAX_BATCH_SIZE}.
+     * @param maxInFlight Die Anzahl der Batches, die höchstens gleichzeitig geschrieben werden.
+     */
+    public MemberBulkImporter(BatchWriter writer, int batchSize, int maxInFlight) {
+        if (batchSize <= 0 || batchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Ungültige Batchgröße " + batchSize);
+        }
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Ungültige Anzahl gleichzeitiger Batches " + maxInFlight);
+        }
+        this.writer = writer;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Liest alle Zeilen, prüft sie und schreibt die gültigen in Batches. Kehrt erst zurück, wenn alle Batches
+     * abgeschlossen sind.
+     *
+     * @param reader   Die Zeilen der Importdatei.
+     * @param listener Der Callback für den Fortschritt.
+     * @return Das Ergebnis des Imports.
+     * @throws IOException          Wenn die Datei nicht gelesen werden kann. Bereits geschriebene Batches bleiben erhalten.
+     * @throws InterruptedException Wenn der Thread beim Warten auf einen Batch unterbrochen wird.
+     */
+    public Result importMembers(MemberImportReader reader, OnProgressListener listener) throws IOException, InterruptedException {
+        long startTime = System.currentTimeMillis();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicInteger importedCount = new AtomicInteger();
+        AtomicInteger failedCount = new AtomicInteger();
+        AtomicReference<Exception> firstError = new AtomicReference<>();
+        List<Integer> rejectedRows = new ArrayList<>();
+        int readCount = 0;
+        int rejectedCount = 0;
+
+        int[] fieldErrorCounts = new int[FIELDS.length];
+
+        // Die Zeilen werden blockweise gelesen und gemeinsam geprüft; Block und Ergebnis-Array werden wiederverwendet.
+        List<MemberImportReader.Row> block = new ArrayList<>(batchSize);
+        int[] errors = new int[batchSize];
+        List<Map<String, Object>> batch = new ArrayList<>(batchSize);
+        boolean completed = false;
+        try {
+            while (readBlock(reader, block)) {
+                readCount += block.size();
+                MemberValidator.validateAll(block, errors);
+                // Alle Zeilen eines Blocks erhalten denselben Zeitstempel
+                String timestamp = TimeStampFormat.currentTimestamp();
+                for (int i = 0; i < block.size(); i++) {
+                    MemberImportReader.Row row = block.get(i);
+                    if (errors[i] != MemberValidator.VALID) {
+                        rejectedCount++;
+                        for (int field = 0; field < FIELDS.length; field++) {
+                            if (MemberValidator.hasError(errors[i], FIELDS[field])) {
+                                fieldErrorCounts[field]++;
+                            }
+                        }
+                        if (rejectedRows.size() < MAX_REPORTED_ROWS) {
+                            rejectedRows.add(row.getNumber());
+                        }
+                        continue;
+                    }
+                    batch.add(row.toDocument(timestamp));
+                    if (batch.size() == batchSize) {
+                        submit(batch, inFlight, importedCount, failedCount, firstError);
+                        batch = new ArrayList<>(batchSize);
+                        // Der Fortschritt zählt die Zeilen des Blocks bis zur aktuellen Zeile.
+                        listener.onProgress(readCount - block.size() + i + 1, importedCount.get(), rejectedCount);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(batch, inFlight, importedCount, failedCount, firstError);
+            }
+            completed = true;
+        } finally {
+            if (completed) {
+                // Warten, bis alle abgeschickten Batches abgeschlossen sind
+                inFlight.acquire(maxInFlight);
+            }
+        }
+        listener.onProgress(readCount, importedCount.get(), rejectedCount);
+        return new Result(readCount, importedCount.get(), rejectedCount, fieldErrorCounts, failedCount.get(), rejectedRows,
+                firstError.get(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Liest den nächsten Block von höchstens {@code batchSize} Zeilen.
+     *
+     * @param reader Die Zeilen der Importdatei.
+     * @param block  Erhält die Zeilen des Blocks; der bisherige Inhalt wird verworfen.
+     * @return `true`, wenn mindestens eine Zeile gelesen wurde.
+     */
+    private boolean readBlock(MemberImportReader reader, List<MemberImportReader.Row> block) throws IOException {
+        block.clear();
+        MemberImportReader.Row row;
+        while (block.size() < batchSize && (row = reader.next()) != null) {
+            block.add(row);
+        }
+        return !block.isEmpty();
+    }
+
+    /**
+     * Schickt einen Batch ab, sobald weniger als {@code maxInFlight} Batches geschrieben werden.
+     */
+    private void submit(List<Map<String, Object>> batch, Semaphore inFlight, AtomicInteger importedCount,
+                        AtomicInteger failedCount, AtomicReference<Exception> firstError) throws InterruptedException {
+        inFlight.acquire();
+        int size = batch.size();
+        try {
+            writer.commit(Collections.unmodifiableList(batch), new OnCommitListener() {
+                @Override
+                public void onCommitted() {
+                    importedCount.addAndGet(size);
+                    inFlight.release();
+                }
+
+                @Override
+                public void onFailed(Exception e) {
+                    failedCount.addAndGet(size);
+                    firstError.compareAndSet(null, e);
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.util.Comparator;
+
+/**
+ * Diese Klasse enthält die Vergleiche für die Sortierungen der Mitglieder. Sie werden von den Sortierern der App
+ * für das Einfügen einzelner Datensätze und im Benchmark-Modul als Vergleichsgrundlage für Collections.sort verwendet.
+ */
+public final class MemberComparators {
+
+    /**
+     * Vergleich nach dem vorberechneten numerischen Schlüssel der "id", aufsteigend. Nicht numerische IDs folgen auf
+     * alle numerischen und werden untereinander nach der ID als Text geordnet.
+     */
+    public static final Comparator<Member> ID = (member1, member2) -> {
+        long key1 = member1.getIdKey();
+        long key2 = member2.getIdKey();
+        if (key1 != key2) {
+            return Long.compare(key1, key2);
+        }
+        return key1 == Member.NON_NUMERIC_ID_KEY ? member1.getId().compareTo(member2.getId()) : 0;
+    };
+
+    /**
+     * Vergleich nach dem Zeitstempel, neueste Einträge zuerst.
+     */
+    public static final Comparator<Member> TIMESTAMP_DESCENDING = (member1, member2) -> Long.compare(member2.getTimestampMillis(), member1.getTimestampMillis());
+
+    /**
+     * Vergleich nach dem Nachnamen gemäß den deutschen Sortierregeln, dann nach dem Vornamen und der ID, aufsteigend.
+     * Verglichen werden die zwischengespeicherten Byte-Schlüssel der Mitglieder (siehe {@link Member#getNameSortKey()}).
+     */
+    public static final Comparator<Member> NAME_ASCENDING = (member1, member2) -> HeapSort.compareUnsigned(member1.getNameSortKey(), member2.getNameSortKey());
+
+    /**
+     * Vergleich nach dem Nachnamen, Vornamen und der ID, absteigend.
+     */
+    public static final Comparator<Member> NAME_DESCENDING = (member1, member2) -> HeapSort.compareUnsigned(member2.getNameSortKey(), member1.getNameSortKey());
+
+    private MemberComparators() {
+    }
+
+    /**
+     * Liefert den Vergleich nach dem Nachnamen für die gewünschte Sortierreihenfolge.
+     *
+     * @param ascendingOrder Wenn `true`, erfolgt die Sortierung in aufsteigender Reihenfolge, andernfalls in absteigender Reihenfolge.
+     * @return Der Comparator für die Sortierung nach dem Nachnamen.
+     */
+    public static Comparator<Member> name(boolean ascendingOrder) {
+        return ascendingOrder ? NAME_ASCENDING : NAME_DESCENDING;
+    }
+}
@@ -0,0 +1,203 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Diese Schnittstelle beschreibt die Datenquelle der Mitglieder, also die Collection "students". Die App verwendet
+ * die Firestore-Datenbank; für Last- und Durchsatztests ohne Netzwerk gibt es einen Speicher im Arbeitsspeicher
+ * ({@link InMemoryMemberDataSource}) und einen Generator für synthetische Mitglieder
+ * ({@link SyntheticMemberDataSource}).
+ *
+ * Alle Methoden kehren sofort zurück. Ergebnisse werden über den übergebenen Executor gemeldet, sodass der Aufrufer
+ * bestimmt, auf welchem Thread sie verarbeitet werden. Als Datenquelle für einen {@link MemberBulkImporter} schreibt
+ * sie Batches neuer Dokumente.
+ */
+public interface MemberDataSource extends MemberBulkImporter.BatchWriter {
+
+    // Feldname für die Sortierung nach der Dokument-ID in loadPage
+    String DOCUMENT_ID = "__name__";
+
+    /**
+     * Callback für das Ergebnis einer Anfrage.
+     *
+     * @param <T> Der Typ des Ergebnisses.
+     */
+    interface Callback<T> {
+        /**
+         * Wird aufgerufen, wenn die Anfrage erfolgreich war.
+         *
+         * @param result Das Ergebnis.
+         */
+        void onSuccess(T result);
+
+        /**
+         * Wird aufgerufen, wenn die Anfrage fehlgeschlagen ist.
+         *
+         * @param e Die aufgetretene Ausnahme.
+         */
+        void onError(Exception e);
+    }
+
+    /**
+     * Beobachter für die Änderungen der Collection.
+     */
+    interface OnChangesListener {
+        /**
+         * Wird bei jeder Änderung aufgerufen. Das erste Ergebnis nach der Registrierung enthält alle Mitglieder als
+         * hinzugefügt, in der Reihenfolge der Datenquelle.
+         *
+         * @param changes Die Änderungen. Ihre Indizes beziehen sich jeweils auf den Stand nach den vorherigen
+         *                Änderungen und können daher der Reihe nach angewendet werden.
+         */
+        void onChanges(List<Change> changes);
+
+        /**
+         * Wird aufgerufen, wenn die Änderungen nicht mehr übertragen werden können. Danach folgen keine weiteren
+         * Aufrufe.
+         *
+         * @param e Die aufgetretene Ausnahme.
+         */
+        void onError(Exception e);
+    }
+
+    /**
+     * Registrierung eines Beobachters, über die er wieder entfernt wird.
+     */
+    interface Registration {
+        /**
+         * Entfernt den Beobachter. Danach erhält er keine weiteren Aufrufe.
+         */
+        void remove();
+    }
+
+    /**
+     * Eine einzelne Änderung der Collection.
+     */
+    final class Change {
+
+        /**
+         * Art der Änderung.
+         */
+        public enum Type {
+            ADDED,
+            MODIFIED,
+            REMOVED
+        }
+
+        private final Type type;
+        private final Member member;
+        private final int oldIndex;
+        private final int newIndex;
+
+        /**
+         * Konstruktor für eine Änderung.
+         *
+         * @param type     Die Art der Änderung.
+         * @param member   Das Mitglied nach der Änderung bzw. das entfernte Mitglied.
+         * @param oldIndex Die bisherige Position, oder -1 bei einem hinzugefügten Mitglied.
+         * @param newIndex Die neue Position, oder -1 bei einem entfernten Mitglied.
+         */
+        public Change(Type type, Member member, int oldIndex, int newIndex) {
+            this.type = type;
+            this.member = member;
+            this.oldIndex = oldIndex;
+            this.newIndex = newIndex;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public Member getMember() {
+            return member;
+        }
+
+        public int getOldIndex() {
+            return oldIndex;
+        }
+
+        public int getNewIndex() {
+            return newIndex;
+        }
+    }
+
+    /**
+     * Lädt einmalig alle Mitglieder in der Reihenfolge der Datenquelle.
+     *
+     * @param executor Der Executor, auf dem das Ergebnis gemeldet wird.
+     * @param callback Erhält die Mitglieder. Sie dürfen erst beim Durchlaufen dekodiert werden, daher sollte das
+     *                 Ergebnis nur einmal durchlaufen werden.
+     */
+    void loadMembers(Executor executor, Callback<Iterable<Member>> callback);
+
+    /**
+     * Lädt eine Seite von Mitgliedern, sortiert nach einem Feld und bei gleichem Wert nach der Dokument-ID.
+     *
+     * @param field      Das Feld, z.B. "timestamp", oder {@link #DOCUMENT_ID}.
+     * @param descending `true` für absteigende Sortierung.
+     * @param after      Das letzte Mitglied der vorherigen Seite, oder null für die erste Seite.
+     * @param limit      Die maximale Anzahl der Mitglieder der Seite.
+     * @param executor   Der Executor, auf dem das Ergebnis gemeldet wird.
+     * @param callback   Erhält die Mitglieder der Seite. Sie dürfen wie bei {@link #loadMembers} erst beim Zugriff
+     *                   dekodiert werden.
+     */
+    void loadPage(String field, boolean descending, Member after, int limit, Executor executor, Callback<List<Member>> callback);
+
+    /**
+     * Registriert einen Beobachter für die Änderungen der Collection.
+     *
+     * @param executor Der Executor, auf dem die Änderungen gemeldet werden.
+     * @param listener Der Beobachter.
+     * @return Die Registrierung, über die der Beobachter wieder entfernt wird.
+     */
+    Registration addChangeListener(Executor executor, OnChangesListener listener);
+
+    /**
+     * Fügt ein neues Mitglied mit einer automatisch vergebenen Dokument-ID hinzu.
+     *
+     * @param document Die Felder des Dokumentes.
+     * @param executor Der Executor, auf dem das Ergebnis gemeldet wird.
+     * @param callback Erhält die ID des neuen Dokumentes.
+     */
+    void addMember(Map<String, Object> document, Executor executor, Callback<String> callback);
+
+    /**
+     * Reserviert einen Block aufeinanderfolgender Mitglieds-IDs. Die Reservierung erfolgt atomar über einen Zähler
+     * der Datenquelle, sodass jede ID nur einmal reserviert wird, auch wenn mehrere Geräte gleichzeitig reservieren.
+     *
+     * @param count        Die Anzahl der IDs.
+     * @param minimumStart Die kleinste ID, mit der der Block beginnen darf, z.B. nach der größten bekannten ID.
+     * @param executor     Der Executor, auf dem das Ergebnis gemeldet wird.
+     * @param callback     Erhält die erste ID des Blocks; reserviert sind die IDs bis ausschließlich erste ID + count.
+     */
+    void reserveIds(int count, long minimumStart, Executor executor, Callback<Long> callback);
+
+    /**
+     * Liefert den Wert eines Feldes, nach dem {@link #loadPage} sortieren kann.
+     *
+     * @param member Das Mitglied.
+     * @param field  Das Feld, z.B. "timestamp", oder {@link #DOCUMENT_ID}.
+     * @return Der Wert des Feldes.
+     */
+    static String fieldValue(Member member, String field) {
+        switch (field) {
+            case DOCUMENT_ID:
+                return member.getDocumentId();
+            case "id":
+                return member.getId();
+            case "name":
+                return member.getName();
+            case "vorname":
+                return member.getVorname();
+            case "email":
+                return member.getEmail();
+            case "timestamp":
+                return member.getTimestamp();
+            default:
+                throw new IllegalArgumentException("Unbekanntes Feld " + field);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Diese Klasse vergibt eindeutige Mitglieds-IDs für neue Einträge. Statt zufälliger IDs, die mit wachsender Anzahl
+ * von Mitgliedern immer häufiger doppelt vergeben würden, reserviert sie bei der Datenquelle jeweils einen Block
+ * aufeinanderfolgender IDs ({@link MemberDataSource#reserveIds}). Die IDs eines Blocks werden lokal vergeben, sodass
+ * nur einmal pro Block eine Anfrage an die Datenbank nötig ist.
+ *
+ * Zusätzlich merkt sich die Klasse alle bekannten numerischen IDs. Bekannte IDs, z.B. zufällig vergebene älterer
+ * Einträge, werden bei der Vergabe übersprungen, und eine von Hand eingegebene ID kann ohne Datenbankabfrage auf
+ * Konflikte geprüft werden ({@link #isKnown}). IDs unterhalb von {@link #ID_RANGE_END} liegen in einem Bitfeld von
+ * höchstens gut einem Megabyte, größere IDs, z.B. vertippte mit vielen Ziffern, einzeln in einer Menge. Nur IDs
+ * unterhalb von {@link #ID_RANGE_END} bestimmen, wo der nächste Block frühestens beginnt; eine einzelne sehr große
+ * ID verschiebt den gemeinsamen Zähler der Datenbank damit nicht dauerhaft. Nicht numerische IDs älterer Einträge
+ * werden nicht berücksichtigt, da sie nie vergeben werden.
+ *
+ * Nicht vergebene IDs eines Blocks gehen beim Beenden der App verloren; die IDs sind also eindeutig, aber nicht
+ * lückenlos. Alle Methoden sind threadsicher.
+ */
+public class MemberIdAllocator {
+
+    // Die erste vergebene ID, die bisherigen zufälligen IDs begannen ebenfalls bei 10000
+    public static final long FIRST_ID = 10000;
+
+    // Anzahl der IDs, die mit einer Anfrage an die Datenquelle reserviert werden
+    public static final int DEFAULT_BLOCK_SIZE = 20;
+
+    private final MemberDataSource dataSource;
+    private final int blockSize;
+
+    // Ende des Bereichs, in dem IDs vergeben werden und dicht im Bitfeld erfasst sind (exklusiv)
+    public static final long ID_RANGE_END = FIRST_ID + 10_000_000;
+
+    // Bekannte IDs unterhalb von ID_RANGE_END, größere IDs und die größte bekannte ID unterhalb von ID_RANGE_END
+    private final BitSet knownIds = new BitSet();
+    private final Set<Long> knownOutliers = new HashSet<>();
+    private long maxKnownId = FIRST_ID - 1;
+
+    // Der reservierte Block [nextId, endId)
+    private long nextId = 0;
+    private long endId = 0;
+
+    // Anfragen, die auf die Reservierung eines neuen Blocks warten
+    private final List<PendingRequest> pending = new ArrayList<>();
+    private boolean reserving = false;
+
+    /**
+     * Eine Anfrage mit ihrem Executor.
+     */
+    private static final class PendingRequest {
+        final Executor executor;
+        final MemberDataSource.Callback<String> callback;
+
+        PendingRequest(Executor executor, MemberDataSource.Callback<String> callback) {
+            this.executor = executor;
+            this.callback = callback;
+        }
+    }
+
+    /**
+     * Konstruktor für einen MemberIdAllocator mit der Standardgröße der Blöcke.
+     *
+     * @param dataSource Die Datenquelle, bei der die Blöcke reserviert werden.
+     */
+    public MemberIdAllocator(MemberDataSource dataSource) {
+        this(dataSource, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Konstruktor für einen MemberIdAllocator.
+     *
+     * @param dataSource Die Datenquelle, bei der die Blöcke reserviert werden.
+     * @param blockSize  Die Anzahl der IDs, die auf einmal reserviert werden.
+     */
+    public MemberIdAllocator(MemberDataSource dataSource, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Ungültige Blockgröße " + blockSize);
+        }
+        this.dataSource = dataSource;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Merkt sich die IDs vorhandener Mitglieder, damit sie nicht erneut vergeben werden.
+     *
+     * @param members Die Mitglieder.
+     */
+    public synchronized void addKnownIds(Iterable<Member> members) {
+        for (Member member : members) {
+            addKnownId(member.getId());
+        }
+    }
+
+    /**
+     * Merkt sich eine vorhandene ID, z.B. eine von Hand eingegebene.
+     *
+     * @param id Die ID. Nicht numerische IDs werden ignoriert.
+     */
+    public synchronized void addKnownId(String id) {
+        long value = parseId(id);
+        if (value >= 0) {
+            markKnown(value);
+        }
+    }
+
+    /**
+     * Prüft ohne Datenbankabfrage, ob eine ID bereits vergeben ist.
+     *
+     * @param id Die ID.
+     * @return `true`, wenn die ID einem bekannten Mitglied gehört oder bereits vergeben wurde.
+     */
+    public synchronized boolean isKnown(String id) {
+        long value = parseId(id);
+        return value >= 0 && isKnown(value);
+    }
+
+    /**
+     * Vergibt eine neue, eindeutige ID. Ist im reservierten Block noch eine ID frei, wird sie sofort gemeldet;
+     * andernfalls wird zuerst ein neuer Block reserviert.
+     *
+     * @param executor Der Executor, auf dem das Ergebnis gemeldet wird.
+     * @param callback Erhält die neue ID.
+     */
+    public void allocate(Executor executor, MemberDataSource.Callback<String> callback) {
+        String id;
+        synchronized (this) {
+            id = nextFromBlock();
+            if (id == null) {
+                pending.add(new PendingRequest(executor, callback));
+                if (reserving) {
+                    return;
+                }
+                reserving = true;
+            }
+        }
+        if (id != null) {
+            String allocated = id;
+            executor.execute(() -> callback.onSuccess(allocated));
+        } else {
+            reserveBlock();
+        }
+    }
+
+    /**
+     * Reserviert einen neuen Block. Er beginnt frühestens nach der größten bekannten ID unterhalb von
+     * {@link #ID_RANGE_END}, sodass auch ein neu angelegter Zähler keine vorhandenen IDs vergibt.
+     */
+    private void reserveBlock() {
+        long minimumStart;
+        synchronized (this) {
+            minimumStart = Math.max(FIRST_ID, maxKnownId + 1);
+        }
+        dataSource.reserveIds(blockSize, minimumStart, Runnable::run, new MemberDataSource.Callback<Long>() {
+            @Override
+            public void onSuccess(Long start) {
+                List<PendingRequest> served = new ArrayList<>();
+                List<String> ids = new ArrayList<>();
+                boolean reserveAgain;
+                synchronized (MemberIdAllocator.this) {
+                    nextId = start;
+                    endId = start + blockSize;
+                    String id;
+                    while (!pending.isEmpty() && (id = nextFromBlock()) != null) {
+                        served.add(pending.remove(0));
+                        ids.add(id);
+                    }
+                    // Reicht der Block nicht für alle wartenden Anfragen, wird sofort der nächste reserviert.
+                    reserveAgain = !pending.isEmpty();
+                    reserving = reserveAgain;
+                }
+                for (int i = 0; i < served.size(); i++) {
+                    PendingRequest request = served.get(i);
+                    String id = ids.get(i);
+                    request.executor.execute(() -> request.callback.onSuccess(id));
+                }
+                if (reserveAgain) {
+                    reserveBlock();
+                }
+            }
+
+            @Override
+            public void onError(Exception e) {
+                List<PendingRequest> failed;
+                synchronized (MemberIdAllocator.this) {
+                    failed = new ArrayList<>(pending);
+                    pending.clear();
+                    reserving = false;
+                }
+                for (PendingRequest request : failed) {
+                    request.executor.execute(() -> request.callback.onError(e));
+                }
+            }
+        });
+    }
+
+    /**
+     * Vergibt die nächste freie ID des reservierten Blocks und merkt sie sich. Wird nur synchronisiert aufgerufen.
+     *
+     * @return Die ID, oder null, wenn der Block erschöpft ist.
+     */
+    private String nextFromBlock() {
+        while (nextId < endId) {
+            long id = nextId++;
+            if (!isKnown(id)) {
+                markKnown(id);
+                return String.valueOf(id);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Merkt sich eine nicht negative ID. Wird nur synchronisiert aufgerufen.
+     */
+    private void markKnown(long id) {
+        if (id < ID_RANGE_END) {
+            knownIds.set((int) id);
+            maxKnownId = Math.max(maxKnownId, id);
+        } else {
+            knownOutliers.add(id);
+        }
+    }
+
+    /**
+     * Prüft, ob eine nicht negative ID bekannt ist. Wird nur synchronisiert aufgerufen.
+     */
+    private boolean isKnown(long id) {
+        return id < ID_RANGE_END ? knownIds.get((int) id) : knownOutliers.contains(id);
+    }
+
+    /**
+     * Liest eine numerische ID wie der Sortierschlüssel der ID ({@link Member#getIdKey()}).
+     *
+     * @param id Die ID.
+     * @return Der Wert der ID, oder ein negativer Wert, wenn sie nicht numerisch oder negativ ist.
+     */
+    private static long parseId(String id) {
+        long key = Member.parseIdKey(id);
+        return key == Member.NON_NUMERIC_ID_KEY ? -1 : key;
+    }
+}
@@ -0,0 +1,497 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Diese Klasse liest die Zeilen einer Importdatei nacheinander, ohne die Datei vollständig in den Speicher zu
+ * laden. Unterstützt werden CSV mit einer Kopfzeile (Trennzeichen Semikolon oder Komma, Felder optional in
+ * Anführungszeichen) und JSON als Array von Objekten. Erkannt werden die Spalten bzw. Schlüssel "name", "vorname",
+ * "email" und "id" unabhängig von der Groß- und Kleinschreibung; weitere Spalten werden ignoriert, fehlende als
+ * leer gelesen.
+ *
+ * Die Werte werden nur gelesen, nicht geprüft; die Prüfung übernimmt der {@link MemberBulkImporter}.
+ * Ein MemberImportReader ist nicht threadsicher.
+ */
+public abstract class MemberImportReader implements Closeable {
+
+    /**
+     * Eine gelesene Zeile der Importdatei.
+     */
+    public static final class Row {
+        private final int number;
+        private final String name;
+        private final String vorname;
+        private final String email;
+        private final String id;
+
+        Row(int number, String name, String vorname, String email, String id) {
+            this.number = number;
+            this.name = name;
+            this.vorname = vorname;
+            this.email = email;
+            this.id = id;
+        }
+
+        /**
+         * @return Die Zeilennummer in der CSV-Datei bzw. die Nummer des Objekts im JSON-Array, jeweils ab 1.
+         */
+        public int getNumber() {
+            return number;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getVorname() {
+            return vorname;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Erstellt die Felder des Dokuments, das für diese Zeile in der Datenbank angelegt wird.
+         *
+         * @param timestamp Der Zeitstempel im Format "yyyy-MM-dd HH:mm:ss".
+         * @return Die Felder des Dokuments wie beim Hinzufügen über den Dialog.
+         */
+        public Map<String, Object> toDocument(String timestamp) {
+            Map<String, Object> items = new HashMap<>();
+            items.put("name", name);
+            items.put("vorname", vorname);
+            items.put("email", email);
+            items.put("id", id);
+            items.put("timestamp", timestamp);
+            return items;
+        }
+    }
+
+    // Die erkannten Felder in der Reihenfolge der Row
+    private static final String[] FIELDS = {"name", "vorname", "email", "id"};
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Kennzeichnet, dass kein Zeichen vorausgelesen wurde
+    private static final int NONE = -2;
+
+    private final Reader in;
+    // Vorausgelesenes Zeichen
+    private int lookahead = NONE;
+    // Position in der Datei für Fehlermeldungen und Zeilennummern
+    private int line = 1;
+
+    private MemberImportReader(Reader in) {
+        this.in = in instanceof BufferedReader ? in : new BufferedReader(in, BUFFER_SIZE);
+    }
+
+    /**
+     * Erstellt einen Reader für eine CSV-Datei mit Kopfzeile.
+     *
+     * @param in Der Inhalt der Datei.
+     * @return Der Reader.
+     */
+    public static MemberImportReader csv(Reader in) {
+        return new CsvReader(in);
+    }
+
+    /**
+     * Erstellt einen Reader für eine JSON-Datei mit einem Array von Objekten.
+     *
+     * @param in Der Inhalt der Datei.
+     * @return Der Reader.
+     */
+    public static MemberImportReader json(Reader in) {
+        return new JsonReader(in);
+    }
+
+    /**
+     * Erstellt einen Reader passend zum Inhalt: Beginnt die Datei mit '[', wird sie als JSON gelesen, sonst als CSV.
+     * Der Name der Datei ist z.B. bei einer Auswahl über das System nicht immer bekannt.
+     *
+     * @param in Der Inhalt der Datei.
+     * @return Der Reader.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann.
+     */
+    public static MemberImportReader detect(Reader in) throws IOException {
+        BufferedReader buffered = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in, BUFFER_SIZE);
+        buffered.mark(BUFFER_SIZE);
+        int c;
+        int skipped = 0;
+        do {
+            c = buffered.read();
+        } while ((c == '\uFEFF' || Character.isWhitespace(c)) && ++skipped < BUFFER_SIZE - 1);
+        buffered.reset();
+        return c == '[' ? json(buffered) : csv(buffered);
+    }
+
+    /**
+     * Liest die nächste Zeile.
+     *
+     * @return Die Zeile, oder null am Ende der Datei.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann oder nicht dem Format entspricht.
+     */
+    public abstract Row next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    int read() throws IOException {
+        int c;
+        if (lookahead != NONE) {
+            c = lookahead;
+            lookahead = NONE;
+        } else {
+            c = in.read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    int peek() throws IOException {
+        if (lookahead == NONE) {
+            lookahead = in.read();
+        }
+        return lookahead;
+    }
+
+    int getLine() {
+        return line;
+    }
+
+    /**
+     * Überspringt eine Byte-Order-Mark am Anfang der Datei, wie sie z.B. Tabellenkalkulationen schreiben.
+     */
+    void skipByteOrderMark() throws IOException {
+        if (peek() == '\uFEFF') {
+            read();
+        }
+    }
+
+    IOException formatError(String message) {
+        return new IOException(message + " (Zeile " + line + ")");
+    }
+
+    /**
+     * Bestimmt zu jedem erkannten Feld den Index der Spalte bzw. -1, wenn die Spalte fehlt.
+     */
+    static int fieldIndex(String column) {
+        String normalized = column.trim().toLowerCase(Locale.ROOT);
+        for (int i = 0; i < FIELDS.length; i++) {
+            if (FIELDS[i].equals(normalized)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * CSV mit Kopfzeile nach RFC 4180. Das Trennzeichen wird aus der Kopfzeile bestimmt.
+     */
+    private static final class CsvReader extends MemberImportReader {
+        private char separator;
+        // Spalte der Datei für jedes erkannte Feld (-1, wenn die Spalte fehlt)
+        private int[] columns;
+
+        CsvReader(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public Row next() throws IOException {
+            if (columns == null) {
+                readHeader();
+            }
+            List<String> record;
+            int number;
+            do {
+                number = getLine();
+                record = readRecord();
+                if (record == null) {
+                    return null;
+                }
+            } while (record.size() == 1 && record.get(0).trim().isEmpty());
+            String[] values = new String[FIELDS.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = columns[i] >= 0 && columns[i] < record.size() ? record.get(columns[i]).trim() : "";
+            }
+            return new Row(number, values[0], values[1], values[2], values[3]);
+        }
+
+        private void readHeader() throws IOException {
+            skipByteOrderMark();
+            StringBuilder header = new StringBuilder();
+            int c;
+            while ((c = peek()) >= 0 && c != '\n') {
+                header.append((char) read());
+            }
+            separator = header.indexOf(";") >= 0 ? ';' : ',';
+            // Die Kopfzeile wird noch einmal als Datensatz zerlegt, damit Spaltennamen in Anführungszeichen stehen dürfen.
+            List<String> names = parseRecord(header.toString());
+            read();
+            columns = new int[FIELDS.length];
+            Arrays.fill(columns, -1);
+            for (int column = 0; column < names.size(); column++) {
+                int field = fieldIndex(names.get(column));
+                if (field >= 0 && columns[field] < 0) {
+                    columns[field] = column;
+                }
+            }
+            if (columns[0] < 0 && columns[1] < 0 && columns[2] < 0 && columns[3] < 0) {
+                throw formatError("Kopfzeile ohne bekannte Spalten (name, vorname, email, id)");
+            }
+        }
+
+        private List<String> parseRecord(String text) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == separator) {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c != '\r') {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        /**
+         * Liest einen Datensatz. Felder in Anführungszeichen dürfen Trennzeichen und Zeilenumbrüche enthalten.
+         *
+         * @return Die Felder des Datensatzes, oder null am Ende der Datei.
+         */
+        private List<String> readRecord() throws IOException {
+            if (peek() < 0) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                int c = read();
+                if (c < 0) {
+                    if (quoted) {
+                        throw formatError("Anführungszeichen wird nicht geschlossen");
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (quoted) {
+                    if (c == '"' && peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == separator) {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+        }
+    }
+
+    /**
+     * JSON-Array von Objekten mit einfachen Werten (Texte, Zahlen, true, false, null). Verschachtelte Werte
+     * werden nicht unterstützt.
+     */
+    private static final class JsonReader extends MemberImportReader {
+        private boolean started = false;
+        private boolean finished = false;
+        private int count = 0;
+
+        JsonReader(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public Row next() throws IOException {
+            if (finished) {
+                return null;
+            }
+            if (!started) {
+                skipByteOrderMark();
+                skipWhitespace();
+                expect('[');
+                started = true;
+                skipWhitespace();
+                if (peek() == ']') {
+                    read();
+                    finished = true;
+                    return null;
+                }
+            } else {
+                skipWhitespace();
+                int c = read();
+                if (c == ']') {
+                    finished = true;
+                    return null;
+                }
+                if (c != ',') {
+                    throw formatError("',' oder ']' erwartet");
+                }
+                skipWhitespace();
+            }
+            return readObject(++count);
+        }
+
+        private Row readObject(int number) throws IOException {
+            expect('{');
+            String[] values = {"", "", "", ""};
+            skipWhitespace();
+            if (peek() == '}') {
+                read();
+                return new Row(number, values[0], values[1], values[2], values[3]);
+            }
+            while (true) {
+                skipWhitespace();
+                String key = readString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                String value = readValue();
+                int field = fieldIndex(key);
+                if (field >= 0) {
+                    values[field] = value.trim();
+                }
+                skipWhitespace();
+                int c = read();
+                if (c == '}') {
+                    return new Row(number, values[0], values[1], values[2], values[3]);
+                }
+                if (c != ',') {
+                    throw formatError("',' oder '}' erwartet");
+                }
+            }
+        }
+
+        private String readValue() throws IOException {
+            int c = peek();
+            if (c == '"') {
+                return readString();
+            }
+            if (c == '{' || c == '[') {
+                throw formatError("Verschachtelte Werte werden nicht unterstützt");
+            }
+            // Zahlen und die Literale true, false und null werden als Text übernommen; null ergibt einen leeren Wert.
+            StringBuilder literal = new StringBuilder();
+            while ((c = peek()) >= 0 && (Character.isLetterOrDigit(c) || c == '-' || c == '+' || c == '.')) {
+                literal.append((char) read());
+            }
+            if (literal.length() == 0) {
+                throw formatError("Wert erwartet");
+            }
+            String text = literal.toString();
+            return "null".equals(text) ? "" : text;
+        }
+
+        private String readString() throws IOException {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                int c = read();
+                if (c < 0) {
+                    throw formatError("Text wird nicht geschlossen");
+                }
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append((char) c);
+                    continue;
+                }
+                int escaped = read();
+                switch (escaped) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        value.append((char) escaped);
+                        break;
+                    case 'b':
+                        value.append('\b');
+                        break;
+                    case 'f':
+                        value.append('\f');
+                        break;
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 'r':
+                        value.append('\r');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'u':
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            int digit = Character.digit(read(), 16);
+                            if (digit < 0) {
+                                throw formatError("Ungültige Unicode-Escape-Sequenz");
+                            }
+                            code = code * 16 + digit;
+                        }
+                        value.append((char) code);
+                        break;
+                    default:
+                        throw formatError("Ungültige Escape-Sequenz");
+                }
+            }
+        }
+
+        private void skipWhitespace() throws IOException {
+            int c;
+            while ((c = peek()) == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                read();
+            }
+        }
+
+        private void expect(char expected) throws IOException {
+            int c = read();
+            if (c != expected) {
+                throw formatError("'" + expected + "' erwartet");
+            }
+        }
+    }
+}
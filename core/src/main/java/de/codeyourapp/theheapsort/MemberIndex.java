@@ -0,0 +1,292 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Diese Klasse hält einen festen Datenstand von Mitgliedern und sortiert ihn nach Schlüsseln in primitiven Arrays:
+ * die numerische ID und den Zeitstempel als long[] und den Namensschlüssel des Mitglieds als byte[]. Die Schlüssel
+ * werden vor dem Sortieren einmal pro Datensatz ermittelt, sodass beim Vergleichen nur noch Arrays gelesen werden.
+ *
+ * Sortiert wird nicht die Liste der Datensätze, sondern eine Permutation der Zeilennummern. Das Ergebnis ist eine
+ * {@link Ordering}, die als unveränderliche Liste in der sortierten Reihenfolge auf die Datensätze zugreift.
+ * Dadurch können mehrere Reihenfolgen desselben Datenstands gleichzeitig bestehen, ohne Datensätze zu kopieren.
+ *
+ * Jede Reihenfolge wird erst bei der ersten Anfrage berechnet und danach zwischengespeichert, sodass ein Wechsel
+ * zwischen den Sortierungen ohne erneutes Sortieren auskommt. Die absteigende Sortierung nach dem Namen ist eine
+ * umgekehrte Sicht auf die aufsteigende. Da ein MemberIndex einen festen Datenstand abbildet, wird er bei einer
+ * Änderung der Daten als Ganzes verworfen (siehe MemberRepository in der App).
+ *
+ * Ob ein Schlüssel mit {@link HeapSort} oder parallel mit {@link ParallelMergeSort} sortiert wird, legt die
+ * {@link SortPolicy} fest. Beide liefern dieselbe Reihenfolge; gleiche Schlüssel sind nach der Zeilennummer geordnet.
+ *
+ * Wird nur der Anfang einer Reihenfolge benötigt, z.B. für den ersten Bildschirm, liefert ein {@link TopKCursor}
+ * die Datensätze seitenweise, ohne den gesamten Datenstand zu sortieren. Ist die Reihenfolge bereits
+ * zwischengespeichert, liest der Cursor seine Seiten direkt aus ihr.
+ *
+ * Ein MemberIndex ist nicht threadsicher und wird nur auf dem Hintergrund-Thread sortiert. Die fertigen
+ * Orderings sind unveränderlich und dürfen an den Haupt-Thread übergeben werden.
+ */
+public final class MemberIndex {
+
+    /**
+     * Eine sortierte Reihenfolge der Datensätze eines MemberIndex. Die Liste ist unveränderlich;
+     * {@code get(i)} liefert den Datensatz an der i-ten Stelle der Sortierung.
+     */
+    public static final class Ordering extends AbstractList<Member> implements RandomAccess {
+        private final Member[] rows;
+        private final int[] permutation;
+        private final SortStatistics statistics;
+        private final boolean reversed;
+
+        private Ordering(Member[] rows, int[] permutation, SortStatistics statistics, boolean reversed) {
+            this.rows = rows;
+            this.permutation = permutation;
+            this.statistics = statistics;
+            this.reversed = reversed;
+        }
+
+        @Override
+        public Member get(int position) {
+            if (position < 0 || position >= permutation.length) {
+                throw new IndexOutOfBoundsException("Position " + position + ", Größe " + permutation.length);
+            }
+            return rows[permutation[reversed ? permutation.length - 1 - position : position]];
+        }
+
+        @Override
+        public int size() {
+            return permutation.length;
+        }
+
+        /**
+         * @return Die Zählungen des Sortiervorgangs, der diese Reihenfolge erzeugt hat.
+         */
+        public SortStatistics getStatistics() {
+            return statistics;
+        }
+
+        /**
+         * Liefert die umgekehrte Reihenfolge als Sicht auf dieselbe Permutation, ohne erneut zu sortieren.
+         *
+         * @return Die umgekehrte Reihenfolge.
+         */
+        public Ordering reversed() {
+            return new Ordering(rows, permutation, statistics, !reversed);
+        }
+    }
+
+    private final Member[] rows;
+    private final List<Member> members;
+    private final SortPolicy sortPolicy;
+
+    // Zwischengespeicherte Reihenfolgen, werden beim ersten Bedarf berechnet
+    private Ordering idOrdering;
+    private Ordering timestampOrdering;
+    private Ordering nameOrdering;
+
+    // Zwischengespeicherte Schlüssel in Zeilenreihenfolge, gemeinsam für Sortierungen und TopKCursor
+    private long[] timestampKeys;
+    private byte[][] nameKeys;
+
+    private MemberIndex(Member[] rows, SortPolicy sortPolicy) {
+        this.rows = rows;
+        this.members = Collections.unmodifiableList(Arrays.asList(rows));
+        this.sortPolicy = sortPolicy;
+    }
+
+    /**
+     * Erzeugt einen Index über die übergebenen Datensätze, der alle Schlüssel sequenziell sortiert.
+     * Die Liste wird dabei einmalig kopiert.
+     *
+     * @param members Die Datensätze in ihrer ursprünglichen Reihenfolge.
+     * @return Der neue Index.
+     */
+    public static MemberIndex of(List<Member> members) {
+        return of(members, SortPolicy.SEQUENTIAL);
+    }
+
+    /**
+     * Erzeugt einen Index über die übergebenen Datensätze. Die Liste wird dabei einmalig kopiert.
+     *
+     * @param members    Die Datensätze in ihrer ursprünglichen Reihenfolge.
+     * @param sortPolicy Legt fest, welche Schlüssel ab welcher Größe parallel sortiert werden.
+     * @return Der neue Index.
+     */
+    public static MemberIndex of(List<Member> members, SortPolicy sortPolicy) {
+        return new MemberIndex(members.toArray(new Member[0]), sortPolicy);
+    }
+
+    /**
+     * @return Die Anzahl der Datensätze.
+     */
+    public int size() {
+        return rows.length;
+    }
+
+    /**
+     * @return Die Datensätze in ihrer ursprünglichen Reihenfolge als nicht veränderbare Liste.
+     */
+    public List<Member> getMembers() {
+        return members;
+    }
+
+    /**
+     * Liefert die Datensätze aufsteigend nach der numerischen ID. Nicht numerische IDs folgen am Ende, nach der ID
+     * als Text geordnet, wie bei {@link MemberComparators#ID}.
+     *
+     * @return Die Reihenfolge nach der ID.
+     */
+    public Ordering byId() {
+        if (idOrdering != null) {
+            return idOrdering;
+        }
+        long[] keys = new long[rows.length];
+        for (int row = 0; row < rows.length; row++) {
+            keys[row] = rows[row].getIdKey();
+        }
+        int[] permutation = identityPermutation();
+        SortStatistics statistics = sort(SortKey.ID, permutation, keys);
+        statistics.add(sortNonNumericIds(permutation, keys));
+        idOrdering = new Ordering(rows, permutation, statistics, false);
+        return idOrdering;
+    }
+
+    /**
+     * Liefert die Datensätze nach dem Zeitstempel, neueste zuerst.
+     *
+     * @return Die Reihenfolge nach dem Zeitstempel.
+     */
+    public Ordering byTimestampDescending() {
+        if (timestampOrdering != null) {
+            return timestampOrdering;
+        }
+        // Die Sortierung ordnet die Schlüssel mit um und arbeitet daher auf einer Kopie
+        long[] keys = timestampKeys().clone();
+        int[] permutation = identityPermutation();
+        timestampOrdering = new Ordering(rows, permutation, sort(SortKey.TIMESTAMP, permutation, keys), false);
+        return timestampOrdering;
+    }
+
+    /**
+     * Liefert die Datensätze nach dem Nachnamen gemäß den deutschen Sortierregeln, bei gleichem Nachnamen nach
+     * dem Vornamen und der ID (siehe {@link Member#getNameSortKey()}). Sortiert wird nur
+     * aufsteigend; die absteigende Reihenfolge ist eine umgekehrte Sicht darauf.
+     *
+     * @param ascendingOrder Wenn `true`, erfolgt die Sortierung in aufsteigender Reihenfolge, andernfalls in absteigender Reihenfolge.
+     * @return Die Reihenfolge nach dem Nachnamen.
+     */
+    public Ordering byName(boolean ascendingOrder) {
+        if (nameOrdering == null) {
+            byte[][] keys = nameKeys().clone();
+            int[] permutation = identityPermutation();
+            nameOrdering = new Ordering(rows, permutation, sort(SortKey.NAME, permutation, keys), false);
+        }
+        return ascendingOrder ? nameOrdering : nameOrdering.reversed();
+    }
+
+    /**
+     * Liefert die Datensätze seitenweise nach dem Zeitstempel, neueste zuerst, ohne alle Datensätze zu sortieren.
+     * Die Seiten ergeben aneinandergehängt dieselbe Reihenfolge wie {@link #byTimestampDescending()}.
+     *
+     * @param pageSize Die Anzahl der Datensätze pro Seite.
+     * @return Ein neuer Cursor, der vor der ersten Seite steht.
+     */
+    public TopKCursor newestFirst(int pageSize) {
+        long[] keys = timestampKeys();
+        return new TopKCursor(rows, (row1, row2) -> {
+            int result = Long.compare(keys[row1], keys[row2]);
+            return result != 0 ? result : Integer.compare(row1, row2);
+        }, this::byTimestampDescending, timestampOrdering != null, pageSize);
+    }
+
+    /**
+     * Liefert die Datensätze seitenweise nach dem Nachnamen, ohne alle Datensätze zu sortieren.
+     * Die Seiten ergeben aneinandergehängt dieselbe Reihenfolge wie {@link #byName(boolean)}.
+     *
+     * @param ascendingOrder Wenn `true`, erfolgt die Sortierung in aufsteigender Reihenfolge, andernfalls in absteigender Reihenfolge.
+     * @param pageSize       Die Anzahl der Datensätze pro Seite.
+     * @return Ein neuer Cursor, der vor der ersten Seite steht.
+     */
+    public TopKCursor firstByName(boolean ascendingOrder, int pageSize) {
+        byte[][] keys = nameKeys();
+        // Die absteigende Reihenfolge kehrt auch die Zeilennummern um, wie die umgekehrte Sicht von byName
+        int direction = ascendingOrder ? 1 : -1;
+        return new TopKCursor(rows, (row1, row2) -> {
+            int result = HeapSort.compareUnsigned(keys[row1], keys[row2]);
+            return direction * (result != 0 ? result : Integer.compare(row1, row2));
+        }, () -> byName(ascendingOrder), nameOrdering != null, pageSize);
+    }
+
+    private long[] timestampKeys() {
+        if (timestampKeys == null) {
+            timestampKeys = new long[rows.length];
+            for (int row = 0; row < rows.length; row++) {
+                // Die bitweise Negation kehrt die Reihenfolge ohne Überlauf um, auch für Long.MIN_VALUE.
+                timestampKeys[row] = ~rows[row].getTimestampMillis();
+            }
+        }
+        return timestampKeys;
+    }
+
+    private byte[][] nameKeys() {
+        if (nameKeys == null) {
+            nameKeys = new byte[rows.length][];
+            for (int row = 0; row < rows.length; row++) {
+                // Nachname, Vorname und ID in einem Schlüssel, der im Mitglied über Datenstände hinweg erhalten bleibt
+                nameKeys[row] = rows[row].getNameSortKey();
+            }
+        }
+        return nameKeys;
+    }
+
+    private SortStatistics sort(SortKey key, int[] permutation, long[] keys) {
+        if (sortPolicy.isParallel(key, permutation.length)) {
+            return ParallelMergeSort.sortByKey(permutation, keys);
+        }
+        return HeapSort.sortByKey(permutation, keys);
+    }
+
+    private SortStatistics sort(SortKey key, int[] permutation, byte[][] keys) {
+        if (sortPolicy.isParallel(key, permutation.length)) {
+            return ParallelMergeSort.sortByKey(permutation, keys);
+        }
+        return HeapSort.sortByKey(permutation, keys);
+    }
+
+    /**
+     * Ordnet die Zeilen mit nicht numerischer ID am Ende der nach der ID sortierten Permutation nach der ID als Text.
+     * Sortiert wird der Endabschnitt per Heapsort nach den Zeichen der ID in UTF-16BE, deren vorzeichenloser
+     * Byte-Vergleich dieselbe Reihenfolge wie {@link String#compareTo} ergibt; gleiche IDs bleiben nach der
+     * Zeilennummer geordnet.
+     *
+     * @return Die Zählungen dieser Sortierung, die zu denen der Sortierung nach dem Schlüssel addiert werden.
+     */
+    private SortStatistics sortNonNumericIds(int[] permutation, long[] sortedKeys) {
+        int start = permutation.length;
+        while (start > 0 && sortedKeys[start - 1] == Member.NON_NUMERIC_ID_KEY) {
+            start--;
+        }
+        int[] tail = Arrays.copyOfRange(permutation, start, permutation.length);
+        byte[][] tailKeys = new byte[tail.length][];
+        for (int i = 0; i < tail.length; i++) {
+            tailKeys[i] = rows[tail[i]].getId().getBytes(StandardCharsets.UTF_16BE);
+        }
+        SortStatistics statistics = HeapSort.sortByKey(tail, tailKeys);
+        System.arraycopy(tail, 0, permutation, start, tail.length);
+        return statistics;
+    }
+
+    private int[] identityPermutation() {
+        int[] permutation = new int[rows.length];
+        for (int row = 0; row < permutation.length; row++) {
+            permutation[row] = row;
+        }
+        return permutation;
+    }
+}
@@ -0,0 +1,308 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Diese Klasse ist ein Suchindex für die Präfixsuche über Name, Vorname, E-Mail und ID der Mitglieder.
+ *
+ * Zu jedem Mitglied werden Suchbegriffe gebildet: die vollständigen Felder sowie bei Name und Vorname jedes
+ * weitere Wort (z.B. "Lüdenscheidt" in "Müller-Lüdenscheidt"). Die Begriffe werden gefaltet, d.h. in
+ * Kleinbuchstaben umgewandelt und ohne diakritische Zeichen gespeichert ("Müller" wird zu "muller", "ß" zu "ss"),
+ * sodass die Suche weder Groß- und Kleinschreibung noch Akzente unterscheidet.
+ *
+ * Die Begriffe liegen sortiert in einem Array. Eine Suche bestimmt den ersten passenden Begriff per binärer Suche
+ * und liest danach nur die Treffer, ohne die Mitgliederliste zu durchlaufen. Einzelne Mitglieder können
+ * nachträglich hinzugefügt oder entfernt werden, ohne den Index neu aufzubauen.
+ *
+ * Ein MemberSearchIndex ist nicht threadsicher und wird nur auf dem Hintergrund-Thread verwendet.
+ */
+public final class MemberSearchIndex {
+
+    // Kennzeichen in der Faltungstabelle: "ß" wird als "ss" geschrieben, NO_CHAR entfällt
+    private static final char SHARP_S = '\u00df';
+    private static final char NO_CHAR = '\uffff';
+    // Vorberechnete Faltung der lateinischen Zeichen, sodass für übliche Namen keine Zerlegung nötig ist
+    private static final char[] FOLD_TABLE = buildFoldTable();
+
+    // Sortierte, gefaltete Suchbegriffe und das Mitglied, zu dem der Begriff an derselben Stelle gehört
+    private String[] terms;
+    private Member[] owners;
+    private int size;
+
+    private MemberSearchIndex(String[] terms, Member[] owners, int size) {
+        this.terms = terms;
+        this.owners = owners;
+        this.size = size;
+    }
+
+    /**
+     * Baut einen Suchindex über die übergebenen Mitglieder auf.
+     *
+     * @param members Die zu indizierenden Mitglieder.
+     * @return Der neue Suchindex.
+     */
+    public static MemberSearchIndex of(Collection<Member> members) {
+        // Gleiche Begriffe (z.B. häufige Nachnamen) werden zusammengefasst, sodass nur verschiedene Begriffe
+        // sortiert werden. Innerhalb eines Begriffs bleibt die Reihenfolge der Mitglieder erhalten.
+        Map<String, List<Member>> groups = new HashMap<>();
+        int count = 0;
+        for (Member member : members) {
+            for (String term : terms(member)) {
+                List<Member> owners = groups.get(term);
+                if (owners == null) {
+                    owners = new ArrayList<>(1);
+                    groups.put(term, owners);
+                }
+                owners.add(member);
+                count++;
+            }
+        }
+        String[] distinct = groups.keySet().toArray(new String[0]);
+        Arrays.sort(distinct);
+
+        int capacity = Math.max(16, count);
+        String[] terms = new String[capacity];
+        Member[] owners = new Member[capacity];
+        int size = 0;
+        for (String term : distinct) {
+            for (Member owner : groups.get(term)) {
+                terms[size] = term;
+                owners[size] = owner;
+                size++;
+            }
+        }
+        return new MemberSearchIndex(terms, owners, size);
+    }
+
+    /**
+     * Nimmt ein Mitglied in den Index auf, z.B. nach dem Hinzufügen eines Eintrags.
+     *
+     * @param member Das neue Mitglied.
+     */
+    public void add(Member member) {
+        for (String term : terms(member)) {
+            if (size == terms.length) {
+                terms = Arrays.copyOf(terms, size * 2);
+                owners = Arrays.copyOf(owners, size * 2);
+            }
+            // Hinter gleichen Begriffen einfügen, sodass die Reihenfolge des Hinzufügens erhalten bleibt
+            int position = upperBound(term);
+            System.arraycopy(terms, position, terms, position + 1, size - position);
+            System.arraycopy(owners, position, owners, position + 1, size - position);
+            terms[position] = term;
+            owners[position] = member;
+            size++;
+        }
+    }
+
+    /**
+     * Entfernt ein Mitglied aus dem Index. Verglichen wird die Identität des Objekts, also dasselbe Objekt,
+     * das zuvor aufgenommen wurde.
+     *
+     * @param member Das zu entfernende Mitglied.
+     * @return `true`, wenn das Mitglied im Index enthalten war.
+     */
+    public boolean remove(Member member) {
+        boolean removed = false;
+        for (String term : terms(member)) {
+            for (int i = lowerBound(term); i < size && terms[i].equals(term); i++) {
+                if (owners[i] == member) {
+                    System.arraycopy(terms, i + 1, terms, i, size - i - 1);
+                    System.arraycopy(owners, i + 1, owners, i, size - i - 1);
+                    size--;
+                    terms[size] = null;
+                    owners[size] = null;
+                    removed = true;
+                    break;
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Sucht die Mitglieder, bei denen ein Suchbegriff mit der Eingabe beginnt. Die Eingabe wird wie die
+     * Suchbegriffe gefaltet. Die Treffer sind nach dem passenden Begriff sortiert; jedes Mitglied ist höchstens
+     * einmal enthalten, auch wenn mehrere seiner Begriffe passen.
+     *
+     * @param query Die Eingabe, z.B. die ersten Buchstaben eines Namens.
+     * @param limit Die maximale Anzahl der Treffer.
+     * @return Die Treffer als unveränderliche Liste, leer bei leerer Eingabe.
+     */
+    public List<Member> search(String query, int limit) {
+        String prefix = fold(query.trim());
+        if (prefix.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<Member> result = new ArrayList<>(Math.min(limit, 64));
+        Set<Member> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = lowerBound(prefix); i < size && terms[i].startsWith(prefix); i++) {
+            if (seen.add(owners[i])) {
+                result.add(owners[i]);
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * @return Die Anzahl der Suchbegriffe im Index.
+     */
+    public int getTermCount() {
+        return size;
+    }
+
+    /**
+     * Faltet einen Text für die Suche: Kleinbuchstaben, ohne diakritische Zeichen, "ß" als "ss".
+     *
+     * @param text Der zu faltende Text.
+     * @return Der gefaltete Text.
+     */
+    static String fold(String text) {
+        StringBuilder folded = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            char replacement;
+            if (c < FOLD_TABLE.length) {
+                replacement = FOLD_TABLE[c];
+            } else {
+                // Zeichen außerhalb der lateinischen Blöcke werden über die allgemeine Zerlegung gefaltet
+                return foldDecomposed(text);
+            }
+            if (replacement == c && c != SHARP_S && folded == null) {
+                // Bis zum ersten geänderten Zeichen wird nichts kopiert
+                continue;
+            }
+            if (folded == null) {
+                folded = new StringBuilder(text.length() + 1).append(text, 0, i);
+            }
+            if (replacement == SHARP_S) {
+                folded.append("ss");
+            } else if (replacement != NO_CHAR) {
+                folded.append(replacement);
+            }
+        }
+        return folded == null ? text : folded.toString();
+    }
+
+    /**
+     * Faltet einen Text über die Zerlegung in Grundbuchstaben und getrennte Akzente, die anschließend weggelassen
+     * werden. Langsamer als die Tabelle, aber für beliebige Zeichen geeignet.
+     */
+    private static String foldDecomposed(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length() + 1);
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            char lower = Character.toLowerCase(c);
+            if (lower == SHARP_S) {
+                folded.append("ss");
+            } else {
+                folded.append(lower);
+            }
+        }
+        return folded.toString();
+    }
+
+    /**
+     * Berechnet die Faltung der lateinischen Zeichen bis einschließlich "Latin Extended-B" einmalig im Voraus.
+     * Jedes Zeichen wird auf genau ein Zeichen abgebildet; "ß" bleibt stehen und wird beim Falten ersetzt,
+     * reine Akzentzeichen werden auf {@link #NO_CHAR} abgebildet und entfallen.
+     */
+    private static char[] buildFoldTable() {
+        char[] table = new char[0x250];
+        for (char c = 0; c < table.length; c++) {
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                table[c] = NO_CHAR;
+                continue;
+            }
+            String folded = foldDecomposed(String.valueOf(c));
+            table[c] = folded.length() == 1 ? folded.charAt(0) : Character.toLowerCase(c);
+            if (c == SHARP_S) {
+                table[c] = SHARP_S;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Bildet die gefalteten Suchbegriffe eines Mitglieds.
+     */
+    private static List<String> terms(Member member) {
+        List<String> terms = new ArrayList<>(6);
+        addWords(terms, fold(member.getName()));
+        addWords(terms, fold(member.getVorname()));
+        addTerm(terms, fold(member.getEmail()));
+        addTerm(terms, fold(member.getId()));
+        return terms;
+    }
+
+    /**
+     * Fügt das vollständige Feld und jedes weitere Wort nach einem Leer- oder Bindestrich als Begriff hinzu.
+     */
+    private static void addWords(List<String> terms, String field) {
+        addTerm(terms, field);
+        for (int i = 1; i < field.length(); i++) {
+            char previous = field.charAt(i - 1);
+            if ((previous == ' ' || previous == '-') && field.charAt(i) != ' ' && field.charAt(i) != '-') {
+                addTerm(terms, field.substring(i));
+            }
+        }
+    }
+
+    private static void addTerm(List<String> terms, String term) {
+        String trimmed = term.trim();
+        if (!trimmed.isEmpty()) {
+            terms.add(trimmed);
+        }
+    }
+
+    /**
+     * @return Die erste Position, deren Begriff nicht kleiner als der übergebene ist.
+     */
+    private int lowerBound(String term) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (terms[mid].compareTo(term) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return Die erste Position, deren Begriff größer als der übergebene ist.
+     */
+    private int upperBound(String term) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (terms[mid].compareTo(term) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
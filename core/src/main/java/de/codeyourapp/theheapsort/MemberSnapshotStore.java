@@ -0,0 +1,109 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Diese Klasse speichert den zuletzt bekannten Datenstand der Mitglieder in einer Datei auf dem Gerät, sodass er
+ * beim nächsten Start ohne Datenbankabfrage angezeigt werden kann.
+ *
+ * Die Datei beginnt mit einer Kennung und der Anzahl der Datensätze; danach folgen die Datensätze im Binärformat
+ * des {@link MemberBinaryCodec} und zum Abschluss noch einmal die Kennung. Geschrieben wird zunächst eine temporäre
+ * Datei, die erst nach dem vollständigen Schreiben umbenannt wird. Eine abgebrochene Speicherung hinterlässt damit
+ * immer den vorherigen, vollständigen Stand.
+ *
+ * Ein MemberSnapshotStore ist nicht threadsicher und wird nur auf dem Hintergrund-Thread verwendet.
+ */
+public final class MemberSnapshotStore {
+
+    // Kennung am Anfang und Ende der Datei ("MBS" und Formatversion 1)
+    private static final int MAGIC = 0x4d425301;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File file;
+
+    /**
+     * Konstruktor für den MemberSnapshotStore.
+     *
+     * @param file Die Datei, in der der Datenstand gespeichert wird.
+     */
+    public MemberSnapshotStore(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Speichert den übergebenen Datenstand und ersetzt den bisher gespeicherten.
+     *
+     * @param members Die zu speichernden Mitglieder in ihrer Reihenfolge.
+     * @throws IOException Wenn die Datei nicht geschrieben werden kann.
+     */
+    public void save(Collection<Member> members) throws IOException {
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Verzeichnis kann nicht angelegt werden: " + directory);
+        }
+        File tempFile = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile), BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeInt(members.size());
+            for (Member member : members) {
+                MemberBinaryCodec.write(out, member);
+            }
+            out.writeInt(MAGIC);
+        } catch (IOException e) {
+            tempFile.delete();
+            throw e;
+        }
+        if (!tempFile.renameTo(file)) {
+            tempFile.delete();
+            throw new IOException("Datenstand kann nicht gespeichert werden: " + file);
+        }
+    }
+
+    /**
+     * Liest den gespeicherten Datenstand.
+     *
+     * @return Die gespeicherten Mitglieder in ihrer Reihenfolge, oder null, wenn noch kein Stand gespeichert wurde.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann oder unvollständig ist.
+     */
+    public List<Member> load() throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Unbekanntes Format: " + file);
+            }
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IOException("Ungültige Anzahl " + count + ": " + file);
+            }
+            // Die Anzahl stammt aus der Datei und wird daher nur begrenzt zur Vorbelegung genutzt.
+            List<Member> members = new ArrayList<>(Math.min(count, 1 << 16));
+            for (int i = 0; i < count; i++) {
+                members.add(MemberBinaryCodec.read(in));
+            }
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Unvollständige Datei: " + file);
+            }
+            return members;
+        }
+    }
+
+    /**
+     * Löscht den gespeicherten Datenstand, z.B. wenn er nicht mehr gelesen werden kann.
+     */
+    public void clear() {
+        file.delete();
+    }
+}
@@ -0,0 +1,169 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.util.List;
+
+/**
+ * Diese Klasse enthält die Regeln, nach denen die Angaben eines neuen Mitglieds geprüft werden. Sie gelten
+ * sowohl für den Dialog zum Hinzufügen eines Eintrags als auch für den Import ganzer Dateien.
+ *
+ * Alle Felder müssen ausgefüllt sein, und die E-Mail-Adresse muss dem Muster
+ * {@code [a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\.[a-zA-Z]{2,}} entsprechen. Die E-Mail-Adresse wird dafür nicht mit einem
+ * regulären Ausdruck, sondern in einem einzigen Durchlauf Zeichen für Zeichen geprüft. Die Prüfung legt keine
+ * Objekte an, sodass auch sehr viele Zeilen eines Imports ohne Speicherbedarf pro Zeile geprüft werden.
+ *
+ * Das Ergebnis einer Prüfung sind Fehler-Flags pro Feld ({@link #NAME}, {@link #VORNAME}, {@link #EMAIL},
+ * {@link #ID}), sodass in einem Durchlauf alle fehlerhaften Felder bekannt sind; {@link #VALID} bedeutet,
+ * dass alle Angaben gültig sind.
+ */
+public final class MemberValidator {
+
+    // Ergebnis ohne Fehler
+    public static final int VALID = 0;
+    // Fehler-Flags der einzelnen Felder
+    public static final int NAME = 1;
+    public static final int VORNAME = 1 << 1;
+    public static final int EMAIL = 1 << 2;
+    public static final int ID = 1 << 3;
+
+    // Mindestlänge der Endung nach dem letzten Punkt der Domain, z.B. "de"
+    private static final int MIN_TOP_LEVEL_DOMAIN_LENGTH = 2;
+
+    private MemberValidator() {
+    }
+
+    /**
+     * Prüft alle Angaben eines neuen Mitglieds.
+     *
+     * @param name    Der eingegebene Name.
+     * @param vorname Der eingegebene Vorname.
+     * @param email   Die eingegebene E-Mail-Adresse.
+     * @param id      Die eingegebene ID.
+     * @return {@link #VALID}, oder die Fehler-Flags aller ungültigen Felder.
+     */
+    public static int validate(String name, String vorname, String email, String id) {
+        int errors = VALID;
+        if (name.isEmpty()) {
+            errors |= NAME;
+        }
+        if (vorname.isEmpty()) {
+            errors |= VORNAME;
+        }
+        if (!isValidEmail(email)) {
+            errors |= EMAIL;
+        }
+        if (id.isEmpty()) {
+            errors |= ID;
+        }
+        return errors;
+    }
+
+    /**
+     * Prüft die Angaben einer Zeile einer Importdatei.
+     *
+     * @param row Die Zeile.
+     * @return {@link #VALID}, oder die Fehler-Flags aller ungültigen Felder.
+     */
+    public static int validate(MemberImportReader.Row row) {
+        return validate(row.getName(), row.getVorname(), row.getEmail(), row.getId());
+    }
+
+    /**
+     * Prüft viele Zeilen einer Importdatei auf einmal. Die Ergebnisse werden in ein vom Aufrufer bereitgestelltes
+     * Array geschrieben, das für jeden Block wiederverwendet werden kann.
+     *
+     * @param rows   Die Zeilen.
+     * @param errors Erhält an derselben Position das Ergebnis jeder Zeile; muss mindestens so lang sein wie rows.
+     * @return Die Anzahl der gültigen Zeilen.
+     */
+    public static int validateAll(List<MemberImportReader.Row> rows, int[] errors) {
+        if (errors.length < rows.size()) {
+            throw new IllegalArgumentException("Zu kleines Ergebnis-Array: " + errors.length + " < " + rows.size());
+        }
+        int validCount = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            errors[i] = validate(rows.get(i));
+            if (errors[i] == VALID) {
+                validCount++;
+            }
+        }
+        return validCount;
+    }
+
+    /**
+     * Gibt an, ob ein Feld in den Fehler-Flags einer Prüfung enthalten ist.
+     *
+     * @param errors Das Ergebnis einer Prüfung.
+     * @param field  Das Fehler-Flag des Feldes, z.B. {@link #EMAIL}.
+     * @return `true`, wenn das Feld ungültig ist.
+     */
+    public static boolean hasError(int errors, int field) {
+        return (errors & field) != 0;
+    }
+
+    /**
+     * Überprüft die Gültigkeit der eingegebenen Daten.
+     *
+     * @param name    Der eingegebene Name.
+     * @param vorname Der eingegebene Vorname.
+     * @param email   Die eingegebene E-Mail-Adresse.
+     * @param id      Die eingegebene ID.
+     * @return True, wenn alle Daten gültig sind, andernfalls False.
+     */
+    public static boolean isValidData(String name, String vorname, String email, String id) {
+        return validate(name, vorname, email, id) == VALID;
+    }
+
+    /**
+     * Überprüft die Gültigkeit einer E-Mail-Adresse in einem Durchlauf. Das Ergebnis entspricht dem regulären
+     * Ausdruck {@code [a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\.[a-zA-Z]{2,}}: ein nicht leerer lokaler Teil, genau ein "@"
+     * und eine Domain, deren Teil nach dem letzten Punkt aus mindestens zwei Buchstaben besteht und deren Teil vor
+     * dem letzten Punkt nicht leer ist.
+     *
+     * @param email Die zu überprüfende E-Mail-Adresse.
+     * @return True, wenn die E-Mail-Adresse gültig ist, andernfalls False.
+     */
+    public static boolean isValidEmail(String email) {
+        int length = email.length();
+        int i = 0;
+        // Lokaler Teil bis zum "@"
+        while (i < length && email.charAt(i) != '@') {
+            if (!isLocalChar(email.charAt(i))) {
+                return false;
+            }
+            i++;
+        }
+        if (i == 0 || i == length) {
+            return false;
+        }
+        int domainStart = ++i;
+        // Domain: Position des letzten Punkts und ob seitdem nur Buchstaben folgen
+        int lastDot = -1;
+        boolean lettersAfterDot = false;
+        for (; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                lastDot = i;
+                lettersAfterDot = true;
+            } else if (isAsciiDigit(c) || c == '-') {
+                // Ziffern und Bindestriche sind in der Endung nicht erlaubt
+                lettersAfterDot = false;
+            } else if (!isAsciiLetter(c)) {
+                return false;
+            }
+        }
+        return lastDot > domainStart && lettersAfterDot && length - lastDot - 1 >= MIN_TOP_LEVEL_DOMAIN_LENGTH;
+    }
+
+    private static boolean isLocalChar(char c) {
+        return isAsciiLetter(c) || isAsciiDigit(c) || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
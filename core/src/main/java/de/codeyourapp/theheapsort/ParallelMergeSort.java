@@ -0,0 +1,268 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Diese Klasse sortiert Permutationen von Zeilennummern mit einer Mergesort, die große Teilbereiche über das
+ * Fork/Join-Framework auf alle Prozessorkerne verteilt. Sie ergänzt {@link HeapSort} für sehr große Datenstände;
+ * welche Sortierung ein {@link MemberIndex} verwendet, legt die {@link SortPolicy} fest.
+ *
+ * Der Bereich wird halbiert, bis ein Teilbereich höchstens {@link #SEQUENTIAL_GRAIN} Einträge umfasst. Diese
+ * Teilbereiche werden sequenziell sortiert (kurze Abschnitte per Insertionsort), danach werden die Hälften
+ * wieder zusammengeführt. Bei gleichen Schlüsseln entscheidet wie bei HeapSort die Zeilennummer, sodass beide
+ * Verfahren für dieselben Eingaben dieselbe Reihenfolge liefern.
+ *
+ * Jeder Teilbereich zählt seine Vergleiche in einer eigenen {@link SortStatistics}; die Zählungen werden nach
+ * dem Zusammenführen addiert. Da die Mergesort Elemente verschiebt statt sie zu vertauschen, bleiben die
+ * Vertauschungen und Sift-Downs bei 0.
+ */
+public final class ParallelMergeSort {
+
+    // Teilbereiche bis zu dieser Größe werden nicht weiter aufgeteilt
+    static final int SEQUENTIAL_GRAIN = 8192;
+    // Abschnitte bis zu dieser Größe werden per Insertionsort sortiert
+    private static final int INSERTION_SORT_SIZE = 32;
+
+    private ParallelMergeSort() {
+    }
+
+    /**
+     * Sortiert eine Permutation von Zeilennummern aufsteigend nach den übergebenen long-Schlüsseln.
+     * {@code keys[i]} ist der Schlüssel von {@code indices[i]}; beide Arrays werden gemeinsam umgeordnet.
+     *
+     * @param indices Die zu sortierenden Zeilennummern.
+     * @param keys    Die Schlüssel der Zeilen, gleich lang wie {@code indices}.
+     * @return Die Zählungen dieses Sortiervorgangs.
+     */
+    public static SortStatistics sortByKey(int[] indices, long[] keys) {
+        if (indices.length != keys.length) {
+            throw new IllegalArgumentException("indices und keys müssen gleich lang sein");
+        }
+        int n = indices.length;
+        return ForkJoinPool.commonPool().invoke(new LongKeyTask(indices, keys, new int[n], new long[n], 0, n));
+    }
+
+    /**
+     * Sortiert eine Permutation von Zeilennummern aufsteigend nach Byte-Schlüsseln (z.B. Kollationsschlüsseln).
+     * Die Schlüssel werden wie bei {@link HeapSort#compareUnsigned(byte[], byte[])} verglichen.
+     *
+     * @param indices Die zu sortierenden Zeilennummern.
+     * @param keys    Die Schlüssel der Zeilen, gleich lang wie {@code indices}.
+     * @return Die Zählungen dieses Sortiervorgangs.
+     */
+    public static SortStatistics sortByKey(int[] indices, byte[][] keys) {
+        if (indices.length != keys.length) {
+            throw new IllegalArgumentException("indices und keys müssen gleich lang sein");
+        }
+        int n = indices.length;
+        return ForkJoinPool.commonPool().invoke(new ByteKeyTask(indices, keys, new int[n], new byte[n][], 0, n));
+    }
+
+    private static int compare(long key1, int row1, long key2, int row2) {
+        int result = Long.compare(key1, key2);
+        return result != 0 ? result : Integer.compare(row1, row2);
+    }
+
+    private static int compare(byte[] key1, int row1, byte[] key2, int row2) {
+        int result = HeapSort.compareUnsigned(key1, key2);
+        return result != 0 ? result : Integer.compare(row1, row2);
+    }
+
+    /**
+     * Sortiert den Bereich [from, to) nach long-Schlüsseln. Die Puffer sind so groß wie die Arrays; jede
+     * Aufgabe verwendet nur ihren eigenen Bereich darin.
+     */
+    private static final class LongKeyTask extends RecursiveTask<SortStatistics> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] indices;
+        private final long[] keys;
+        private final int[] indexBuffer;
+        private final long[] keyBuffer;
+        private final int from;
+        private final int to;
+
+        LongKeyTask(int[] indices, long[] keys, int[] indexBuffer, long[] keyBuffer, int from, int to) {
+            this.indices = indices;
+            this.keys = keys;
+            this.indexBuffer = indexBuffer;
+            this.keyBuffer = keyBuffer;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SortStatistics compute() {
+            SortStatistics statistics = new SortStatistics();
+            if (to - from <= SEQUENTIAL_GRAIN) {
+                sort(from, to, statistics);
+                return statistics;
+            }
+            int mid = (from + to) >>> 1;
+            LongKeyTask left = new LongKeyTask(indices, keys, indexBuffer, keyBuffer, from, mid);
+            LongKeyTask right = new LongKeyTask(indices, keys, indexBuffer, keyBuffer, mid, to);
+            invokeAll(left, right);
+            statistics.add(left.join());
+            statistics.add(right.join());
+            merge(from, mid, to, statistics);
+            return statistics;
+        }
+
+        private void sort(int from, int to, SortStatistics statistics) {
+            if (to - from <= INSERTION_SORT_SIZE) {
+                insertionSort(from, to, statistics);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            sort(from, mid, statistics);
+            sort(mid, to, statistics);
+            merge(from, mid, to, statistics);
+        }
+
+        private void insertionSort(int from, int to, SortStatistics statistics) {
+            for (int i = from + 1; i < to; i++) {
+                int row = indices[i];
+                long key = keys[i];
+                int j = i - 1;
+                while (j >= from) {
+                    statistics.addComparison();
+                    if (compare(keys[j], indices[j], key, row) <= 0) {
+                        break;
+                    }
+                    indices[j + 1] = indices[j];
+                    keys[j + 1] = keys[j];
+                    j--;
+                }
+                indices[j + 1] = row;
+                keys[j + 1] = key;
+            }
+        }
+
+        private void merge(int from, int mid, int to, SortStatistics statistics) {
+            // Liegen die Hälften bereits in der richtigen Reihenfolge, ist nichts zu tun
+            statistics.addComparison();
+            if (compare(keys[mid - 1], indices[mid - 1], keys[mid], indices[mid]) <= 0) {
+                return;
+            }
+            // Die linke Hälfte in den Puffer kopieren und von vorne zusammenführen
+            int leftLength = mid - from;
+            System.arraycopy(indices, from, indexBuffer, from, leftLength);
+            System.arraycopy(keys, from, keyBuffer, from, leftLength);
+            int left = from;
+            int right = mid;
+            int target = from;
+            while (left < mid && right < to) {
+                statistics.addComparison();
+                if (compare(keyBuffer[left], indexBuffer[left], keys[right], indices[right]) <= 0) {
+                    indices[target] = indexBuffer[left];
+                    keys[target++] = keyBuffer[left++];
+                } else {
+                    indices[target] = indices[right];
+                    keys[target++] = keys[right++];
+                }
+            }
+            // Reste der linken Hälfte übernehmen; Reste der rechten Hälfte stehen bereits an ihrer Position
+            int remaining = mid - left;
+            System.arraycopy(indexBuffer, left, indices, target, remaining);
+            System.arraycopy(keyBuffer, left, keys, target, remaining);
+        }
+    }
+
+    /**
+     * Sortiert den Bereich [from, to) nach Byte-Schlüsseln, analog zu {@link LongKeyTask}.
+     */
+    private static final class ByteKeyTask extends RecursiveTask<SortStatistics> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] indices;
+        private final byte[][] keys;
+        private final int[] indexBuffer;
+        private final byte[][] keyBuffer;
+        private final int from;
+        private final int to;
+
+        ByteKeyTask(int[] indices, byte[][] keys, int[] indexBuffer, byte[][] keyBuffer, int from, int to) {
+            this.indices = indices;
+            this.keys = keys;
+            this.indexBuffer = indexBuffer;
+            this.keyBuffer = keyBuffer;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SortStatistics compute() {
+            SortStatistics statistics = new SortStatistics();
+            if (to - from <= SEQUENTIAL_GRAIN) {
+                sort(from, to, statistics);
+                return statistics;
+            }
+            int mid = (from + to) >>> 1;
+            ByteKeyTask left = new ByteKeyTask(indices, keys, indexBuffer, keyBuffer, from, mid);
+            ByteKeyTask right = new ByteKeyTask(indices, keys, indexBuffer, keyBuffer, mid, to);
+            invokeAll(left, right);
+            statistics.add(left.join());
+            statistics.add(right.join());
+            merge(from, mid, to, statistics);
+            return statistics;
+        }
+
+        private void sort(int from, int to, SortStatistics statistics) {
+            if (to - from <= INSERTION_SORT_SIZE) {
+                insertionSort(from, to, statistics);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            sort(from, mid, statistics);
+            sort(mid, to, statistics);
+            merge(from, mid, to, statistics);
+        }
+
+        private void insertionSort(int from, int to, SortStatistics statistics) {
+            for (int i = from + 1; i < to; i++) {
+                int row = indices[i];
+                byte[] key = keys[i];
+                int j = i - 1;
+                while (j >= from) {
+                    statistics.addComparison();
+                    if (compare(keys[j], indices[j], key, row) <= 0) {
+                        break;
+                    }
+                    indices[j + 1] = indices[j];
+                    keys[j + 1] = keys[j];
+                    j--;
+                }
+                indices[j + 1] = row;
+                keys[j + 1] = key;
+            }
+        }
+
+        private void merge(int from, int mid, int to, SortStatistics statistics) {
+            statistics.addComparison();
+            if (compare(keys[mid - 1], indices[mid - 1], keys[mid], indices[mid]) <= 0) {
+                return;
+            }
+            int leftLength = mid - from;
+            System.arraycopy(indices, from, indexBuffer, from, leftLength);
+            System.arraycopy(keys, from, keyBuffer, from, leftLength);
+            int left = from;
+            int right = mid;
+            int target = from;
+            while (left < mid && right < to) {
+                statistics.addComparison();
+                if (compare(keyBuffer[left], indexBuffer[left], keys[right], indices[right]) <= 0) {
+                    indices[target] = indexBuffer[left];
+                    keys[target++] = keyBuffer[left++];
+                } else {
+                    indices[target] = indices[right];
+                    keys[target++] = keys[right++];
+                }
+            }
+            int remaining = mid - left;
+            System.arraycopy(indexBuffer, left, indices, target, remaining);
+            System.arraycopy(keyBuffer, left, keys, target, remaining);
+        }
+    }
+}
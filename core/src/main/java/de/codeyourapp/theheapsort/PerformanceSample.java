@@ -0,0 +1,102 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+/**
+ * Diese Klasse hält die Messwerte eines einzelnen Durchlaufs von Abfrage, Sortierung und Anzeige, z.B. einer
+ * Sortierung nach dem Namen. Die Dauer wird für jede {@link Phase} getrennt in Nanosekunden erfasst, sodass
+ * erkennbar ist, welcher Schritt bei wachsender Datenmenge langsamer wird.
+ *
+ * Ein PerformanceSample ist unveränderlich.
+ */
+public final class PerformanceSample {
+
+    /**
+     * Die Phasen eines Durchlaufs in ihrer zeitlichen Reihenfolge.
+     */
+    public enum Phase {
+        /** Abfrage der Datenbank bzw. Warten auf den zwischengespeicherten Datenstand. */
+        QUERY,
+        /** Umwandlung der Dokumente in Mitglieder. */
+        DECODE,
+        /** Sortierung bzw. Auswahl der anzuzeigenden Datensätze. */
+        SORT,
+        /** Formatierung der Zeitstempel für die Anzeige. */
+        FORMAT,
+        /** Übergabe an die Anzeige auf dem Haupt-Thread. */
+        BIND
+    }
+
+    private final String label;
+    private final long timestampMillis;
+    private final long[] phaseNanos;
+    private final int recordCount;
+    private final long comparisons;
+    private final long swaps;
+    private final boolean fromCache;
+
+    /**
+     * Konstruktor für ein PerformanceSample.
+     *
+     * @param label           Die Bezeichnung des Durchlaufs, z.B. "name" oder "heapsort".
+     * @param timestampMillis Der Zeitpunkt des Durchlaufs (Systemzeit in Millisekunden), nur für den Export.
+     * @param phaseNanos      Die Dauer jeder Phase in Nanosekunden, in der Reihenfolge von {@link Phase}.
+     * @param recordCount     Die Anzahl der verarbeiteten bzw. angezeigten Datensätze.
+     * @param statistics      Die Zählungen des Sortiervorgangs, oder null, wenn keine erfasst wurden.
+     * @param fromCache       `true`, wenn die Daten ohne Datenbankabfrage aus dem Zwischenspeicher stammen.
+     */
+    public PerformanceSample(String label, long timestampMillis, long[] phaseNanos, int recordCount, SortStatistics statistics, boolean fromCache) {
+        if (phaseNanos.length != Phase.values().length) {
+            throw new IllegalArgumentException("Erwartet " + Phase.values().length + " Phasen, erhalten " + phaseNanos.length);
+        }
+        this.label = label;
+        this.timestampMillis = timestampMillis;
+        this.phaseNanos = phaseNanos.clone();
+        this.recordCount = recordCount;
+        this.comparisons = statistics == null ? 0 : statistics.getComparisons();
+        this.swaps = statistics == null ? 0 : statistics.getSwaps();
+        this.fromCache = fromCache;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    /**
+     * @param phase Die Phase.
+     * @return Die Dauer der Phase in Nanosekunden.
+     */
+    public long getNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * @return Die Summe aller Phasen in Nanosekunden.
+     */
+    public long getTotalNanos() {
+        long total = 0;
+        for (long nanos : phaseNanos) {
+            total += nanos;
+        }
+        return total;
+    }
+
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    public long getComparisons() {
+        return comparisons;
+    }
+
+    public long getSwaps() {
+        return swaps;
+    }
+
+    public boolean isFromCache() {
+        return fromCache;
+    }
+}
@@ -0,0 +1,261 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Diese Klasse sammelt die Messwerte der letzten Durchläufe ({@link PerformanceSample}) in einem Ringpuffer fester
+ * Größe. Ist der Puffer voll, ersetzt jeder neue Durchlauf den ältesten, sodass der Speicherbedarf begrenzt bleibt.
+ *
+ * Aus den gesammelten Durchläufen lassen sich Perzentile je Bezeichnung und Phase berechnen, z.B. der Median der
+ * Sortierdauer aller Sortierungen nach dem Namen. Die Durchläufe können als CSV oder JSON exportiert werden.
+ *
+ * Alle Methoden sind threadsicher; Durchläufe werden auf dem Haupt-Thread erfasst und können auf einem anderen
+ * Thread exportiert werden.
+ */
+public final class PerformanceTelemetry {
+
+    // Standardgröße des Ringpuffers
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final PerformanceSample[] samples;
+    // Position des nächsten Eintrags und Anzahl der belegten Einträge
+    private int next = 0;
+    private int count = 0;
+
+    /**
+     * Konstruktor für eine PerformanceTelemetry mit {@link #DEFAULT_CAPACITY} Einträgen.
+     */
+    public PerformanceTelemetry() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Konstruktor für eine PerformanceTelemetry.
+     *
+     * @param capacity Die Anzahl der Durchläufe, die höchstens gespeichert werden.
+     */
+    public PerformanceTelemetry(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Ungültige Größe " + capacity);
+        }
+        this.samples = new PerformanceSample[capacity];
+    }
+
+    /**
+     * Erfasst einen Durchlauf. Ist der Puffer voll, wird der älteste Durchlauf verworfen.
+     *
+     * @param sample Die Messwerte des Durchlaufs.
+     */
+    public synchronized void record(PerformanceSample sample) {
+        samples[next] = sample;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    /**
+     * @return Die gespeicherten Durchläufe, der älteste zuerst.
+     */
+    public synchronized List<PerformanceSample> getSamples() {
+        List<PerformanceSample> result = new ArrayList<>(count);
+        int first = (next - count + samples.length) % samples.length;
+        for (int i = 0; i < count; i++) {
+            result.add(samples[(first + i) % samples.length]);
+        }
+        return result;
+    }
+
+    /**
+     * Verwirft alle gespeicherten Durchläufe.
+     */
+    public synchronized void clear() {
+        Arrays.fill(samples, null);
+        next = 0;
+        count = 0;
+    }
+
+    /**
+     * @return Die Bezeichnungen der gespeicherten Durchläufe in der Reihenfolge ihres ersten Auftretens.
+     */
+    public List<String> getLabels() {
+        Set<String> labels = new LinkedHashSet<>();
+        for (PerformanceSample sample : getSamples()) {
+            labels.add(sample.getLabel());
+        }
+        return new ArrayList<>(labels);
+    }
+
+    /**
+     * Berechnet ein Perzentil der Dauer einer Phase über alle Durchläufe mit der angegebenen Bezeichnung.
+     *
+     * @param label      Die Bezeichnung der Durchläufe.
+     * @param phase      Die Phase, oder null für die Gesamtdauer.
+     * @param percentile Das Perzentil zwischen 0 und 100, z.B. 50 für den Median.
+     * @return Die Dauer in Nanosekunden, oder -1, wenn kein Durchlauf mit der Bezeichnung gespeichert ist.
+     */
+    public long percentile(String label, PerformanceSample.Phase phase, double percentile) {
+        long[] values = values(getSamples(), label, phase);
+        Arrays.sort(values);
+        return percentileOfSorted(values, percentile);
+    }
+
+    /**
+     * Bestimmt ein Perzentil nach dem Rangverfahren (nearest rank) aus bereits sortierten Werten.
+     *
+     * @param sortedValues Die aufsteigend sortierten Werte.
+     * @param percentile   Das Perzentil zwischen 0 und 100.
+     * @return Der Wert des Perzentils, oder -1 bei leerer Eingabe.
+     */
+    static long percentileOfSorted(long[] sortedValues, double percentile) {
+        if (sortedValues.length == 0) {
+            return -1;
+        }
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Ungültiges Perzentil " + percentile);
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedValues.length);
+        return sortedValues[Math.max(0, rank - 1)];
+    }
+
+    private static long[] values(List<PerformanceSample> samples, String label, PerformanceSample.Phase phase) {
+        long[] values = new long[samples.size()];
+        int size = 0;
+        for (PerformanceSample sample : samples) {
+            if (sample.getLabel().equals(label)) {
+                values[size++] = phase == null ? sample.getTotalNanos() : sample.getNanos(phase);
+            }
+        }
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Fasst die gespeicherten Durchläufe als Tabelle zusammen: für jede Bezeichnung die Perzentile 50, 90 und 99
+     * der Gesamtdauer und jeder Phase in Millisekunden sowie die zuletzt verarbeitete Anzahl der Datensätze.
+     *
+     * @return Die Zusammenfassung als mehrzeiliger Text für eine Schrift mit fester Breite.
+     */
+    public String formatSummary() {
+        List<PerformanceSample> all = getSamples();
+        if (all.isEmpty()) {
+            return "Noch keine Messwerte.";
+        }
+        Set<String> labels = new LinkedHashSet<>();
+        for (PerformanceSample sample : all) {
+            labels.add(sample.getLabel());
+        }
+        StringBuilder summary = new StringBuilder();
+        for (String label : labels) {
+            PerformanceSample last = null;
+            int runs = 0;
+            for (PerformanceSample sample : all) {
+                if (sample.getLabel().equals(label)) {
+                    last = sample;
+                    runs++;
+                }
+            }
+            summary.append(label).append(" (").append(runs).append(" Durchläufe, zuletzt ").append(last.getRecordCount()).append(" Datensätze");
+            if (last.getComparisons() > 0 || last.getSwaps() > 0) {
+                summary.append(", ").append(last.getComparisons()).append(" Vergleiche, ").append(last.getSwaps()).append(" Vertauschungen");
+            }
+            summary.append(")\n");
+            summary.append(String.format(Locale.ROOT, "%-8s %9s %9s %9s%n", "ms", "p50", "p90", "p99"));
+            for (PerformanceSample.Phase phase : PerformanceSample.Phase.values()) {
+                appendPercentiles(summary, phase.name(), values(all, label, phase));
+            }
+            appendPercentiles(summary, "TOTAL", values(all, label, null));
+            summary.append('\n');
+        }
+        return summary.toString();
+    }
+
+    private static void appendPercentiles(StringBuilder summary, String name, long[] values) {
+        Arrays.sort(values);
+        summary.append(String.format(Locale.ROOT, "%-8s %9.2f %9.2f %9.2f%n", name,
+                percentileOfSorted(values, 50) / 1e6, percentileOfSorted(values, 90) / 1e6, percentileOfSorted(values, 99) / 1e6));
+    }
+
+    /**
+     * Exportiert die gespeicherten Durchläufe als CSV mit Semikolon als Trennzeichen, ein Durchlauf pro Zeile.
+     * Die Dauer der Phasen wird in Nanosekunden angegeben.
+     *
+     * @return Der CSV-Text mit Kopfzeile.
+     */
+    public String toCsv() {
+        StringBuilder csv = new StringBuilder("timestamp;label;records;fromCache");
+        for (PerformanceSample.Phase phase : PerformanceSample.Phase.values()) {
+            csv.append(';').append(phase.name().toLowerCase(Locale.ROOT)).append("Nanos");
+        }
+        csv.append(";totalNanos;comparisons;swaps\n");
+        for (PerformanceSample sample : getSamples()) {
+            csv.append(sample.getTimestampMillis()).append(';')
+                    .append(csvField(sample.getLabel())).append(';')
+                    .append(sample.getRecordCount()).append(';')
+                    .append(sample.isFromCache());
+            for (PerformanceSample.Phase phase : PerformanceSample.Phase.values()) {
+                csv.append(';').append(sample.getNanos(phase));
+            }
+            csv.append(';').append(sample.getTotalNanos())
+                    .append(';').append(sample.getComparisons())
+                    .append(';').append(sample.getSwaps()).append('\n');
+        }
+        return csv.toString();
+    }
+
+    /**
+     * Exportiert die gespeicherten Durchläufe als JSON-Array, ein Objekt pro Durchlauf. Die Dauer der Phasen wird
+     * in Nanosekunden angegeben.
+     *
+     * @return Der JSON-Text.
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("[");
+        List<PerformanceSample> all = getSamples();
+        for (int i = 0; i < all.size(); i++) {
+            PerformanceSample sample = all.get(i);
+            json.append(i == 0 ? "\n" : ",\n");
+            json.append("  {\"timestamp\": ").append(sample.getTimestampMillis())
+                    .append(", \"label\": ").append(jsonString(sample.getLabel()))
+                    .append(", \"records\": ").append(sample.getRecordCount())
+                    .append(", \"fromCache\": ").append(sample.isFromCache())
+                    .append(", \"phases\": {");
+            for (PerformanceSample.Phase phase : PerformanceSample.Phase.values()) {
+                json.append(phase.ordinal() == 0 ? "" : ", ")
+                        .append('"').append(phase.name().toLowerCase(Locale.ROOT)).append("Nanos\": ").append(sample.getNanos(phase));
+            }
+            json.append("}, \"totalNanos\": ").append(sample.getTotalNanos())
+                    .append(", \"comparisons\": ").append(sample.getComparisons())
+                    .append(", \"swaps\": ").append(sample.getSwaps()).append('}');
+        }
+        json.append(all.isEmpty() ? "]\n" : "\n]\n");
+        return json.toString();
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(';') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static String jsonString(String value) {
+        StringBuilder escaped = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20) {
+                escaped.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.append('"').toString();
+    }
+}
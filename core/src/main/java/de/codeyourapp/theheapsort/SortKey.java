@@ -0,0 +1,14 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+/**
+ * Die Schlüssel, nach denen ein {@link MemberIndex} die Mitglieder sortieren kann.
+ */
+public enum SortKey {
+    // Numerische "id", aufsteigend
+    ID,
+    // Zeitstempel, neueste zuerst
+    TIMESTAMP,
+    // Nachname nach den deutschen Sortierregeln
+    NAME
+}
@@ -0,0 +1,80 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Legt fest, welches Verfahren ein {@link MemberIndex} für einen Sortierschlüssel verwendet.
+ *
+ * Für die ausgewählten Schlüssel wird ab {@link #getParallelThreshold()} Datensätzen die
+ * {@link ParallelMergeSort} auf allen Prozessorkernen verwendet, darunter und für alle anderen Schlüssel
+ * der sequenzielle {@link HeapSort}. Beide Verfahren liefern dieselbe Reihenfolge; unterhalb der Schwelle
+ * überwiegt der Aufwand für das Aufteilen der Arbeit den Gewinn durch die weiteren Kerne.
+ */
+public final class SortPolicy {
+
+    /**
+     * Vorgabe für die Anzahl der Datensätze, ab der parallel sortiert wird.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 100_000;
+
+    /**
+     * Sortiert alle Schlüssel sequenziell mit Heapsort.
+     */
+    public static final SortPolicy SEQUENTIAL = new SortPolicy(EnumSet.noneOf(SortKey.class), Integer.MAX_VALUE);
+
+    private final Set<SortKey> parallelKeys;
+    private final int parallelThreshold;
+
+    private SortPolicy(Set<SortKey> parallelKeys, int parallelThreshold) {
+        this.parallelKeys = Collections.unmodifiableSet(parallelKeys);
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Erzeugt eine Vorgabe, die die übergebenen Schlüssel ab einer Mindestanzahl von Datensätzen parallel sortiert.
+     *
+     * @param parallelThreshold Die Anzahl der Datensätze, ab der parallel sortiert wird.
+     * @param keys              Die Schlüssel, die parallel sortiert werden dürfen.
+     * @return Die neue Vorgabe.
+     */
+    public static SortPolicy parallel(int parallelThreshold, SortKey... keys) {
+        if (parallelThreshold < 0) {
+            throw new IllegalArgumentException("parallelThreshold darf nicht negativ sein");
+        }
+        EnumSet<SortKey> parallelKeys = EnumSet.noneOf(SortKey.class);
+        parallelKeys.addAll(Arrays.asList(keys));
+        return new SortPolicy(parallelKeys, parallelThreshold);
+    }
+
+    /**
+     * Gibt an, ob eine Sortierung nach dem Schlüssel parallel ausgeführt wird. Auf Geräten mit nur einem
+     * Prozessorkern wird immer sequenziell sortiert.
+     *
+     * @param key  Der Sortierschlüssel.
+     * @param size Die Anzahl der zu sortierenden Datensätze.
+     * @return `true`, wenn die ParallelMergeSort verwendet wird.
+     */
+    public boolean isParallel(SortKey key, int size) {
+        return parallelKeys.contains(key)
+                && size >= parallelThreshold
+                && Runtime.getRuntime().availableProcessors() > 1;
+    }
+
+    /**
+     * @return Die Schlüssel, die parallel sortiert werden dürfen.
+     */
+    public Set<SortKey> getParallelKeys() {
+        return parallelKeys;
+    }
+
+    /**
+     * @return Die Anzahl der Datensätze, ab der parallel sortiert wird.
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+}
@@ -0,0 +1,74 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+/**
+ * Diese Klasse zählt die Operationen eines einzelnen Sortiervorgangs (Vergleiche, Vertauschungen und
+ * Sift-Down-Durchläufe). Für jeden Sortiervorgang wird eine eigene Instanz erzeugt, sodass gleichzeitig
+ * laufende Sortierungen ihre Zählungen nicht gegenseitig verfälschen.
+ *
+ * Eine Instanz wird nur von dem Thread beschrieben, der die Sortierung ausführt.
+ */
+public final class SortStatistics {
+
+    private long comparisons;
+    private long swaps;
+    private long siftDowns;
+
+    void addComparison() {
+        comparisons++;
+    }
+
+    void addSwap() {
+        swaps++;
+    }
+
+    void addSiftDown() {
+        siftDowns++;
+    }
+
+    /**
+     * Addiert die Zählungen eines Teilsortiervorgangs, z.B. eines Teilbereichs der parallelen Sortierung.
+     *
+     * @param other Die Zählungen des Teilsortiervorgangs. Dieser muss bereits abgeschlossen sein.
+     */
+    void add(SortStatistics other) {
+        comparisons += other.comparisons;
+        swaps += other.swaps;
+        siftDowns += other.siftDowns;
+    }
+
+    /**
+     * @return Die Anzahl der Schlüsselvergleiche.
+     */
+    public long getComparisons() {
+        return comparisons;
+    }
+
+    /**
+     * @return Die Anzahl der Vertauschungen zweier Elemente.
+     */
+    public long getSwaps() {
+        return swaps;
+    }
+
+    /**
+     * @return Die Anzahl der Sift-Down-Durchläufe beim Aufbau und Abbau des Heaps.
+     */
+    public long getSiftDowns() {
+        return siftDowns;
+    }
+
+    /**
+     * Gibt die Gesamtzahl der Schritte zurück, also die Summe aus Vergleichen und Vertauschungen.
+     *
+     * @return Die Anzahl der Schritte des Sortiervorgangs.
+     */
+    public long getStepCount() {
+        return comparisons + swaps;
+    }
+
+    @Override
+    public String toString() {
+        return comparisons + " Vergleiche, " + swaps + " Vertauschungen, " + siftDowns + " Sift-Downs";
+    }
+}
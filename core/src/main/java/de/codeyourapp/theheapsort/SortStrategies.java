@@ -0,0 +1,174 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Diese Klasse stellt die Sortierungen der App als {@link SortStrategy} bereit: die Reihenfolge der Datenbank,
+ * die Heapsort-Sortierung nach der ID, die Sortierung nach dem Namen, nach dem Zeitstempel und die zufällige
+ * Reihenfolge.
+ */
+public final class SortStrategies {
+
+    /**
+     * Die Reihenfolge, in der die Datenbank die Datensätze geliefert hat. Es wird nichts sortiert.
+     */
+    public static final SortStrategy SERVER_ORDER = new SortStrategy() {
+        @Override
+        public String getLabel() {
+            return "datenbank";
+        }
+
+        @Override
+        public String getTitle() {
+            return "Mitglieder";
+        }
+
+        @Override
+        public Comparator<Member> getComparator() {
+            return null;
+        }
+
+        @Override
+        public List<Member> sort(MemberIndex snapshot) {
+            return snapshot.getMembers();
+        }
+    };
+
+    /**
+     * Heapsort-Sortierung nach der numerischen ID über {@link DataSorterHeapsort}.
+     */
+    public static final SortStrategy HEAPSORT = new SortStrategy() {
+        @Override
+        public String getLabel() {
+            return "heapsort";
+        }
+
+        @Override
+        public String getTitle() {
+            return "Mitglieder (Sortierung der ID nach Heapsort)";
+        }
+
+        @Override
+        public Comparator<Member> getComparator() {
+            return DataSorterHeapsort.ID_COMPARATOR;
+        }
+
+        @Override
+        public List<Member> sort(MemberIndex snapshot) {
+            // Sortiert wird eine Permutation der Zeilennummern; die Zählungen gehören zu dem Sortiervorgang, der die
+            // (ggf. zwischengespeicherte) Reihenfolge berechnet hat.
+            return DataSorterHeapsort.sort(snapshot);
+        }
+    };
+
+    /**
+     * Sortierung nach dem Zeitstempel, neueste Einträge zuerst.
+     */
+    public static final SortStrategy NEWEST_FIRST = new SortStrategy() {
+        @Override
+        public String getLabel() {
+            return "zeitstempel";
+        }
+
+        @Override
+        public String getTitle() {
+            return "Mitglieder (Sortierung nach Timestamp, neueste zuerst)";
+        }
+
+        @Override
+        public Comparator<Member> getComparator() {
+            return MemberComparators.TIMESTAMP_DESCENDING;
+        }
+
+        @Override
+        public List<Member> sort(MemberIndex snapshot) {
+            return snapshot.byTimestampDescending();
+        }
+
+        @Override
+        public TopKCursor openCursor(MemberIndex snapshot, int pageSize) {
+            return snapshot.newestFirst(pageSize);
+        }
+    };
+
+    /**
+     * Zufällige Reihenfolge. Gemischt wird eine Kopie, der Datenstand bleibt unverändert.
+     */
+    public static final SortStrategy RANDOM = new SortStrategy() {
+        @Override
+        public String getLabel() {
+            return "zufaellig";
+        }
+
+        @Override
+        public String getTitle() {
+            return "Mitglieder (Zufällige Sortierung)";
+        }
+
+        @Override
+        public Comparator<Member> getComparator() {
+            return null;
+        }
+
+        @Override
+        public List<Member> sort(MemberIndex snapshot) {
+            List<Member> shuffled = new ArrayList<>(snapshot.getMembers());
+            Collections.shuffle(shuffled);
+            return shuffled;
+        }
+    };
+
+    private static final SortStrategy NAME_ASCENDING = new NameStrategy(true);
+    private static final SortStrategy NAME_DESCENDING = new NameStrategy(false);
+
+    private SortStrategies() {
+    }
+
+    /**
+     * Liefert die Sortierung nach dem Nachnamen gemäß den deutschen Sortierregeln, bei gleichem Nachnamen nach dem
+     * Vornamen und der ID.
+     *
+     * @param ascendingOrder Wenn `true`, erfolgt die Sortierung in aufsteigender Reihenfolge, andernfalls in absteigender Reihenfolge.
+     * @return Die Sortierung nach dem Namen.
+     */
+    public static SortStrategy byName(boolean ascendingOrder) {
+        return ascendingOrder ? NAME_ASCENDING : NAME_DESCENDING;
+    }
+
+    private static final class NameStrategy implements SortStrategy {
+        private final boolean ascendingOrder;
+
+        NameStrategy(boolean ascendingOrder) {
+            this.ascendingOrder = ascendingOrder;
+        }
+
+        @Override
+        public String getLabel() {
+            return "name";
+        }
+
+        @Override
+        public String getTitle() {
+            return ascendingOrder ? "Mitglieder (Alphabetisch sortiert, A-Z)" : "Mitglieder (Alphabetisch sortiert, Z-A)";
+        }
+
+        @Override
+        public Comparator<Member> getComparator() {
+            return MemberComparators.name(ascendingOrder);
+        }
+
+        @Override
+        public List<Member> sort(MemberIndex snapshot) {
+            return snapshot.byName(ascendingOrder);
+        }
+
+        @Override
+        public TopKCursor openCursor(MemberIndex snapshot, int pageSize) {
+            return snapshot.firstByName(ascendingOrder, pageSize);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Eine Sortierung der Mitglieder, die die {@link MemberIndex}-basierte Verarbeitung auf den zwischengespeicherten
+ * Datenstand anwendet. Abruf, Dekodieren, Formatieren und Anzeige sind für alle Sortierungen gleich; eine neue
+ * Sortierung muss daher nur dieses Interface implementieren. Die vorhandenen Sortierungen liefert
+ * {@link SortStrategies}.
+ *
+ * Die Methoden {@link #sort(MemberIndex)} und {@link #openCursor(MemberIndex, int)} werden auf dem
+ * Hintergrund-Thread aufgerufen.
+ */
+public interface SortStrategy {
+
+    /**
+     * @return Die Bezeichnung der Sortierung in der Telemetrie, z.B. "heapsort".
+     */
+    String getLabel();
+
+    /**
+     * @return Der Titel, der über der sortierten Liste angezeigt wird.
+     */
+    String getTitle();
+
+    /**
+     * @return Die Sortierreihenfolge, in die neue Einträge einsortiert werden, oder null, wenn neue Einträge am
+     * Ende angehängt werden.
+     */
+    Comparator<Member> getComparator();
+
+    /**
+     * Sortiert den gesamten Datenstand.
+     *
+     * @param snapshot Der aktuelle Datenstand mit seinen zwischengespeicherten Sortierungen.
+     * @return Die sortierte Liste. Eine {@link MemberIndex.Ordering} liefert zusätzlich die Zählungen des
+     * Sortiervorgangs.
+     */
+    List<Member> sort(MemberIndex snapshot);
+
+    /**
+     * Öffnet einen Cursor, der die Datensätze seitenweise in dieser Reihenfolge liefert, ohne den gesamten
+     * Datenstand zu sortieren. Sortierungen ohne Cursor werden mit {@link #sort(MemberIndex)} ausgeführt.
+     *
+     * @param snapshot Der aktuelle Datenstand.
+     * @param pageSize Die Anzahl der Datensätze pro Seite.
+     * @return Der Cursor, oder null, wenn die Sortierung keinen Cursor unterstützt.
+     */
+    default TopKCursor openCursor(MemberIndex snapshot, int pageSize) {
+        return null;
+    }
+}
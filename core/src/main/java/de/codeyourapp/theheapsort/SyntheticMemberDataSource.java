@@ -0,0 +1,147 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Diese Klasse ist ein Speicher im Arbeitsspeicher, der beim ersten Zugriff mit einer festen Anzahl synthetischer
+ * Mitglieder gefüllt wird. Namen, E-Mail-Adressen, IDs und Zeitstempel sehen aus wie echte Einträge: Namen
+ * wiederholen sich und enthalten Umlaute, die IDs sind eindeutig, aber zufällig verteilt, und die Zeitstempel
+ * liegen innerhalb von {@value #TIMESTAMP_RANGE_DAYS} Tagen. Damit lassen sich Laden, Sortieren und Anzeige mit
+ * z.B. einer Million Mitgliedern ohne Netzwerk messen.
+ *
+ * Alle Werte stammen aus einem festen Startwert, sodass dieselben Parameter immer dieselben Mitglieder ergeben.
+ */
+public class SyntheticMemberDataSource extends InMemoryMemberDataSource {
+
+    // Zeitraum der erzeugten Zeitstempel vor dem festen Endzeitpunkt
+    static final int TIMESTAMP_RANGE_DAYS = 3 * 365;
+    // Kleinste erzeugte ID, wie bei den im Dialog vorgeschlagenen fünfstelligen IDs
+    static final int FIRST_ID = 10000;
+
+    private static final String[] NAMES = {
+            "Müller", "Schmidt", "Schneider", "Fischer", "Weber", "Meyer", "Wagner", "Becker", "Schulz", "Hoffmann",
+            "Schäfer", "Koch", "Bauer", "Richter", "Klein", "Wolf", "Schröder", "Neumann", "Schwarz", "Zimmermann",
+            "Braun", "Krüger", "Hofmann", "Hartmann", "Lange", "Schmitt", "Werner", "Schmitz", "Krause", "Meier",
+            "Lehmann", "Schmid", "Schulze", "Maier", "Köhler", "Herrmann", "König", "Walter", "Mayer", "Huber",
+            "Kaiser", "Fuchs", "Peters", "Lang", "Scholz", "Möller", "Weiß", "Jung", "Hahn", "Schubert",
+            "Vogel", "Friedrich", "Keller", "Günther", "Frank", "Berger", "Winkler", "Roth", "Beck", "Lorenz",
+            "Baumann", "Franke", "Albrecht", "Schuster", "Simon", "Ludwig", "Böhm", "Winter", "Kraus", "Martin",
+            "Schumacher", "Krämer", "Vogt", "Stein", "Jäger", "Otto", "Sommer", "Groß", "Seidel", "Heinrich"
+    };
+
+    private static final String[] VORNAMEN = {
+            "Anna", "Emma", "Mia", "Sophie", "Hannah", "Lena", "Lea", "Marie", "Emilia", "Lina",
+            "Leonie", "Clara", "Ella", "Laura", "Julia", "Sarah", "Lara", "Charlotte", "Johanna", "Amélie",
+            "Noah", "Ben", "Paul", "Leon", "Finn", "Elias", "Jonas", "Luis", "Felix", "Lukas",
+            "Maximilian", "Henry", "Emil", "Moritz", "Jakob", "Niklas", "Tim", "Julian", "Jan", "Jörg",
+            "Özlem", "Mehmet", "Zoë", "René", "Søren", "Małgorzata", "Aylin", "Yusuf", "Milan", "Nele"
+    };
+
+    private static final String[] DOMAINS = {"schule.de", "example.de", "web.de", "gmx.de", "posteo.de", "mail.de"};
+
+    private static final DateTimeFormatter STORAGE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final LocalDateTime END_TIME = LocalDateTime.of(2024, 1, 1, 0, 0, 0);
+
+    private final int count;
+    private final long seed;
+
+    /**
+     * Konstruktor für einen synthetischen Speicher. Die Mitglieder werden erst beim ersten Zugriff erzeugt.
+     *
+     * @param count Die Anzahl der Mitglieder.
+     * @param seed  Der Startwert für die Zufallswerte.
+     */
+    public SyntheticMemberDataSource(int count, long seed) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Ungültige Anzahl " + count);
+        }
+        this.count = count;
+        this.seed = seed;
+    }
+
+    @Override
+    protected List<Member> createInitialMembers() {
+        return generate(count, seed);
+    }
+
+    /**
+     * Erzeugt synthetische Mitglieder.
+     *
+     * @param count Die Anzahl der Mitglieder.
+     * @param seed  Der Startwert für die Zufallswerte.
+     * @return Die erzeugten Mitglieder in zufälliger Reihenfolge.
+     */
+    public static List<Member> generate(int count, long seed) {
+        Random random = new Random(seed);
+        // Eindeutige IDs ab FIRST_ID in zufälliger Reihenfolge (Fisher-Yates-Mischung)
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = FIRST_ID + i;
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = ids[i];
+            ids[i] = ids[j];
+            ids[j] = temp;
+        }
+
+        long rangeSeconds = TIMESTAMP_RANGE_DAYS * 24L * 60 * 60;
+        List<Member> members = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = NAMES[random.nextInt(NAMES.length)];
+            String vorname = VORNAMEN[random.nextInt(VORNAMEN.length)];
+            // Etwa jede zweite Adresse erhält eine Zahl, wie bei häufigen Namen üblich
+            String number = random.nextBoolean() ? String.valueOf(random.nextInt(100)) : "";
+            String email = emailPart(vorname) + "." + emailPart(name) + number + "@" + DOMAINS[random.nextInt(DOMAINS.length)];
+            String timestamp = END_TIME.minusSeconds((long) (random.nextDouble() * rangeSeconds)).format(STORAGE_FORMAT);
+            members.add(new Member(InMemoryMemberDataSource.randomDocumentId(random), String.valueOf(ids[i]), name, vorname, email, timestamp));
+        }
+        return members;
+    }
+
+    /**
+     * Wandelt einen Namen in einen Teil einer E-Mail-Adresse um, z.B. "Müller" in "mueller".
+     *
+     * @param name Der Name.
+     * @return Der Name in Kleinbuchstaben ohne Umlaute und Akzente.
+     */
+    private static String emailPart(String name) {
+        StringBuilder part = new StringBuilder(name.length() + 2);
+        for (char c : name.toLowerCase(Locale.ROOT).toCharArray()) {
+            switch (c) {
+                case 'ä':
+                    part.append("ae");
+                    break;
+                case 'ö':
+                    part.append("oe");
+                    break;
+                case 'ü':
+                    part.append("ue");
+                    break;
+                case 'ß':
+                    part.append("ss");
+                    break;
+                case 'é':
+                case 'ë':
+                    part.append('e');
+                    break;
+                case 'ø':
+                    part.append('o');
+                    break;
+                case 'ł':
+                    part.append('l');
+                    break;
+                default:
+                    part.append(c);
+                    break;
+            }
+        }
+        return part.toString();
+    }
+}
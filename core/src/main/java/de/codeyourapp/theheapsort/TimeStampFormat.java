@@ -0,0 +1,237 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Diese Klasse stellt Hilfsmethoden bereit, um einen Timestamp im Format "yyyy-MM-dd HH:mm:ss" zu lesen
+ * und in das Anzeigeformat "dd.MM.yyyy 'um' HH:mm 'Uhr'" zu konvertieren.
+ *
+ * Das bekannte Format mit fester Breite wird ohne Formatter-Objekte Zeichen für Zeichen gelesen. Nur abweichende
+ * Eingaben (z.B. ohne führende Nullen) werden mit einem unveränderlichen und damit threadsicheren
+ * java.time-Formatter gelesen. Die Ergebnisse werden in einem begrenzten Zwischenspeicher abgelegt, da viele
+ * Datensätze denselben Timestamp haben und dieselben Zeilen beim Scrollen mehrfach angezeigt werden.
+ *
+ * Anders als die frühere Umsetzung mit dem nachsichtigen SimpleDateFormat werden ungültige Daten wie
+ * "2024-02-31 10:00:00" nicht mehr auf den Folgemonat umgerechnet (bisher 02.03.2024), sondern als nicht lesbar
+ * behandelt: {@link #convertTimestamp} gibt den Timestamp unverändert zurück, und {@link #toEpochMillis} liefert
+ * Long.MIN_VALUE, sodass der Datensatz bei der Sortierung nach Datum ans Ende gestellt wird.
+ */
+public class TimeStampFormat {
+
+    // Format, in dem Timestamps gespeichert werden
+    private static final DateTimeFormatter STORAGE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    // Anzeigeformat, nur für Jahre außerhalb von 0 bis 9999 benötigt
+    private static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy 'um' HH:mm 'Uhr'");
+    // Nachsichtiges Format für Timestamps ohne führende Nullen. Ungültige Daten wie der 31. Februar werden abgelehnt.
+    private static final DateTimeFormatter LENIENT_FORMAT = DateTimeFormatter.ofPattern("u-M-d H:m:s").withResolverStyle(ResolverStyle.STRICT);
+
+    // Länge eines Timestamps im Format "yyyy-MM-dd HH:mm:ss"
+    private static final int TIMESTAMP_LENGTH = 19;
+
+    // Maximale Anzahl zwischengespeicherter Timestamps
+    private static final int CACHE_SIZE = 1024;
+
+    /**
+     * Ergebnis des Lesens eines Timestamps: der formatierte Text und die Millisekunden seit 1970.
+     */
+    private static final class ParsedTimestamp {
+        final String formatted;
+        final long epochMillis;
+
+        ParsedTimestamp(String formatted, long epochMillis) {
+            this.formatted = formatted;
+            this.epochMillis = epochMillis;
+        }
+    }
+
+    // Begrenzter Zwischenspeicher, der den am längsten nicht verwendeten Eintrag verdrängt (Zugriff nur synchronisiert)
+    private static final Map<String, ParsedTimestamp> CACHE = new LinkedHashMap<String, ParsedTimestamp>(CACHE_SIZE * 4 / 3 + 1, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ParsedTimestamp> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Diese Methode konvertiert einen Timestamp von einem ursprünglichen Format in ein gewünschtes Format.
+     *
+     * @param timestamp Der zu konvertierende Timestamp im ursprünglichen Format (z.B., "yyyy-MM-dd HH:mm:ss").
+     * @return Der konvertierte Timestamp im gewünschten Format (z.B., "dd.MM.yyyy 'um' HH:mm 'Uhr'").
+     */
+    public static String formatTimestamp(String timestamp) {
+        return convertTimestamp(timestamp);
+    }
+
+    /**
+     * Diese Methode konvertiert einen Timestamp von einem ursprünglichen Format in ein gewünschtes Format.
+     *
+     * @param timestamp Der zu konvertierende Timestamp im ursprünglichen Format (z.B., "yyyy-MM-dd HH:mm:ss").
+     * @return Der konvertierte Timestamp im gewünschten Format (z.B., "dd.MM.yyyy 'um' HH:mm 'Uhr'").
+     */
+    public static String convertTimestamp(String timestamp) {
+        ParsedTimestamp parsed = parse(timestamp);
+        // Im Fehlerfall wird der ursprüngliche Timestamp zurückgegeben
+        return parsed == null ? timestamp : parsed.formatted;
+    }
+
+    /**
+     * Diese Methode wandelt einen Timestamp im Format "yyyy-MM-dd HH:mm:ss" in Millisekunden seit 1970 um.
+     * Der Wert wird als vorberechneter Sortierschlüssel verwendet.
+     *
+     * @param timestamp Der umzuwandelnde Timestamp.
+     * @return Die Millisekunden seit 1970 oder Long.MIN_VALUE, wenn der Timestamp nicht gelesen werden kann.
+     */
+    public static long toEpochMillis(String timestamp) {
+        ParsedTimestamp parsed = parse(timestamp);
+        // Nicht lesbare Timestamps werden ans Ende der Sortierung nach Datum gestellt
+        return parsed == null ? Long.MIN_VALUE : parsed.epochMillis;
+    }
+
+    /**
+     * Erzeugt einen Timestamp für den aktuellen Zeitpunkt im Format "yyyy-MM-dd HH:mm:ss".
+     *
+     * @return Der aktuelle Timestamp.
+     */
+    public static String currentTimestamp() {
+        return LocalDateTime.now().format(STORAGE_FORMAT);
+    }
+
+    /**
+     * Liest einen Timestamp über den Zwischenspeicher.
+     *
+     * @param timestamp Der zu lesende Timestamp.
+     * @return Das Ergebnis oder null, wenn der Timestamp nicht gelesen werden kann.
+     */
+    private static ParsedTimestamp parse(String timestamp) {
+        if (timestamp == null) {
+            return null;
+        }
+        ParsedTimestamp parsed;
+        synchronized (CACHE) {
+            parsed = CACHE.get(timestamp);
+        }
+        if (parsed != null) {
+            return parsed;
+        }
+        LocalDateTime dateTime = parseFixedWidth(timestamp);
+        if (dateTime == null) {
+            dateTime = parseLenient(timestamp);
+        }
+        if (dateTime == null) {
+            return null;
+        }
+        parsed = new ParsedTimestamp(format(dateTime), dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        synchronized (CACHE) {
+            CACHE.put(timestamp, parsed);
+        }
+        return parsed;
+    }
+
+    /**
+     * Liest einen Timestamp im Format "yyyy-MM-dd HH:mm:ss" Zeichen für Zeichen.
+     *
+     * @param timestamp Der zu lesende Timestamp.
+     * @return Datum und Uhrzeit oder null, wenn der Timestamp nicht exakt diesem Format entspricht.
+     */
+    static LocalDateTime parseFixedWidth(String timestamp) {
+        if (timestamp.length() != TIMESTAMP_LENGTH
+                || timestamp.charAt(4) != '-' || timestamp.charAt(7) != '-' || timestamp.charAt(10) != ' '
+                || timestamp.charAt(13) != ':' || timestamp.charAt(16) != ':') {
+            return null;
+        }
+        int year = digits(timestamp, 0, 4);
+        int month = digits(timestamp, 5, 2);
+        int day = digits(timestamp, 8, 2);
+        int hour = digits(timestamp, 11, 2);
+        int minute = digits(timestamp, 14, 2);
+        int second = digits(timestamp, 17, 2);
+        if ((year | month | day | hour | minute | second) < 0) {
+            return null;
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second);
+        } catch (DateTimeException e) {
+            return null; // z.B. ein 31. Februar
+        }
+    }
+
+    /**
+     * Liest einen Timestamp mit dem nachsichtigen Format, z.B. ohne führende Nullen.
+     *
+     * @param timestamp Der zu lesende Timestamp.
+     * @return Datum und Uhrzeit oder null, wenn der Timestamp nicht gelesen werden kann.
+     */
+    private static LocalDateTime parseLenient(String timestamp) {
+        try {
+            return LocalDateTime.parse(timestamp.trim(), LENIENT_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Liest eine Folge von Ziffern als Zahl.
+     *
+     * @param text   Der Text.
+     * @param start  Die Position der ersten Ziffer.
+     * @param length Die Anzahl der Ziffern.
+     * @return Die Zahl oder -1, wenn ein Zeichen keine Ziffer ist.
+     */
+    private static int digits(String text, int start, int length) {
+        int value = 0;
+        for (int i = start; i < start + length; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Formatiert Datum und Uhrzeit im Format "dd.MM.yyyy 'um' HH:mm 'Uhr'".
+     *
+     * @param dateTime Datum und Uhrzeit.
+     * @return Der formatierte Text.
+     */
+    private static String format(LocalDateTime dateTime) {
+        int year = dateTime.getYear();
+        if (year < 0 || year > 9999) {
+            return dateTime.format(DISPLAY_FORMAT);
+        }
+        char[] out = new char[23];
+        twoDigits(out, 0, dateTime.getDayOfMonth());
+        out[2] = '.';
+        twoDigits(out, 3, dateTime.getMonthValue());
+        out[5] = '.';
+        twoDigits(out, 6, year / 100);
+        twoDigits(out, 8, year % 100);
+        " um ".getChars(0, 4, out, 10);
+        twoDigits(out, 14, dateTime.getHour());
+        out[16] = ':';
+        twoDigits(out, 17, dateTime.getMinute());
+        " Uhr".getChars(0, 4, out, 19);
+        return new String(out);
+    }
+
+    /**
+     * Schreibt eine Zahl zwischen 0 und 99 als zwei Ziffern.
+     *
+     * @param out    Das Ziel.
+     * @param offset Die Position der ersten Ziffer.
+     * @param value  Die Zahl.
+     */
+    private static void twoDigits(char[] out, int offset, int value) {
+        out[offset] = (char) ('0' + value / 10);
+        out[offset + 1] = (char) ('0' + value % 10);
+    }
+}
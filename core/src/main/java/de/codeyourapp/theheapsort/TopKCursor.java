@@ -0,0 +1,215 @@
+// Import-Anweisungen für benötigte Java-Klassen
+package de.codeyourapp.theheapsort;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Diese Klasse liefert die Datensätze eines {@link MemberIndex} seitenweise in sortierter Reihenfolge, ohne den
+ * gesamten Datenstand zu sortieren. Für jede Seite werden die {@code pageSize} kleinsten Einträge hinter der
+ * zuletzt gelieferten Seite mit einem begrenzten Max-Heap ausgewählt: Ein Durchlauf über alle n Datensätze
+ * kostet O(n log k) statt O(n log n) für die vollständige Sortierung. Die Einträge im Heap werden anschließend
+ * per Heapsort in ihre Reihenfolge gebracht.
+ *
+ * Jede Seite durchläuft dabei erneut alle Datensätze. Das lohnt sich nur für die ersten Seiten, z.B. den ersten
+ * Bildschirm; wer weiter scrollt, würde bis zur Tiefe d insgesamt O(n·d/k) zahlen. Nach
+ * {@value #SELECTION_PAGES} Seiten übernimmt der Cursor daher die vollständige, im MemberIndex
+ * zwischengespeicherte {@link MemberIndex.Ordering} und liefert die weiteren Seiten als Ausschnitte daraus.
+ * Ist diese Sortierung beim Öffnen bereits zwischengespeichert, z.B. beim Wechsel der Sortierrichtung nach dem
+ * Namen, werden alle Seiten ohne Auswahl direkt daraus geliefert.
+ *
+ * Gleiche Schlüssel sind wie bei der vollständigen Sortierung nach der Zeilennummer geordnet, sodass
+ * die aneinandergehängten Seiten genau der entsprechenden {@link MemberIndex.Ordering} entsprechen.
+ *
+ * Ein TopKCursor bildet den festen Datenstand seines MemberIndex ab; spätere Änderungen der Daten sind erst in
+ * einer neuen Sortierung enthalten. {@link #nextPage()} wird nur auf dem Hintergrund-Thread aufgerufen,
+ * {@link #hasMore()} darf von jedem Thread abgefragt werden.
+ */
+public final class TopKCursor {
+
+    /**
+     * Reihenfolge zweier Zeilen eines MemberIndex. Sie muss eindeutig sein, d.h. nur für dieselbe Zeile 0 liefern.
+     */
+    interface RowOrder {
+        int compare(int row1, int row2);
+    }
+
+    // Anzahl der Seiten, die per Auswahl geliefert werden, bevor die vollständige Sortierung übernommen wird
+    static final int SELECTION_PAGES = 2;
+
+    private final Member[] rows;
+    private final RowOrder order;
+    private final Supplier<MemberIndex.Ordering> fullOrdering;
+    private final int pageSize;
+    private final SortStatistics statistics = new SortStatistics();
+
+    // Letzte gelieferte Zeile (-1 vor der ersten Seite) und Anzahl der gelieferten Zeilen
+    private int lastRow = -1;
+    private volatile int delivered = 0;
+    private int selectedPages = 0;
+
+    // Die vollständige Sortierung, sobald sie übernommen wurde
+    private MemberIndex.Ordering ordering;
+
+    /**
+     * Konstruktor für einen TopKCursor.
+     *
+     * @param rows         Die Datensätze des MemberIndex.
+     * @param order        Die Reihenfolge der Zeilen.
+     * @param fullOrdering Liefert die vollständige Sortierung in derselben Reihenfolge, z.B. aus dem Zwischenspeicher
+     *                     des MemberIndex. Wird erst nach {@value #SELECTION_PAGES} Seiten aufgerufen.
+     * @param cached       Wenn `true`, ist die vollständige Sortierung bereits berechnet und wird sofort übernommen.
+     * @param pageSize     Die Anzahl der Datensätze pro Seite.
+     */
+    TopKCursor(Member[] rows, RowOrder order, Supplier<MemberIndex.Ordering> fullOrdering, boolean cached, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize muss größer als 0 sein");
+        }
+        this.rows = rows;
+        this.order = order;
+        this.fullOrdering = fullOrdering;
+        this.pageSize = pageSize;
+        if (cached) {
+            // Die Vergleiche sind bereits bei der früheren Sortierung angefallen und werden nicht erneut gezählt
+            ordering = fullOrdering.get();
+        }
+    }
+
+    /**
+     * Wählt die nächste Seite aus. Nach der letzten Seite wird eine leere Liste geliefert.
+     *
+     * @return Die Datensätze der nächsten Seite in sortierter Reihenfolge als nicht veränderbare Liste.
+     */
+    public List<Member> nextPage() {
+        int remaining = rows.length - delivered;
+        if (remaining == 0) {
+            return Collections.emptyList();
+        }
+        if (ordering == null && selectedPages >= SELECTION_PAGES) {
+            ordering = fullOrdering.get();
+            statistics.add(ordering.getStatistics());
+        }
+        if (ordering != null) {
+            // Weitere Seiten sind Ausschnitte der vollständigen Sortierung, die an derselben Stelle fortsetzt
+            int end = delivered + Math.min(pageSize, remaining);
+            List<Member> page = new ArrayList<>(ordering.subList(delivered, end));
+            delivered = end;
+            return Collections.unmodifiableList(page);
+        }
+        // Max-Heap der bisher kleinsten Zeilen; die Wurzel ist der größte Eintrag und wird zuerst verdrängt
+        int[] heap = new int[Math.min(pageSize, remaining)];
+        int size = 0;
+        for (int row = 0; row < rows.length; row++) {
+            if (lastRow >= 0) {
+                // Zeilen bis einschließlich der letzten Seite wurden bereits geliefert
+                statistics.addComparison();
+                if (order.compare(row, lastRow) <= 0) {
+                    continue;
+                }
+            }
+            if (size < heap.length) {
+                heap[size] = row;
+                siftUp(heap, size++);
+            } else {
+                statistics.addComparison();
+                if (order.compare(row, heap[0]) < 0) {
+                    heap[0] = row;
+                    siftDown(heap, 0, size);
+                }
+            }
+        }
+
+        // Heapsort der ausgewählten Zeilen: den größten Eintrag ans Ende tauschen und den Heap verkleinern
+        for (int end = size - 1; end > 0; end--) {
+            swap(heap, 0, end);
+            siftDown(heap, 0, end);
+        }
+
+        List<Member> page = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            page.add(rows[heap[i]]);
+        }
+        lastRow = heap[size - 1];
+        delivered += size;
+        selectedPages++;
+        return Collections.unmodifiableList(page);
+    }
+
+    /**
+     * @return `true`, solange noch nicht alle Datensätze geliefert wurden.
+     */
+    public boolean hasMore() {
+        return delivered < rows.length;
+    }
+
+    /**
+     * @return Die Anzahl der bisher gelieferten Datensätze.
+     */
+    public int getDeliveredCount() {
+        return delivered;
+    }
+
+    /**
+     * @return Die Anzahl aller Datensätze des Datenstands.
+     */
+    public int size() {
+        return rows.length;
+    }
+
+    /**
+     * @return Die Zählungen aller bisher ausgewählten Seiten, nach der Übernahme einschließlich der vollständigen
+     * Sortierung.
+     */
+    public SortStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Hebt den Eintrag an Position {@code position} an, bis sein Elternknoten nicht kleiner ist.
+     */
+    private void siftUp(int[] heap, int position) {
+        int child = position;
+        while (child > 0) {
+            int parent = (child - 1) / 2;
+            statistics.addComparison();
+            if (order.compare(heap[child], heap[parent]) <= 0) {
+                return;
+            }
+            swap(heap, parent, child);
+            child = parent;
+        }
+    }
+
+    /**
+     * Senkt den Eintrag an Position {@code root} ab, bis beide Kinder nicht größer sind.
+     */
+    private void siftDown(int[] heap, int root, int size) {
+        statistics.addSiftDown();
+        int parent = root;
+        int child;
+        while ((child = 2 * parent + 1) < size) {
+            int right = child + 1;
+            if (right < size) {
+                statistics.addComparison();
+                if (order.compare(heap[right], heap[child]) > 0) {
+                    child = right;
+                }
+            }
+            statistics.addComparison();
+            if (order.compare(heap[child], heap[parent]) <= 0) {
+                return;
+            }
+            swap(heap, parent, child);
+            parent = child;
+        }
+    }
+
+    private void swap(int[] heap, int i, int j) {
+        statistics.addSwap();
+        int temp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = temp;
+    }
+}
@@ -0,0 +1,142 @@
+package de.codeyourapp.theheapsort;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests für {@link ExternalMemberSorter} und {@link MemberBinaryCodec}.
+ */
+public class ExternalMemberSorterTest {
+
+    // Eindeutige Reihenfolge, damit das Ergebnis mit Collections.sort verglichen werden kann
+    private static final Comparator<Member> ORDER = MemberComparators.ID.thenComparing(Member::getDocumentId);
+
+    private File runDirectory;
+
+    @Before
+    public void setUp() throws IOException {
+        runDirectory = Files.createTempDirectory("runs").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = runDirectory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        runDirectory.delete();
+    }
+
+    private static List<Member> randomMembers(int count, long seed) {
+        Random random = new Random(seed);
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            members.add(new Member("doc" + i, String.valueOf(random.nextInt(count)), "Müller", "Vorname" + i, "mail" + i + "@example.com", "2024-01-01 12:00:00"));
+        }
+        return members;
+    }
+
+    private static List<Member> sortExternally(ExternalMemberSorter sorter, List<Member> members) throws IOException {
+        for (Member member : members) {
+            sorter.add(member);
+        }
+        List<Member> result = new ArrayList<>();
+        try (ExternalMemberSorter.MergeIterator iterator = sorter.sortedIterator()) {
+            while (iterator.hasNext()) {
+                result.add(iterator.next());
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void codec_roundTrip() throws IOException {
+        String longText = String.join("", Collections.nCopies(300, "ß"));
+        Member member = new Member("docÄ", "42", "Özdemir", "", longText, "2024-02-29 23:59:59");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MemberBinaryCodec.write(new DataOutputStream(bytes), member);
+        Member read = MemberBinaryCodec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(member, read);
+        assertEquals(member.getIdKey(), read.getIdKey());
+        assertEquals(member.getTimestampMillis(), read.getTimestampMillis());
+    }
+
+    @Test
+    public void manyRuns_matchCollectionsSort() throws IOException {
+        List<Member> members = randomMembers(5000, 1);
+        List<Member> expected = new ArrayList<>(members);
+        Collections.sort(expected, ORDER);
+
+        try (ExternalMemberSorter sorter = new ExternalMemberSorter(runDirectory, 300, ORDER)) {
+            assertEquals(expected, sortExternally(sorter, members));
+            assertEquals(17, sorter.getRunCount());
+            assertEquals(5000, sorter.getCount());
+        }
+        assertEquals(0, runDirectory.listFiles().length);
+    }
+
+    @Test
+    public void moreRunsThanFanIn_areMergedInPasses() throws IOException {
+        List<Member> members = randomMembers(2000, 2);
+        List<Member> expected = new ArrayList<>(members);
+        Collections.sort(expected, ORDER);
+
+        try (ExternalMemberSorter sorter = new ExternalMemberSorter(runDirectory, 10, ORDER, 3)) {
+            assertEquals(expected, sortExternally(sorter, members));
+        }
+        assertEquals(0, runDirectory.listFiles().length);
+    }
+
+    @Test
+    public void singleChunk_isSortedWithoutFiles() throws IOException {
+        List<Member> members = randomMembers(50, 3);
+        List<Member> expected = new ArrayList<>(members);
+        Collections.sort(expected, ORDER);
+
+        try (ExternalMemberSorter sorter = new ExternalMemberSorter(runDirectory, 100, ORDER)) {
+            assertEquals(expected, sortExternally(sorter, members));
+            assertEquals(0, sorter.getRunCount());
+        }
+        assertEquals(0, runDirectory.listFiles().length);
+    }
+
+    @Test
+    public void close_deletesUnreadRuns() throws IOException {
+        ExternalMemberSorter sorter = new ExternalMemberSorter(runDirectory, 10, ORDER);
+        for (Member member : randomMembers(100, 4)) {
+            sorter.add(member);
+        }
+        ExternalMemberSorter.MergeIterator iterator = sorter.sortedIterator();
+        iterator.next();
+        assertTrue(runDirectory.listFiles().length > 0);
+        sorter.close();
+        assertEquals(0, runDirectory.listFiles().length);
+    }
+
+    @Test
+    public void empty() throws IOException {
+        try (ExternalMemberSorter sorter = new ExternalMemberSorter(runDirectory, 10, ORDER)) {
+            assertTrue(sortExternally(sorter, new ArrayList<>()).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package de.codeyourapp.theheapsort;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests für {@link HeapSort} und {@link DataSorterHeapsort}.
+ */
+public class HeapSortTest {
+
+    private static Integer[] randomValues(int count, long seed) {
+        Random random = new Random(seed);
+        Integer[] values = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = random.nextInt(1000);
+        }
+        return values;
+    }
+
+    @Test
+    public void sort_withComparator_matchesArraysSort() {
+        for (int size : new int[]{0, 1, 2, 3, 10, 1000}) {
+            Integer[] values = randomValues(size, size);
+            Integer[] expected = values.clone();
+            Arrays.sort(expected, Comparator.reverseOrder());
+
+            HeapSort.sort(values, Comparator.reverseOrder());
+            assertArrayEquals(expected, values);
+        }
+    }
+
+    @Test
+    public void sortByKey_matchesArraysSort() {
+        Integer[] values = randomValues(1000, 42);
+        Integer[] expected = values.clone();
+        Arrays.sort(expected);
+
+        HeapSort.sortByKey(values, Integer::longValue);
+        assertArrayEquals(expected, values);
+    }
+
+    @Test
+    public void sortByKey_movesKeysWithItems() {
+        String[] items = {"c", "a", "b"};
+        long[] keys = {3, 1, 2};
+        HeapSort.sortByKey(items, keys);
+        assertArrayEquals(new String[]{"a", "b", "c"}, items);
+        assertArrayEquals(new long[]{1, 2, 3}, keys);
+    }
+
+    @Test
+    public void statistics_arePerInvocation() {
+        SortStatistics first = HeapSort.sort(randomValues(100, 1), Comparator.naturalOrder());
+        SortStatistics second = HeapSort.sort(randomValues(100, 1), Comparator.naturalOrder());
+        assertNotSame(first, second);
+        assertEquals(first.getComparisons(), second.getComparisons());
+        assertEquals(first.getSwaps(), second.getSwaps());
+        assertTrue(first.getComparisons() > 0);
+        // n/2 Durchläufe beim Aufbau und n-1 beim Abbau des Heaps
+        assertEquals(50 + 99, first.getSiftDowns());
+        assertEquals(first.getComparisons() + first.getSwaps(), first.getStepCount());
+    }
+
+    @Test
+    public void statistics_alreadySortedDescendingNeedsNoSwapsWhileBuilding() {
+        Integer[] values = {5, 4, 3, 2, 1};
+        SortStatistics statistics = HeapSort.sort(values, Comparator.naturalOrder());
+        assertArrayEquals(new Integer[]{1, 2, 3, 4, 5}, values);
+        // Ein absteigend sortiertes Array ist bereits ein Max-Heap; getauscht wird erst beim Abbau.
+        assertTrue(statistics.getSwaps() >= 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sortByKey_rejectsDifferentLengths() {
+        HeapSort.sortByKey(new String[2], new long[3]);
+    }
+
+    @Test
+    public void dataSorterHeapsort_sortsMembersById() {
+        List<Member> members = new ArrayList<>();
+        members.add(new Member("d1", "30", "Meier", "Anna", "a@example.com", "2024-01-01 10:00:00"));
+        members.add(new Member("d2", "10", "Schulz", "Ben", "b@example.com", "2024-01-02 10:00:00"));
+        members.add(new Member("d3", "abc", "Müller", "Clara", "c@example.com", "2024-01-03 10:00:00"));
+        members.add(new Member("d4", "20", "Becker", "Dora", "d@example.com", "2024-01-04 10:00:00"));
+
+        SortStatistics statistics = DataSorterHeapsort.sort(members);
+
+        assertEquals(Arrays.asList("d2", "d4", "d1", "d3"), documentIds(members));
+        assertTrue(statistics.getStepCount() > 0);
+    }
+
+    @Test
+    public void dataSorterHeapsort_sortsIdsNumericallyAndLegacyIdsByText() {
+        List<Member> members = new ArrayList<>();
+        members.add(new Member("d1", "xyz", "Meier", "Anna", "a@example.com", "2024-01-01 10:00:00"));
+        members.add(new Member("d2", "100000", "Schulz", "Ben", "b@example.com", "2024-01-02 10:00:00"));
+        members.add(new Member("d3", "abc", "Müller", "Clara", "c@example.com", "2024-01-03 10:00:00"));
+        members.add(new Member("d4", "99999", "Becker", "Dora", "d@example.com", "2024-01-04 10:00:00"));
+        members.add(new Member("d5", "mno", "Koch", "Emil", "e@example.com", "2024-01-05 10:00:00"));
+
+        MemberIndex index = MemberIndex.of(members);
+        DataSorterHeapsort.sort(members);
+        assertEquals(Arrays.asList("d4", "d2", "d3", "d5", "d1"), documentIds(members));
+        assertEquals(Arrays.asList("d4", "d2", "d3", "d5", "d1"), documentIds(DataSorterHeapsort.sort(index)));
+    }
+
+    @Test
+    public void dataSorterHeapsort_countsComparisonsOfLegacyIds() {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            members.add(new Member("d" + i, "x" + (i * 7919 % 50), "Meier", "Anna", "a@example.com", "2024-01-01 10:00:00"));
+        }
+        // Alle Schlüssel sind gleich; die Sortierung nach dem Text kommt mindestens mit n - 1 Vergleichen hinzu
+        long[] keys = new long[members.size()];
+        Arrays.fill(keys, Member.NON_NUMERIC_ID_KEY);
+        long keyComparisons = HeapSort.sortByKey(members.toArray(new Member[0]), keys).getComparisons();
+        long indexKeyComparisons = HeapSort.sortByKey(new int[members.size()], keys).getComparisons();
+
+        MemberIndex index = MemberIndex.of(members);
+        SortStatistics statistics = DataSorterHeapsort.sort(members);
+        assertTrue(statistics.getComparisons() >= keyComparisons + members.size() - 1);
+        assertTrue(index.byId().getStatistics().getComparisons() >= indexKeyComparisons + members.size() - 1);
+        for (int i = 1; i < members.size(); i++) {
+            assertTrue(members.get(i - 1).getId().compareTo(members.get(i).getId()) < 0);
+            assertTrue(index.byId().get(i - 1).getId().compareTo(index.byId().get(i).getId()) < 0);
+        }
+    }
+
+    @Test
+    public void dataSorterHeapsort_sortsMembersByAnyKey() {
+        List<Member> members = new ArrayList<>();
+        members.add(new Member("d1", "1", "Meier", "Anna", "a@example.com", "2024-01-03 10:00:00"));
+        members.add(new Member("d2", "2", "Schulz", "Ben", "b@example.com", "2024-01-01 10:00:00"));
+        members.add(new Member("d3", "3", "Müller", "Clara", "c@example.com", "2024-01-02 10:00:00"));
+
+        DataSorterHeapsort.sort(members, Member::getTimestampMillis);
+        assertEquals(Arrays.asList("d2", "d3", "d1"), documentIds(members));
+
+        DataSorterHeapsort.sort(members, Comparator.comparing(Member::getNameKey));
+        assertEquals(Arrays.asList("d1", "d3", "d2"), documentIds(members));
+    }
+
+    private static List<String> documentIds(List<Member> members) {
+        List<String> ids = new ArrayList<>();
+        for (Member member : members) {
+            ids.add(member.getDocumentId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,145 @@
+package de.codeyourapp.theheapsort;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests für {@link InMemoryMemberDataSource}.
+ */
+public class InMemoryMemberDataSourceTest {
+
+    // Führt die Callbacks direkt auf dem aufrufenden Thread aus
+    private static final Executor DIRECT = Runnable::run;
+
+    /**
+     * Merkt sich das Ergebnis eines Callbacks.
+     */
+    private static final class Result<T> implements MemberDataSource.Callback<T> {
+        T value;
+        Exception error;
+
+        @Override
+        public void onSuccess(T result) {
+            value = result;
+        }
+
+        @Override
+        public void onError(Exception e) {
+            error = e;
+        }
+    }
+
+    private static Member member(String documentId, String id, String name, String timestamp) {
+        return new Member(documentId, id, name, "Vorname", "mail@example.com", timestamp);
+    }
+
+    private static Map<String, Object> document(String id, String name) {
+        Map<String, Object> document = new HashMap<>();
+        document.put("id", id);
+        document.put("name", name);
+        document.put("vorname", "Vorname");
+        document.put("email", "mail@example.com");
+        document.put("timestamp", "2024-01-01 12:00:00");
+        return document;
+    }
+
+    private static List<String> ids(Iterable<Member> members) {
+        List<String> ids = new ArrayList<>();
+        for (Member member : members) {
+            ids.add(member.getId());
+        }
+        return ids;
+    }
+
+    @Test
+    public void loadMembers_returnsMembersInInsertionOrder() {
+        InMemoryMemberDataSource dataSource = new InMemoryMemberDataSource(Arrays.asList(
+                member("a", "1", "B", "2024-01-01 00:00:00"), member("b", "2", "A", "2024-01-02 00:00:00")));
+        Result<String> added = new Result<>();
+        dataSource.addMember(document("3", "C"), DIRECT, added);
+        assertNotNull(added.value);
+        assertEquals(InMemoryMemberDataSource.DOCUMENT_ID_LENGTH, added.value.length());
+
+        Result<Iterable<Member>> loaded = new Result<>();
+        dataSource.loadMembers(DIRECT, loaded);
+        assertEquals(Arrays.asList("1", "2", "3"), ids(loaded.value));
+        assertEquals(3, dataSource.size());
+    }
+
+    @Test
+    public void loadPage_continuesAfterLastMemberWithTies() {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            // Jeweils zwei Mitglieder mit demselben Zeitstempel
+            members.add(member("doc" + i, String.valueOf(i), "Name", "2024-01-0" + (1 + i / 2) + " 00:00:00"));
+        }
+        InMemoryMemberDataSource dataSource = new InMemoryMemberDataSource(members);
+
+        List<String> paged = new ArrayList<>();
+        Member after = null;
+        while (true) {
+            Result<List<Member>> page = new Result<>();
+            dataSource.loadPage("timestamp", true, after, 3, DIRECT, page);
+            paged.addAll(ids(page.value));
+            if (page.value.size() < 3) {
+                break;
+            }
+            after = page.value.get(page.value.size() - 1);
+        }
+        // Absteigend nach Zeitstempel, bei gleichem Zeitstempel absteigend nach der Dokument-ID
+        assertEquals(Arrays.asList("9", "8", "7", "6", "5", "4", "3", "2", "1", "0"), paged);
+
+        Result<List<Member>> byDocument = new Result<>();
+        dataSource.loadPage(MemberDataSource.DOCUMENT_ID, false, members.get(7), 5, DIRECT, byDocument);
+        assertEquals(Arrays.asList("8", "9"), ids(byDocument.value));
+
+        Result<List<Member>> unknown = new Result<>();
+        dataSource.loadPage("klasse", false, null, 5, DIRECT, unknown);
+        assertTrue(unknown.error instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void changeListener_receivesInitialStateAndBatchesAsSingleChange() throws Exception {
+        InMemoryMemberDataSource dataSource = new InMemoryMemberDataSource(Arrays.asList(member("a", "1", "A", "2024-01-01 00:00:00")));
+        List<List<MemberDataSource.Change>> received = new ArrayList<>();
+        MemberDataSource.Registration registration = dataSource.addChangeListener(DIRECT, new MemberDataSource.OnChangesListener() {
+            @Override
+            public void onChanges(List<MemberDataSource.Change> changes) {
+                received.add(changes);
+            }
+
+            @Override
+            public void onError(Exception e) {
+                fail(e.getMessage());
+            }
+        });
+        assertEquals(1, received.size());
+        assertEquals(MemberDataSource.Change.Type.ADDED, received.get(0).get(0).getType());
+        assertEquals(0, received.get(0).get(0).getNewIndex());
+
+        // Import über den MemberBulkImporter: ein Batch ergibt eine Änderung
+        MemberBulkImporter importer = new MemberBulkImporter(dataSource);
+        MemberBulkImporter.Result result = importer.importMembers(MemberImportReader.csv(new StringReader(
+                "id;name;vorname;email\n2;B;Bea;bea@example.com\n3;C;Carl;carl@example.com\n")), (readCount, importedCount, rejectedCount) -> { });
+        assertEquals(2, result.getImportedCount());
+        assertEquals(2, received.size());
+        assertEquals(2, received.get(1).size());
+        assertEquals(1, received.get(1).get(0).getNewIndex());
+        assertEquals(2, received.get(1).get(1).getNewIndex());
+        assertEquals("carl@example.com", received.get(1).get(1).getMember().getEmail());
+
+        registration.remove();
+        dataSource.addMember(document("4", "D"), DIRECT, new Result<>());
+        assertEquals(2, received.size());
+        assertEquals(4, dataSource.size());
+    }
+}
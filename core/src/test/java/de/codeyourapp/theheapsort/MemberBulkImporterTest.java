@@ -0,0 +1,125 @@
+package de.codeyourapp.theheapsort;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests für {@link MemberBulkImporter} mit einem Speicher im Arbeitsspeicher anstelle von Firestore.
+ */
+public class MemberBulkImporterTest {
+
+    /**
+     * Schreibt die Batches asynchron in eine Liste und merkt sich die höchste Zahl gleichzeitiger Batches.
+     */
+    private static final class InMemoryBatchWriter implements MemberBulkImporter.BatchWriter {
+        private final ExecutorService executor = Executors.newFixedThreadPool(4);
+        private final List<Map<String, Object>> documents = Collections.synchronizedList(new ArrayList<>());
+        private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+        private final int failingBatch;
+
+        InMemoryBatchWriter(int failingBatch) {
+            this.failingBatch = failingBatch;
+        }
+
+        @Override
+        public void commit(List<Map<String, Object>> batch, MemberBulkImporter.OnCommitListener listener) {
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            int number = batchSizes.size();
+            batchSizes.add(batch.size());
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inFlight.decrementAndGet();
+                if (number == failingBatch) {
+                    listener.onFailed(new IOException("Batch " + number));
+                } else {
+                    documents.addAll(batch);
+                    listener.onCommitted();
+                }
+            });
+        }
+    }
+
+    private InMemoryBatchWriter writer;
+
+    @After
+    public void tearDown() {
+        if (writer != null) {
+            writer.executor.shutdownNow();
+        }
+    }
+
+    private static String csv(int rows, int invalidEvery) {
+        StringBuilder csv = new StringBuilder("id;name;vorname;email\n");
+        for (int i = 0; i < rows; i++) {
+            String email = invalidEvery > 0 && i % invalidEvery == 0 ? "keine-mail" : "m" + i + "@example.com";
+            csv.append(10000 + i).append(";Name").append(i).append(";Vorname;").append(email).append('\n');
+        }
+        return csv.toString();
+    }
+
+    @Test
+    public void importMembers_writesValidRowsInBatches() throws Exception {
+        writer = new InMemoryBatchWriter(-1);
+        List<int[]> progress = new ArrayList<>();
+        MemberBulkImporter importer = new MemberBulkImporter(writer, 100, 2);
+        MemberBulkImporter.Result result = importer.importMembers(MemberImportReader.csv(new StringReader(csv(1050, 10))),
+                (readCount, importedCount, rejectedCount) -> progress.add(new int[]{readCount, importedCount, rejectedCount}));
+
+        assertEquals(1050, result.getReadCount());
+        assertEquals(105, result.getRejectedCount());
+        assertEquals(105, result.getRejectedCount(MemberValidator.EMAIL));
+        assertEquals(0, result.getRejectedCount(MemberValidator.NAME));
+        assertEquals(945, result.getImportedCount());
+        assertEquals(0, result.getFailedCount());
+        assertNull(result.getFirstError());
+        assertEquals(945, writer.documents.size());
+        // Zeile 1 ist die Kopfzeile, die erste Datenzeile (i = 0) ist ungültig
+        assertEquals(Integer.valueOf(2), result.getRejectedRows().get(0));
+        assertEquals(MemberBulkImporter.MAX_REPORTED_ROWS, result.getRejectedRows().size());
+
+        for (int size : writer.batchSizes.subList(0, writer.batchSizes.size() - 1)) {
+            assertEquals(100, size);
+        }
+        assertEquals(45, (int) writer.batchSizes.get(writer.batchSizes.size() - 1));
+        assertTrue(writer.maxInFlight.get() <= 2);
+
+        int[] last = progress.get(progress.size() - 1);
+        assertArrayEquals(new int[]{1050, 945, 105}, last);
+    }
+
+    @Test
+    public void importMembers_countsFailedBatches() throws Exception {
+        writer = new InMemoryBatchWriter(1);
+        MemberBulkImporter importer = new MemberBulkImporter(writer, 50, 1);
+        MemberBulkImporter.Result result = importer.importMembers(MemberImportReader.csv(new StringReader(csv(120, 0))),
+                (readCount, importedCount, rejectedCount) -> { });
+        assertEquals(70, result.getImportedCount());
+        assertEquals(50, result.getFailedCount());
+        assertEquals("Batch 1", result.getFirstError().getMessage());
+        assertEquals(1, writer.maxInFlight.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_rejectsOversizedBatches() {
+        new MemberBulkImporter((documents, listener) -> listener.onCommitted(), MemberBulkImporter.MAX_BATCH_SIZE + 1, 1);
+    }
+}
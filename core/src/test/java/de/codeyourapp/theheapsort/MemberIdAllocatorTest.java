@@ -0,0 +1,175 @@
+package de.codeyourapp.theheapsort;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests für {@link MemberIdAllocator}.
+ */
+public class MemberIdAllocatorTest {
+
+    /**
+     * Zählt die Reservierungen einer Datenquelle im Arbeitsspeicher und kann sie fehlschlagen lassen.
+     */
+    private static final class CountingDataSource extends InMemoryMemberDataSource {
+        final AtomicInteger reservations = new AtomicInteger();
+        volatile boolean failing = false;
+
+        @Override
+        public void reserveIds(int count, long minimumStart, Executor executor, Callback<Long> callback) {
+            reservations.incrementAndGet();
+            if (failing) {
+                executor.execute(() -> callback.onError(new IOException("offline")));
+            } else {
+                super.reserveIds(count, minimumStart, executor, callback);
+            }
+        }
+    }
+
+    /**
+     * Merkt sich die vergebene ID bzw. den Fehler.
+     */
+    private static final class Result implements MemberDataSource.Callback<String> {
+        String id;
+        Exception error;
+
+        @Override
+        public void onSuccess(String result) {
+            id = result;
+        }
+
+        @Override
+        public void onError(Exception e) {
+            error = e;
+        }
+    }
+
+    private static String allocate(MemberIdAllocator allocator) {
+        Result result = new Result();
+        allocator.allocate(Runnable::run, result);
+        assertNull(result.error);
+        return result.id;
+    }
+
+    @Test
+    public void allocate_reservesBlocksAndSkipsKnownIds() {
+        CountingDataSource dataSource = new CountingDataSource();
+        MemberIdAllocator allocator = new MemberIdAllocator(dataSource, 5);
+        allocator.addKnownIds(Arrays.asList(
+                new Member("a", "10001", "A", "Anna", "anna@example.de", "2024-01-01 00:00:00"),
+                new Member("b", "A-17", "B", "Bert", "bert@example.de", "2024-01-01 00:00:00")));
+        allocator.addKnownId("10003");
+
+        // Der erste Block beginnt nach der größten bekannten ID
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            ids.add(allocate(allocator));
+        }
+        assertEquals(Arrays.asList("10004", "10005", "10006", "10007", "10008", "10009", "10010"), ids);
+        assertEquals(2, dataSource.reservations.get());
+
+        assertTrue(allocator.isKnown("10001"));
+        assertTrue(allocator.isKnown(" 10010 "));
+        assertFalse(allocator.isKnown("10002"));
+        assertFalse(allocator.isKnown("A-17"));
+        assertFalse(allocator.isKnown(""));
+    }
+
+    @Test
+    public void largeIds_areKnownButDoNotMoveTheNextBlock() {
+        List<Long> minimumStarts = new ArrayList<>();
+        InMemoryMemberDataSource dataSource = new InMemoryMemberDataSource() {
+            @Override
+            public void reserveIds(int count, long minimumStart, Executor executor, Callback<Long> callback) {
+                minimumStarts.add(minimumStart);
+                super.reserveIds(count, minimumStart, executor, callback);
+            }
+        };
+        MemberIdAllocator allocator = new MemberIdAllocator(dataSource, 5);
+        // Eine zehnstellige und eine achtzehnstellige, z.B. vertippte ID
+        allocator.addKnownIds(Arrays.asList(
+                new Member("a", "1234567890", "A", "Anna", "anna@example.de", "2024-01-01 00:00:00"),
+                new Member("b", "999999999999999999", "B", "Bert", "bert@example.de", "2024-01-01 00:00:00"),
+                new Member("c", "10002", "C", "Carl", "carl@example.de", "2024-01-01 00:00:00")));
+
+        assertTrue(allocator.isKnown("1234567890"));
+        assertTrue(allocator.isKnown("999999999999999999"));
+        assertFalse(allocator.isKnown("1234567891"));
+        assertFalse(allocator.isKnown("999999999999999998"));
+
+        // Der Block beginnt nach der größten ID im Vergabebereich, nicht nach den großen IDs
+        assertEquals("10003", allocate(allocator));
+        assertEquals(Collections.singletonList(10003L), minimumStarts);
+    }
+
+    @Test
+    public void allocate_skipsIdsKnownAfterReservation() {
+        MemberIdAllocator allocator = new MemberIdAllocator(new InMemoryMemberDataSource(), 10);
+        assertEquals("10000", allocate(allocator));
+        // Eine von Hand eingegebene ID innerhalb des reservierten Blocks wird übersprungen
+        allocator.addKnownId("10001");
+        assertEquals("10002", allocate(allocator));
+    }
+
+    @Test
+    public void allocate_reportsErrorAndRecovers() {
+        CountingDataSource dataSource = new CountingDataSource();
+        MemberIdAllocator allocator = new MemberIdAllocator(dataSource, 3);
+        dataSource.failing = true;
+        Result failed = new Result();
+        allocator.allocate(Runnable::run, failed);
+        assertEquals("offline", failed.error.getMessage());
+
+        dataSource.failing = false;
+        assertEquals("10000", allocate(allocator));
+    }
+
+    @Test
+    public void allocate_isUniqueAcrossAllocatorsAndThreads() throws Exception {
+        // Zwei Allocatoren teilen sich eine Datenquelle wie zwei Geräte eine Datenbank
+        InMemoryMemberDataSource dataSource = new InMemoryMemberDataSource();
+        MemberIdAllocator[] allocators = {new MemberIdAllocator(dataSource, 7), new MemberIdAllocator(dataSource, 4)};
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        Set<String> ids = Collections.synchronizedSet(new HashSet<>());
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(2000);
+        try {
+            for (int i = 0; i < 2000; i++) {
+                MemberIdAllocator allocator = allocators[i % 2];
+                executor.execute(() -> allocator.allocate(Runnable::run, new MemberDataSource.Callback<String>() {
+                    @Override
+                    public void onSuccess(String id) {
+                        ids.add(id);
+                        done.countDown();
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        errors.incrementAndGet();
+                        done.countDown();
+                    }
+                }));
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, errors.get());
+        assertEquals(2000, ids.size());
+    }
+}
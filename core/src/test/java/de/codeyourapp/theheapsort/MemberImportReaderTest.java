@@ -0,0 +1,99 @@
+package de.codeyourapp.theheapsort;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests für {@link MemberImportReader}.
+ */
+public class MemberImportReaderTest {
+
+    private static List<MemberImportReader.Row> readAll(MemberImportReader reader) throws IOException {
+        List<MemberImportReader.Row> rows = new ArrayList<>();
+        MemberImportReader.Row row;
+        while ((row = reader.next()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Test
+    public void csv_readsColumnsByHeader() throws IOException {
+        String csv = "\uFEFFID;Name;Vorname;E-Mail;email;klasse\r\n"
+                + "12345;Müller;Anna;x;anna@example.com;5a\r\n"
+                + "\r\n"
+                + "\"23456\";\"Schmidt; Meyer\";\"Jo \"\"Jojo\"\"\";y;jo@example.com\n"
+                + "34567;Becker\n";
+        List<MemberImportReader.Row> rows = readAll(MemberImportReader.detect(new StringReader(csv)));
+        assertEquals(3, rows.size());
+
+        assertEquals(2, rows.get(0).getNumber());
+        assertEquals("12345", rows.get(0).getId());
+        assertEquals("Müller", rows.get(0).getName());
+        assertEquals("anna@example.com", rows.get(0).getEmail());
+
+        assertEquals(4, rows.get(1).getNumber());
+        assertEquals("Schmidt; Meyer", rows.get(1).getName());
+        assertEquals("Jo \"Jojo\"", rows.get(1).getVorname());
+
+        // Fehlende Spalten werden als leer gelesen
+        assertEquals("", rows.get(2).getVorname());
+        assertEquals("", rows.get(2).getEmail());
+    }
+
+    @Test
+    public void csv_commaSeparatorAndQuotedLineBreak() throws IOException {
+        String csv = "name,vorname,email,id\n\"Lange\nZeile\",Eva,eva@example.com,1\nKurz,Max,max@example.com,2";
+        List<MemberImportReader.Row> rows = readAll(MemberImportReader.csv(new StringReader(csv)));
+        assertEquals(2, rows.size());
+        assertEquals("Lange\nZeile", rows.get(0).getName());
+        assertEquals(4, rows.get(1).getNumber());
+        assertEquals("2", rows.get(1).getId());
+    }
+
+    @Test(expected = IOException.class)
+    public void csv_headerWithoutKnownColumnsFails() throws IOException {
+        MemberImportReader.csv(new StringReader("a;b;c\n1;2;3\n")).next();
+    }
+
+    @Test
+    public void json_readsArrayOfObjects() throws IOException {
+        String json = "[\n {\"name\": \"M\\u00fcller\", \"vorname\": \"Anna\", \"email\": \"anna@example.com\", \"id\": 12345, \"aktiv\": true},\n"
+                + " {\"Name\": \"Schmidt\\\"s\", \"id\": \"23456\", \"email\": null}, {}\n]";
+        List<MemberImportReader.Row> rows = readAll(MemberImportReader.detect(new StringReader(json)));
+        assertEquals(3, rows.size());
+        assertEquals("Müller", rows.get(0).getName());
+        assertEquals("12345", rows.get(0).getId());
+        assertEquals(2, rows.get(1).getNumber());
+        assertEquals("Schmidt\"s", rows.get(1).getName());
+        assertEquals("", rows.get(1).getEmail());
+        assertEquals("", rows.get(2).getName());
+
+        assertTrue(readAll(MemberImportReader.json(new StringReader(" [ ] "))).isEmpty());
+    }
+
+    @Test(expected = IOException.class)
+    public void json_nestedValuesFail() throws IOException {
+        readAll(MemberImportReader.json(new StringReader("[{\"name\": {\"x\": 1}}]")));
+    }
+
+    @Test(expected = IOException.class)
+    public void json_truncatedFileFails() throws IOException {
+        readAll(MemberImportReader.json(new StringReader("[{\"name\": \"Anna\"}, {\"name\": \"Ev")));
+    }
+
+    @Test
+    public void toDocument_usesFieldsOfDialog() throws IOException {
+        MemberImportReader.Row row = MemberImportReader.csv(new StringReader("name;vorname;email;id\nA;B;c@example.com;1")).next();
+        assertEquals("A", row.toDocument("2024-01-01 12:00:00").get("name"));
+        assertEquals("1", row.toDocument("2024-01-01 12:00:00").get("id"));
+        assertEquals("2024-01-01 12:00:00", row.toDocument("2024-01-01 12:00:00").get("timestamp"));
+        assertEquals(5, row.toDocument("2024-01-01 12:00:00").size());
+    }
+}
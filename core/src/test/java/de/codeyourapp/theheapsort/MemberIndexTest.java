@@ -0,0 +1,183 @@
+package de.codeyourapp.theheapsort;
+
+import org.junit.Test;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests für {@link MemberIndex}. Die Reihenfolgen werden mit Comparatoren über dieselben Schlüssel verglichen.
+ */
+public class MemberIndexTest {
+
+    // Numerische IDs nach ihrem Wert, danach die nicht numerischen nach dem Text
+    private static final Comparator<Member> ID_ORDER = (a, b) -> {
+        boolean numeric1 = a.getId().matches("[0-9]+");
+        boolean numeric2 = b.getId().matches("[0-9]+");
+        if (numeric1 && numeric2) {
+            return Long.compare(Long.parseLong(a.getId()), Long.parseLong(b.getId()));
+        }
+        return numeric1 != numeric2 ? Boolean.compare(numeric2, numeric1) : a.getId().compareTo(b.getId());
+    };
+    private static final Comparator<Member> TIMESTAMP_DESCENDING = (a, b) -> Long.compare(b.getTimestampMillis(), a.getTimestampMillis());
+    private static final Collator COLLATOR = Collator.getInstance(Locale.GERMAN);
+    // Nachname, Vorname und ID mit Collator.compare statt über die Byte-Schlüssel
+    private static final Comparator<Member> NAME_ORDER = (a, b) -> {
+        int result = COLLATOR.compare(a.getName(), b.getName());
+        if (result == 0) {
+            result = COLLATOR.compare(a.getVorname(), b.getVorname());
+        }
+        return result != 0 ? result : Long.compare(a.getIdKey(), b.getIdKey());
+    };
+
+    private static final String[] NAMES = {"Müller", "Mueller", "Muller", "Özdemir", "Becker", "becker", "Zimmer", "Äbel", "Abel", "Schäfer", "Schafer"};
+    private static final String[] VORNAMEN = {"Anna", "Änne", "anna", "Ben"};
+
+    private static List<Member> randomMembers(int count, long seed) {
+        Random random = new Random(seed);
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String id = random.nextInt(10) == 0 ? "x" + i : String.valueOf(random.nextInt(100000));
+            String timestamp = String.format("2024-%02d-%02d %02d:%02d:00", 1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24), random.nextInt(60));
+            if (random.nextInt(20) == 0) {
+                timestamp = "ungültig";
+            }
+            members.add(new Member("doc" + i, id, NAMES[random.nextInt(NAMES.length)], VORNAMEN[random.nextInt(VORNAMEN.length)], "mail" + i + "@example.com", timestamp));
+        }
+        return members;
+    }
+
+    private static void assertSorted(List<Member> ordering, Comparator<Member> comparator) {
+        for (int i = 1; i < ordering.size(); i++) {
+            assertTrue("Position " + i, comparator.compare(ordering.get(i - 1), ordering.get(i)) <= 0);
+        }
+    }
+
+    @Test
+    public void byId_matchesIdComparator() {
+        List<Member> members = randomMembers(500, 1);
+        MemberIndex.Ordering ordering = MemberIndex.of(members).byId();
+        assertEquals(members.size(), ordering.size());
+        assertSorted(ordering, ID_ORDER);
+        assertTrue(ordering.getStatistics().getComparisons() > 0);
+    }
+
+    @Test
+    public void byTimestampDescending_matchesTimestampComparator() {
+        List<Member> members = randomMembers(500, 2);
+        MemberIndex.Ordering ordering = MemberIndex.of(members).byTimestampDescending();
+        assertSorted(ordering, TIMESTAMP_DESCENDING);
+        // Nicht lesbare Timestamps stehen am Ende
+        assertEquals(Long.MIN_VALUE, ordering.get(ordering.size() - 1).getTimestampMillis());
+    }
+
+    @Test
+    public void byName_matchesCollationOrder() {
+        List<Member> members = randomMembers(500, 3);
+        MemberIndex index = MemberIndex.of(members);
+        assertSorted(index.byName(true), NAME_ORDER);
+        assertSorted(index.byName(false), NAME_ORDER.reversed());
+    }
+
+    @Test
+    public void orderings_containEveryMemberOnce() {
+        List<Member> members = randomMembers(200, 4);
+        MemberIndex index = MemberIndex.of(members);
+        for (List<Member> ordering : Arrays.asList(index.byId(), index.byName(true), index.byTimestampDescending())) {
+            List<Member> sortedCopy = new ArrayList<>(ordering);
+            Collections.sort(sortedCopy, (a, b) -> a.getDocumentId().compareTo(b.getDocumentId()));
+            List<Member> expected = new ArrayList<>(members);
+            Collections.sort(expected, (a, b) -> a.getDocumentId().compareTo(b.getDocumentId()));
+            assertEquals(expected, sortedCopy);
+        }
+    }
+
+    @Test
+    public void orderings_ofSameIndexAreIndependent() {
+        List<Member> members = randomMembers(100, 5);
+        MemberIndex index = MemberIndex.of(members);
+        MemberIndex.Ordering byId = index.byId();
+        List<Member> byIdSnapshot = new ArrayList<>(byId);
+        index.byName(true);
+        index.byTimestampDescending();
+        assertEquals(byIdSnapshot, new ArrayList<>(byId));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void ordering_isUnmodifiable() {
+        MemberIndex.of(randomMembers(3, 6)).byId().remove(0);
+    }
+
+    @Test
+    public void emptyIndex() {
+        MemberIndex index = MemberIndex.of(new ArrayList<>());
+        assertEquals(0, index.byId().size());
+        assertEquals(0, index.byName(false).size());
+    }
+
+    @Test
+    public void orderings_areCachedPerIndex() {
+        MemberIndex index = MemberIndex.of(randomMembers(100, 7));
+        assertSame(index.byId(), index.byId());
+        assertSame(index.byTimestampDescending(), index.byTimestampDescending());
+        assertSame(index.byName(true), index.byName(true));
+    }
+
+    @Test
+    public void byNameDescending_isReversedViewOfAscending() {
+        MemberIndex index = MemberIndex.of(randomMembers(100, 8));
+        MemberIndex.Ordering ascending = index.byName(true);
+        MemberIndex.Ordering descending = index.byName(false);
+
+        // Kein zweiter Sortiervorgang: beide Sichten teilen sich die Zählungen der aufsteigenden Sortierung
+        assertSame(ascending.getStatistics(), descending.getStatistics());
+        List<Member> expected = new ArrayList<>(ascending);
+        Collections.reverse(expected);
+        assertEquals(expected, new ArrayList<>(descending));
+        assertEquals(new ArrayList<>(ascending), new ArrayList<>(descending.reversed()));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void reversedOrdering_checksBounds() {
+        MemberIndex.of(randomMembers(3, 9)).byName(false).get(3);
+    }
+
+    @Test
+    public void getMembers_keepsOriginalOrder() {
+        List<Member> members = randomMembers(50, 10);
+        MemberIndex index = MemberIndex.of(members);
+        index.byId();
+        assertEquals(members, index.getMembers());
+    }
+
+    @Test
+    public void parallelPolicy_matchesSequentialOrderings() {
+        // Viele gleiche Schlüssel, damit auch die Reihenfolge bei Gleichstand verglichen wird
+        List<Member> members = randomMembers(30000, 11);
+        MemberIndex sequential = MemberIndex.of(members);
+        MemberIndex parallel = MemberIndex.of(members, SortPolicy.parallel(0, SortKey.ID, SortKey.TIMESTAMP, SortKey.NAME));
+
+        assertEquals(new ArrayList<>(sequential.byId()), new ArrayList<>(parallel.byId()));
+        assertEquals(new ArrayList<>(sequential.byTimestampDescending()), new ArrayList<>(parallel.byTimestampDescending()));
+        assertEquals(new ArrayList<>(sequential.byName(true)), new ArrayList<>(parallel.byName(true)));
+        assertEquals(new ArrayList<>(sequential.byName(false)), new ArrayList<>(parallel.byName(false)));
+    }
+
+    @Test
+    public void sortPolicy_selectsParallelPerKeyAboveThreshold() {
+        SortPolicy policy = SortPolicy.parallel(1000, SortKey.NAME);
+        boolean multiCore = Runtime.getRuntime().availableProcessors() > 1;
+        assertEquals(multiCore, policy.isParallel(SortKey.NAME, 1000));
+        assertFalse(policy.isParallel(SortKey.NAME, 999));
+        assertFalse(policy.isParallel(SortKey.ID, 1000000));
+        assertFalse(SortPolicy.SEQUENTIAL.isParallel(SortKey.TIMESTAMP, Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,144 @@
+package de.codeyourapp.theheapsort;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests für {@link MemberSearchIndex}. Die Treffer werden mit einer linearen Suche über alle Mitglieder verglichen.
+ * Die Dauer einer Suche misst der MemberSearchIndexBenchmark im Modul benchmark.
+ */
+public class MemberSearchIndexTest {
+
+    // Maximale Trefferzahl wie bei der Suche in der App
+    private static final int SEARCH_LIMIT = 200;
+
+    private static final String[] NAMEN = {"Müller", "Mueller", "Straße", "Özdemir", "Becker", "Müller-Lüdenscheidt", "Åberg"};
+    private static final String[] VORNAMEN = {"Anna", "Änne", "José", "Ben", "Hans Peter"};
+
+    private static List<Member> randomMembers(int count, long seed) {
+        Random random = new Random(seed);
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            members.add(new Member("doc" + i, String.valueOf(10000 + random.nextInt(90000)), NAMEN[random.nextInt(NAMEN.length)],
+                    VORNAMEN[random.nextInt(VORNAMEN.length)], "user" + i + "@example.com", "2024-01-01 12:00:00"));
+        }
+        return members;
+    }
+
+    private static Member member(String id, String name, String vorname, String email) {
+        return new Member("doc" + id, id, name, vorname, email, "2024-01-01 12:00:00");
+    }
+
+    /**
+     * Vergleichsgrundlage: prüft alle Felder und Wörter jedes Mitglieds einzeln.
+     */
+    private static boolean matches(Member member, String query) {
+        String prefix = MemberSearchIndex.fold(query.trim());
+        for (String field : new String[]{member.getName(), member.getVorname(), member.getEmail(), member.getId()}) {
+            for (String word : MemberSearchIndex.fold(field).split("[ -]")) {
+                if (!word.isEmpty() && word.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            if (MemberSearchIndex.fold(field).startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void fold_ignoresCaseAndDiacritics() {
+        assertEquals("muller", MemberSearchIndex.fold("Müller"));
+        assertEquals("strasse", MemberSearchIndex.fold("Straße"));
+        assertEquals("strasse", MemberSearchIndex.fold("STRAẞE"));
+        assertEquals("jose", MemberSearchIndex.fold("José"));
+        assertEquals("aberg", MemberSearchIndex.fold("Åberg"));
+        assertEquals("ozdemir", MemberSearchIndex.fold("Özdemir"));
+        assertEquals("anna@example.com", MemberSearchIndex.fold("Anna@Example.com"));
+    }
+
+    @Test
+    public void search_findsPrefixesInAllFields() {
+        Member anna = member("12345", "Müller", "Anna", "anna.mueller@example.com");
+        Member hans = member("54321", "Straße", "Hans Peter", "hp@example.com");
+        Member ben = member("12999", "Müller-Lüdenscheidt", "Ben", "ben@example.com");
+        MemberSearchIndex index = MemberSearchIndex.of(Arrays.asList(anna, hans, ben));
+
+        assertEquals(Arrays.asList(anna, ben), index.search("mul", 10));
+        assertEquals(Arrays.asList(anna, ben), index.search("MÜL", 10));
+        assertEquals(Arrays.asList(ben), index.search("lüden", 10));
+        assertEquals(Arrays.asList(hans), index.search("strass", 10));
+        assertEquals(Arrays.asList(hans), index.search("peter", 10));
+        assertEquals(Arrays.asList(anna, ben), index.search("12", 10));
+        assertEquals(Arrays.asList(anna), index.search("anna.m", 10));
+        assertTrue(index.search("xyz", 10).isEmpty());
+        assertTrue(index.search("   ", 10).isEmpty());
+    }
+
+    @Test
+    public void search_returnsEachMemberOnceAndRespectsLimit() {
+        // Name und Vorname beginnen mit demselben Präfix
+        Member anna = member("1", "Annabell", "Anna", "anna@example.com");
+        Member anne = member("2", "Anne", "Änne", "anne@example.com");
+        MemberSearchIndex index = MemberSearchIndex.of(Arrays.asList(anna, anne));
+        assertEquals(2, index.search("ann", 10).size());
+        assertEquals(1, index.search("ann", 1).size());
+    }
+
+    @Test
+    public void search_matchesLinearScan() {
+        List<Member> members = randomMembers(2000, 1);
+        MemberSearchIndex index = MemberSearchIndex.of(members);
+        for (String query : new String[]{"m", "mü", "mue", "Müller-L", "lud", "str", "öz", "ab", "an", "hans p", "pet", "1", "42", "user1", "user19@"}) {
+            List<Member> expected = new ArrayList<>();
+            for (Member member : members) {
+                if (matches(member, query)) {
+                    expected.add(member);
+                }
+            }
+            List<Member> found = index.search(query, Integer.MAX_VALUE);
+            assertEquals(query, expected.size(), found.size());
+            assertTrue(query, expected.containsAll(found));
+        }
+    }
+
+    @Test
+    public void addAndRemove_updateIndexIncrementally() {
+        List<Member> members = randomMembers(500, 2);
+        MemberSearchIndex index = MemberSearchIndex.of(members);
+        int termCount = index.getTermCount();
+
+        Member added = member("99999", "Zwiebel", "Zoë", "zoe@example.com");
+        index.add(added);
+        assertEquals(Arrays.asList(added), index.search("zoe", 10));
+        assertEquals(Arrays.asList(added), index.search("zwie", 10));
+
+        // Ein gleiches, aber nicht identisches Mitglied wird nicht entfernt.
+        assertFalse(index.remove(member("99999", "Zwiebel", "Zoë", "zoe@example.com")));
+        assertTrue(index.remove(added));
+        assertTrue(index.search("zoe", 10).isEmpty());
+        assertEquals(termCount, index.getTermCount());
+
+        Member first = members.get(0);
+        assertTrue(index.remove(first));
+        assertFalse(index.search(first.getEmail(), 10).contains(first));
+
+        // Ein leer begonnener, schrittweise befüllter Index entspricht dem vollständig aufgebauten.
+        MemberSearchIndex incremental = MemberSearchIndex.of(new ArrayList<>());
+        for (Member member : members) {
+            incremental.add(member);
+        }
+        MemberSearchIndex built = MemberSearchIndex.of(members);
+        assertEquals(built.getTermCount(), incremental.getTermCount());
+        for (String query : new String[]{"m", "an", "user12", "4"}) {
+            assertEquals(query, built.search(query, 1000), incremental.search(query, 1000));
+        }
+    }
+}
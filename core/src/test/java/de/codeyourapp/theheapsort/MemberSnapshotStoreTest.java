@@ -0,0 +1,104 @@
+package de.codeyourapp.theheapsort;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests für {@link MemberSnapshotStore}.
+ */
+public class MemberSnapshotStoreTest {
+
+    private File directory;
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("snapshot").toFile();
+        file = new File(directory, "mitglieder.snapshot");
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                f.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    private static List<Member> members(int count) {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            members.add(new Member("doc" + i, String.valueOf(10000 + i), i % 2 == 0 ? "Müller" : "Straße", "Vorname " + i, "mail" + i + "@example.com", "2024-01-01 12:00:00"));
+        }
+        return members;
+    }
+
+    @Test
+    public void load_withoutFileReturnsNull() throws IOException {
+        assertNull(new MemberSnapshotStore(file).load());
+    }
+
+    @Test
+    public void saveAndLoad_keepMembersAndOrder() throws IOException {
+        MemberSnapshotStore store = new MemberSnapshotStore(file);
+        List<Member> members = members(1000);
+        Collections.reverse(members);
+        store.save(members);
+        assertEquals(members, store.load());
+        assertFalse(new File(directory, "mitglieder.snapshot.tmp").exists());
+
+        // Ein neuer Stand ersetzt den bisherigen vollständig.
+        List<Member> smaller = members(3);
+        store.save(smaller);
+        assertEquals(smaller, store.load());
+
+        store.save(new ArrayList<>());
+        assertEquals(new ArrayList<Member>(), store.load());
+    }
+
+    @Test
+    public void save_createsMissingDirectory() throws IOException {
+        File nested = new File(new File(directory, "stand"), "mitglieder.snapshot");
+        new MemberSnapshotStore(nested).save(members(2));
+        assertEquals(members(2), new MemberSnapshotStore(nested).load());
+        nested.delete();
+        nested.getParentFile().delete();
+    }
+
+    @Test
+    public void load_truncatedFileFails() throws IOException {
+        MemberSnapshotStore store = new MemberSnapshotStore(file);
+        store.save(members(100));
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 2);
+        }
+        try {
+            store.load();
+            fail("Eine unvollständige Datei darf nicht gelesen werden");
+        } catch (IOException expected) {
+            // erwartet
+        }
+        store.clear();
+        assertNull(store.load());
+    }
+
+    @Test(expected = IOException.class)
+    public void load_unknownFormatFails() throws IOException {
+        Files.write(file.toPath(), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        new MemberSnapshotStore(file).load();
+    }
+}
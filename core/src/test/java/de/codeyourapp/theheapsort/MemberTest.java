@@ -0,0 +1,97 @@
+package de.codeyourapp.theheapsort;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests für den Namensschlüssel von {@link Member}.
+ */
+public class MemberTest {
+
+    private static Member member(String id, String name, String vorname) {
+        return new Member("doc" + id + name + vorname, id, name, vorname, "", "2024-01-01 00:00:00");
+    }
+
+    private static List<String> sortedNames(Member... members) {
+        List<Member> list = new ArrayList<>(Arrays.asList(members));
+        Collections.sort(list, MemberComparators.NAME_ASCENDING);
+        List<String> names = new ArrayList<>();
+        for (Member member : list) {
+            names.add(member.getName() + " " + member.getVorname() + " " + member.getId());
+        }
+        return names;
+    }
+
+    @Test
+    public void nameSortKey_sortsUmlautsWithTheirBaseLetters() {
+        assertEquals(Arrays.asList("Abel A 1", "Äbel A 2", "Becker A 3", "Özdemir A 4", "Zimmer A 5"),
+                sortedNames(member("5", "Zimmer", "A"), member("4", "Özdemir", "A"), member("2", "Äbel", "A"),
+                        member("3", "Becker", "A"), member("1", "Abel", "A")));
+    }
+
+    @Test
+    public void nameSortKey_breaksTiesByVornameThenId() {
+        assertEquals(Arrays.asList("Müller Anna 2", "Müller Anna 10", "Müller Ben 1", "Müllerin Aaron 3"),
+                sortedNames(member("1", "Müller", "Ben"), member("10", "Müller", "Anna"), member("3", "Müllerin", "Aaron"),
+                        member("2", "Müller", "Anna")));
+    }
+
+    @Test
+    public void nameSortKey_negativeIdsSortBeforePositive() {
+        assertEquals(Arrays.asList("Abel A -5", "Abel A 0", "Abel A 7"),
+                sortedNames(member("7", "Abel", "A"), member("-5", "Abel", "A"), member("0", "Abel", "A")));
+    }
+
+    @Test
+    public void nameSortKey_ordersLegacyIdsByText() {
+        // Beide IDs haben denselben Schlüssel NON_NUMERIC_ID_KEY und werden nach dem Text unterschieden
+        assertEquals(Arrays.asList("Abel A 42", "Abel A a", "Abel A b"),
+                sortedNames(member("b", "Abel", "A"), member("a", "Abel", "A"), member("42", "Abel", "A")));
+        assertTrue(MemberComparators.NAME_ASCENDING.compare(member("a", "Abel", "A"), member("b", "Abel", "A")) < 0);
+        assertTrue(MemberComparators.NAME_DESCENDING.compare(member("a", "Abel", "A"), member("b", "Abel", "A")) > 0);
+    }
+
+    @Test
+    public void idKey_isNumericWithFallbackForLegacyIds() {
+        assertTrue(Member.parseIdKey("99999") < Member.parseIdKey("100000"));
+        assertEquals(42, Member.parseIdKey(" 42 "));
+        assertEquals(-5, Member.parseIdKey("-5"));
+        assertEquals(999_999_999_999_999_999L, Member.parseIdKey("999999999999999999"));
+        assertEquals(Member.NON_NUMERIC_ID_KEY, Member.parseIdKey("1000000000000000000"));
+        assertEquals(Member.NON_NUMERIC_ID_KEY, Member.parseIdKey("A-17"));
+        assertEquals(Member.NON_NUMERIC_ID_KEY, Member.parseIdKey("12a"));
+        assertEquals(Member.NON_NUMERIC_ID_KEY, Member.parseIdKey("-"));
+        assertEquals(Member.NON_NUMERIC_ID_KEY, Member.parseIdKey(""));
+    }
+
+    @Test
+    public void idComparator_ordersLegacyIdsByTextAfterNumericIds() {
+        List<Member> members = new ArrayList<>(Arrays.asList(member("b", "X", "A"), member("100000", "X", "A"),
+                member("a", "X", "A"), member("99999", "X", "A")));
+        members.sort(MemberComparators.ID);
+        List<String> ids = new ArrayList<>();
+        for (Member member : members) {
+            ids.add(member.getId());
+        }
+        assertEquals(Arrays.asList("99999", "100000", "a", "b"), ids);
+    }
+
+    @Test
+    public void nameSortKey_shorterNameSortsFirstRegardlessOfVorname() {
+        // Ohne Trennung der Teile würde "Ab" + "Z..." hinter "Abc" + "A..." einsortiert
+        assertTrue(MemberComparators.NAME_ASCENDING.compare(member("1", "Ab", "Zz"), member("2", "Abc", "A")) < 0);
+        assertTrue(MemberComparators.NAME_DESCENDING.compare(member("1", "Ab", "Zz"), member("2", "Abc", "A")) > 0);
+    }
+
+    @Test
+    public void nameSortKey_isCached() {
+        Member member = member("1", "Müller", "Anna");
+        assertSame(member.getNameSortKey(), member.getNameSortKey());
+    }
+}
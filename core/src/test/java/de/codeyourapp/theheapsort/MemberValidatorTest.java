@@ -0,0 +1,95 @@
+package de.codeyourapp.theheapsort;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests für {@link MemberValidator}. Die Laufzeit der Prüfung im Vergleich zum regulären Ausdruck misst der
+ * MemberValidatorBenchmark im Modul benchmark.
+ */
+public class MemberValidatorTest {
+
+    // Der reguläre Ausdruck, nach dem E-Mail-Adressen bisher geprüft wurden
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}");
+
+    // Zeichen, aus denen die zufälligen E-Mail-Adressen zusammengesetzt werden
+    private static final String EMAIL_CHARS = "aZ09._%+-@@..äß ";
+
+    @Test
+    public void isValidEmail_acceptsAndRejectsKnownAddresses() {
+        assertTrue(MemberValidator.isValidEmail("max.mustermann@example.com"));
+        assertTrue(MemberValidator.isValidEmail("a+b%c_d-e@sub.domain-1.de"));
+        assertTrue(MemberValidator.isValidEmail("a@b.c.de"));
+        assertTrue(MemberValidator.isValidEmail("a@..de"));
+
+        assertFalse(MemberValidator.isValidEmail(""));
+        assertFalse(MemberValidator.isValidEmail("@example.com"));
+        assertFalse(MemberValidator.isValidEmail("max@"));
+        assertFalse(MemberValidator.isValidEmail("max@example"));
+        assertFalse(MemberValidator.isValidEmail("max@.de"));
+        assertFalse(MemberValidator.isValidEmail("max@example.d"));
+        assertFalse(MemberValidator.isValidEmail("max@example.d1"));
+        assertFalse(MemberValidator.isValidEmail("max@a@example.de"));
+        assertFalse(MemberValidator.isValidEmail("jürgen@example.de"));
+        assertFalse(MemberValidator.isValidEmail("max@example.de "));
+    }
+
+    @Test
+    public void isValidEmail_matchesRegularExpression() {
+        Random random = new Random(42);
+        StringBuilder email = new StringBuilder();
+        for (int n = 0; n < 200_000; n++) {
+            email.setLength(0);
+            int length = random.nextInt(12);
+            for (int i = 0; i < length; i++) {
+                email.append(EMAIL_CHARS.charAt(random.nextInt(EMAIL_CHARS.length())));
+            }
+            String candidate = email.toString();
+            assertEquals(candidate, EMAIL_PATTERN.matcher(candidate).matches(), MemberValidator.isValidEmail(candidate));
+        }
+    }
+
+    @Test
+    public void validate_reportsEveryInvalidField() {
+        assertEquals(MemberValidator.VALID, MemberValidator.validate("Muster", "Max", "max@example.de", "12345"));
+        // Nicht numerische IDs älterer Einträge bleiben gültig
+        assertEquals(MemberValidator.VALID, MemberValidator.validate("Muster", "Max", "max@example.de", "A-17"));
+
+        int errors = MemberValidator.validate("", "Max", "keine-mail", "");
+        assertTrue(MemberValidator.hasError(errors, MemberValidator.NAME));
+        assertFalse(MemberValidator.hasError(errors, MemberValidator.VORNAME));
+        assertTrue(MemberValidator.hasError(errors, MemberValidator.EMAIL));
+        assertTrue(MemberValidator.hasError(errors, MemberValidator.ID));
+        assertFalse(MemberValidator.isValidData("", "Max", "keine-mail", ""));
+    }
+
+    @Test
+    public void validateAll_writesResultPerRow() throws Exception {
+        MemberImportReader reader = MemberImportReader.csv(new StringReader(
+                "id;name;vorname;email\n1;A;Anna;anna@example.de\n2;;Bert;bert@example\n3;C;Carl;carl@example.de\n"));
+        List<MemberImportReader.Row> rows = new ArrayList<>();
+        MemberImportReader.Row row;
+        while ((row = reader.next()) != null) {
+            rows.add(row);
+        }
+        int[] errors = new int[4];
+        assertEquals(2, MemberValidator.validateAll(rows, errors));
+        assertEquals(MemberValidator.VALID, errors[0]);
+        assertEquals(MemberValidator.NAME | MemberValidator.EMAIL, errors[1]);
+        assertEquals(MemberValidator.VALID, errors[2]);
+
+        try {
+            MemberValidator.validateAll(rows, new int[2]);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // Das Ergebnis-Array ist zu klein
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package de.codeyourapp.theheapsort;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests für {@link ParallelMergeSort}. Das Ergebnis muss mit dem des sequenziellen {@link HeapSort} übereinstimmen,
+ * auch bei gleichen Schlüsseln.
+ */
+public class ParallelMergeSortTest {
+
+    // Größen unterhalb, genau an und oberhalb der Grenzen für Insertionsort und Aufteilung
+    private static final int[] SIZES = {0, 1, 2, 32, 33, 1000, ParallelMergeSort.SEQUENTIAL_GRAIN, ParallelMergeSort.SEQUENTIAL_GRAIN + 1, 100000};
+
+    private static int[] identity(int size) {
+        int[] indices = new int[size];
+        for (int i = 0; i < size; i++) {
+            indices[i] = i;
+        }
+        return indices;
+    }
+
+    @Test
+    public void sortByLongKey_matchesHeapSort() {
+        for (int size : SIZES) {
+            Random random = new Random(size);
+            long[] keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                // Wenige verschiedene Werte, damit die Reihenfolge bei Gleichstand geprüft wird
+                keys[i] = random.nextInt(50) - 25;
+            }
+            int[] expected = identity(size);
+            long[] expectedKeys = keys.clone();
+            HeapSort.sortByKey(expected, expectedKeys);
+
+            int[] indices = identity(size);
+            ParallelMergeSort.sortByKey(indices, keys);
+            assertArrayEquals("Größe " + size, expected, indices);
+            assertArrayEquals("Größe " + size, expectedKeys, keys);
+        }
+    }
+
+    @Test
+    public void sortByByteKey_matchesHeapSort() {
+        for (int size : SIZES) {
+            Random random = new Random(size);
+            byte[][] keys = new byte[size][];
+            for (int i = 0; i < size; i++) {
+                keys[i] = new byte[random.nextInt(3)];
+                random.nextBytes(keys[i]);
+            }
+            int[] expected = identity(size);
+            HeapSort.sortByKey(expected, keys.clone());
+
+            int[] indices = identity(size);
+            ParallelMergeSort.sortByKey(indices, keys);
+            assertArrayEquals("Größe " + size, expected, indices);
+        }
+    }
+
+    @Test
+    public void sortByKey_extremeValues() {
+        long[] keys = {Long.MAX_VALUE, 0, Long.MIN_VALUE, -1, Long.MAX_VALUE};
+        int[] indices = identity(keys.length);
+        ParallelMergeSort.sortByKey(indices, keys);
+        assertArrayEquals(new int[]{2, 3, 1, 0, 4}, indices);
+        assertArrayEquals(new long[]{Long.MIN_VALUE, -1, 0, Long.MAX_VALUE, Long.MAX_VALUE}, keys);
+    }
+
+    @Test
+    public void statistics_countComparisonsOfAllParts() {
+        Random random = new Random(1);
+        int size = 4 * ParallelMergeSort.SEQUENTIAL_GRAIN;
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = random.nextLong();
+        }
+        SortStatistics statistics = ParallelMergeSort.sortByKey(identity(size), keys);
+        // Eine Mergesort benötigt mindestens n/2 * log2(n) Vergleiche für zufällige Daten
+        assertTrue(statistics.getComparisons() > (long) size / 2 * 15);
+        assertEquals(0, statistics.getSwaps());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sortByKey_rejectsDifferentLengths() {
+        ParallelMergeSort.sortByKey(new int[2], new long[3]);
+    }
+}
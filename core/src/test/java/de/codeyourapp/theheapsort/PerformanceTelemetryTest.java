@@ -0,0 +1,93 @@
+package de.codeyourapp.theheapsort;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests für {@link PerformanceTelemetry} und {@link PerformanceSample}.
+ */
+public class PerformanceTelemetryTest {
+
+    private static PerformanceSample sample(String label, long sortNanos) {
+        return new PerformanceSample(label, 1000L, new long[]{10, 20, sortNanos, 30, 40}, 50, null, false);
+    }
+
+    @Test
+    public void sample_sumsPhases() {
+        PerformanceSample sample = sample("name", 100);
+        assertEquals(100, sample.getNanos(PerformanceSample.Phase.SORT));
+        assertEquals(200, sample.getTotalNanos());
+        assertEquals(0, sample.getComparisons());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sample_rejectsWrongPhaseCount() {
+        new PerformanceSample("name", 0, new long[]{1, 2}, 0, null, false);
+    }
+
+    @Test
+    public void record_keepsNewestSamplesInOrder() {
+        PerformanceTelemetry telemetry = new PerformanceTelemetry(3);
+        for (int i = 1; i <= 5; i++) {
+            telemetry.record(sample("name", i));
+        }
+        List<PerformanceSample> samples = telemetry.getSamples();
+        assertEquals(3, samples.size());
+        assertEquals(3, samples.get(0).getNanos(PerformanceSample.Phase.SORT));
+        assertEquals(5, samples.get(2).getNanos(PerformanceSample.Phase.SORT));
+
+        telemetry.clear();
+        assertTrue(telemetry.getSamples().isEmpty());
+    }
+
+    @Test
+    public void percentile_usesNearestRankPerLabel() {
+        PerformanceTelemetry telemetry = new PerformanceTelemetry();
+        for (int i = 1; i <= 100; i++) {
+            telemetry.record(sample("name", i));
+            telemetry.record(sample("suche", 1000 + i));
+        }
+        assertEquals(50, telemetry.percentile("name", PerformanceSample.Phase.SORT, 50));
+        assertEquals(90, telemetry.percentile("name", PerformanceSample.Phase.SORT, 90));
+        assertEquals(100, telemetry.percentile("name", PerformanceSample.Phase.SORT, 100));
+        assertEquals(1, telemetry.percentile("name", PerformanceSample.Phase.SORT, 0));
+        assertEquals(1099, telemetry.percentile("suche", PerformanceSample.Phase.SORT, 99));
+        assertEquals(10, telemetry.percentile("suche", PerformanceSample.Phase.QUERY, 50));
+        assertEquals(-1, telemetry.percentile("zufaellig", PerformanceSample.Phase.SORT, 50));
+        assertEquals(2, telemetry.getLabels().size());
+    }
+
+    @Test
+    public void export_containsEverySample() {
+        PerformanceTelemetry telemetry = new PerformanceTelemetry();
+        telemetry.record(sample("name", 100));
+        telemetry.record(sample("sei\"te;x", 200));
+
+        String[] lines = telemetry.toCsv().split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("timestamp;label;records;fromCache;queryNanos;decodeNanos;sortNanos;formatNanos;bindNanos;totalNanos;comparisons;swaps", lines[0]);
+        assertEquals("1000;name;50;false;10;20;100;30;40;200;0;0", lines[1]);
+        assertTrue(lines[2].startsWith("1000;\"sei\"\"te;x\";"));
+
+        String json = telemetry.toJson();
+        assertTrue(json.startsWith("[\n  {\"timestamp\": 1000, \"label\": \"name\""));
+        assertTrue(json.contains("\"label\": \"sei\\\"te;x\""));
+        assertTrue(json.contains("\"sortNanos\": 200"));
+        assertEquals("[]\n", new PerformanceTelemetry().toJson());
+    }
+
+    @Test
+    public void formatSummary_listsEveryLabel() {
+        PerformanceTelemetry telemetry = new PerformanceTelemetry();
+        assertEquals("Noch keine Messwerte.", telemetry.formatSummary());
+        telemetry.record(sample("name", 2_000_000));
+        telemetry.record(sample("heapsort", 4_000_000));
+        String summary = telemetry.formatSummary();
+        assertTrue(summary.contains("name (1 Durchläufe"));
+        assertTrue(summary.contains("heapsort (1 Durchläufe"));
+        assertTrue(summary.contains("SORT          2.00      2.00      2.00"));
+    }
+}
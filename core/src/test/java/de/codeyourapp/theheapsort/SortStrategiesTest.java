@@ -0,0 +1,77 @@
+package de.codeyourapp.theheapsort;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests für {@link SortStrategies}. Jede Sortierung muss zu ihrem Comparator passen, und ein Cursor muss dieselbe
+ * Reihenfolge wie die vollständige Sortierung liefern.
+ */
+public class SortStrategiesTest {
+
+    private static List<Member> randomMembers(int count, long seed) {
+        Random random = new Random(seed);
+        String[] names = {"Müller", "Mueller", "Özdemir", "Becker", "Äbel", "Abel"};
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String timestamp = String.format("2024-01-%02d 12:00:00", 1 + random.nextInt(9));
+            members.add(new Member("doc" + i, String.valueOf(random.nextInt(100000)), names[random.nextInt(names.length)], "Vorname" + i, "mail" + i + "@example.com", timestamp));
+        }
+        return members;
+    }
+
+    private static void assertSorted(List<Member> members, Comparator<Member> comparator) {
+        for (int i = 1; i < members.size(); i++) {
+            assertTrue("Position " + i, comparator.compare(members.get(i - 1), members.get(i)) <= 0);
+        }
+    }
+
+    @Test
+    public void sort_matchesComparator() {
+        List<Member> members = randomMembers(500, 1);
+        MemberIndex index = MemberIndex.of(members);
+        for (SortStrategy strategy : Arrays.asList(SortStrategies.HEAPSORT, SortStrategies.NEWEST_FIRST,
+                SortStrategies.byName(true), SortStrategies.byName(false))) {
+            List<Member> sorted = strategy.sort(index);
+            assertEquals(strategy.getLabel(), members.size(), sorted.size());
+            assertSorted(sorted, strategy.getComparator());
+        }
+        // Die Heapsort-Sortierung liefert die Zählungen ihres Sortiervorgangs.
+        assertTrue(SortStrategies.HEAPSORT.sort(index) instanceof MemberIndex.Ordering);
+    }
+
+    @Test
+    public void serverOrderAndRandom_keepAllMembers() {
+        List<Member> members = randomMembers(200, 2);
+        MemberIndex index = MemberIndex.of(members);
+        assertEquals(members, SortStrategies.SERVER_ORDER.sort(index));
+        assertNull(SortStrategies.SERVER_ORDER.openCursor(index, 10));
+
+        List<Member> shuffled = SortStrategies.RANDOM.sort(index);
+        assertEquals(new HashSet<>(members), new HashSet<>(shuffled));
+        // Der Datenstand selbst bleibt unverändert.
+        assertEquals(members, index.getMembers());
+        assertNull(SortStrategies.RANDOM.getComparator());
+    }
+
+    @Test
+    public void openCursor_matchesFullSort() {
+        MemberIndex index = MemberIndex.of(randomMembers(300, 3));
+        for (SortStrategy strategy : Arrays.asList(SortStrategies.NEWEST_FIRST, SortStrategies.byName(true), SortStrategies.byName(false))) {
+            TopKCursor cursor = strategy.openCursor(index, 40);
+            List<Member> all = new ArrayList<>();
+            while (cursor.hasMore()) {
+                all.addAll(cursor.nextPage());
+            }
+            assertEquals(strategy.getLabel(), new ArrayList<>(strategy.sort(index)), all);
+        }
+    }
+}
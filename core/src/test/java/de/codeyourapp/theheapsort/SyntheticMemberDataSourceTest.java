@@ -0,0 +1,77 @@
+package de.codeyourapp.theheapsort;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests für {@link SyntheticMemberDataSource}.
+ */
+public class SyntheticMemberDataSourceTest {
+
+    @Test
+    public void generate_isReproducibleAndValid() {
+        List<Member> first = SyntheticMemberDataSource.generate(5000, 42);
+        List<Member> second = SyntheticMemberDataSource.generate(5000, 42);
+        assertEquals(first, second);
+        assertNotEquals(first, SyntheticMemberDataSource.generate(5000, 43));
+
+        Set<String> ids = new HashSet<>();
+        Set<String> documentIds = new HashSet<>();
+        for (Member member : first) {
+            assertTrue(member.getId(), MemberValidator.isValidData(member.getName(), member.getVorname(), member.getEmail(), member.getId()));
+            assertNotEquals(Long.MIN_VALUE, member.getTimestampMillis());
+            ids.add(member.getId());
+            documentIds.add(member.getDocumentId());
+        }
+        // IDs sind eindeutig und lückenlos ab FIRST_ID vergeben, aber nicht in aufsteigender Reihenfolge
+        assertEquals(5000, ids.size());
+        assertTrue(ids.contains(String.valueOf(SyntheticMemberDataSource.FIRST_ID)));
+        assertTrue(ids.contains(String.valueOf(SyntheticMemberDataSource.FIRST_ID + 4999)));
+        assertNotEquals(String.valueOf(SyntheticMemberDataSource.FIRST_ID), first.get(0).getId());
+        assertEquals(5000, documentIds.size());
+    }
+
+    @Test
+    public void membersAreGeneratedOnFirstAccess() {
+        SyntheticMemberDataSource dataSource = new SyntheticMemberDataSource(100, 1);
+        AtomicReference<List<Member>> loaded = new AtomicReference<>();
+        dataSource.loadPage("name", false, null, 10, Runnable::run, new MemberDataSource.Callback<List<Member>>() {
+            @Override
+            public void onSuccess(List<Member> result) {
+                loaded.set(result);
+            }
+
+            @Override
+            public void onError(Exception e) {
+                fail(e.getMessage());
+            }
+        });
+        assertEquals(10, loaded.get().size());
+        assertEquals(100, dataSource.size());
+    }
+
+    /**
+     * Synthetische Mitglieder wie in der App nach ID, Name und Zeitstempel sortieren, wobei Name und Zeitstempel
+     * parallel sortiert werden. Geprüft wird nur die Reihenfolge; die Dauer bis zu einer Million Mitgliedern misst
+     * der DataSourceLoadBenchmark im Modul :benchmark.
+     */
+    @Test
+    public void sortsSyntheticMembersOffline() {
+        List<Member> members = SyntheticMemberDataSource.generate(20_000, 7);
+        MemberIndex index = MemberIndex.of(members, SortPolicy.parallel(10_000, SortKey.TIMESTAMP, SortKey.NAME));
+        SortStrategy[] strategies = {SortStrategies.HEAPSORT, SortStrategies.byName(true), SortStrategies.NEWEST_FIRST};
+        for (SortStrategy strategy : strategies) {
+            List<Member> sorted = strategy.sort(index);
+            assertEquals(members.size(), sorted.size());
+            for (int j = 1; j < sorted.size(); j++) {
+                assertTrue(strategy.getLabel(), strategy.getComparator().compare(sorted.get(j - 1), sorted.get(j)) <= 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package de.codeyourapp.theheapsort;
+
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests für {@link TimeStampFormat} und die Übereinstimmung mit der bisherigen Umsetzung über SimpleDateFormat.
+ * Die Laufzeit beider Umsetzungen vergleicht der TimeStampFormatBenchmark im Modul :benchmark.
+ */
+public class TimeStampFormatTest {
+
+    /**
+     * Bisherige Umsetzung mit zwei neuen SimpleDateFormat-Instanzen pro Aufruf (Vergleichsgrundlage).
+     */
+    private static String legacyConvert(String timestamp) {
+        try {
+            Date date = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse(timestamp);
+            return new SimpleDateFormat("dd.MM.yyyy 'um' HH:mm 'Uhr'").format(date);
+        } catch (ParseException e) {
+            return timestamp;
+        }
+    }
+
+    private static long legacyEpochMillis(String timestamp) throws ParseException {
+        return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse(timestamp).getTime();
+    }
+
+    /**
+     * Erzeugt Timestamps mit vielen unterschiedlichen Werten, aber auch Wiederholungen.
+     */
+    private static String[] sampleTimestamps(int count) {
+        String[] timestamps = new String[count];
+        for (int i = 0; i < count; i++) {
+            timestamps[i] = String.format("20%02d-%02d-%02d %02d:%02d:%02d",
+                    10 + i % 15, 1 + i % 12, 1 + i % 28, i % 24, (i * 7) % 60, (i * 13) % 60);
+        }
+        return timestamps;
+    }
+
+    @Test
+    public void convertTimestamp_matchesLegacyFormat() throws ParseException {
+        for (String timestamp : sampleTimestamps(2000)) {
+            assertEquals(legacyConvert(timestamp), TimeStampFormat.convertTimestamp(timestamp));
+            assertEquals(legacyEpochMillis(timestamp), TimeStampFormat.toEpochMillis(timestamp));
+        }
+    }
+
+    @Test
+    public void convertTimestamp_knownValue() {
+        assertEquals("05.01.2024 um 09:07 Uhr", TimeStampFormat.convertTimestamp("2024-01-05 09:07:30"));
+        assertEquals("05.01.2024 um 09:07 Uhr", TimeStampFormat.formatTimestamp("2024-01-05 09:07:30"));
+    }
+
+    @Test
+    public void convertTimestamp_withoutLeadingZeros() {
+        assertEquals("05.01.2024 um 09:07 Uhr", TimeStampFormat.convertTimestamp("2024-1-5 9:7:30"));
+    }
+
+    @Test
+    public void convertTimestamp_invalidInputIsReturnedUnchanged() {
+        assertEquals("kein Datum", TimeStampFormat.convertTimestamp("kein Datum"));
+        // Ungültige Daten werden nicht wie bei SimpleDateFormat auf den Folgemonat umgerechnet
+        assertEquals("2024-02-31 10:00:00", TimeStampFormat.convertTimestamp("2024-02-31 10:00:00"));
+        assertEquals(Long.MIN_VALUE, TimeStampFormat.toEpochMillis("2024-02-31 10:00:00"));
+        assertEquals("2024-2-31 10:0:0", TimeStampFormat.convertTimestamp("2024-2-31 10:0:0"));
+        assertEquals(Long.MIN_VALUE, TimeStampFormat.toEpochMillis("kein Datum"));
+        assertNull(TimeStampFormat.convertTimestamp(null));
+    }
+
+    @Test
+    public void currentTimestamp_canBeParsedAgain() {
+        String now = TimeStampFormat.currentTimestamp();
+        assertNotNull(TimeStampFormat.parseFixedWidth(now));
+    }
+}
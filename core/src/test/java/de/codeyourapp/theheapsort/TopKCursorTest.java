@@ -0,0 +1,117 @@
+package de.codeyourapp.theheapsort;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests für {@link TopKCursor}. Die aneinandergehängten Seiten müssen der vollständigen Sortierung entsprechen.
+ */
+public class TopKCursorTest {
+
+    private static List<Member> randomMembers(int count, long seed) {
+        Random random = new Random(seed);
+        String[] names = {"Müller", "Mueller", "Özdemir", "Becker", "becker", "Äbel", "Abel"};
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // Wenige verschiedene Zeitstempel, damit die Reihenfolge bei Gleichstand geprüft wird
+            String timestamp = String.format("2024-01-%02d 12:00:00", 1 + random.nextInt(5));
+            members.add(new Member("doc" + i, String.valueOf(i), names[random.nextInt(names.length)], "Vorname" + i, "mail" + i + "@example.com", timestamp));
+        }
+        return members;
+    }
+
+    private static List<Member> readAll(TopKCursor cursor) {
+        List<Member> all = new ArrayList<>();
+        while (cursor.hasMore()) {
+            List<Member> page = cursor.nextPage();
+            assertFalse(page.isEmpty());
+            all.addAll(page);
+        }
+        return all;
+    }
+
+    @Test
+    public void newestFirst_pagesMatchFullOrdering() {
+        List<Member> members = randomMembers(1000, 1);
+        MemberIndex index = MemberIndex.of(members);
+        TopKCursor cursor = index.newestFirst(50);
+        List<Member> first = cursor.nextPage();
+        assertEquals(50, first.size());
+        assertEquals(new ArrayList<>(index.byTimestampDescending()).subList(0, 50), first);
+
+        List<Member> all = new ArrayList<>(first);
+        all.addAll(readAll(cursor));
+        assertEquals(new ArrayList<>(index.byTimestampDescending()), all);
+        assertEquals(members.size(), cursor.getDeliveredCount());
+    }
+
+    @Test
+    public void firstByName_pagesMatchFullOrderingInBothDirections() {
+        List<Member> members = randomMembers(333, 2);
+        MemberIndex index = MemberIndex.of(members);
+        assertEquals(new ArrayList<>(index.byName(true)), readAll(index.firstByName(true, 40)));
+        assertEquals(new ArrayList<>(index.byName(false)), readAll(index.firstByName(false, 40)));
+    }
+
+    @Test
+    public void firstPage_needsFewerComparisonsThanFullSort() {
+        MemberIndex index = MemberIndex.of(randomMembers(20000, 3));
+        TopKCursor cursor = index.newestFirst(50);
+        cursor.nextPage();
+        long topKComparisons = cursor.getStatistics().getComparisons();
+        long fullSortComparisons = index.byTimestampDescending().getStatistics().getComparisons();
+        assertTrue(topKComparisons * 5 < fullSortComparisons);
+    }
+
+    @Test
+    public void manyPages_handOffToFullOrdering() {
+        int count = 10000;
+        int pageSize = 50;
+        MemberIndex index = MemberIndex.of(randomMembers(count, 6));
+        TopKCursor cursor = index.newestFirst(pageSize);
+        List<Member> all = readAll(cursor);
+        assertEquals(new ArrayList<>(index.byTimestampDescending()), all);
+        assertEquals(count, cursor.getDeliveredCount());
+
+        // 200 Seiten kosten insgesamt kaum mehr als eine vollständige Sortierung statt 200 Durchläufe über alle Zeilen
+        long fullSortComparisons = index.byTimestampDescending().getStatistics().getComparisons();
+        long cursorComparisons = cursor.getStatistics().getComparisons();
+        assertTrue(cursorComparisons < fullSortComparisons + (TopKCursor.SELECTION_PAGES + 1) * (long) count * 2);
+        assertTrue(cursorComparisons < (long) (count / pageSize) * count / 4);
+    }
+
+    @Test
+    public void cachedOrdering_isUsedWithoutSelection() {
+        MemberIndex index = MemberIndex.of(randomMembers(2000, 7));
+        // Nach dem Scrollen bis zum Ende ist die Sortierung nach dem Namen zwischengespeichert
+        readAll(index.firstByName(true, 50));
+
+        // Der Wechsel der Richtung liest die umgekehrte Sicht ohne weitere Vergleiche
+        TopKCursor cursor = index.firstByName(false, 50);
+        assertEquals(new ArrayList<>(index.byName(false)).subList(0, 50), cursor.nextPage());
+        assertEquals(0, cursor.getStatistics().getComparisons());
+        assertEquals(new ArrayList<>(index.byName(false)).subList(50, 2000), readAll(cursor));
+    }
+
+    @Test
+    public void smallAndEmptySnapshots() {
+        assertFalse(MemberIndex.of(Collections.emptyList()).newestFirst(10).hasMore());
+        assertTrue(MemberIndex.of(Collections.emptyList()).newestFirst(10).nextPage().isEmpty());
+
+        TopKCursor cursor = MemberIndex.of(randomMembers(3, 4)).newestFirst(10);
+        assertEquals(3, cursor.nextPage().size());
+        assertFalse(cursor.hasMore());
+        assertTrue(cursor.nextPage().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void pageSize_mustBePositive() {
+        MemberIndex.of(randomMembers(3, 5)).newestFirst(0);
+    }
+}
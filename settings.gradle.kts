@@ -15,4 +15,6 @@ dependencyResolutionManagement {
 
 rootProject.name = "theheapsort"
 include(":app")
+include(":core")
+include(":benchmark")
  
\ No newline at end of file